@@ -0,0 +1,230 @@
+package com.tekion.leadmanagement.adapter.persistence.async;
+
+import com.tekion.leadmanagement.domain.lead.model.Email;
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadPage;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.model.PhoneCoordinate;
+import com.tekion.leadmanagement.domain.lead.port.AsyncLeadPersistencePort;
+import com.tekion.leadmanagement.domain.lead.port.LeadPersistencePort;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * {@link AsyncLeadPersistencePort} that runs a blocking
+ * {@link LeadPersistencePort} on a bounded executor.
+ *
+ * <h2>Overview</h2>
+ * <p>Each call is submitted as one task and returns a future completed by
+ * a worker thread. Request threads hand off and move on, so the number of
+ * requests in flight is no longer tied to the number of request threads;
+ * only the workers block on storage.
+ *
+ * <h2>Back-pressure</h2>
+ * <p>The owned executor has a fixed number of workers and a bounded queue
+ * (see {@link ExecutorAsyncLeadRepositoryConfig}). When both are full the
+ * returned future fails with {@link RejectedExecutionException} at once,
+ * so overload surfaces to callers instead of growing an unbounded backlog.
+ *
+ * <h2>Completion Thread</h2>
+ * <p>Futures complete on a worker thread, so non-async dependent stages
+ * ({@code thenApply}, {@code thenCompose}) run there too. Keep such stages
+ * short or use the {@code ...Async} variants with an executor of your own.
+ *
+ * <h2>Example Usage</h2>
+ * <pre>{@code
+ * ExecutorAsyncLeadRepository async = new ExecutorAsyncLeadRepository(
+ *     new FileLeadRepository(config),
+ *     ExecutorAsyncLeadRepositoryConfig.builder().threads(16).build());
+ *
+ * async.findByIdAndDealerId(leadId, dealerId)
+ *     .thenAccept(lead -> ...);
+ * }</pre>
+ *
+ * @see AsyncLeadPersistencePort for the interface contract
+ */
+public class ExecutorAsyncLeadRepository implements AsyncLeadPersistencePort, Closeable {
+
+    private final LeadPersistencePort delegate;
+    private final Executor executor;
+
+    /** The executor this instance created and must shut down; null if supplied by the caller. */
+    private final ExecutorService ownedExecutor;
+    private final ExecutorAsyncLeadRepositoryConfig config;
+
+    /**
+     * Creates an adapter with its own bounded worker pool.
+     *
+     * @param delegate The blocking adapter to run
+     * @param config   Worker pool configuration
+     * @throws IllegalArgumentException if delegate is null or the configuration is invalid
+     */
+    public ExecutorAsyncLeadRepository(LeadPersistencePort delegate, ExecutorAsyncLeadRepositoryConfig config) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate cannot be null");
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("config cannot be null");
+        }
+        config.validate();
+        this.delegate = delegate;
+        this.config = config;
+        this.ownedExecutor = newWorkerPool(config);
+        this.executor = ownedExecutor;
+    }
+
+    /**
+     * Creates an adapter on a caller-managed executor, which {@link #close()} leaves running.
+     *
+     * @param delegate The blocking adapter to run
+     * @param executor Runs the blocking calls; should be bounded
+     * @throws IllegalArgumentException if delegate or executor is null
+     */
+    public ExecutorAsyncLeadRepository(LeadPersistencePort delegate, Executor executor) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate cannot be null");
+        }
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        this.delegate = delegate;
+        this.executor = executor;
+        this.ownedExecutor = null;
+        this.config = null;
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // WRITES
+    // ════════════════════════════════════════════════════════════════
+
+    @Override
+    public CompletableFuture<Lead> save(Lead lead) {
+        return submit(() -> delegate.save(lead));
+    }
+
+    @Override
+    public CompletableFuture<Boolean> saveIfVersion(Lead lead, long expectedVersion) {
+        return submit(() -> delegate.saveIfVersion(lead, expectedVersion));
+    }
+
+    @Override
+    public CompletableFuture<List<Lead>> saveAll(Collection<Lead> leads) {
+        return submit(() -> delegate.saveAll(leads));
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // READS
+    // ════════════════════════════════════════════════════════════════
+
+    @Override
+    public CompletableFuture<Optional<Lead>> findByIdAndDealerId(String leadId, String dealerId) {
+        return submit(() -> delegate.findByIdAndDealerId(leadId, dealerId));
+    }
+
+    @Override
+    public CompletableFuture<List<Lead>> findByDealerIdAndState(String dealerId, LeadState state) {
+        return submit(() -> delegate.findByDealerIdAndState(dealerId, state));
+    }
+
+    @Override
+    public CompletableFuture<List<Lead>> findByDealerIdOrderByScore(String dealerId, int limit) {
+        return submit(() -> delegate.findByDealerIdOrderByScore(dealerId, limit));
+    }
+
+    @Override
+    public CompletableFuture<LeadPage> findByDealerIdAndState(String dealerId, LeadState state,
+                                                              int pageSize, String pageToken) {
+        return submit(() -> delegate.findByDealerIdAndState(dealerId, state, pageSize, pageToken));
+    }
+
+    @Override
+    public CompletableFuture<LeadPage> findByDealerIdOrderByScore(String dealerId, int pageSize, String pageToken) {
+        return submit(() -> delegate.findByDealerIdOrderByScore(dealerId, pageSize, pageToken));
+    }
+
+    @Override
+    public CompletableFuture<List<Lead>> findByDealerIdAndCreatedAtBetween(String dealerId, Instant from, Instant to) {
+        return submit(() -> delegate.findByDealerIdAndCreatedAtBetween(dealerId, from, to));
+    }
+
+    @Override
+    public CompletableFuture<List<Lead>> findByDealerIdAndUpdatedAtBetween(String dealerId, Instant from, Instant to) {
+        return submit(() -> delegate.findByDealerIdAndUpdatedAtBetween(dealerId, from, to));
+    }
+
+    @Override
+    public CompletableFuture<List<Lead>> findByDealerIdAndContact(String dealerId, Email email, PhoneCoordinate phone) {
+        return submit(() -> delegate.findByDealerIdAndContact(dealerId, email, phone));
+    }
+
+    @Override
+    public CompletableFuture<Long> countByDealerIdAndState(String dealerId, LeadState state) {
+        return submit(() -> delegate.countByDealerIdAndState(dealerId, state));
+    }
+
+    @Override
+    public CompletableFuture<Long> countByDealerIdAndSource(String dealerId, LeadSource source) {
+        return submit(() -> delegate.countByDealerIdAndSource(dealerId, source));
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // LIFECYCLE
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Stops accepting calls and waits up to the configured timeout for
+     * queued ones to finish. A caller-supplied executor is left running.
+     */
+    @Override
+    public void close() {
+        if (ownedExecutor == null) return;
+        ownedExecutor.shutdown();
+        try {
+            if (!ownedExecutor.awaitTermination(config.getShutdownTimeout().toNanos(), TimeUnit.NANOSECONDS)) {
+                ownedExecutor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            ownedExecutor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Runs one blocking call on the executor; rejection fails the future rather than throwing. */
+    private <T> CompletableFuture<T> submit(Supplier<T> call) {
+        try {
+            return CompletableFuture.supplyAsync(call, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private static ExecutorService newWorkerPool(ExecutorAsyncLeadRepositoryConfig config) {
+        BlockingQueue<Runnable> queue = config.getQueueCapacity() == 0
+                ? new SynchronousQueue<>()
+                : new ArrayBlockingQueue<>(config.getQueueCapacity());
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(config.getThreads(), config.getThreads(), 0L, TimeUnit.MILLISECONDS, queue,
+                runnable -> {
+                    Thread thread = new Thread(runnable, config.getThreadNamePrefix() + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,66 @@
+package com.tekion.leadmanagement.adapter.persistence.async;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Configuration for the executor owned by {@link ExecutorAsyncLeadRepository}.
+ *
+ * <h2>Sizing</h2>
+ * <p>{@code threads} bounds how many blocking calls run against the
+ * underlying adapter at once; size it to what the storage can serve in
+ * parallel, not to the number of callers. {@code queueCapacity} bounds the
+ * calls waiting for a thread. Beyond that, new calls fail fast with
+ * {@link java.util.concurrent.RejectedExecutionException} rather than
+ * queueing without limit.
+ *
+ * <h2>Example Usage</h2>
+ * <pre>{@code
+ * ExecutorAsyncLeadRepositoryConfig config = ExecutorAsyncLeadRepositoryConfig.builder()
+ *     .threads(16)
+ *     .queueCapacity(4096)
+ *     .build();
+ * }</pre>
+ */
+@Value
+@Builder
+public class ExecutorAsyncLeadRepositoryConfig {
+
+    /** Worker threads running blocking adapter calls. */
+    @Builder.Default
+    int threads = Runtime.getRuntime().availableProcessors();
+
+    /** Calls that may wait for a free worker before new ones are rejected. */
+    @Builder.Default
+    int queueCapacity = 1024;
+
+    /** Prefix of the worker thread names. */
+    @Builder.Default
+    String threadNamePrefix = "lead-persistence-";
+
+    /** How long {@link ExecutorAsyncLeadRepository#close()} waits for queued calls. */
+    @Builder.Default
+    Duration shutdownTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if any setting is missing or out of range
+     */
+    void validate() {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("threads must be positive");
+        }
+        if (queueCapacity < 0) {
+            throw new IllegalArgumentException("queueCapacity cannot be negative");
+        }
+        if (threadNamePrefix == null) {
+            throw new IllegalArgumentException("threadNamePrefix cannot be null");
+        }
+        if (shutdownTimeout == null || shutdownTimeout.isNegative()) {
+            throw new IllegalArgumentException("shutdownTimeout cannot be negative");
+        }
+    }
+}
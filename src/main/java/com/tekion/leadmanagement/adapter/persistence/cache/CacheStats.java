@@ -0,0 +1,42 @@
+package com.tekion.leadmanagement.adapter.persistence.cache;
+
+import lombok.Value;
+
+/**
+ * Point-in-time statistics of a {@link CachingLeadRepository}.
+ *
+ * <p>Counters are cumulative since the cache was created and are read
+ * without a common lock, so they may be mutually inconsistent by a few
+ * in-flight operations.
+ */
+@Value
+public class CacheStats {
+
+    /** Lookups answered from the cache. */
+    long hitCount;
+
+    /** Lookups that went to the underlying adapter. */
+    long missCount;
+
+    /** Entries dropped to stay within the maximum weight. */
+    long evictionCount;
+
+    /** Loaded or written leads the admission policy declined to keep. */
+    long rejectionCount;
+
+    /** Entries currently cached. */
+    long entryCount;
+
+    /** Summed weight of the cached entries. */
+    long weightedSize;
+
+    /**
+     * Share of lookups answered from the cache.
+     *
+     * @return hits / (hits + misses), or 1.0 if there were no lookups
+     */
+    public double hitRate() {
+        long requests = hitCount + missCount;
+        return requests == 0 ? 1.0 : (double) hitCount / requests;
+    }
+}
@@ -0,0 +1,612 @@
+package com.tekion.leadmanagement.adapter.persistence.cache;
+
+import com.tekion.leadmanagement.domain.lead.model.CoalescedWrite;
+import com.tekion.leadmanagement.domain.lead.model.Email;
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadPage;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.model.PhoneCoordinate;
+import com.tekion.leadmanagement.domain.lead.port.LeadPersistencePort;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Read-through, write-through cache of leads by ID in front of any
+ * {@link LeadPersistencePort}.
+ *
+ * <h2>Overview</h2>
+ * <p>{@link #findByIdAndDealerId} is answered from the cache when possible;
+ * a miss loads from the underlying adapter and caches the result. Saves go
+ * to the adapter first and then refresh the cached entry, so a lead read
+ * back right after a write (as {@code LeadService} does) is a hit. All
+ * other queries and counts pass straight through.
+ *
+ * <h2>Eviction (W-TinyLFU)</h2>
+ * <p>The cache is bounded by total weight (see
+ * {@link CachingLeadRepositoryConfig#getWeigher()}). New entries enter a
+ * small LRU admission window. Entries leaving the window compete with the
+ * least recently used entry of the main area's probation segment, and the
+ * one accessed more often recently, per a {@link FrequencySketch}, stays.
+ * A second access moves a probation entry to the protected segment. One-off
+ * lookups (scans, exports) therefore cannot flush the frequently used
+ * working set.
+ *
+ * <h2>Consistency</h2>
+ * <ul>
+ *   <li>Entries are replaced only by an equal or higher lead version, so a
+ *       slow read-through load cannot overwrite a newer write</li>
+ *   <li>A failed or rejected conditional write drops the cached entry</li>
+ *   <li>{@link #invalidateDealer(String)} is O(1): it bumps the dealer's
+ *       generation, and older entries read as misses until replaced or evicted</li>
+ *   <li>Writes made to the adapter by other processes are not seen until
+ *       the entry is invalidated or evicted</li>
+ * </ul>
+ *
+ * <h2>Thread Safety</h2>
+ * <p>Hits read a ConcurrentHashMap and take no lock. Recording an access
+ * needs the policy lock; if another thread holds it, the access is dropped
+ * rather than waited for, which only makes the frequency estimate slightly
+ * less precise. Inserts, updates and evictions are serialized by the lock.
+ *
+ * @see LeadPersistencePort for the interface contract
+ * @see CachingLeadRepositoryConfig for tuning options
+ */
+public class CachingLeadRepository implements LeadPersistencePort {
+
+    /** Share of the main area reserved for entries accessed more than once. */
+    private static final double PROTECTED_FRACTION = 0.8;
+
+    private final LeadPersistencePort delegate;
+    private final CachingLeadRepositoryConfig config;
+
+    private final ConcurrentHashMap<CacheKey, Node> data = new ConcurrentHashMap<>();
+
+    /** Per-dealer invalidation generation; absent means 0. */
+    private final ConcurrentHashMap<String, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    /** Guards the queues, weights and sketch below. */
+    private final ReentrantLock policyLock = new ReentrantLock();
+    private final FrequencySketch sketch;
+    private final AccessOrderQueue window = new AccessOrderQueue();
+    private final AccessOrderQueue probation = new AccessOrderQueue();
+    private final AccessOrderQueue protectedQueue = new AccessOrderQueue();
+    private final long windowMaximum;
+    private final long protectedMaximum;
+    private long windowWeight;
+    private long protectedWeight;
+    private volatile long totalWeight;
+
+    /**
+     * Creates a cache in front of an adapter.
+     *
+     * @param delegate The adapter holding the leads
+     * @param config   Cache configuration
+     * @throws IllegalArgumentException if delegate is null or the configuration is invalid
+     */
+    public CachingLeadRepository(LeadPersistencePort delegate, CachingLeadRepositoryConfig config) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate cannot be null");
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("config cannot be null");
+        }
+        config.validate();
+        this.delegate = delegate;
+        this.config = config;
+
+        long maximum = config.getMaximumWeight();
+        this.windowMaximum = Math.max(1, (long) (maximum * config.getWindowFraction()));
+        this.protectedMaximum = (long) ((maximum - windowMaximum) * PROTECTED_FRACTION);
+        // Sized for entries of the default weigher's typical weight
+        long expectedEntries = Math.max(16, maximum / CachingLeadRepositoryConfig.estimateHeapBytes(new Lead()));
+        this.sketch = new FrequencySketch((int) Math.min(1 << 24, expectedEntries));
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // WRITES (write-through)
+    // ════════════════════════════════════════════════════════════════
+
+    @Override
+    public Lead save(Lead lead) {
+        Lead saved;
+        try {
+            saved = delegate.save(lead);
+        } catch (RuntimeException e) {
+            if (lead != null) invalidate(lead.getLeadId(), lead.getDealerId());
+            throw e;
+        }
+        cacheWritten(lead);
+        return saved;
+    }
+
+    @Override
+    public boolean saveIfVersion(Lead lead, long expectedVersion) {
+        boolean saved;
+        try {
+            saved = delegate.saveIfVersion(lead, expectedVersion);
+        } catch (RuntimeException e) {
+            if (lead != null) invalidate(lead.getLeadId(), lead.getDealerId());
+            throw e;
+        }
+        return conditionalWritten(lead, saved);
+    }
+
+    @Override
+    public boolean saveCoalesced(Lead lead, long expectedVersion, int writes) {
+        boolean saved;
+        try {
+            saved = delegate.saveCoalesced(lead, expectedVersion, writes);
+        } catch (RuntimeException e) {
+            if (lead != null) invalidate(lead.getLeadId(), lead.getDealerId());
+            throw e;
+        }
+        return conditionalWritten(lead, saved);
+    }
+
+    /** Caches a conditional write's result, or drops the entry if the write lost. */
+    private boolean conditionalWritten(Lead lead, boolean saved) {
+        if (saved) {
+            cacheWritten(lead);
+        } else {
+            // Someone else wrote a newer version; don't keep serving ours
+            invalidate(lead.getLeadId(), lead.getDealerId());
+        }
+        return saved;
+    }
+
+    @Override
+    public List<Lead> saveAll(Collection<Lead> leads) {
+        List<Lead> saved;
+        try {
+            saved = delegate.saveAll(leads);
+        } catch (RuntimeException e) {
+            if (leads != null) {
+                for (Lead lead : leads) {
+                    if (lead != null) invalidate(lead.getLeadId(), lead.getDealerId());
+                }
+            }
+            throw e;
+        }
+        for (Lead lead : leads) {
+            cacheWritten(lead);
+        }
+        return saved;
+    }
+
+    @Override
+    public boolean[] saveAllCoalesced(List<CoalescedWrite> writes) {
+        boolean[] saved;
+        try {
+            saved = delegate.saveAllCoalesced(writes);
+        } catch (RuntimeException e) {
+            if (writes != null) {
+                for (CoalescedWrite write : writes) {
+                    if (write != null) invalidate(write.getLead().getLeadId(), write.getLead().getDealerId());
+                }
+            }
+            throw e;
+        }
+        for (int i = 0; i < saved.length; i++) {
+            conditionalWritten(writes.get(i).getLead(), saved[i]);
+        }
+        return saved;
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // READS
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Finds a lead, from the cache if present and loading it otherwise.
+     *
+     * @param leadId   The lead's unique identifier
+     * @param dealerId The dealer the lead belongs to
+     * @return Optional containing the lead if found
+     */
+    @Override
+    public Optional<Lead> findByIdAndDealerId(String leadId, String dealerId) {
+        if (leadId == null || dealerId == null) return Optional.empty();
+
+        CacheKey key = new CacheKey(dealerId, leadId);
+        long generation = generation(dealerId);
+        Node node = data.get(key);
+        if (node != null && node.generation == generation) {
+            hits.increment();
+            recordAccess(node);
+            return Optional.of(node.value);
+        }
+
+        misses.increment();
+        // Every hit shares the cached instance, so it must be frozen
+        Optional<Lead> loaded = delegate.findByIdAndDealerId(leadId, dealerId).map(Lead::freeze);
+        loaded.ifPresent(lead -> put(key, lead, generation));
+        return loaded;
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndState(String dealerId, LeadState state) {
+        return delegate.findByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdOrderByScore(String dealerId, int limit) {
+        return delegate.findByDealerIdOrderByScore(dealerId, limit);
+    }
+
+    @Override
+    public LeadPage findByDealerIdAndState(String dealerId, LeadState state, int pageSize, String pageToken) {
+        return delegate.findByDealerIdAndState(dealerId, state, pageSize, pageToken);
+    }
+
+    @Override
+    public LeadPage findByDealerIdOrderByScore(String dealerId, int pageSize, String pageToken) {
+        return delegate.findByDealerIdOrderByScore(dealerId, pageSize, pageToken);
+    }
+
+    @Override
+    public Stream<Lead> streamByDealerIdAndState(String dealerId, LeadState state) {
+        return delegate.streamByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndCreatedAtBetween(String dealerId, Instant from, Instant to) {
+        return delegate.findByDealerIdAndCreatedAtBetween(dealerId, from, to);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndUpdatedAtBetween(String dealerId, Instant from, Instant to) {
+        return delegate.findByDealerIdAndUpdatedAtBetween(dealerId, from, to);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndContact(String dealerId, Email email, PhoneCoordinate phone) {
+        return delegate.findByDealerIdAndContact(dealerId, email, phone);
+    }
+
+    @Override
+    public long countByDealerIdAndState(String dealerId, LeadState state) {
+        return delegate.countByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public long countByDealerIdAndSource(String dealerId, LeadSource source) {
+        return delegate.countByDealerIdAndSource(dealerId, source);
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // INVALIDATION AND STATISTICS
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Drops one cached lead.
+     *
+     * @param leadId   The lead's unique identifier
+     * @param dealerId The dealer the lead belongs to
+     */
+    public void invalidate(String leadId, String dealerId) {
+        if (leadId == null || dealerId == null) return;
+        policyLock.lock();
+        try {
+            Node node = data.remove(new CacheKey(dealerId, leadId));
+            if (node != null) unlink(node);
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Invalidates every cached lead of one dealer, e.g. after a bulk import
+     * written to the adapter directly. O(1); stale entries stop being served
+     * immediately and their weight is reclaimed as they are replaced or evicted.
+     *
+     * @param dealerId The dealer whose leads to invalidate
+     */
+    public void invalidateDealer(String dealerId) {
+        if (dealerId == null) return;
+        generations.computeIfAbsent(dealerId, id -> new AtomicLong()).incrementAndGet();
+    }
+
+    /** Drops every cached lead. */
+    public void invalidateAll() {
+        policyLock.lock();
+        try {
+            data.clear();
+            window.clear();
+            probation.clear();
+            protectedQueue.clear();
+            windowWeight = 0;
+            protectedWeight = 0;
+            totalWeight = 0;
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /**
+     * Returns cumulative hit, miss and eviction counts and the current size.
+     *
+     * @return A snapshot of the cache statistics
+     */
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), rejections.sum(),
+                data.size(), totalWeight);
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // POLICY
+    // ════════════════════════════════════════════════════════════════
+
+    private long generation(String dealerId) {
+        AtomicLong generation = generations.get(dealerId);
+        return generation != null ? generation.get() : 0L;
+    }
+
+    /**
+     * Caches a frozen copy of a lead the caller just wrote (the caller may
+     * keep modifying it). A frozen lead was not stamped with its new version,
+     * so its entry is dropped instead.
+     */
+    private void cacheWritten(Lead lead) {
+        if (lead.isFrozen()) {
+            invalidate(lead.getLeadId(), lead.getDealerId());
+            return;
+        }
+        put(new CacheKey(lead.getDealerId(), lead.getLeadId()), lead.freeze(), generation(lead.getDealerId()));
+    }
+
+    /**
+     * Inserts or refreshes an entry, then evicts down to the maximum weight.
+     *
+     * @param generation The dealer generation the value was read under
+     */
+    private void put(CacheKey key, Lead lead, long generation) {
+        int weight = config.getWeigher().applyAsInt(lead);
+        if (weight <= 0) {
+            throw new IllegalStateException("weigher returned " + weight + " for lead " + key.getLeadId());
+        }
+        policyLock.lock();
+        try {
+            if (generation != generation(key.getDealerId())) {
+                return;   // Invalidated while loading
+            }
+            Node node = data.get(key);
+            if (node != null && node.generation == generation && node.value.getVersion() > lead.getVersion()) {
+                return;   // A newer write got here first
+            }
+            if (weight > config.getMaximumWeight()) {
+                if (node != null) {
+                    data.remove(key, node);
+                    unlink(node);
+                }
+                rejections.increment();
+                return;
+            }
+
+            sketch.increment(key.hashCode());
+            if (node != null) {
+                node.value = lead;
+                node.generation = generation;
+                reweigh(node, weight);
+                onAccess(node);
+            } else {
+                node = new Node(key, lead, generation, weight);
+                data.put(key, node);
+                window.addLast(node);
+                node.queue = Queue.WINDOW;
+                windowWeight += weight;
+                totalWeight += weight;
+            }
+            evict();
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /** Records a hit if the policy lock is free; dropped otherwise. */
+    private void recordAccess(Node node) {
+        if (!policyLock.tryLock()) return;
+        try {
+            if (node.queue != null) {
+                sketch.increment(node.key.hashCode());
+                onAccess(node);
+            }
+        } finally {
+            policyLock.unlock();
+        }
+    }
+
+    /** Moves an accessed entry towards the protected segment. */
+    private void onAccess(Node node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.moveToLast(node);
+                break;
+            case PROBATION:
+                probation.remove(node);
+                protectedQueue.addLast(node);
+                node.queue = Queue.PROTECTED;
+                protectedWeight += node.weight;
+                demoteProtectedOverflow();
+                break;
+            case PROTECTED:
+                protectedQueue.moveToLast(node);
+                break;
+            default:
+                throw new IllegalStateException("unknown queue " + node.queue);
+        }
+    }
+
+    private void demoteProtectedOverflow() {
+        while (protectedWeight > protectedMaximum && protectedQueue.first() != null) {
+            Node demoted = protectedQueue.first();
+            protectedQueue.remove(demoted);
+            protectedWeight -= demoted.weight;
+            probation.addLast(demoted);
+            demoted.queue = Queue.PROBATION;
+        }
+    }
+
+    /**
+     * Moves window overflow into probation, then evicts until within the
+     * maximum: each newcomer from the window is admitted only if the sketch
+     * says it is more popular than probation's least recently used entry.
+     */
+    private void evict() {
+        Node candidate = null;
+        while (windowWeight > windowMaximum && window.first() != null) {
+            Node moved = window.first();
+            window.remove(moved);
+            windowWeight -= moved.weight;
+            probation.addLast(moved);
+            moved.queue = Queue.PROBATION;
+            if (candidate == null) candidate = moved;
+        }
+
+        while (totalWeight > config.getMaximumWeight()) {
+            Node victim = probation.first();
+            if (victim == null) {
+                Node oldest = protectedQueue.first() != null ? protectedQueue.first() : window.first();
+                if (oldest == null) break;
+                evict(oldest, evictions);
+                continue;
+            }
+            if (candidate == null || victim == candidate) {
+                if (victim == candidate) candidate = candidate.next;
+                evict(victim, evictions);
+                continue;
+            }
+            Node nextCandidate = candidate.next;
+            if (sketch.frequency(candidate.key.hashCode()) > sketch.frequency(victim.key.hashCode())) {
+                evict(victim, evictions);
+            } else {
+                evict(candidate, rejections);
+                candidate = nextCandidate;
+            }
+        }
+    }
+
+    private void evict(Node node, LongAdder counter) {
+        data.remove(node.key, node);
+        unlink(node);
+        counter.increment();
+    }
+
+    /** Removes an entry from its queue and the weights. Caller holds the policy lock. */
+    private void unlink(Node node) {
+        if (node.queue == null) return;
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                windowWeight -= node.weight;
+                break;
+            case PROBATION:
+                probation.remove(node);
+                break;
+            case PROTECTED:
+                protectedQueue.remove(node);
+                protectedWeight -= node.weight;
+                break;
+            default:
+                throw new IllegalStateException("unknown queue " + node.queue);
+        }
+        totalWeight -= node.weight;
+        node.queue = null;
+    }
+
+    private void reweigh(Node node, int weight) {
+        int delta = weight - node.weight;
+        node.weight = weight;
+        if (node.queue == Queue.WINDOW) windowWeight += delta;
+        if (node.queue == Queue.PROTECTED) protectedWeight += delta;
+        totalWeight += delta;
+    }
+
+    /** Cache key: a lead ID is unique only within its dealer. */
+    @Value
+    private static class CacheKey {
+        String dealerId;
+        String leadId;
+    }
+
+    private enum Queue { WINDOW, PROBATION, PROTECTED }
+
+    /** A cached lead and its place in the eviction queues. */
+    private static final class Node {
+        final CacheKey key;
+        volatile Lead value;
+        volatile long generation;
+
+        // Guarded by policyLock
+        int weight;
+        Queue queue;
+        Node prev;
+        Node next;
+
+        Node(CacheKey key, Lead value, long generation, int weight) {
+            this.key = key;
+            this.value = value;
+            this.generation = generation;
+            this.weight = weight;
+        }
+    }
+
+    /** Intrusive doubly linked list, least recently used first. */
+    private static final class AccessOrderQueue {
+        private Node head;
+        private Node tail;
+
+        Node first() {
+            return head;
+        }
+
+        void addLast(Node node) {
+            node.prev = tail;
+            node.next = null;
+            if (tail == null) head = node;
+            else tail.next = node;
+            tail = node;
+        }
+
+        void remove(Node node) {
+            if (node.prev == null) head = node.next;
+            else node.prev.next = node.next;
+            if (node.next == null) tail = node.prev;
+            else node.next.prev = node.prev;
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToLast(Node node) {
+            if (node == tail) return;
+            remove(node);
+            addLast(node);
+        }
+
+        void clear() {
+            for (Node node = head; node != null; ) {
+                Node next = node.next;
+                node.prev = null;
+                node.next = null;
+                node.queue = null;
+                node = next;
+            }
+            head = null;
+            tail = null;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.tekion.leadmanagement.adapter.persistence.cache;
+
+import com.tekion.leadmanagement.domain.lead.model.AuditEntry;
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+import java.util.function.ToIntFunction;
+
+/**
+ * Configuration for {@link CachingLeadRepository}.
+ *
+ * <h2>Sizing</h2>
+ * <p>The cache is bounded by total weight rather than entry count, because a
+ * lead's footprint grows with its audit trail. The default weigher estimates
+ * retained heap bytes; {@code maximumWeight} is then a heap budget.
+ *
+ * <h2>Example Usage</h2>
+ * <pre>{@code
+ * CachingLeadRepositoryConfig config = CachingLeadRepositoryConfig.builder()
+ *     .maximumWeight(64L * 1024 * 1024)
+ *     .build();
+ * }</pre>
+ */
+@Value
+@Builder
+public class CachingLeadRepositoryConfig {
+
+    /** Upper bound on the summed weight of cached leads. */
+    @Builder.Default
+    long maximumWeight = 32L * 1024 * 1024;
+
+    /** Weight of one lead; must be positive. Leads heavier than the maximum are not cached. */
+    @Builder.Default
+    ToIntFunction<Lead> weigher = CachingLeadRepositoryConfig::estimateHeapBytes;
+
+    /** Share of the maximum weight given to the admission window (new entries). */
+    @Builder.Default
+    double windowFraction = 0.01;
+
+    /**
+     * Rough retained size of a lead: the object graph without the audit
+     * trail, plus each audit entry with its strings.
+     *
+     * @param lead The lead to weigh
+     * @return Estimated heap bytes
+     */
+    public static int estimateHeapBytes(Lead lead) {
+        int weight = 640;
+        List<AuditEntry> trail = lead.getAuditTrail();
+        if (trail == null) return weight;
+        for (int i = 0; i < trail.size(); i++) {
+            weight += 160 + 2 * lengthOf(trail.get(i).getReason());
+        }
+        return weight;
+    }
+
+    private static int lengthOf(String value) {
+        return value != null ? value.length() : 0;
+    }
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if any setting is missing or out of range
+     */
+    void validate() {
+        if (maximumWeight <= 0) {
+            throw new IllegalArgumentException("maximumWeight must be positive");
+        }
+        if (weigher == null) {
+            throw new IllegalArgumentException("weigher cannot be null");
+        }
+        if (!(windowFraction > 0 && windowFraction < 1)) {
+            throw new IllegalArgumentException("windowFraction must be between 0 and 1");
+        }
+    }
+}
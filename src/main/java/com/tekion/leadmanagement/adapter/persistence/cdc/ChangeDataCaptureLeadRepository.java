@@ -0,0 +1,447 @@
+package com.tekion.leadmanagement.adapter.persistence.cdc;
+
+import com.tekion.leadmanagement.domain.lead.model.CoalescedWrite;
+import com.tekion.leadmanagement.domain.lead.model.Email;
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadPage;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.model.PhoneCoordinate;
+import com.tekion.leadmanagement.domain.lead.port.LeadPersistencePort;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * {@link LeadPersistencePort} decorator that publishes every committed
+ * write as an ordered change feed.
+ *
+ * <h2>Overview</h2>
+ * <p>Each successful {@code save}, {@code saveIfVersion}, {@code saveCoalesced},
+ * {@code saveAll} or {@code saveAllCoalesced} produces one
+ * {@link LeadChangeEvent} per lead carrying
+ * the stored lead before and after the write and a sequence number that
+ * increases by one per event. Consumers such as re-scoring, analytics or notification
+ * triggers {@link #subscribe() subscribe} and process changes incrementally
+ * instead of polling queries.
+ *
+ * <h2>Ordering</h2>
+ * <p>Writes to the same lead are serialized by striped locks around the
+ * before-image read, the write and the publish, so the events of one lead
+ * appear in commit order and each event's {@code before} is the previous
+ * event's {@code after}. Sequence numbers are global, so events of
+ * different leads are totally ordered too. Only writes made through this
+ * decorator are captured.
+ *
+ * <h2>History and Back-pressure</h2>
+ * <p>Events are kept in a fixed-size ring of the most recent
+ * {@code historySize} events, shared by all subscribers. Publishing never
+ * waits for subscribers: a subscriber more than {@code subscriberBufferSize}
+ * events behind, or resuming from a sequence no longer retained, receives a
+ * {@link LeadChangeEvent.Type#GAP} event and continues from recent events.
+ *
+ * <h2>Cost</h2>
+ * <p>Every write does one extra {@code findByIdAndDealerId} for the
+ * before-image and holds its lead's stripe for the duration of the write.
+ *
+ * @see LeadChangeSubscription for consuming the feed
+ * @see ChangeDataCaptureLeadRepositoryConfig for tuning options
+ */
+public class ChangeDataCaptureLeadRepository implements LeadPersistencePort {
+
+    private final LeadPersistencePort delegate;
+    private final ChangeDataCaptureLeadRepositoryConfig config;
+    private final ReentrantLock[] stripes;
+
+    /** history[(sequence - 1) % historySize] holds the event with that sequence, once published. */
+    private final AtomicReferenceArray<LeadChangeEvent> history;
+
+    /** Serializes sequence assignment; subscribers wait on {@link #published}. */
+    private final ReentrantLock publishLock = new ReentrantLock();
+    private final Condition published = publishLock.newCondition();
+    private int waitingSubscribers;
+
+    /** Sequence of the newest published event; 0 before the first. Written only under publishLock. */
+    private volatile long lastSequence;
+
+    /**
+     * Creates a change-capturing wrapper around an adapter.
+     *
+     * @param delegate The adapter holding the leads
+     * @param config   Feed configuration
+     * @throws IllegalArgumentException if delegate is null or the configuration is invalid
+     */
+    public ChangeDataCaptureLeadRepository(LeadPersistencePort delegate, ChangeDataCaptureLeadRepositoryConfig config) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate cannot be null");
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("config cannot be null");
+        }
+        config.validate();
+        this.delegate = delegate;
+        this.config = config;
+        this.history = new AtomicReferenceArray<>(config.getHistorySize());
+        this.stripes = new ReentrantLock[config.getLockStripes()];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // WRITES
+    // ════════════════════════════════════════════════════════════════
+
+    @Override
+    public Lead save(Lead lead) {
+        requireLead(lead);
+        ReentrantLock stripe = stripeOf(lead);
+        stripe.lock();
+        try {
+            Lead before = delegate.findByIdAndDealerId(lead.getLeadId(), lead.getDealerId()).map(Lead::freeze).orElse(null);
+            Lead saved = delegate.save(lead);
+            publish(before, afterImage(lead));
+            return saved;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    @Override
+    public boolean saveIfVersion(Lead lead, long expectedVersion) {
+        requireLead(lead);
+        ReentrantLock stripe = stripeOf(lead);
+        stripe.lock();
+        try {
+            Lead before = delegate.findByIdAndDealerId(lead.getLeadId(), lead.getDealerId()).map(Lead::freeze).orElse(null);
+            if (!delegate.saveIfVersion(lead, expectedVersion)) {
+                return false;
+            }
+            publish(before, afterImage(lead));
+            return true;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Persists coalesced updates as one write and publishes a single event
+     * whose {@code before} is the stored lead the updates were based on.
+     */
+    @Override
+    public boolean saveCoalesced(Lead lead, long expectedVersion, int writes) {
+        requireLead(lead);
+        ReentrantLock stripe = stripeOf(lead);
+        stripe.lock();
+        try {
+            Lead before = delegate.findByIdAndDealerId(lead.getLeadId(), lead.getDealerId()).map(Lead::freeze).orElse(null);
+            if (!delegate.saveCoalesced(lead, expectedVersion, writes)) {
+                return false;
+            }
+            publish(before, afterImage(lead));
+            return true;
+        } finally {
+            stripe.unlock();
+        }
+    }
+
+    /**
+     * Persists a batch and publishes one event per lead, in input order.
+     *
+     * <p>Holds the stripes of every lead in the batch (acquired in index
+     * order) for the duration of the write.
+     */
+    @Override
+    public List<Lead> saveAll(Collection<Lead> leads) {
+        if (leads == null) {
+            throw new IllegalArgumentException("leads cannot be null");
+        }
+        TreeSet<Integer> batchStripes = new TreeSet<>();
+        for (Lead lead : leads) {
+            requireLead(lead);
+            batchStripes.add(stripeIndex(lead));
+        }
+
+        List<ReentrantLock> held = new ArrayList<>(batchStripes.size());
+        try {
+            for (int index : batchStripes) {
+                stripes[index].lock();
+                held.add(stripes[index]);
+            }
+            Map<String, Lead> before = new HashMap<>();
+            for (Lead lead : leads) {
+                before.computeIfAbsent(keyOf(lead),
+                        key -> delegate.findByIdAndDealerId(lead.getLeadId(), lead.getDealerId()).map(Lead::freeze).orElse(null));
+            }
+            List<Lead> saved = delegate.saveAll(leads);
+            for (Lead lead : leads) {
+                // A lead repeated in the batch: its next event starts from the previous one
+                Lead after = afterImage(lead);
+                publish(before.put(keyOf(lead), after), after);
+            }
+            return saved;
+        } finally {
+            for (ReentrantLock lock : held) {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Persists a batch of coalesced writes and publishes one event per
+     * write that passed its version check, in input order.
+     *
+     * <p>Locks the batch's stripes as {@link #saveAll} does.
+     */
+    @Override
+    public boolean[] saveAllCoalesced(List<CoalescedWrite> writes) {
+        if (writes == null) {
+            throw new IllegalArgumentException("writes cannot be null");
+        }
+        TreeSet<Integer> batchStripes = new TreeSet<>();
+        for (CoalescedWrite write : writes) {
+            if (write == null) {
+                throw new IllegalArgumentException("writes cannot contain null");
+            }
+            requireLead(write.getLead());
+            batchStripes.add(stripeIndex(write.getLead()));
+        }
+
+        List<ReentrantLock> held = new ArrayList<>(batchStripes.size());
+        try {
+            for (int index : batchStripes) {
+                stripes[index].lock();
+                held.add(stripes[index]);
+            }
+            Map<String, Lead> before = new HashMap<>();
+            for (CoalescedWrite write : writes) {
+                Lead lead = write.getLead();
+                before.computeIfAbsent(keyOf(lead),
+                        key -> delegate.findByIdAndDealerId(lead.getLeadId(), lead.getDealerId()).map(Lead::freeze).orElse(null));
+            }
+            boolean[] saved = delegate.saveAllCoalesced(writes);
+            for (int i = 0; i < saved.length; i++) {
+                if (!saved[i]) continue;
+                Lead lead = writes.get(i).getLead();
+                Lead after = afterImage(lead);
+                publish(before.put(keyOf(lead), after), after);
+            }
+            return saved;
+        } finally {
+            for (ReentrantLock lock : held) {
+                lock.unlock();
+            }
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // READS
+    // ════════════════════════════════════════════════════════════════
+
+    @Override
+    public Optional<Lead> findByIdAndDealerId(String leadId, String dealerId) {
+        return delegate.findByIdAndDealerId(leadId, dealerId);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndState(String dealerId, LeadState state) {
+        return delegate.findByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdOrderByScore(String dealerId, int limit) {
+        return delegate.findByDealerIdOrderByScore(dealerId, limit);
+    }
+
+    @Override
+    public LeadPage findByDealerIdAndState(String dealerId, LeadState state, int pageSize, String pageToken) {
+        return delegate.findByDealerIdAndState(dealerId, state, pageSize, pageToken);
+    }
+
+    @Override
+    public LeadPage findByDealerIdOrderByScore(String dealerId, int pageSize, String pageToken) {
+        return delegate.findByDealerIdOrderByScore(dealerId, pageSize, pageToken);
+    }
+
+    @Override
+    public Stream<Lead> streamByDealerIdAndState(String dealerId, LeadState state) {
+        return delegate.streamByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndCreatedAtBetween(String dealerId, Instant from, Instant to) {
+        return delegate.findByDealerIdAndCreatedAtBetween(dealerId, from, to);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndUpdatedAtBetween(String dealerId, Instant from, Instant to) {
+        return delegate.findByDealerIdAndUpdatedAtBetween(dealerId, from, to);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndContact(String dealerId, Email email, PhoneCoordinate phone) {
+        return delegate.findByDealerIdAndContact(dealerId, email, phone);
+    }
+
+    @Override
+    public long countByDealerIdAndState(String dealerId, LeadState state) {
+        return delegate.countByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public long countByDealerIdAndSource(String dealerId, LeadSource source) {
+        return delegate.countByDealerIdAndSource(dealerId, source);
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // CHANGE FEED
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Subscribes to changes published from now on.
+     *
+     * @return A subscription positioned after the newest event
+     */
+    public LeadChangeSubscription subscribe() {
+        return new LeadChangeSubscription(this, config.getSubscriberBufferSize(), lastSequence + 1);
+    }
+
+    /**
+     * Subscribes starting at a given sequence, e.g. the
+     * {@link LeadChangeSubscription#nextSequence()} a consumer checkpointed
+     * before restarting. Events still in the history are replayed; if the
+     * sequence is older than the history, the first event is a gap.
+     *
+     * @param fromSequence The first sequence to deliver (1 for the start of the feed)
+     * @return A subscription positioned at {@code fromSequence}
+     * @throws IllegalArgumentException if fromSequence is below 1 or beyond the next sequence
+     */
+    public LeadChangeSubscription subscribe(long fromSequence) {
+        long next = lastSequence + 1;
+        if (fromSequence < 1 || fromSequence > next) {
+            throw new IllegalArgumentException("fromSequence must be between 1 and " + next);
+        }
+        return new LeadChangeSubscription(this, config.getSubscriberBufferSize(), fromSequence);
+    }
+
+    /**
+     * @return The sequence of the newest published event, or 0 if none
+     */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /**
+     * @return The oldest sequence still available for replay
+     */
+    public long oldestSequence() {
+        return oldestSequence(lastSequence);
+    }
+
+    long oldestSequence(long last) {
+        return Math.max(1, last - config.getHistorySize() + 1);
+    }
+
+    /** The slot for a sequence; holds a newer event if the sequence was overwritten. */
+    LeadChangeEvent eventAt(long sequence) {
+        return history.get(slot(sequence));
+    }
+
+    /**
+     * Waits until {@code sequence} is published, the subscription is closed
+     * or the time runs out.
+     *
+     * @return The remaining wait in nanoseconds
+     */
+    long awaitPublished(long sequence, long nanos, LeadChangeSubscription subscription) throws InterruptedException {
+        publishLock.lock();
+        try {
+            waitingSubscribers++;
+            try {
+                while (lastSequence < sequence && !subscription.isClosed() && nanos > 0) {
+                    nanos = published.awaitNanos(nanos);
+                }
+            } finally {
+                waitingSubscribers--;
+            }
+            return nanos;
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    void wakeSubscribers() {
+        publishLock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    private void publish(Lead before, Lead after) {
+        publishLock.lock();
+        try {
+            long sequence = lastSequence + 1;
+            history.set(slot(sequence), LeadChangeEvent.change(sequence, before, after));
+            lastSequence = sequence;
+            if (waitingSubscribers > 0) {
+                published.signalAll();
+            }
+        } finally {
+            publishLock.unlock();
+        }
+    }
+
+    /**
+     * The lead as just written, frozen since every subscriber shares it. A
+     * frozen lead was not stamped with its new version, so the stored one is
+     * read back instead. Caller holds the lead's stripe.
+     */
+    private Lead afterImage(Lead lead) {
+        if (lead.isFrozen()) {
+            return delegate.findByIdAndDealerId(lead.getLeadId(), lead.getDealerId()).orElse(lead);
+        }
+        return lead.freeze();
+    }
+
+    private int slot(long sequence) {
+        return (int) ((sequence - 1) % history.length());
+    }
+
+    private static void requireLead(Lead lead) {
+        if (lead == null) {
+            throw new IllegalArgumentException("lead cannot be null");
+        }
+        if (lead.getDealerId() == null || lead.getDealerId().trim().isEmpty()) {
+            throw new IllegalArgumentException("dealerId cannot be blank");
+        }
+        if (lead.getLeadId() == null || lead.getLeadId().trim().isEmpty()) {
+            throw new IllegalArgumentException("leadId cannot be blank");
+        }
+    }
+
+    private ReentrantLock stripeOf(Lead lead) {
+        return stripes[stripeIndex(lead)];
+    }
+
+    private int stripeIndex(Lead lead) {
+        int hash = keyOf(lead).hashCode();
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, stripes.length);
+    }
+
+    private static String keyOf(Lead lead) {
+        return lead.getDealerId() + ':' + lead.getLeadId();
+    }
+}
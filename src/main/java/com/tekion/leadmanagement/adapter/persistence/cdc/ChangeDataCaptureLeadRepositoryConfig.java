@@ -0,0 +1,56 @@
+package com.tekion.leadmanagement.adapter.persistence.cdc;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuration for {@link ChangeDataCaptureLeadRepository}.
+ *
+ * <h2>Sizing</h2>
+ * <p>{@code historySize} events are kept in memory for replay, so a
+ * consumer that restarts can resume from its last processed sequence as long
+ * as that is within the history. {@code subscriberBufferSize} is how far a
+ * single subscriber may fall behind the newest event before it is skipped
+ * ahead with a gap signal; it cannot exceed the history.
+ *
+ * <h2>Example Usage</h2>
+ * <pre>{@code
+ * ChangeDataCaptureLeadRepositoryConfig config = ChangeDataCaptureLeadRepositoryConfig.builder()
+ *     .historySize(1 << 20)
+ *     .subscriberBufferSize(1 << 16)
+ *     .build();
+ * }</pre>
+ */
+@Value
+@Builder
+public class ChangeDataCaptureLeadRepositoryConfig {
+
+    /** Most recent events retained for replay. */
+    @Builder.Default
+    int historySize = 65_536;
+
+    /** Events a subscriber may lag behind before it receives a gap. */
+    @Builder.Default
+    int subscriberBufferSize = 4_096;
+
+    /** Lock stripes serializing writes to the same lead. */
+    @Builder.Default
+    int lockStripes = 256;
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if any setting is out of range
+     */
+    void validate() {
+        if (historySize <= 0) {
+            throw new IllegalArgumentException("historySize must be positive");
+        }
+        if (subscriberBufferSize <= 0 || subscriberBufferSize > historySize) {
+            throw new IllegalArgumentException("subscriberBufferSize must be between 1 and historySize");
+        }
+        if (lockStripes <= 0) {
+            throw new IllegalArgumentException("lockStripes must be positive");
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.tekion.leadmanagement.adapter.persistence.cdc;
+
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * One entry of the change feed published by {@link ChangeDataCaptureLeadRepository}.
+ *
+ * <h2>Kinds</h2>
+ * <ul>
+ *   <li>{@link Type#INSERT} / {@link Type#UPDATE} - a committed write, with
+ *       the lead before ({@code null} for an insert) and after it</li>
+ *   <li>{@link Type#GAP} - the subscriber fell behind and events
+ *       {@code sequence..missedThrough} were not delivered to it. State
+ *       derived from the feed should be rebuilt by a full read</li>
+ * </ul>
+ *
+ * <p>Events are shared by all subscribers, so their leads are
+ * {@link Lead#freeze() frozen}.
+ */
+@Value
+@Builder
+public class LeadChangeEvent {
+
+    /** What the event describes. */
+    public enum Type { INSERT, UPDATE, GAP }
+
+    Type type;
+
+    /** Position in the feed, starting at 1; for a gap, the first missed sequence. */
+    long sequence;
+
+    /** For a gap, the last missed sequence; otherwise equal to {@link #sequence}. */
+    long missedThrough;
+
+    /** Dealer of the changed lead; null for a gap. */
+    String dealerId;
+
+    /** ID of the changed lead; null for a gap. */
+    String leadId;
+
+    /** Stored lead before the write; null for an insert or a gap. */
+    Lead before;
+
+    /** Stored lead after the write, including its new version; null for a gap. */
+    Lead after;
+
+    /**
+     * @return true if this is a gap signal rather than a change
+     */
+    public boolean isGap() {
+        return type == Type.GAP;
+    }
+
+    static LeadChangeEvent change(long sequence, Lead before, Lead after) {
+        return LeadChangeEvent.builder()
+                .type(before == null ? Type.INSERT : Type.UPDATE)
+                .sequence(sequence)
+                .missedThrough(sequence)
+                .dealerId(after.getDealerId())
+                .leadId(after.getLeadId())
+                .before(before)
+                .after(after)
+                .build();
+    }
+
+    static LeadChangeEvent gap(long firstMissed, long lastMissed) {
+        return LeadChangeEvent.builder()
+                .type(Type.GAP)
+                .sequence(firstMissed)
+                .missedThrough(lastMissed)
+                .build();
+    }
+}
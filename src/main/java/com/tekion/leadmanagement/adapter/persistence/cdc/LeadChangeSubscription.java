@@ -0,0 +1,102 @@
+package com.tekion.leadmanagement.adapter.persistence.cdc;
+
+import java.time.Duration;
+
+/**
+ * A consumer's position in the change feed of a {@link ChangeDataCaptureLeadRepository}.
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * try (LeadChangeSubscription changes = repo.subscribe(checkpoint.next())) {
+ *     while (running) {
+ *         LeadChangeEvent event = changes.poll(Duration.ofSeconds(1));
+ *         if (event == null) continue;
+ *         if (event.isGap()) rebuildFromFullRead();
+ *         else apply(event);
+ *         checkpoint.save(changes.nextSequence());
+ *     }
+ * }
+ * }</pre>
+ *
+ * <p>Polling reads the shared history without taking a lock, and a
+ * subscription never makes writers wait: if it falls more than the
+ * configured buffer behind, it receives a single {@link LeadChangeEvent.Type#GAP}
+ * event and continues with recent events.
+ *
+ * <p>A subscription is meant for one consuming thread.
+ */
+public final class LeadChangeSubscription implements AutoCloseable {
+
+    private final ChangeDataCaptureLeadRepository feed;
+    private final int bufferSize;
+    private long nextSequence;
+    private volatile boolean closed;
+
+    LeadChangeSubscription(ChangeDataCaptureLeadRepository feed, int bufferSize, long nextSequence) {
+        this.feed = feed;
+        this.bufferSize = bufferSize;
+        this.nextSequence = nextSequence;
+    }
+
+    /**
+     * Returns the next event, waiting up to {@code timeout} for one to be published.
+     *
+     * @param timeout How long to wait if the subscriber is up to date
+     * @return The next change or gap, or null on timeout or if closed
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public LeadChangeEvent poll(Duration timeout) throws InterruptedException {
+        long remaining = timeout.toNanos();
+        while (!closed) {
+            long last = feed.lastSequence();
+            if (nextSequence <= last) {
+                long oldest = feed.oldestSequence(last);
+                if (nextSequence < oldest || last - nextSequence + 1 > bufferSize) {
+                    return skipAhead(oldest, last);
+                }
+                LeadChangeEvent event = feed.eventAt(nextSequence);
+                if (event.getSequence() == nextSequence) {
+                    nextSequence++;
+                    return event;
+                }
+                continue;   // Overwritten since we read "last"; the next pass reports the gap
+            }
+            if (remaining <= 0) return null;
+            remaining = feed.awaitPublished(nextSequence, remaining, this);
+        }
+        return null;
+    }
+
+    /**
+     * @return The sequence the next change will have; persist it to resume later
+     */
+    public long nextSequence() {
+        return nextSequence;
+    }
+
+    /** Stops the subscription and wakes a thread blocked in {@link #poll}. */
+    @Override
+    public void close() {
+        closed = true;
+        feed.wakeSubscribers();
+    }
+
+    boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Skips to the oldest retained event, or to half a buffer behind the
+     * newest if that is still too far back, so the subscriber resumes with
+     * room to catch up instead of gapping again on the next write.
+     */
+    private LeadChangeEvent skipAhead(long oldest, long last) {
+        long resumeAt = oldest;
+        if (last - resumeAt + 1 > bufferSize) {
+            resumeAt = last - bufferSize / 2 + 1;
+        }
+        LeadChangeEvent gap = LeadChangeEvent.gap(nextSequence, resumeAt - 1);
+        nextSequence = resumeAt;
+        return gap;
+    }
+}
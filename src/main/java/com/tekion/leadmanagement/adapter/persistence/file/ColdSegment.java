@@ -0,0 +1,192 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Append-only file of Deflate-compressed blocks of opaque records.
+ *
+ * <h2>On-Disk Format</h2>
+ * <p>Each block is framed as
+ * {@code [int compressedLength][int uncompressedLength][int crc32(compressed)][compressed]}.
+ * Uncompressed, a block is {@code [int count]} followed by {@code count}
+ * records of {@code [int length][payload]}. A block is addressed by the file
+ * offset of its header.
+ *
+ * <p>Records are compressed a block at a time because a single encoded lead
+ * is too small for Deflate to find much to share; a block of leads from the
+ * same dealer repeats site IDs, makes and models across records.
+ *
+ * <h2>Thread Safety</h2>
+ * <p>Appends are serialized; reads use positional I/O and may run
+ * concurrently with appends and with each other.
+ */
+final class ColdSegment implements Closeable {
+
+    /** Bytes of framing in front of every block. */
+    static final int HEADER_BYTES = 12;
+
+    /** Upper bound on a block's uncompressed size; larger lengths are treated as corruption. */
+    static final int MAX_BLOCK_BYTES = 64 * 1024 * 1024;
+
+    private final Path path;
+    private final int compressionLevel;
+    private final FileChannel channel;
+
+    // Guarded by this
+    private long size;
+
+    /**
+     * Creates an empty segment, replacing any existing file at {@code path}.
+     *
+     * @throws IOException if the file cannot be created
+     */
+    ColdSegment(Path path, int compressionLevel) throws IOException {
+        this.path = path;
+        this.compressionLevel = compressionLevel;
+        this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+    }
+
+    /**
+     * Compresses records into one block and appends it.
+     *
+     * @param records Payloads to store together (not empty)
+     * @return The block's offset, for {@link #read(long)}
+     * @throws IOException if the write fails
+     */
+    long append(List<byte[]> records) throws IOException {
+        ByteArrayOutputStream raw = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(raw);
+        out.writeInt(records.size());
+        for (byte[] record : records) {
+            out.writeInt(record.length);
+            out.write(record);
+        }
+        out.flush();
+        int uncompressedLength = raw.size();
+        if (uncompressedLength > MAX_BLOCK_BYTES) {
+            throw new IllegalArgumentException("block exceeds " + MAX_BLOCK_BYTES + " bytes");
+        }
+
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream(uncompressedLength / 4 + 64);
+        Deflater deflater = new Deflater(compressionLevel);
+        try (DeflaterOutputStream deflate = new DeflaterOutputStream(compressed, deflater)) {
+            raw.writeTo(deflate);
+        } finally {
+            deflater.end();
+        }
+        byte[] body = compressed.toByteArray();
+        CRC32 crc = new CRC32();
+        crc.update(body);
+
+        ByteBuffer block = ByteBuffer.allocate(HEADER_BYTES + body.length);
+        block.putInt(body.length).putInt(uncompressedLength).putInt((int) crc.getValue()).put(body).flip();
+
+        synchronized (this) {
+            long offset = size;
+            while (block.hasRemaining()) {
+                channel.write(block, offset + block.position());
+            }
+            size += block.limit();
+            return offset;
+        }
+    }
+
+    /**
+     * Reads and decompresses the block at {@code offset}.
+     *
+     * @return The block's records, in append order
+     * @throws IOException           if the read fails
+     * @throws IllegalStateException if the block is corrupt
+     */
+    List<byte[]> read(long offset) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+        readFully(header, offset);
+        header.flip();
+        int compressedLength = header.getInt();
+        int uncompressedLength = header.getInt();
+        int checksum = header.getInt();
+        if (compressedLength <= 0 || compressedLength > MAX_BLOCK_BYTES
+                || uncompressedLength <= 0 || uncompressedLength > MAX_BLOCK_BYTES) {
+            throw new IllegalStateException("Corrupt cold block header at offset " + offset + " in " + path);
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(compressedLength);
+        readFully(body, offset + HEADER_BYTES);
+        CRC32 crc = new CRC32();
+        crc.update(body.array());
+        if ((int) crc.getValue() != checksum) {
+            throw new IllegalStateException("Checksum mismatch in cold block at offset " + offset + " in " + path);
+        }
+
+        byte[] raw = new byte[uncompressedLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(body.array());
+            int inflated = 0;
+            while (inflated < uncompressedLength && !inflater.finished()) {
+                int n = inflater.inflate(raw, inflated, uncompressedLength - inflated);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) break;
+                inflated += n;
+            }
+            if (inflated != uncompressedLength || !inflater.finished()) {
+                throw new IllegalStateException("Truncated cold block at offset " + offset + " in " + path);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt cold block at offset " + offset + " in " + path, e);
+        } finally {
+            inflater.end();
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+        int count = in.readInt();
+        List<byte[]> records = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] record = new byte[in.readInt()];
+            in.readFully(record);
+            records.add(record);
+        }
+        return records;
+    }
+
+    /** Bytes appended so far. */
+    synchronized long size() {
+        return size;
+    }
+
+    /** Closes and deletes the file. */
+    @Override
+    public void close() throws IOException {
+        try {
+            channel.close();
+        } finally {
+            Files.deleteIfExists(path);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                throw new IllegalStateException("Cold block at offset " + position + " extends past end of " + path);
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Makes file creations, renames and deletions in a directory durable.
+ *
+ * <p>An fsync of a file covers its contents, not its directory entry; after a
+ * crash a freshly renamed file can be missing unless the directory itself is
+ * forced too.
+ */
+@FunctionalInterface
+interface DirectorySync {
+
+    /**
+     * Forces the directory where the platform supports it. Platforms that cannot
+     * open a directory are ignored; the files' own fsyncs still apply there.
+     */
+    DirectorySync FORCE = directory -> {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // Not supported on every platform
+        }
+    };
+
+    /**
+     * Makes every earlier change to the directory's entries durable.
+     *
+     * @param directory Directory to force
+     * @throws IOException if the directory cannot be forced
+     */
+    void force(Path directory) throws IOException;
+}
@@ -0,0 +1,560 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import com.tekion.leadmanagement.adapter.persistence.inmemory.InMemoryLeadRepository;
+import com.tekion.leadmanagement.domain.lead.model.CoalescedWrite;
+import com.tekion.leadmanagement.domain.lead.model.Email;
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadPage;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.model.PhoneCoordinate;
+import com.tekion.leadmanagement.domain.lead.port.LeadPersistencePort;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Durable lead persistence backed by a write-ahead log and periodic snapshots.
+ *
+ * <h2>Overview</h2>
+ * <p>Every {@link #save(Lead)} is appended to a segmented, checksummed log
+ * before it is acknowledged. Reads are served from an in-memory
+ * {@link InMemoryLeadRepository}, so query cost matches the in-memory adapter.
+ *
+ * <h2>Durability</h2>
+ * <p>Controlled by {@link FsyncPolicy}. Under {@link FsyncPolicy#ALWAYS},
+ * concurrent saves share fsyncs (group commit), so throughput scales with the
+ * number of writers rather than being capped at one fsync per save.
+ *
+ * <p>A save is applied to the in-memory view before its fsync, so that
+ * version checks and log order stay under one short lock. If the log
+ * write or fsync fails, the save throws and the repository is marked
+ * failed: reads keep working, but every later write and snapshot throws
+ * {@link IllegalStateException}, so nothing builds on the unacknowledged
+ * record or copies it into a snapshot. Reopening the repository recovers
+ * exactly what reached the disk.
+ *
+ * <h2>Recovery</h2>
+ * <p>On construction the newest snapshot is loaded and only the log records
+ * written after it are replayed. A torn record at the end of the log (a crash
+ * mid-append) is discarded; it was never acknowledged under ALWAYS.
+ *
+ * <h2>Snapshots</h2>
+ * <p>Taken in the background every {@code snapshotEveryRecords} saves, or on
+ * demand with {@link #snapshot()}. A snapshot seals the current log segment,
+ * writes all leads, then deletes the segments and snapshots it supersedes.
+ * The in-memory view holds copy-on-write snapshots, so a snapshot file
+ * captures each lead exactly as it was last saved.
+ *
+ * <h2>Example Usage</h2>
+ * <pre>{@code
+ * try (FileLeadRepository repository = new FileLeadRepository(
+ *         FileLeadRepositoryConfig.builder().directory(Path.of("data/leads")).build())) {
+ *     repository.save(lead);
+ * }
+ * }</pre>
+ *
+ * @see LeadPersistencePort for the interface contract
+ * @see FileLeadRepositoryConfig for tuning options
+ */
+public class FileLeadRepository implements LeadPersistencePort, Closeable {
+
+    /** Expected-version sentinel for unconditional writes. */
+    private static final long ANY_VERSION = -1L;
+
+    private final FileLeadRepositoryConfig config;
+    private final InMemoryLeadRepository memory = new InMemoryLeadRepository();
+    private final WriteAheadLog wal;
+    private final DirectorySync directorySync;
+
+    /** Keeps log order and in-memory apply order identical. */
+    private final Object applyLock = new Object();
+
+    /** One snapshot at a time. */
+    private final Object snapshotLock = new Object();
+
+    private final AtomicLong recordsSinceSnapshot = new AtomicLong();
+    private final AtomicBoolean snapshotScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService background;
+    private volatile boolean closed;
+
+    /** First log write or fsync error; once set, writes are refused until reopen. */
+    private volatile IOException failure;
+
+    /**
+     * Opens (or creates) a repository and recovers its contents from disk.
+     *
+     * @param config Storage configuration
+     * @throws IllegalArgumentException if the configuration is invalid
+     * @throws IllegalStateException    if stored data is corrupt beyond the log tail
+     * @throws UncheckedIOException     if the directory cannot be read or written
+     */
+    public FileLeadRepository(FileLeadRepositoryConfig config) {
+        this(config, DirectorySync.FORCE);
+    }
+
+    /** As {@link #FileLeadRepository(FileLeadRepositoryConfig)}, forcing snapshot renames with {@code directorySync}. */
+    FileLeadRepository(FileLeadRepositoryConfig config, DirectorySync directorySync) {
+        if (config == null) {
+            throw new IllegalArgumentException("config cannot be null");
+        }
+        config.validate();
+        this.config = config;
+        this.wal = new WriteAheadLog(config.getDirectory(), config.getSegmentSizeBytes());
+        this.directorySync = directorySync;
+
+        try {
+            Files.createDirectories(config.getDirectory());
+            long boundary = SnapshotFile.loadLatest(config.getDirectory(),
+                    payload -> memory.restore(LeadRecordCodec.decode(payload)));
+            long nextSeq = wal.open(boundary, payload -> memory.restore(LeadRecordCodec.decode(payload)));
+            recordsSinceSnapshot.set(nextSeq - boundary);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open lead store at " + config.getDirectory(), e);
+        }
+
+        this.background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "lead-wal-" + config.getDirectory().getFileName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (config.getFsyncPolicy() != FsyncPolicy.ALWAYS) {
+            long periodNanos = config.getFsyncInterval().toNanos();
+            background.scheduleWithFixedDelay(this::backgroundFlush, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Appends the lead to the log and applies it to the in-memory view.
+     *
+     * <p>Under {@link FsyncPolicy#ALWAYS} this returns only once the record is
+     * on stable storage.
+     *
+     * @param lead The lead to persist
+     * @return The saved lead (same instance)
+     * @throws IllegalArgumentException if lead is null or has blank dealerId/leadId
+     * @throws IllegalStateException    if the repository is closed or has failed
+     * @throws UncheckedIOException     if the log write fails
+     */
+    @Override
+    public Lead save(Lead lead) {
+        validate(lead);
+        append(lead, ANY_VERSION, 1);
+        return lead;
+    }
+
+    /**
+     * Appends and applies the lead only if its stored version equals
+     * {@code expectedVersion}.
+     *
+     * <p>The version check runs under the same lock that orders log appends,
+     * so a rejected write never reaches the log.
+     *
+     * @param lead            The modified lead
+     * @param expectedVersion The version the caller read, or 0 to insert only if absent
+     * @return true if the lead was persisted, false on a version mismatch
+     * @throws IllegalArgumentException if lead is invalid or expectedVersion is negative
+     * @throws IllegalStateException    if the repository is closed or has failed
+     * @throws UncheckedIOException     if the log write fails
+     */
+    @Override
+    public boolean saveIfVersion(Lead lead, long expectedVersion) {
+        validate(lead);
+        if (expectedVersion < 0) {
+            throw new IllegalArgumentException("expectedVersion cannot be negative");
+        }
+        return append(lead, expectedVersion, 1);
+    }
+
+    /**
+     * Appends one record carrying the net result of {@code writes} updates,
+     * stamped with version {@code expectedVersion + writes}.
+     *
+     * @param lead            The final state of the lead
+     * @param expectedVersion The version the updates were based on, or 0 if absent
+     * @param writes          Number of updates being persisted
+     * @return true if the lead was persisted, false on a version mismatch
+     * @throws IllegalArgumentException if lead is invalid, expectedVersion is negative or writes is not positive
+     * @throws IllegalStateException    if the repository is closed or has failed
+     * @throws UncheckedIOException     if the log write fails
+     */
+    @Override
+    public boolean saveCoalesced(Lead lead, long expectedVersion, int writes) {
+        validate(lead);
+        if (expectedVersion < 0) {
+            throw new IllegalArgumentException("expectedVersion cannot be negative");
+        }
+        if (writes <= 0) {
+            throw new IllegalArgumentException("writes must be positive");
+        }
+        return append(lead, expectedVersion, writes);
+    }
+
+    /**
+     * Logs and applies one lead.
+     *
+     * @param expectedVersion Required stored version, or {@link #ANY_VERSION}
+     * @param increment       Added to the stored version
+     * @return false if the stored version did not match
+     */
+    private boolean append(Lead lead, long expectedVersion, int increment) {
+        // Encode outside the lock; only the version stamp, append and snapshot are serialized
+        byte[] record = LeadRecordCodec.encode(lead);
+        ensureWritable();
+        try {
+            long seq;
+            synchronized (applyLock) {
+                long storedVersion = storedVersion(lead);
+                if (expectedVersion != ANY_VERSION && expectedVersion != storedVersion) {
+                    return false;
+                }
+                LeadRecordCodec.writeVersion(record, storedVersion + increment);
+                seq = wal.append(record);
+                memory.restore(lead.freeze(storedVersion + increment));
+                if (!lead.isFrozen()) {
+                    lead.setVersion(storedVersion + increment);
+                }
+            }
+            if (config.getFsyncPolicy() == FsyncPolicy.ALWAYS) {
+                wal.sync(seq);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append lead " + lead.getLeadId(), fail(e));
+        }
+
+        maybeScheduleSnapshot(1);
+        return true;
+    }
+
+    /**
+     * Appends a batch of leads as consecutive log records and waits for at
+     * most one fsync.
+     *
+     * <p>All leads are validated and encoded before anything is written. The
+     * batch is appended under a single lock acquisition and, under
+     * {@link FsyncPolicy#ALWAYS}, made durable by one group-commit sync. A
+     * crash mid-batch can persist a prefix of it; each lead is still
+     * all-or-nothing.
+     *
+     * @param leads The leads to persist
+     * @return The saved leads (same instances, input order)
+     * @throws IllegalArgumentException if leads is null or any lead is invalid
+     * @throws IllegalStateException    if the repository is closed or has failed
+     * @throws UncheckedIOException     if the log write fails
+     */
+    @Override
+    public List<Lead> saveAll(Collection<Lead> leads) {
+        if (leads == null) {
+            throw new IllegalArgumentException("leads cannot be null");
+        }
+        List<Lead> batch = new ArrayList<>(leads);
+        List<byte[]> records = new ArrayList<>(batch.size());
+        for (Lead lead : batch) {
+            validate(lead);
+            records.add(LeadRecordCodec.encode(lead));
+        }
+        if (batch.isEmpty()) return batch;
+
+        ensureWritable();
+        try {
+            long lastSeq;
+            synchronized (applyLock) {
+                // A lead may appear more than once; later copies build on earlier ones
+                Map<String, Long> batchVersions = new HashMap<>();
+                long[] versions = new long[batch.size()];
+                for (int i = 0; i < batch.size(); i++) {
+                    Lead lead = batch.get(i);
+                    String key = lead.getDealerId() + '\u0000' + lead.getLeadId();
+                    Long pending = batchVersions.get(key);
+                    versions[i] = (pending != null ? pending : storedVersion(lead)) + 1;
+                    batchVersions.put(key, versions[i]);
+                    LeadRecordCodec.writeVersion(records.get(i), versions[i]);
+                }
+                lastSeq = wal.appendAll(records);
+                for (int i = 0; i < batch.size(); i++) {
+                    Lead lead = batch.get(i);
+                    memory.restore(lead.freeze(versions[i]));
+                    if (!lead.isFrozen()) {
+                        lead.setVersion(versions[i]);
+                    }
+                }
+            }
+            if (config.getFsyncPolicy() == FsyncPolicy.ALWAYS) {
+                wal.sync(lastSeq);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append batch of " + batch.size() + " leads", fail(e));
+        }
+
+        maybeScheduleSnapshot(batch.size());
+        return batch;
+    }
+
+    /**
+     * Appends the coalesced writes that pass their version checks as
+     * consecutive log records and waits for at most one fsync.
+     *
+     * <p>As {@link #saveAll}, but every write is checked against the stored
+     * version, or the version an earlier write in the batch gave the same
+     * lead, under the append lock. Rejected writes never reach the log.
+     *
+     * @param writes The writes to persist
+     * @return For each write, in input order: true if it was persisted, false on a version mismatch
+     * @throws IllegalArgumentException if writes is null or contains null, or any lead is invalid
+     * @throws IllegalStateException    if the repository is closed or has failed
+     * @throws UncheckedIOException     if the log write fails
+     */
+    @Override
+    public boolean[] saveAllCoalesced(List<CoalescedWrite> writes) {
+        if (writes == null) {
+            throw new IllegalArgumentException("writes cannot be null");
+        }
+        List<byte[]> records = new ArrayList<>(writes.size());
+        for (CoalescedWrite write : writes) {
+            if (write == null) {
+                throw new IllegalArgumentException("writes cannot contain null");
+            }
+            validate(write.getLead());
+            records.add(LeadRecordCodec.encode(write.getLead()));
+        }
+        boolean[] saved = new boolean[writes.size()];
+        if (writes.isEmpty()) return saved;
+
+        ensureWritable();
+        int appended = 0;
+        try {
+            long lastSeq;
+            synchronized (applyLock) {
+                Map<String, Long> batchVersions = new HashMap<>();
+                long[] versions = new long[writes.size()];
+                List<byte[]> accepted = new ArrayList<>(writes.size());
+                for (int i = 0; i < writes.size(); i++) {
+                    CoalescedWrite write = writes.get(i);
+                    Lead lead = write.getLead();
+                    String key = lead.getDealerId() + '\u0000' + lead.getLeadId();
+                    Long pending = batchVersions.get(key);
+                    long current = pending != null ? pending : storedVersion(lead);
+                    if (write.getExpectedVersion() != current) continue;
+
+                    saved[i] = true;
+                    versions[i] = current + write.getWrites();
+                    batchVersions.put(key, versions[i]);
+                    LeadRecordCodec.writeVersion(records.get(i), versions[i]);
+                    accepted.add(records.get(i));
+                }
+                if (accepted.isEmpty()) return saved;
+
+                lastSeq = wal.appendAll(accepted);
+                appended = accepted.size();
+                for (int i = 0; i < writes.size(); i++) {
+                    if (!saved[i]) continue;
+                    Lead lead = writes.get(i).getLead();
+                    memory.restore(lead.freeze(versions[i]));
+                    if (!lead.isFrozen()) {
+                        lead.setVersion(versions[i]);
+                    }
+                }
+            }
+            if (config.getFsyncPolicy() == FsyncPolicy.ALWAYS) {
+                wal.sync(lastSeq);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append batch of " + writes.size() + " leads", fail(e));
+        }
+
+        maybeScheduleSnapshot(appended);
+        return saved;
+    }
+
+    @Override
+    public Optional<Lead> findByIdAndDealerId(String leadId, String dealerId) {
+        return memory.findByIdAndDealerId(leadId, dealerId);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndState(String dealerId, LeadState state) {
+        return memory.findByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdOrderByScore(String dealerId, int limit) {
+        return memory.findByDealerIdOrderByScore(dealerId, limit);
+    }
+
+    @Override
+    public LeadPage findByDealerIdAndState(String dealerId, LeadState state, int pageSize, String pageToken) {
+        return memory.findByDealerIdAndState(dealerId, state, pageSize, pageToken);
+    }
+
+    @Override
+    public LeadPage findByDealerIdOrderByScore(String dealerId, int pageSize, String pageToken) {
+        return memory.findByDealerIdOrderByScore(dealerId, pageSize, pageToken);
+    }
+
+    @Override
+    public Stream<Lead> streamByDealerIdAndState(String dealerId, LeadState state) {
+        return memory.streamByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndCreatedAtBetween(String dealerId, Instant from, Instant to) {
+        return memory.findByDealerIdAndCreatedAtBetween(dealerId, from, to);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndUpdatedAtBetween(String dealerId, Instant from, Instant to) {
+        return memory.findByDealerIdAndUpdatedAtBetween(dealerId, from, to);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndContact(String dealerId, Email email, PhoneCoordinate phone) {
+        return memory.findByDealerIdAndContact(dealerId, email, phone);
+    }
+
+    @Override
+    public long countByDealerIdAndState(String dealerId, LeadState state) {
+        return memory.countByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public long countByDealerIdAndSource(String dealerId, LeadSource source) {
+        return memory.countByDealerIdAndSource(dealerId, source);
+    }
+
+    /**
+     * Writes a snapshot of all leads and deletes the log segments it covers.
+     *
+     * <p>Saves continue while the snapshot is written; records appended after
+     * the snapshot's boundary are replayed on top of it at startup.
+     *
+     * @throws IllegalStateException if the repository is closed or has failed
+     * @throws UncheckedIOException  if writing the snapshot fails
+     */
+    public void snapshot() {
+        synchronized (snapshotLock) {
+            if (closed) throw new IllegalStateException("repository is closed");
+            ensureWritable();
+            try {
+                long boundary;
+                synchronized (applyLock) {
+                    boundary = wal.roll();
+                    recordsSinceSnapshot.set(0);
+                }
+                // Every record before the boundary is already in memory; later
+                // ones may be captured too, which replay simply re-applies.
+                // The rename is durable before anything it replaces is deleted.
+                SnapshotFile.write(config.getDirectory(), boundary,
+                        sink -> memory.forEachLead(lead -> sink.accept(LeadRecordCodec.encode(lead))),
+                        directorySync);
+                SnapshotFile.deleteOlderThan(config.getDirectory(), boundary);
+                wal.deleteSegmentsBefore(boundary);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write snapshot", e);
+            }
+        }
+    }
+
+    /**
+     * Stops background work and makes every appended record durable.
+     *
+     * @throws IOException if the final flush or fsync fails
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (snapshotLock) {
+            if (closed) return;
+            closed = true;
+        }
+        background.shutdown();
+        try {
+            background.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        wal.close();
+    }
+
+    private void ensureWritable() {
+        if (failure != null) {
+            throw new IllegalStateException("lead store failed; reopen to recover", failure);
+        }
+    }
+
+    /** Marks the repository failed after a log write or fsync error. */
+    private IOException fail(IOException e) {
+        if (failure == null) failure = e;
+        return e;
+    }
+
+    /** The in-memory version of a lead, 0 if absent. Call while holding applyLock. */
+    private long storedVersion(Lead lead) {
+        return memory.findByIdAndDealerId(lead.getLeadId(), lead.getDealerId())
+                .map(Lead::getVersion)
+                .orElse(0L);
+    }
+
+    private static void validate(Lead lead) {
+        if (lead == null) {
+            throw new IllegalArgumentException("lead cannot be null");
+        }
+        if (lead.getDealerId() == null || lead.getDealerId().trim().isEmpty()) {
+            throw new IllegalArgumentException("dealerId cannot be blank");
+        }
+        if (lead.getLeadId() == null || lead.getLeadId().trim().isEmpty()) {
+            throw new IllegalArgumentException("leadId cannot be blank");
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // BACKGROUND WORK
+    // ════════════════════════════════════════════════════════════════
+
+    private void backgroundFlush() {
+        try {
+            if (config.getFsyncPolicy() == FsyncPolicy.INTERVAL) {
+                wal.syncAll();
+            } else {
+                wal.flush();
+            }
+        } catch (IOException | IllegalStateException e) {
+            // Closed or failing disk: the next save surfaces the error to its caller
+        }
+    }
+
+    private void maybeScheduleSnapshot(int records) {
+        long every = config.getSnapshotEveryRecords();
+        if (every == 0 || recordsSinceSnapshot.addAndGet(records) < every) return;
+        if (!snapshotScheduled.compareAndSet(false, true)) return;
+
+        try {
+            background.execute(() -> {
+                try {
+                    snapshot();
+                } catch (RuntimeException e) {
+                    // Retried after the next snapshotEveryRecords saves
+                } finally {
+                    snapshotScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+            snapshotScheduled.set(false);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Configuration for {@link FileLeadRepository}.
+ *
+ * <h2>Example Usage</h2>
+ * <pre>{@code
+ * FileLeadRepositoryConfig config = FileLeadRepositoryConfig.builder()
+ *     .directory(Path.of("/var/lib/leads"))
+ *     .fsyncPolicy(FsyncPolicy.INTERVAL)
+ *     .fsyncInterval(Duration.ofMillis(50))
+ *     .build();
+ * }</pre>
+ *
+ * @see FsyncPolicy for durability trade-offs
+ */
+@Value
+@Builder
+public class FileLeadRepositoryConfig {
+
+    /** Directory holding log segments and snapshots (created if missing). Required. */
+    Path directory;
+
+    /** When appended records are forced to disk. */
+    @Builder.Default
+    FsyncPolicy fsyncPolicy = FsyncPolicy.ALWAYS;
+
+    /** Background flush period for {@link FsyncPolicy#INTERVAL} and {@link FsyncPolicy#NEVER}. */
+    @Builder.Default
+    Duration fsyncInterval = Duration.ofMillis(100);
+
+    /** A new log segment is started once the current one reaches this size. */
+    @Builder.Default
+    long segmentSizeBytes = 64L * 1024 * 1024;
+
+    /** A snapshot is taken in the background after this many records (0 disables). */
+    @Builder.Default
+    long snapshotEveryRecords = 100_000;
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if any setting is missing or out of range
+     */
+    void validate() {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory cannot be null");
+        }
+        if (fsyncPolicy == null) {
+            throw new IllegalArgumentException("fsyncPolicy cannot be null");
+        }
+        if (fsyncInterval == null || fsyncInterval.isNegative() || fsyncInterval.isZero()) {
+            throw new IllegalArgumentException("fsyncInterval must be positive");
+        }
+        if (segmentSizeBytes < 1024) {
+            throw new IllegalArgumentException("segmentSizeBytes must be at least 1024");
+        }
+        if (snapshotEveryRecords < 0) {
+            throw new IllegalArgumentException("snapshotEveryRecords cannot be negative");
+        }
+    }
+}
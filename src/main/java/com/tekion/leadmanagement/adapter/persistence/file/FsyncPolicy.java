@@ -0,0 +1,28 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+/**
+ * When the write-ahead log forces appended records to stable storage.
+ *
+ * <table border="1">
+ *   <tr><th>Policy</th><th>save() returns after</th><th>Lost on power failure</th></tr>
+ *   <tr><td>ALWAYS</td><td>Record is fsynced (group commit)</td><td>Nothing acknowledged</td></tr>
+ *   <tr><td>INTERVAL</td><td>Record is buffered</td><td>Up to one fsync interval</td></tr>
+ *   <tr><td>NEVER</td><td>Record is buffered</td><td>Whatever the OS had not flushed</td></tr>
+ * </table>
+ *
+ * <p>Under ALWAYS, concurrent writers share a single fsync: whichever thread
+ * syncs first covers every record appended before it.
+ *
+ * @see FileLeadRepository
+ */
+public enum FsyncPolicy {
+
+    /** Fsync before acknowledging each save; concurrent saves share one fsync. */
+    ALWAYS,
+
+    /** Flush and fsync in the background every {@code fsyncInterval}. */
+    INTERVAL,
+
+    /** Flush to the OS in the background every {@code fsyncInterval}, never fsync. */
+    NEVER
+}
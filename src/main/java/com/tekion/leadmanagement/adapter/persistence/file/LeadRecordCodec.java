@@ -0,0 +1,637 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import com.tekion.leadmanagement.domain.lead.model.AuditEntry;
+import com.tekion.leadmanagement.domain.lead.model.Email;
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.model.PhoneCoordinate;
+import com.tekion.leadmanagement.domain.lead.model.VehicleInterest;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Encodes a {@link Lead}, its value objects and audit trail as a compact
+ * binary record for the write-ahead log, snapshots, slot files and cold
+ * segments.
+ *
+ * <h2>Layout (version 3)</h2>
+ * <p>A format version byte and the lead's optimistic-locking version as a
+ * fixed-width long, then:
+ * <ul>
+ *   <li>A presence byte with one bit per optional group (phone, vehicle
+ *       interest, trade-in, score, createdAt, updatedAt)</li>
+ *   <li>Strings as dictionary references: {@code 0} is null, {@code 1} is a
+ *       literal (varint UTF-8 length, bytes) that joins the record's
+ *       dictionary, {@code n >= 2} repeats dictionary entry {@code n - 2}.
+ *       Audit actors and reasons repeat heavily within a trail.</li>
+ *   <li>Integers as varints (zigzag where negative values are legal), enums
+ *       as varint {@code ordinal + 1} with 0 for null</li>
+ *   <li>Instants as zigzag varint seconds plus varint nanos. updatedAt is
+ *       relative to createdAt and each audit timestamp to the previous one,
+ *       so typical deltas take one or two bytes</li>
+ * </ul>
+ * <p>The dictionary is per record, so every record decodes on its own.
+ *
+ * <p>The lock version sits at a fixed offset so adapters can encode outside
+ * their write lock and stamp the final version in place with
+ * {@link #writeVersion(byte[], long)}. Version 1 (no lock version) and
+ * version 2 (fixed-width fields) records are still readable.
+ *
+ * <h2>Buffers</h2>
+ * <p>{@link #encode(Lead, ByteBuffer)} and {@link #decode(ByteBuffer)} work
+ * directly on the caller's buffer. ASCII strings are written char by char and
+ * heap buffers decode strings straight from their backing array, so neither
+ * direction needs intermediate byte arrays on the common path.
+ *
+ * <p>Value objects are rebuilt through their constructors on decode, so a
+ * decoded lead passes the same validation as a freshly created one.
+ */
+final class LeadRecordCodec {
+
+    /** Current record format version. */
+    static final byte FORMAT_VERSION = 3;
+
+    /** Fixed-width fields with the lock version. */
+    private static final byte FORMAT_VERSION_2 = 2;
+
+    /** Format version written before lock versions were recorded. */
+    private static final byte FORMAT_VERSION_1 = 1;
+
+    /** Offset of the lock version within a version 2 or 3 record. */
+    private static final int LOCK_VERSION_OFFSET = 1;
+
+    private static final int HAS_PHONE = 1;
+    private static final int HAS_VEHICLE_INTEREST = 1 << 1;
+    private static final int HAS_TRADE_IN = 1 << 2;
+    private static final int HAS_SCORE = 1 << 3;
+    private static final int HAS_CREATED_AT = 1 << 4;
+    private static final int HAS_UPDATED_AT = 1 << 5;
+
+    /** Audit entry header bit: the entry has a timestamp. */
+    private static final int HAS_TIMESTAMP = 1;
+
+    private static final int NULL_STRING = 0;
+    private static final int LITERAL_STRING = 1;
+    private static final int FIRST_REFERENCE = 2;
+
+    private static final LeadSource[] SOURCES = LeadSource.values();
+    private static final LeadState[] STATES = LeadState.values();
+
+    /** Per-thread encode buffer for {@link #encode(Lead)}; grown on demand, kept if small. */
+    private static final int SCRATCH_BYTES = 1024;
+    private static final int MAX_RETAINED_SCRATCH_BYTES = 64 * 1024;
+    private static final ThreadLocal<ByteBuffer> SCRATCH =
+            ThreadLocal.withInitial(() -> ByteBuffer.allocate(SCRATCH_BYTES));
+
+    private LeadRecordCodec() {
+    }
+
+    /**
+     * Encodes a lead into a new, exactly sized array.
+     *
+     * @param lead The lead to encode (must not be null)
+     * @return The encoded record payload
+     */
+    static byte[] encode(Lead lead) {
+        ByteBuffer buffer = SCRATCH.get();
+        while (true) {
+            buffer.clear();
+            try {
+                encode(lead, buffer);
+                break;
+            } catch (BufferOverflowException e) {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2);
+                if (buffer.capacity() <= MAX_RETAINED_SCRATCH_BYTES) {
+                    SCRATCH.set(buffer);
+                }
+            }
+        }
+        return Arrays.copyOf(buffer.array(), buffer.position());
+    }
+
+    /**
+     * Encodes a lead at the buffer's position and advances it past the record.
+     *
+     * @param lead The lead to encode (must not be null)
+     * @param out  The destination buffer
+     * @return The number of bytes written
+     * @throws BufferOverflowException if the record does not fit; the buffer's
+     *                                 position is then unspecified
+     */
+    static int encode(Lead lead, ByteBuffer out) {
+        return encode(lead, lead.getVersion(), out);
+    }
+
+    /**
+     * Encodes a lead under the given lock version instead of its own, at the
+     * buffer's position, and advances the buffer past the record.
+     *
+     * @param lead    The lead to encode (must not be null)
+     * @param version The lock version to store
+     * @param out     The destination buffer
+     * @return The number of bytes written
+     * @throws BufferOverflowException if the record does not fit; the buffer's
+     *                                 position is then unspecified
+     */
+    static int encode(Lead lead, long version, ByteBuffer out) {
+        int start = out.position();
+        out.put(FORMAT_VERSION);
+        out.putLong(version);
+
+        Encoder encoder = new Encoder(out);
+        PhoneCoordinate phone = lead.getPhone();
+        VehicleInterest vi = lead.getVehicleInterest();
+        Integer tradeIn = vi != null ? vi.getTradeInValue().orElse(null) : null;
+        Instant createdAt = lead.getCreatedAt();
+        Instant updatedAt = lead.getUpdatedAt();
+        int flags = (phone != null ? HAS_PHONE : 0)
+                | (vi != null ? HAS_VEHICLE_INTEREST : 0)
+                | (tradeIn != null ? HAS_TRADE_IN : 0)
+                | (lead.getScore() != null ? HAS_SCORE : 0)
+                | (createdAt != null ? HAS_CREATED_AT : 0)
+                | (updatedAt != null ? HAS_UPDATED_AT : 0);
+        out.put((byte) flags);
+
+        encoder.string(lead.getLeadId());
+        encoder.string(lead.getDealerId());
+        encoder.string(lead.getTenantId());
+        encoder.string(lead.getSiteId());
+        encoder.string(lead.getFirstName());
+        encoder.string(lead.getLastName());
+        encoder.string(lead.getEmail() != null ? lead.getEmail().getValue() : null);
+        if (phone != null) {
+            encoder.string(phone.getCountryCode());
+            encoder.string(phone.getNumber());
+        }
+
+        encoder.enumValue(lead.getSource());
+        encoder.enumValue(lead.getState());
+
+        if (vi != null) {
+            encoder.string(vi.getMake());
+            encoder.string(vi.getModel());
+            encoder.varint(zigzag(vi.getYear()));
+            if (tradeIn != null) encoder.varint(zigzag(tradeIn));
+        }
+        if (lead.getScore() != null) encoder.varint(zigzag(lead.getScore()));
+
+        long base = 0;
+        if (createdAt != null) {
+            encoder.instant(createdAt, base);
+            base = createdAt.getEpochSecond();
+        }
+        if (updatedAt != null) encoder.instant(updatedAt, base);
+
+        List<AuditEntry> trail = lead.getAuditTrail();
+        encoder.varint(trail.size());
+        for (AuditEntry entry : trail) {
+            Instant timestamp = entry.getTimestamp();
+            out.put((byte) (timestamp != null ? HAS_TIMESTAMP : 0));
+            if (timestamp != null) {
+                encoder.instant(timestamp, base);
+                base = timestamp.getEpochSecond();
+            }
+            encoder.string(entry.getActor());
+            encoder.enumValue(entry.getFromState());
+            encoder.enumValue(entry.getToState());
+            encoder.string(entry.getReason());
+        }
+        return out.position() - start;
+    }
+
+    /**
+     * Decodes a record produced by {@link #encode(Lead)}.
+     *
+     * @param payload The record payload
+     * @return The decoded lead
+     * @throws IllegalArgumentException if the payload is malformed or has an unknown version
+     */
+    static Lead decode(byte[] payload) {
+        return decode(ByteBuffer.wrap(payload));
+    }
+
+    /**
+     * Decodes a record starting at the buffer's position and advances it past
+     * the record.
+     *
+     * @param in The buffer holding the record
+     * @return The decoded lead
+     * @throws IllegalArgumentException if the record is malformed or has an unknown version
+     */
+    static Lead decode(ByteBuffer in) {
+        try {
+            byte format = in.get();
+            if (format != FORMAT_VERSION) {
+                return decodeLegacy(format, in);
+            }
+            long lockVersion = in.getLong();
+            Decoder decoder = new Decoder(in);
+            int flags = in.get();
+
+            Lead.LeadBuilder builder = Lead.builder()
+                    .version(lockVersion)
+                    .leadId(decoder.string())
+                    .dealerId(decoder.string())
+                    .tenantId(decoder.string())
+                    .siteId(decoder.string())
+                    .firstName(decoder.string())
+                    .lastName(decoder.string());
+
+            String email = decoder.string();
+            builder.email(email != null ? new Email(email) : null);
+            if ((flags & HAS_PHONE) != 0) {
+                builder.phone(new PhoneCoordinate(decoder.string(), decoder.string()));
+            }
+
+            builder.source(decoder.enumValue(SOURCES))
+                    .state(decoder.enumValue(STATES));
+
+            if ((flags & HAS_VEHICLE_INTEREST) != 0) {
+                String make = decoder.string();
+                String model = decoder.string();
+                int year = unzigzag(decoder.varint());
+                Integer tradeIn = (flags & HAS_TRADE_IN) != 0 ? unzigzag(decoder.varint()) : null;
+                builder.vehicleInterest(new VehicleInterest(make, model, year, tradeIn));
+            }
+            if ((flags & HAS_SCORE) != 0) {
+                builder.score(unzigzag(decoder.varint()));
+            }
+
+            long base = 0;
+            if ((flags & HAS_CREATED_AT) != 0) {
+                Instant createdAt = decoder.instant(base);
+                builder.createdAt(createdAt);
+                base = createdAt.getEpochSecond();
+            }
+            if ((flags & HAS_UPDATED_AT) != 0) {
+                builder.updatedAt(decoder.instant(base));
+            }
+
+            int trailSize = decoder.varint();
+            if (trailSize < 0 || trailSize > in.remaining()) {
+                throw new IllegalArgumentException("Invalid audit trail size: " + trailSize);
+            }
+            List<AuditEntry> trail = new ArrayList<>(trailSize);
+            for (int i = 0; i < trailSize; i++) {
+                Instant timestamp = null;
+                if ((in.get() & HAS_TIMESTAMP) != 0) {
+                    timestamp = decoder.instant(base);
+                    base = timestamp.getEpochSecond();
+                }
+                trail.add(AuditEntry.builder()
+                        .timestamp(timestamp)
+                        .actor(decoder.string())
+                        .fromState(decoder.enumValue(STATES))
+                        .toState(decoder.enumValue(STATES))
+                        .reason(decoder.string())
+                        .build());
+            }
+            return builder.auditTrail(trail).build();
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated lead record", e);
+        }
+    }
+
+    /**
+     * Reads only the lead ID from a record, without decoding the rest.
+     *
+     * @param payload The record payload
+     * @return The lead ID
+     * @throws IllegalArgumentException if the payload is malformed or has an unknown version
+     */
+    static String decodeLeadId(byte[] payload) {
+        return decodeLeadId(ByteBuffer.wrap(payload));
+    }
+
+    /**
+     * Reads only the lead ID from a record starting at the buffer's position.
+     *
+     * @param in The buffer holding the record; its position is then unspecified
+     * @return The lead ID
+     * @throws IllegalArgumentException if the record is malformed or has an unknown version
+     */
+    static String decodeLeadId(ByteBuffer in) {
+        try {
+            int start = in.position();
+            byte format = in.get();
+            if (format != FORMAT_VERSION) {
+                try (DataInputStream legacy = legacyStream(format, in)) {
+                    if (format == FORMAT_VERSION_2) legacy.readLong();
+                    return readString(legacy);
+                }
+            }
+            in.position(start + LOCK_VERSION_OFFSET + Long.BYTES + 1);
+            return new Decoder(in).string();
+        } catch (BufferUnderflowException | IOException e) {
+            throw new IllegalArgumentException("Malformed lead record", e);
+        }
+    }
+
+    /**
+     * Overwrites the lock version of an encoded record in place.
+     *
+     * @param payload A record produced by {@link #encode(Lead)}
+     * @param version The lock version to store
+     * @throws IllegalArgumentException if the payload is not a current-format record
+     */
+    static void writeVersion(byte[] payload, long version) {
+        if (payload.length < LOCK_VERSION_OFFSET + Long.BYTES || payload[0] != FORMAT_VERSION) {
+            throw new IllegalArgumentException("Not a version " + FORMAT_VERSION + " lead record");
+        }
+        ByteBuffer.wrap(payload).putLong(LOCK_VERSION_OFFSET, version);
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // VERSION 3 FIELD HELPERS
+    // ════════════════════════════════════════════════════════════════
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /** Writes one record; holds the record's string dictionary. */
+    private static final class Encoder {
+
+        private final ByteBuffer out;
+        private String[] dictionary = new String[16];
+        private int size;
+
+        Encoder(ByteBuffer out) {
+            this.out = out;
+        }
+
+        void string(String value) {
+            if (value == null) {
+                varint(NULL_STRING);
+                return;
+            }
+            // Records hold a few dozen strings; a linear scan beats hashing them
+            for (int i = 0; i < size; i++) {
+                if (dictionary[i].equals(value)) {
+                    varint(FIRST_REFERENCE + i);
+                    return;
+                }
+            }
+            if (size == dictionary.length) {
+                dictionary = Arrays.copyOf(dictionary, size * 2);
+            }
+            dictionary[size++] = value;
+            varint(LITERAL_STRING);
+            utf8(value);
+        }
+
+        void enumValue(Enum<?> value) {
+            varint(value != null ? value.ordinal() + 1 : 0);
+        }
+
+        void instant(Instant value, long baseSecond) {
+            varlong(zigzag(value.getEpochSecond() - baseSecond));
+            varint(value.getNano());
+        }
+
+        void varint(int value) {
+            while ((value & ~0x7F) != 0) {
+                out.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.put((byte) value);
+        }
+
+        void varlong(long value) {
+            while ((value & ~0x7FL) != 0) {
+                out.put((byte) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            out.put((byte) value);
+        }
+
+        /** ASCII is written char by char; other strings go through one encoded copy. */
+        private void utf8(String value) {
+            int length = value.length();
+            for (int i = 0; i < length; i++) {
+                if (value.charAt(i) >= 0x80) {
+                    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+                    varint(bytes.length);
+                    out.put(bytes);
+                    return;
+                }
+            }
+            varint(length);
+            if (out.remaining() < length) throw new BufferOverflowException();
+            for (int i = 0; i < length; i++) {
+                out.put((byte) value.charAt(i));
+            }
+        }
+
+        private static long zigzag(long value) {
+            return (value << 1) ^ (value >> 63);
+        }
+    }
+
+    /** Reads one record; rebuilds the record's string dictionary as literals are read. */
+    private static final class Decoder {
+
+        private final ByteBuffer in;
+        private String[] dictionary = new String[16];
+        private int size;
+
+        Decoder(ByteBuffer in) {
+            this.in = in;
+        }
+
+        String string() {
+            int tag = varint();
+            if (tag == NULL_STRING) return null;
+            if (tag != LITERAL_STRING) {
+                int index = tag - FIRST_REFERENCE;
+                if (index < 0 || index >= size) {
+                    throw new IllegalArgumentException("Unknown string reference: " + tag);
+                }
+                return dictionary[index];
+            }
+
+            int length = varint();
+            if (length < 0 || length > in.remaining()) {
+                throw new IllegalArgumentException("Invalid string length: " + length);
+            }
+            String value;
+            if (in.hasArray()) {
+                value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+                in.position(in.position() + length);
+            } else {
+                ByteBuffer slice = in.slice();
+                slice.limit(length);
+                value = StandardCharsets.UTF_8.decode(slice).toString();
+                in.position(in.position() + length);
+            }
+            if (size == dictionary.length) {
+                dictionary = Arrays.copyOf(dictionary, size * 2);
+            }
+            dictionary[size++] = value;
+            return value;
+        }
+
+        <E extends Enum<E>> E enumValue(E[] values) {
+            int tag = varint();
+            if (tag == 0) return null;
+            if (tag > values.length) {
+                throw new IllegalArgumentException("Unknown enum ordinal: " + (tag - 1));
+            }
+            return values[tag - 1];
+        }
+
+        Instant instant(long baseSecond) {
+            long second = baseSecond + unzigzag(varlong());
+            int nano = varint();
+            if (nano < 0 || nano > 999_999_999) {
+                throw new IllegalArgumentException("Invalid nano adjustment: " + nano);
+            }
+            return Instant.ofEpochSecond(second, nano);
+        }
+
+        int varint() {
+            int result = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = in.get();
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return result;
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        long varlong() {
+            long result = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = in.get();
+                result |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) return result;
+            }
+            throw new IllegalArgumentException("Malformed varint");
+        }
+
+        private static long unzigzag(long value) {
+            return (value >>> 1) ^ -(value & 1);
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // LEGACY FORMATS (read only)
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Decodes a version 1 or 2 record: fixed-width fields, presence-flagged
+     * nullable values and modified UTF-8 strings.
+     *
+     * @param format The format byte, already consumed from {@code in}
+     */
+    private static Lead decodeLegacy(byte format, ByteBuffer in) {
+        try (DataInputStream legacy = legacyStream(format, in)) {
+            long lockVersion = format == FORMAT_VERSION_2 ? legacy.readLong() : 0L;
+
+            Lead.LeadBuilder builder = Lead.builder()
+                    .version(lockVersion)
+                    .leadId(readString(legacy))
+                    .dealerId(readString(legacy))
+                    .tenantId(readString(legacy))
+                    .siteId(readString(legacy))
+                    .firstName(readString(legacy))
+                    .lastName(readString(legacy));
+
+            String email = readString(legacy);
+            builder.email(email != null ? new Email(email) : null);
+
+            if (legacy.readBoolean()) {
+                builder.phone(new PhoneCoordinate(readString(legacy), readString(legacy)));
+            }
+
+            builder.source(readEnum(legacy, SOURCES))
+                    .state(readEnum(legacy, STATES));
+
+            if (legacy.readBoolean()) {
+                builder.vehicleInterest(new VehicleInterest(
+                        readString(legacy), readString(legacy), legacy.readInt(), readInteger(legacy)));
+            }
+
+            builder.score(readInteger(legacy))
+                    .createdAt(readInstant(legacy))
+                    .updatedAt(readInstant(legacy));
+
+            int trailSize = legacy.readInt();
+            if (trailSize < 0) {
+                throw new IllegalArgumentException("Negative audit trail size: " + trailSize);
+            }
+            List<AuditEntry> trail = new ArrayList<>(trailSize);
+            for (int i = 0; i < trailSize; i++) {
+                trail.add(AuditEntry.builder()
+                        .timestamp(readInstant(legacy))
+                        .actor(readString(legacy))
+                        .fromState(readEnum(legacy, STATES))
+                        .toState(readEnum(legacy, STATES))
+                        .reason(readString(legacy))
+                        .build());
+            }
+            in.position(in.limit() - legacy.available());
+            return builder.auditTrail(trail).build();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Malformed lead record", e);
+        }
+    }
+
+    /**
+     * A stream over the rest of a legacy record, after the format byte.
+     *
+     * @throws IllegalArgumentException if the format is unknown
+     */
+    private static DataInputStream legacyStream(byte format, ByteBuffer in) {
+        if (format != FORMAT_VERSION_1 && format != FORMAT_VERSION_2) {
+            throw new IllegalArgumentException("Unsupported lead record version: " + format);
+        }
+        byte[] rest;
+        int offset;
+        if (in.hasArray()) {
+            rest = in.array();
+            offset = in.arrayOffset() + in.position();
+        } else {
+            rest = new byte[in.remaining()];
+            in.duplicate().get(rest);
+            offset = 0;
+        }
+        return new DataInputStream(new ByteArrayInputStream(rest, offset, in.remaining()));
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static Integer readInteger(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInputStream in, E[] values) throws IOException {
+        int ordinal = in.readByte();
+        if (ordinal == -1) return null;
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IllegalArgumentException("Unknown enum ordinal: " + ordinal);
+        }
+        return values[ordinal];
+    }
+
+    private static Instant readInstant(DataInputStream in) throws IOException {
+        return in.readBoolean() ? Instant.ofEpochSecond(in.readLong(), in.readInt()) : null;
+    }
+}
@@ -0,0 +1,944 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import com.tekion.leadmanagement.domain.lead.model.CoalescedWrite;
+import com.tekion.leadmanagement.domain.lead.model.Email;
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadPage;
+import com.tekion.leadmanagement.domain.lead.model.LeadPageToken;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.model.PhoneCoordinate;
+import com.tekion.leadmanagement.domain.lead.port.LeadPersistencePort;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Lead persistence in memory-mapped files, for datasets larger than the heap.
+ *
+ * <h2>Overview</h2>
+ * <p>Each lead is encoded straight into a fixed-size slot of a memory-mapped
+ * file ({@link SlotStore}) and decoded straight from it, without an
+ * intermediate array. The heap holds only a compact per-dealer index of
+ * primitive arrays; a {@link Lead} object is decoded on every read and is not
+ * retained, so heap use is a few dozen bytes per stored lead regardless of
+ * its audit trail or contact details.
+ *
+ * <p>A lead whose encoding outgrows its slot, usually through a growing
+ * audit trail, spills into overflow slots chained from the first one, so
+ * saves keep succeeding as leads age. Size {@code slotSizeBytes} for the
+ * typical lead: each overflow slot adds a slot's worth of disk and one more
+ * mapped read to every decode of that lead. Encodings are capped at
+ * {@link SlotStore#MAX_RECORD_BYTES}.
+ *
+ * <h2>Per-Dealer Index</h2>
+ * <p>For each dealer:
+ * <ul>
+ *   <li>An open-addressing table from a 64-bit hash of leadId to an entry;
+ *       hash matches are confirmed against the leadId stored in the slot</li>
+ *   <li>Per entry: slot number, version, state, source, score, createdAt and
+ *       updatedAt, so {@link #findByDealerIdAndState}, {@link #findByDealerIdOrderByScore}
+ *       and the time-range queries select matches without decoding non-matching leads</li>
+ *   <li>Per entry: 64-bit hashes of the normalized email and E.164 phone, so
+ *       {@link #findByDealerIdAndContact} decodes only likely duplicates</li>
+ *   <li>Running totals per state and per source, so the count methods are O(1)</li>
+ * </ul>
+ *
+ * <h2>Updates and Crash Safety</h2>
+ * <p>An update writes the new version into a fresh slot, repoints the index,
+ * then frees the old slot. After a process crash, recovery keeps the version
+ * with the highest sequence number and discards torn slots. Writes reach the
+ * OS page cache immediately; call {@link #force()} (or {@link #close()}) to
+ * also survive power loss.
+ *
+ * <h2>Copy Semantics</h2>
+ * <p>Reads return freshly decoded copies. Mutating a returned lead has no
+ * effect until it is saved again.
+ *
+ * <h2>Limitations</h2>
+ * <ul>
+ *   <li>Encoded leads larger than {@link SlotStore#MAX_RECORD_BYTES} are rejected</li>
+ *   <li>Scores of {@link Integer#MIN_VALUE} rank like null scores</li>
+ * </ul>
+ *
+ * @see LeadPersistencePort for the interface contract
+ * @see MappedLeadRepositoryConfig for sizing
+ */
+public class MappedLeadRepository implements LeadPersistencePort, Closeable {
+
+    /** Expected-version sentinel for unconditional writes. */
+    private static final long ANY_VERSION = -1L;
+
+    private final SlotStore store;
+    private final ConcurrentHashMap<String, DealerSlots> dealers = new ConcurrentHashMap<>();
+    private final AtomicLong nextSeq = new AtomicLong();
+    private volatile boolean closed;
+
+    /**
+     * Opens (or creates) a store and rebuilds the index from its slots.
+     *
+     * @param config Storage configuration
+     * @throws IllegalArgumentException if the configuration is invalid
+     * @throws IllegalStateException    if the store was created with a different layout
+     * @throws UncheckedIOException     if slot files cannot be created or mapped
+     */
+    public MappedLeadRepository(MappedLeadRepositoryConfig config) {
+        if (config == null) {
+            throw new IllegalArgumentException("config cannot be null");
+        }
+        config.validate();
+        this.store = new SlotStore(config.getDirectory(), config.getSlotSizeBytes(), config.getSlotsPerFile());
+
+        try {
+            Files.createDirectories(config.getDirectory());
+            store.open(this::recover);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open lead store at " + config.getDirectory(), e);
+        }
+    }
+
+    /**
+     * Encodes the lead into a fresh slot and repoints the index to it.
+     *
+     * @param lead The lead to persist
+     * @return The saved lead (same instance)
+     * @throws IllegalArgumentException if lead is null, has blank dealerId/leadId,
+     *                                  or its encoding exceeds {@link SlotStore#MAX_RECORD_BYTES}
+     * @throws IllegalStateException    if the repository is closed
+     */
+    @Override
+    public Lead save(Lead lead) {
+        ensureOpen();
+        validate(lead);
+
+        DealerSlots dealer = dealers.computeIfAbsent(lead.getDealerId(), id -> new DealerSlots());
+        synchronized (dealer) {
+            writeLocked(dealer, lead, ANY_VERSION, 1);
+        }
+        return lead;
+    }
+
+    /**
+     * Writes the lead only if its indexed version equals {@code expectedVersion}.
+     *
+     * <p>The check and the write happen under the dealer's lock; a rejected
+     * write allocates no slot.
+     *
+     * @param lead            The modified lead
+     * @param expectedVersion The version the caller read, or 0 to insert only if absent
+     * @return true if the lead was persisted, false on a version mismatch
+     * @throws IllegalArgumentException if lead is invalid or too large, or expectedVersion is negative
+     * @throws IllegalStateException    if the repository is closed
+     */
+    @Override
+    public boolean saveIfVersion(Lead lead, long expectedVersion) {
+        ensureOpen();
+        validate(lead);
+        if (expectedVersion < 0) {
+            throw new IllegalArgumentException("expectedVersion cannot be negative");
+        }
+
+        DealerSlots dealer = dealers.computeIfAbsent(lead.getDealerId(), id -> new DealerSlots());
+        synchronized (dealer) {
+            return writeLocked(dealer, lead, expectedVersion, 1);
+        }
+    }
+
+    /**
+     * Writes one slot carrying the net result of {@code writes} updates,
+     * indexed under version {@code expectedVersion + writes}.
+     *
+     * @param lead            The final state of the lead
+     * @param expectedVersion The version the updates were based on, or 0 if absent
+     * @param writes          Number of updates being persisted
+     * @return true if the lead was persisted, false on a version mismatch
+     * @throws IllegalArgumentException if lead is invalid or too large, expectedVersion is negative
+     *                                  or writes is not positive
+     * @throws IllegalStateException    if the repository is closed
+     */
+    @Override
+    public boolean saveCoalesced(Lead lead, long expectedVersion, int writes) {
+        ensureOpen();
+        validate(lead);
+        if (expectedVersion < 0) {
+            throw new IllegalArgumentException("expectedVersion cannot be negative");
+        }
+        if (writes <= 0) {
+            throw new IllegalArgumentException("writes must be positive");
+        }
+
+        DealerSlots dealer = dealers.computeIfAbsent(lead.getDealerId(), id -> new DealerSlots());
+        synchronized (dealer) {
+            return writeLocked(dealer, lead, expectedVersion, writes);
+        }
+    }
+
+    /**
+     * Saves many leads, taking each dealer's lock once.
+     *
+     * <p>All leads are validated before any slot is written. Each lead is
+     * encoded as its turn comes, so one whose encoding exceeds
+     * {@link SlotStore#MAX_RECORD_BYTES} is rejected after the leads before it
+     * were written.
+     *
+     * @param leads The leads to persist
+     * @return The saved leads (same instances, input order)
+     * @throws IllegalArgumentException if leads is null, or any lead is invalid or too large
+     * @throws IllegalStateException    if the repository is closed
+     */
+    @Override
+    public List<Lead> saveAll(Collection<Lead> leads) {
+        if (leads == null) {
+            throw new IllegalArgumentException("leads cannot be null");
+        }
+        ensureOpen();
+
+        Map<String, List<Integer>> byDealer = new HashMap<>();
+        List<Lead> batch = new ArrayList<>(leads);
+        for (int i = 0; i < batch.size(); i++) {
+            validate(batch.get(i));
+            byDealer.computeIfAbsent(batch.get(i).getDealerId(), id -> new ArrayList<>()).add(i);
+        }
+
+        for (Map.Entry<String, List<Integer>> group : byDealer.entrySet()) {
+            DealerSlots dealer = dealers.computeIfAbsent(group.getKey(), id -> new DealerSlots());
+            synchronized (dealer) {
+                for (int i : group.getValue()) {
+                    writeLocked(dealer, batch.get(i), ANY_VERSION, 1);
+                }
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * Writes many coalesced updates, taking each dealer's lock once.
+     *
+     * <p>All leads are validated before any slot is written, and a write that
+     * fails its version check allocates no slot. As with {@link #saveAll}, a
+     * lead whose encoding exceeds {@link SlotStore#MAX_RECORD_BYTES} is
+     * rejected when its turn comes.
+     *
+     * @param writes The writes to persist
+     * @return For each write, in input order: true if it was persisted, false on a version mismatch
+     * @throws IllegalArgumentException if writes is null or contains null, or any lead is invalid or too large
+     * @throws IllegalStateException    if the repository is closed
+     */
+    @Override
+    public boolean[] saveAllCoalesced(List<CoalescedWrite> writes) {
+        if (writes == null) {
+            throw new IllegalArgumentException("writes cannot be null");
+        }
+        ensureOpen();
+
+        Map<String, List<Integer>> byDealer = new HashMap<>();
+        for (int i = 0; i < writes.size(); i++) {
+            CoalescedWrite write = writes.get(i);
+            if (write == null) {
+                throw new IllegalArgumentException("writes cannot contain null");
+            }
+            validate(write.getLead());
+            byDealer.computeIfAbsent(write.getLead().getDealerId(), id -> new ArrayList<>()).add(i);
+        }
+
+        boolean[] saved = new boolean[writes.size()];
+        for (Map.Entry<String, List<Integer>> group : byDealer.entrySet()) {
+            DealerSlots dealer = dealers.computeIfAbsent(group.getKey(), id -> new DealerSlots());
+            synchronized (dealer) {
+                for (int i : group.getValue()) {
+                    CoalescedWrite write = writes.get(i);
+                    saved[i] = writeLocked(dealer, write.getLead(), write.getExpectedVersion(), write.getWrites());
+                }
+            }
+        }
+        return saved;
+    }
+
+    /**
+     * Finds a lead by its ID within a specific dealer's scope.
+     *
+     * <p>O(1) index probe plus one decode.
+     *
+     * @param leadId   The lead's unique identifier
+     * @param dealerId The dealer the lead belongs to
+     * @return Optional containing a decoded copy of the lead if found
+     */
+    @Override
+    public Optional<Lead> findByIdAndDealerId(String leadId, String dealerId) {
+        if (leadId == null || dealerId == null) return Optional.empty();
+        ensureOpen();
+
+        DealerSlots dealer = dealers.get(dealerId);
+        if (dealer == null) return Optional.empty();
+
+        synchronized (dealer) {
+            int entry = dealer.find(leadId, hash(leadId), store);
+            if (entry < 0) return Optional.empty();
+            return Optional.ofNullable(store.read(dealer.slots[entry], LeadRecordCodec::decode));
+        }
+    }
+
+    /**
+     * Finds all leads for a dealer in a specific state.
+     *
+     * <p>Scans the dealer's in-heap state column and decodes only matches.
+     *
+     * @param dealerId The dealer to query
+     * @param state    The lead state to filter by
+     * @return Decoded copies of the matching leads
+     */
+    @Override
+    public List<Lead> findByDealerIdAndState(String dealerId, LeadState state) {
+        if (dealerId == null || state == null) return List.of();
+        ensureOpen();
+
+        DealerSlots dealer = dealers.get(dealerId);
+        if (dealer == null) return List.of();
+
+        List<Lead> leads = new ArrayList<>();
+        synchronized (dealer) {
+            byte ordinal = (byte) state.ordinal();
+            for (int i = 0; i < dealer.size; i++) {
+                if (dealer.states[i] == ordinal) {
+                    readLocked(dealer.slots[i], leads);
+                }
+            }
+        }
+        return leads;
+    }
+
+    /**
+     * Finds top-scored leads for a dealer, ordered by score descending.
+     *
+     * <p>Same ordering as the in-memory adapter: higher score first (null
+     * last), then more recently updated, then lead ID. Selects the top K from
+     * the in-heap score columns and decodes only those K leads.
+     *
+     * @param dealerId The dealer to query
+     * @param limit    Maximum number of leads to return
+     * @return Decoded copies of the top leads
+     */
+    @Override
+    public List<Lead> findByDealerIdOrderByScore(String dealerId, int limit) {
+        if (dealerId == null || limit <= 0) return List.of();
+        ensureOpen();
+
+        DealerSlots dealer = dealers.get(dealerId);
+        if (dealer == null) return List.of();
+
+        List<Lead> leads = new ArrayList<>();
+        synchronized (dealer) {
+            for (int entry : dealer.top(limit, entry -> true, store)) {
+                readLocked(dealer.slots[entry], leads);
+            }
+        }
+        return leads;
+    }
+
+    /**
+     * Returns one page of a dealer's leads in a state, ordered by leadId.
+     *
+     * <p>There is no sorted leadId index off-heap, so each page scans the
+     * dealer's state column and reads the leadId of every match; only the
+     * page's own leads are decoded. Cost is O(dealer size) per page.
+     *
+     * @param dealerId  The dealer to query
+     * @param state     The lead state to filter by
+     * @param pageSize  Maximum number of leads on the page
+     * @param pageToken Token from the previous page, or null for the first page
+     * @return Decoded copies of the page's leads
+     * @throws IllegalArgumentException if pageSize is not positive or the token is invalid
+     */
+    @Override
+    public LeadPage findByDealerIdAndState(String dealerId, LeadState state, int pageSize, String pageToken) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        LeadPageToken after = LeadPageToken.decode(pageToken, LeadPageToken.Kind.STATE, dealerId, state);
+        if (dealerId == null || state == null) return LeadPage.empty();
+        ensureOpen();
+
+        DealerSlots dealer = dealers.get(dealerId);
+        if (dealer == null) return LeadPage.empty();
+
+        List<Lead> leads = new ArrayList<>();
+        boolean more;
+        synchronized (dealer) {
+            // The pageSize + 1 smallest leadIds after the cursor; the extra one signals another page
+            TreeMap<String, Integer> window = new TreeMap<>();
+            byte ordinal = (byte) state.ordinal();
+            for (int i = 0; i < dealer.size; i++) {
+                if (dealer.states[i] != ordinal) continue;
+                String leadId = dealer.leadIdAt(i, store);
+                if (leadId == null || (after != null && leadId.compareTo(after.getLastLeadId()) <= 0)) continue;
+                if (window.size() > pageSize && leadId.compareTo(window.lastKey()) >= 0) continue;
+                window.put(leadId, i);
+                if (window.size() > pageSize + 1) window.pollLastEntry();
+            }
+            more = window.size() > pageSize;
+            if (more) window.pollLastEntry();
+            for (int entry : window.values()) {
+                readLocked(dealer.slots[entry], leads);
+            }
+        }
+
+        String next = more && !leads.isEmpty()
+                ? LeadPageToken.afterState(dealerId, state, leads.get(leads.size() - 1).getLeadId()).encode()
+                : null;
+        return LeadPage.builder().leads(leads).nextPageToken(next).build();
+    }
+
+    /**
+     * Returns one page of a dealer's leads ranked by score.
+     *
+     * <p>Selects from the in-heap score columns, skipping entries ranked at or
+     * before the token's key, and decodes only the page's leads.
+     *
+     * @param dealerId  The dealer to query
+     * @param pageSize  Maximum number of leads on the page
+     * @param pageToken Token from the previous page, or null for the first page
+     * @return Decoded copies of the page's leads
+     * @throws IllegalArgumentException if pageSize is not positive or the token is invalid
+     */
+    @Override
+    public LeadPage findByDealerIdOrderByScore(String dealerId, int pageSize, String pageToken) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        LeadPageToken after = LeadPageToken.decode(pageToken, LeadPageToken.Kind.SCORE, dealerId, null);
+        if (dealerId == null) return LeadPage.empty();
+        ensureOpen();
+
+        DealerSlots dealer = dealers.get(dealerId);
+        if (dealer == null) return LeadPage.empty();
+
+        List<Lead> leads = new ArrayList<>();
+        boolean more;
+        synchronized (dealer) {
+            IntPredicate eligible = after == null ? entry -> true : entry -> dealer.ranksAfter(entry, after, store);
+            Integer[] ranked = dealer.top(pageSize + 1, eligible, store);
+            more = ranked.length > pageSize;
+            for (int i = 0; i < Math.min(ranked.length, pageSize); i++) {
+                readLocked(dealer.slots[ranked[i]], leads);
+            }
+        }
+
+        String next = null;
+        if (more && !leads.isEmpty()) {
+            Lead last = leads.get(leads.size() - 1);
+            next = LeadPageToken.afterScore(dealerId, last.getScore(), last.getUpdatedAt(), last.getLeadId()).encode();
+        }
+        return LeadPage.builder().leads(leads).nextPageToken(next).build();
+    }
+
+    /**
+     * Streams a dealer's leads in a state, in index order.
+     *
+     * <p>Captures only the matching entry numbers (4 bytes each) up front,
+     * then reads and decodes one lead at a time as the stream is consumed.
+     * A lead that changes state before it is reached is skipped.
+     *
+     * @param dealerId The dealer to query
+     * @param state    The lead state to filter by
+     * @return Lazy stream of decoded leads
+     */
+    @Override
+    public Stream<Lead> streamByDealerIdAndState(String dealerId, LeadState state) {
+        if (dealerId == null || state == null) return Stream.empty();
+        ensureOpen();
+
+        DealerSlots dealer = dealers.get(dealerId);
+        if (dealer == null) return Stream.empty();
+
+        byte ordinal = (byte) state.ordinal();
+        int[] matching;
+        synchronized (dealer) {
+            matching = IntStream.range(0, dealer.size).filter(i -> dealer.states[i] == ordinal).toArray();
+        }
+        return IntStream.of(matching)
+                .mapToObj(entry -> {
+                    synchronized (dealer) {
+                        return dealer.states[entry] == ordinal
+                                ? store.read(dealer.slots[entry], LeadRecordCodec::decode)
+                                : null;
+                    }
+                })
+                .filter(Objects::nonNull);
+    }
+
+    /**
+     * Finds a dealer's leads created in {@code [from, to)}, oldest first.
+     *
+     * <p>Scans the dealer's createdAt column and decodes only matches.
+     *
+     * @param dealerId The dealer to query
+     * @param from     Inclusive lower bound
+     * @param to       Exclusive upper bound
+     * @return Decoded matching leads ordered by createdAt, then leadId
+     * @throws IllegalArgumentException if a bound is null
+     */
+    @Override
+    public List<Lead> findByDealerIdAndCreatedAtBetween(String dealerId, Instant from, Instant to) {
+        return findInTimeRange(dealerId, from, to, true);
+    }
+
+    /**
+     * Finds a dealer's leads last updated in {@code [from, to)}, least recently updated first.
+     *
+     * <p>Scans the dealer's updatedAt column and decodes only matches.
+     *
+     * @param dealerId The dealer to query
+     * @param from     Inclusive lower bound
+     * @param to       Exclusive upper bound
+     * @return Decoded matching leads ordered by updatedAt, then leadId
+     * @throws IllegalArgumentException if a bound is null
+     */
+    @Override
+    public List<Lead> findByDealerIdAndUpdatedAtBetween(String dealerId, Instant from, Instant to) {
+        return findInTimeRange(dealerId, from, to, false);
+    }
+
+    private List<Lead> findInTimeRange(String dealerId, Instant from, Instant to, boolean byCreatedAt) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("time range bounds cannot be null");
+        }
+        if (dealerId == null || !from.isBefore(to)) return List.of();
+        ensureOpen();
+
+        DealerSlots dealer = dealers.get(dealerId);
+        if (dealer == null) return List.of();
+
+        // Nanos saturate at the extremes, so the column test is inclusive and exact bounds are checked after decode
+        long low = DealerSlots.toNanos(from);
+        long high = DealerSlots.toNanos(to);
+        List<Lead> leads = new ArrayList<>();
+        synchronized (dealer) {
+            long[] column = byCreatedAt ? dealer.createdAt : dealer.updatedAt;
+            for (int i = 0; i < dealer.size; i++) {
+                if (column[i] != DealerSlots.NULL_TIME && column[i] >= low && column[i] <= high) {
+                    readLocked(dealer.slots[i], leads);
+                }
+            }
+        }
+
+        Function<Lead, Instant> time = byCreatedAt ? Lead::getCreatedAt : Lead::getUpdatedAt;
+        return leads.stream()
+                .filter(lead -> !time.apply(lead).isBefore(from) && time.apply(lead).isBefore(to))
+                .sorted(Comparator.comparing(time).thenComparing(Lead::getLeadId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds a dealer's leads sharing the given email or E.164 phone.
+     *
+     * <p>Scans the dealer's contact-hash columns (primitive compares, no
+     * decoding), then decodes and confirms only hash matches.
+     *
+     * @param dealerId The dealer to query
+     * @param email    Email to match, or null
+     * @param phone    Phone to match, or null
+     * @return Decoded matching leads ordered by leadId
+     */
+    @Override
+    public List<Lead> findByDealerIdAndContact(String dealerId, Email email, PhoneCoordinate phone) {
+        if (dealerId == null || (email == null && phone == null)) return List.of();
+        ensureOpen();
+
+        DealerSlots dealer = dealers.get(dealerId);
+        if (dealer == null) return List.of();
+
+        String emailKey = email != null ? email.getValue() : null;
+        String phoneKey = phone != null ? phone.toE164() : null;
+        long emailHash = DealerSlots.contactHash(emailKey);
+        long phoneHash = DealerSlots.contactHash(phoneKey);
+        List<Lead> leads = new ArrayList<>();
+        synchronized (dealer) {
+            for (int i = 0; i < dealer.size; i++) {
+                if ((emailHash != DealerSlots.NO_CONTACT && dealer.emailHashes[i] == emailHash)
+                        || (phoneHash != DealerSlots.NO_CONTACT && dealer.phoneHashes[i] == phoneHash)) {
+                    readLocked(dealer.slots[i], leads);
+                }
+            }
+        }
+
+        return leads.stream()
+                .filter(lead -> (emailKey != null && lead.getEmail() != null && emailKey.equals(lead.getEmail().getValue()))
+                        || (phoneKey != null && lead.getPhone() != null && phoneKey.equals(lead.getPhone().toE164())))
+                .sorted(Comparator.comparing(Lead::getLeadId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Counts a dealer's leads in a state.
+     *
+     * <p>O(1): reads the dealer's running per-state total.
+     *
+     * @param dealerId The dealer to query
+     * @param state    The lead state to count
+     * @return Number of matching leads
+     */
+    @Override
+    public long countByDealerIdAndState(String dealerId, LeadState state) {
+        if (dealerId == null || state == null) return 0;
+        ensureOpen();
+
+        DealerSlots dealer = dealers.get(dealerId);
+        if (dealer == null) return 0;
+        synchronized (dealer) {
+            return dealer.stateCounts[state.ordinal()];
+        }
+    }
+
+    /**
+     * Counts a dealer's leads acquired through a source.
+     *
+     * <p>O(1): reads the dealer's running per-source total.
+     *
+     * @param dealerId The dealer to query
+     * @param source   The lead source to count
+     * @return Number of matching leads
+     */
+    @Override
+    public long countByDealerIdAndSource(String dealerId, LeadSource source) {
+        if (dealerId == null || source == null) return 0;
+        ensureOpen();
+
+        DealerSlots dealer = dealers.get(dealerId);
+        if (dealer == null) return 0;
+        synchronized (dealer) {
+            return dealer.sourceCounts[source.ordinal()];
+        }
+    }
+
+    /**
+     * Forces every slot file to stable storage.
+     *
+     * @throws IllegalStateException if the repository is closed
+     */
+    public void force() {
+        ensureOpen();
+        store.force();
+    }
+
+    /**
+     * Forces all slot files and closes the repository.
+     */
+    @Override
+    public void close() {
+        if (closed) return;
+        closed = true;
+        store.close();
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // INTERNALS
+    // ════════════════════════════════════════════════════════════════
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("repository is closed");
+    }
+
+    /** Rejects a null lead or one with a blank dealerId or leadId. */
+    private static void validate(Lead lead) {
+        if (lead == null) {
+            throw new IllegalArgumentException("lead cannot be null");
+        }
+        if (lead.getDealerId() == null || lead.getDealerId().trim().isEmpty()) {
+            throw new IllegalArgumentException("dealerId cannot be blank");
+        }
+        if (lead.getLeadId() == null || lead.getLeadId().trim().isEmpty()) {
+            throw new IllegalArgumentException("leadId cannot be blank");
+        }
+    }
+
+    /**
+     * Encodes a lead that does not fit in one slot into an array for
+     * {@link SlotStore#write(int, long, byte[])}, rejecting encodings over the
+     * record limit.
+     */
+    private static byte[] encodeChained(Lead lead, long version) {
+        byte[] payload = LeadRecordCodec.encode(lead);
+        LeadRecordCodec.writeVersion(payload, version);
+        if (payload.length > SlotStore.MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException(String.format(
+                    "Encoded lead %s is %d bytes; the limit is %d",
+                    lead.getLeadId(), payload.length, SlotStore.MAX_RECORD_BYTES));
+        }
+        return payload;
+    }
+
+    /**
+     * Writes a new version into a fresh slot, then frees the old one. Caller holds the dealer's lock.
+     *
+     * <p>The lead is encoded straight into the slot's mapping; only a lead
+     * that needs overflow slots is encoded to an array first.
+     *
+     * @param expectedVersion Required indexed version (0 = absent), or {@link #ANY_VERSION}
+     * @param increment       Added to the indexed version
+     * @return false if the indexed version did not match
+     */
+    private boolean writeLocked(DealerSlots dealer, Lead lead, long expectedVersion, int increment) {
+        long hash = hash(lead.getLeadId());
+        int entry = dealer.find(lead.getLeadId(), hash, store);
+        long storedVersion = entry < 0 ? 0L : dealer.versions[entry];
+        if (expectedVersion != ANY_VERSION && expectedVersion != storedVersion) {
+            return false;
+        }
+        long version = storedVersion + increment;
+        try {
+            int slot = store.allocate();
+            try {
+                long seq = nextSeq.getAndIncrement();
+                if (!store.writeInPlace(slot, seq, out -> LeadRecordCodec.encode(lead, version, out))) {
+                    store.write(slot, seq, encodeChained(lead, version));
+                }
+            } catch (IOException | RuntimeException e) {
+                store.free(slot);
+                throw e;
+            }
+
+            if (!lead.isFrozen()) {
+                lead.setVersion(version);
+            }
+            if (entry < 0) {
+                dealer.add(hash, slot, lead);
+            } else {
+                int previous = dealer.slots[entry];
+                dealer.update(entry, slot, lead);
+                store.free(previous);
+            }
+            return true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to allocate slot for lead " + lead.getLeadId(), e);
+        }
+    }
+
+    /**
+     * Rebuilds the index from one recovered slot; the highest sequence wins.
+     * Only the current slot or an already indexed (hence already scanned) slot
+     * is ever freed here.
+     */
+    private void recover(int slot, long seq, ByteBuffer payload) {
+        Lead lead = LeadRecordCodec.decode(payload);
+        nextSeq.accumulateAndGet(seq + 1, Math::max);
+
+        DealerSlots dealer = dealers.computeIfAbsent(lead.getDealerId(), id -> new DealerSlots());
+        long hash = hash(lead.getLeadId());
+        int entry = dealer.find(lead.getLeadId(), hash, store);
+        if (entry < 0) {
+            dealer.add(hash, slot, lead);
+        } else if (store.readSeq(dealer.slots[entry]) < seq) {
+            // Crash between writing a new version and freeing the old one
+            int stale = dealer.slots[entry];
+            dealer.update(entry, slot, lead);
+            store.free(stale);
+        } else {
+            store.free(slot);
+        }
+    }
+
+    /** Decodes a slot's lead from the mapping into {@code leads}, skipping a torn slot. Caller holds the dealer's lock. */
+    private void readLocked(int slot, List<Lead> leads) {
+        Lead lead = store.read(slot, LeadRecordCodec::decode);
+        if (lead != null) {
+            leads.add(lead);
+        }
+    }
+
+    /** 64-bit FNV-1a: String.hashCode() collides too often at tens of millions of keys. */
+    private static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        return h;
+    }
+
+    /**
+     * One dealer's index: parallel primitive columns plus a hash table of
+     * entry numbers. Entries are never removed. Guarded by its own monitor.
+     */
+    private static final class DealerSlots {
+
+        private static final int NULL_SCORE = Integer.MIN_VALUE;
+        private static final long NULL_TIME = Long.MIN_VALUE;
+        private static final byte NULL_STATE = -1;
+        private static final byte NULL_SOURCE = -1;
+        static final long NO_CONTACT = 0L;
+
+        int size;
+        int[] slots = new int[4];
+        long[] hashes = new long[4];
+        long[] versions = new long[4];
+        byte[] states = new byte[4];
+        byte[] sources = new byte[4];
+        int[] scores = new int[4];
+        long[] emailHashes = new long[4];
+        long[] phoneHashes = new long[4];
+        long[] createdAt = new long[4];
+        long[] updatedAt = new long[4];
+
+        /** Entry number + 1 per bucket; 0 is empty. Kept at most half full. */
+        int[] buckets = new int[8];
+
+        /** Entries per state / source ordinal, maintained by {@link #update}. */
+        final long[] stateCounts = new long[LeadState.values().length];
+        final long[] sourceCounts = new long[LeadSource.values().length];
+
+        int find(String leadId, long hash, SlotStore store) {
+            int mask = buckets.length - 1;
+            for (int i = bucket(hash, mask); ; i = (i + 1) & mask) {
+                int entry = buckets[i] - 1;
+                if (entry < 0) return -1;
+                if (hashes[entry] == hash && leadId.equals(leadIdAt(entry, store))) {
+                    return entry;
+                }
+            }
+        }
+
+        void add(long hash, int slot, Lead lead) {
+            if (size == slots.length) {
+                int capacity = size * 2;
+                slots = Arrays.copyOf(slots, capacity);
+                hashes = Arrays.copyOf(hashes, capacity);
+                versions = Arrays.copyOf(versions, capacity);
+                states = Arrays.copyOf(states, capacity);
+                sources = Arrays.copyOf(sources, capacity);
+                scores = Arrays.copyOf(scores, capacity);
+                emailHashes = Arrays.copyOf(emailHashes, capacity);
+                phoneHashes = Arrays.copyOf(phoneHashes, capacity);
+                createdAt = Arrays.copyOf(createdAt, capacity);
+                updatedAt = Arrays.copyOf(updatedAt, capacity);
+            }
+            int entry = size++;
+            hashes[entry] = hash;
+            // Nothing counted yet for a new entry
+            states[entry] = NULL_STATE;
+            sources[entry] = NULL_SOURCE;
+            update(entry, slot, lead);
+
+            if (size * 2 > buckets.length) {
+                buckets = new int[buckets.length * 2];
+                for (int e = 0; e < size; e++) {
+                    insertBucket(e);
+                }
+            } else {
+                insertBucket(entry);
+            }
+        }
+
+        void update(int entry, int slot, Lead lead) {
+            slots[entry] = slot;
+            versions[entry] = lead.getVersion();
+
+            if (states[entry] != NULL_STATE) stateCounts[states[entry]]--;
+            states[entry] = lead.getState() != null ? (byte) lead.getState().ordinal() : NULL_STATE;
+            if (states[entry] != NULL_STATE) stateCounts[states[entry]]++;
+
+            if (sources[entry] != NULL_SOURCE) sourceCounts[sources[entry]]--;
+            sources[entry] = lead.getSource() != null ? (byte) lead.getSource().ordinal() : NULL_SOURCE;
+            if (sources[entry] != NULL_SOURCE) sourceCounts[sources[entry]]++;
+
+            scores[entry] = lead.getScore() != null ? lead.getScore() : NULL_SCORE;
+            emailHashes[entry] = contactHash(lead.getEmail() != null ? lead.getEmail().getValue() : null);
+            phoneHashes[entry] = contactHash(lead.getPhone() != null ? lead.getPhone().toE164() : null);
+            createdAt[entry] = toNanos(lead.getCreatedAt());
+            updatedAt[entry] = toNanos(lead.getUpdatedAt());
+        }
+
+        /** Higher score first (null last), then newer first (null last), then leadId. */
+        Comparator<Integer> ranking(SlotStore store) {
+            return (a, b) -> {
+                int byScore = Integer.compare(scores[b], scores[a]);
+                if (byScore != 0) return byScore;
+                int byTime = Long.compare(updatedAt[b], updatedAt[a]);
+                if (byTime != 0) return byTime;
+                return String.valueOf(leadIdAt(a, store)).compareTo(String.valueOf(leadIdAt(b, store)));
+            };
+        }
+
+        /**
+         * The best {@code limit} eligible entries, best first. Caller holds this monitor.
+         */
+        Integer[] top(int limit, IntPredicate eligible, SlotStore store) {
+            Comparator<Integer> ranking = ranking(store);
+            // Worst of the current top K at the head, so it is the one evicted
+            PriorityQueue<Integer> top = new PriorityQueue<>(Math.min(limit, size) + 1, ranking.reversed());
+            for (int i = 0; i < size; i++) {
+                if (top.size() == limit && ranking.compare(i, top.peek()) >= 0) continue;
+                if (!eligible.test(i)) continue;
+                top.offer(i);
+                if (top.size() > limit) top.poll();
+            }
+            Integer[] ranked = top.toArray(new Integer[0]);
+            Arrays.sort(ranked, ranking);
+            return ranked;
+        }
+
+        /** True if the entry ranks strictly after the token's key. */
+        boolean ranksAfter(int entry, LeadPageToken after, SlotStore store) {
+            int score = after.getLastScore() != null ? after.getLastScore() : NULL_SCORE;
+            int byScore = Integer.compare(score, scores[entry]);
+            if (byScore != 0) return byScore > 0;
+            int byTime = Long.compare(toNanos(after.getLastUpdatedAt()), updatedAt[entry]);
+            if (byTime != 0) return byTime > 0;
+            return String.valueOf(leadIdAt(entry, store)).compareTo(after.getLastLeadId()) > 0;
+        }
+
+        String leadIdAt(int entry, SlotStore store) {
+            return store.read(slots[entry], LeadRecordCodec::decodeLeadId);
+        }
+
+        private void insertBucket(int entry) {
+            int mask = buckets.length - 1;
+            int i = bucket(hashes[entry], mask);
+            while (buckets[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            buckets[i] = entry + 1;
+        }
+
+        private static int bucket(long hash, int mask) {
+            return (int) (hash ^ (hash >>> 32)) & mask;
+        }
+
+        /** Hash of a normalized contact key; {@link #NO_CONTACT} only for null. */
+        static long contactHash(String key) {
+            if (key == null) return NO_CONTACT;
+            long h = hash(key);
+            return h != NO_CONTACT ? h : 1L;
+        }
+
+        private static long toNanos(Instant instant) {
+            if (instant == null) return NULL_TIME;
+            try {
+                return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+            } catch (ArithmeticException e) {
+                return instant.getEpochSecond() < 0 ? NULL_TIME + 1 : Long.MAX_VALUE;
+            }
+        }
+    }
+}
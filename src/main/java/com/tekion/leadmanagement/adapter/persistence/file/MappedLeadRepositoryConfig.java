@@ -0,0 +1,61 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+
+/**
+ * Configuration for {@link MappedLeadRepository}.
+ *
+ * <h2>Sizing</h2>
+ * <p>A lead occupies one slot of {@code slotSizeBytes} while its encoding
+ * fits, and spills into overflow slots as it grows (its audit trail grows
+ * with every transition). Choose a slot size that fits the typical lead;
+ * larger ones cost an extra slot and read per overflow. Files of
+ * {@code slotSizeBytes * slotsPerFile} bytes are added as the store grows.
+ * The layout is fixed when a store is created.
+ *
+ * <h2>Example Usage</h2>
+ * <pre>{@code
+ * MappedLeadRepositoryConfig config = MappedLeadRepositoryConfig.builder()
+ *     .directory(Path.of("/var/lib/leads-mapped"))
+ *     .slotSizeBytes(2048)
+ *     .build();
+ * }</pre>
+ */
+@Value
+@Builder
+public class MappedLeadRepositoryConfig {
+
+    /** Directory holding slot files (created if missing). Required. */
+    Path directory;
+
+    /** Bytes per slot, including a 16-byte header. */
+    @Builder.Default
+    int slotSizeBytes = 1024;
+
+    /** Slots per mapped file. */
+    @Builder.Default
+    int slotsPerFile = 65_536;
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if any setting is missing or out of range
+     */
+    void validate() {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory cannot be null");
+        }
+        if (slotSizeBytes < 128 || slotSizeBytes > 1024 * 1024) {
+            throw new IllegalArgumentException("slotSizeBytes must be between 128 and 1048576");
+        }
+        if (slotsPerFile <= 0) {
+            throw new IllegalArgumentException("slotsPerFile must be positive");
+        }
+        if ((long) slotSizeBytes * slotsPerFile > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("slotSizeBytes * slotsPerFile cannot exceed 2 GiB");
+        }
+    }
+}
@@ -0,0 +1,521 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.zip.CRC32;
+
+/**
+ * Fixed-size record slots in memory-mapped files.
+ *
+ * <h2>On-Disk Format</h2>
+ * <p>Slots live in {@code slots-<n>.dat} files of {@code slotsPerFile} slots
+ * each; {@code slots.meta} records the layout so a store is never reopened
+ * with a different slot size. Each slot is
+ * <pre>
+ *   [int length][int crc32(payload, seq)][long seq][payload][unused]
+ * </pre>
+ * A length of 0 marks a free slot.
+ *
+ * <h2>Overflow Slots</h2>
+ * <p>A record longer than {@link #maxPayloadBytes()} keeps its header in the
+ * slot it was written to, followed by the number of its first overflow
+ * slot and as much payload as fits. The rest is spread over overflow slots
+ * allocated for it, each
+ * <pre>
+ *   [int -chunkLength][int nextSlot or -1][long seq][chunk][unused]
+ * </pre>
+ * The head's checksum covers the whole payload, and every overflow slot
+ * repeats the head's {@code seq}, so a broken chain reads as torn. Callers
+ * only ever see head slots; overflow slots are allocated and freed with
+ * their record.
+ *
+ * <h2>Write Ordering</h2>
+ * <p>The payload, including any overflow slots, is written before the
+ * header, and callers write a record's new version into a fresh slot before
+ * freeing the old one. A crash therefore leaves a slot that is either
+ * complete, detectably torn (bad checksum), or a stale duplicate whose lower
+ * {@code seq} loses on recovery. Overflow slots that no intact record links
+ * to are freed on {@link #open}.
+ *
+ * <h2>In-Place Access</h2>
+ * <p>{@link #writeInPlace} encodes a record straight into its slot's mapped
+ * payload area and {@link #read(int, Function)} decodes it from there, so a
+ * single-slot record never passes through a heap array. Chained records are
+ * still assembled in a {@code byte[]}, since their payload is not contiguous.
+ *
+ * <h2>Thread Safety</h2>
+ * <p>Allocation is synchronized. Reads and writes of a slot use absolute
+ * buffer operations; callers must serialize access to any single record.
+ */
+final class SlotStore implements Closeable {
+
+    /** Bytes of header in front of every payload. */
+    static final int HEADER_BYTES = 16;
+
+    /** Upper bound on a record's payload, across all of its slots. */
+    static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    /** Header plus the first overflow slot's number, in front of a chained record's payload. */
+    private static final int CHAINED_HEADER_BYTES = HEADER_BYTES + 4;
+
+    /** Link value ending a chain. */
+    private static final int NO_SLOT = -1;
+
+    private static final int META_MAGIC = 0x4C534C54; // "LSLT"
+    private static final String META_FILE = "slots.meta";
+
+    private final Path directory;
+    private final int slotSize;
+    private final int slotsPerFile;
+
+    /** One mapped region per slot file; replaced (never mutated) when a file is added. */
+    private volatile MappedByteBuffer[] regions = new MappedByteBuffer[0];
+
+    // Guarded by this
+    private int[] freeSlots = new int[64];
+    private int freeCount;
+    private int nextUnused;
+
+    SlotStore(Path directory, int slotSize, int slotsPerFile) {
+        this.directory = directory;
+        this.slotSize = slotSize;
+        this.slotsPerFile = slotsPerFile;
+    }
+
+    /**
+     * Callback for each occupied slot found on {@link #open(RecordVisitor)}.
+     */
+    @FunctionalInterface
+    interface RecordVisitor {
+        /**
+         * @param payload The record's payload, valid only during the call
+         */
+        void visit(int slot, long seq, ByteBuffer payload);
+    }
+
+    /**
+     * Maps existing slot files and reports every valid record.
+     *
+     * <p>Torn or corrupt slots, and overflow slots no valid record links to,
+     * are cleared and become free.
+     *
+     * @param visitor Receives each valid record; may {@link #free(int)} slots it rejects
+     * @throws IOException           if a file cannot be read or mapped
+     * @throws IllegalStateException if the store was created with a different layout
+     */
+    synchronized void open(RecordVisitor visitor) throws IOException {
+        checkLayout();
+
+        int fileCount = 0;
+        while (Files.exists(filePath(fileCount))) {
+            fileCount++;
+        }
+        for (int i = 0; i < fileCount; i++) {
+            mapFile(i);
+        }
+
+        int capacity = fileCount * slotsPerFile;
+        nextUnused = capacity;
+
+        // Overflow slots of intact records, which are neither records nor free
+        BitSet linked = new BitSet(capacity);
+        for (int slot = 0; slot < capacity; slot++) {
+            if (isChained(slot) && read(slot) != null) {
+                for (int next : overflowSlots(slot)) {
+                    linked.set(next);
+                }
+            }
+        }
+
+        // Scan in reverse so the lowest free slots end up on top of the free list
+        for (int slot = capacity - 1; slot >= 0; slot--) {
+            // Already freed with its record if the visitor rejected the record
+            if (linked.get(slot)) continue;
+            ByteBuffer payload = read(slot, Function.identity());
+            if (payload == null) {
+                clear(slot);
+                pushFree(slot);
+            } else {
+                visitor.visit(slot, readSeq(slot), payload);
+            }
+        }
+    }
+
+    /** Largest payload a single slot can hold; longer records take overflow slots. */
+    int maxPayloadBytes() {
+        return slotSize - HEADER_BYTES;
+    }
+
+    /**
+     * Reserves a free slot, mapping a new file if none is left.
+     *
+     * @return The slot number
+     * @throws IOException           if a new file cannot be created or mapped
+     * @throws IllegalStateException if the store has reached its addressable limit
+     */
+    synchronized int allocate() throws IOException {
+        if (freeCount > 0) {
+            return freeSlots[--freeCount];
+        }
+        if (nextUnused == regions.length * slotsPerFile) {
+            if ((long) (regions.length + 1) * slotsPerFile > Integer.MAX_VALUE) {
+                throw new IllegalStateException("slot store is full");
+            }
+            mapFile(regions.length);
+        }
+        return nextUnused++;
+    }
+
+    /**
+     * Returns a slot, and any overflow slots of the record in it, to the free
+     * list after clearing their headers.
+     *
+     * @param slot A slot previously returned by {@link #allocate()}
+     */
+    synchronized void free(int slot) {
+        int[] overflow = overflowSlots(slot);
+        // The head first, so a crash part-way leaves only unlinked overflow slots
+        clear(slot);
+        pushFree(slot);
+        for (int next : overflow) {
+            clear(next);
+            pushFree(next);
+        }
+    }
+
+    /**
+     * Writes a record into an allocated slot: payload first, header last.
+     *
+     * <p>A payload longer than {@link #maxPayloadBytes()} also allocates and
+     * fills overflow slots before the header is written.
+     *
+     * @param slot    Target slot
+     * @param seq     Record sequence; the higher one wins between duplicates on recovery
+     * @param payload Record payload, at most {@link #MAX_RECORD_BYTES} bytes
+     * @throws IOException           if an overflow slot cannot be allocated
+     * @throws IllegalStateException if the store has reached its addressable limit
+     */
+    void write(int slot, long seq, byte[] payload) throws IOException {
+        MappedByteBuffer region = region(slot);
+        int offset = offset(slot);
+        if (payload.length <= maxPayloadBytes()) {
+            region.put(offset + HEADER_BYTES, payload);
+        } else {
+            int headBytes = slotSize - CHAINED_HEADER_BYTES;
+            int chunkBytes = maxPayloadBytes();
+            int[] overflow = allocateOverflow(ceilDiv(payload.length - headBytes, chunkBytes));
+            int next = NO_SLOT;
+            for (int i = overflow.length - 1; i >= 0; i--) {
+                int from = headBytes + i * chunkBytes;
+                int chunk = Math.min(chunkBytes, payload.length - from);
+                MappedByteBuffer chunkRegion = region(overflow[i]);
+                int chunkOffset = offset(overflow[i]);
+                chunkRegion.put(chunkOffset + HEADER_BYTES, payload, from, chunk);
+                chunkRegion.putLong(chunkOffset + 8, seq);
+                chunkRegion.putInt(chunkOffset + 4, next);
+                chunkRegion.putInt(chunkOffset, -chunk);
+                next = overflow[i];
+            }
+            region.put(offset + CHAINED_HEADER_BYTES, payload, 0, headBytes);
+            region.putInt(offset + HEADER_BYTES, next);
+        }
+        region.putLong(offset + 8, seq);
+        region.putInt(offset + 4, checksum(ByteBuffer.wrap(payload), seq));
+        region.putInt(offset, payload.length);
+    }
+
+    /**
+     * Encodes a record directly into an allocated slot's mapped payload area,
+     * then writes the header.
+     *
+     * <p>If the record does not fit in one slot, nothing is written (the slot
+     * stays unoccupied) and false is returned; the caller then encodes the
+     * record to an array and calls {@link #write(int, long, byte[])}, which
+     * spills it into overflow slots.
+     *
+     * @param slot    Target slot
+     * @param seq     Record sequence; the higher one wins between duplicates on recovery
+     * @param encoder Writes the payload from the buffer's position, throwing
+     *                {@link BufferOverflowException} if it does not fit
+     * @return true if the record was written, false if it needs overflow slots
+     */
+    boolean writeInPlace(int slot, long seq, Consumer<ByteBuffer> encoder) {
+        MappedByteBuffer region = region(slot);
+        int offset = offset(slot);
+        ByteBuffer payload = region.slice(offset + HEADER_BYTES, maxPayloadBytes());
+        try {
+            encoder.accept(payload);
+        } catch (BufferOverflowException e) {
+            return false;
+        }
+        payload.flip();
+        region.putLong(offset + 8, seq);
+        region.putInt(offset + 4, checksum(payload, seq));
+        region.putInt(offset, payload.limit());
+        return true;
+    }
+
+    /**
+     * Verifies a record and decodes it from the mapping.
+     *
+     * <p>A single-slot record is handed to the decoder as a read-only view of
+     * its mapped payload, which is valid only while the caller keeps the
+     * record from being rewritten or freed. A chained record is first copied
+     * into an array.
+     *
+     * @param slot    Slot to read
+     * @param decoder Decodes the payload between the buffer's position and limit
+     * @return The decoded record, or null if the slot is free, an overflow slot, torn or corrupt
+     */
+    <T> T read(int slot, Function<ByteBuffer, T> decoder) {
+        MappedByteBuffer region = region(slot);
+        int offset = offset(slot);
+        int length = region.getInt(offset);
+        if (length <= 0 || length > MAX_RECORD_BYTES) return null;
+        if (length > maxPayloadBytes()) {
+            byte[] payload = read(slot);
+            return payload != null ? decoder.apply(ByteBuffer.wrap(payload)) : null;
+        }
+
+        ByteBuffer payload = region.slice(offset + HEADER_BYTES, length).asReadOnlyBuffer();
+        if (region.getInt(offset + 4) != checksum(payload, region.getLong(offset + 8))) return null;
+        return decoder.apply(payload);
+    }
+
+    /**
+     * Copies a record's payload out of the mapping, following its overflow
+     * slots if it has any.
+     *
+     * @param slot Slot to read
+     * @return The payload, or null if the slot is free, an overflow slot, torn or corrupt
+     */
+    byte[] read(int slot) {
+        MappedByteBuffer region = region(slot);
+        int offset = offset(slot);
+        int length = region.getInt(offset);
+        if (length <= 0 || length > MAX_RECORD_BYTES) return null;
+
+        byte[] payload = new byte[length];
+        long seq = region.getLong(offset + 8);
+        if (length <= maxPayloadBytes()) {
+            region.get(offset + HEADER_BYTES, payload);
+        } else if (!readChain(slot, seq, payload)) {
+            return null;
+        }
+        if (region.getInt(offset + 4) != checksum(ByteBuffer.wrap(payload), seq)) return null;
+        return payload;
+    }
+
+    /**
+     * Reads a slot's sequence number (meaningful only for occupied slots).
+     */
+    long readSeq(int slot) {
+        return region(slot).getLong(offset(slot) + 8);
+    }
+
+    /**
+     * Writes dirty pages of every slot file to stable storage.
+     */
+    void force() {
+        for (MappedByteBuffer region : regions) {
+            region.force();
+        }
+    }
+
+    /**
+     * Forces all slot files. Mappings are released by the garbage collector;
+     * the store must not be used afterwards.
+     */
+    @Override
+    public void close() {
+        force();
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // INTERNALS
+    // ════════════════════════════════════════════════════════════════
+
+    private MappedByteBuffer region(int slot) {
+        return regions[slot / slotsPerFile];
+    }
+
+    private int offset(int slot) {
+        return (slot % slotsPerFile) * slotSize;
+    }
+
+    private int capacity() {
+        return regions.length * slotsPerFile;
+    }
+
+    /** Whether a slot's header announces a record with overflow slots. */
+    private boolean isChained(int slot) {
+        int length = region(slot).getInt(offset(slot));
+        return length > maxPayloadBytes() && length <= MAX_RECORD_BYTES;
+    }
+
+    /**
+     * Copies a chained record's payload from its head and overflow slots.
+     *
+     * @return false if a link is out of range or an overflow slot does not
+     *         belong to the record
+     */
+    private boolean readChain(int slot, long seq, byte[] payload) {
+        MappedByteBuffer head = region(slot);
+        int headOffset = offset(slot);
+        int copied = slotSize - CHAINED_HEADER_BYTES;
+        head.get(headOffset + CHAINED_HEADER_BYTES, payload, 0, copied);
+
+        int next = head.getInt(headOffset + HEADER_BYTES);
+        while (copied < payload.length) {
+            int chunk = chunkLength(next, seq, payload.length - copied);
+            if (chunk < 0) return false;
+            region(next).get(offset(next) + HEADER_BYTES, payload, copied, chunk);
+            copied += chunk;
+            next = region(next).getInt(offset(next) + 4);
+        }
+        return true;
+    }
+
+    /**
+     * Lists the overflow slots linked from a head slot, stopping at the first
+     * broken link.
+     *
+     * @return The overflow slots in chain order; empty for a single-slot or free slot
+     */
+    private int[] overflowSlots(int slot) {
+        if (!isChained(slot)) return new int[0];
+        MappedByteBuffer head = region(slot);
+        int headOffset = offset(slot);
+        long seq = head.getLong(headOffset + 8);
+        int remaining = head.getInt(headOffset) - (slotSize - CHAINED_HEADER_BYTES);
+
+        int[] overflow = new int[ceilDiv(remaining, maxPayloadBytes())];
+        int count = 0;
+        int next = head.getInt(headOffset + HEADER_BYTES);
+        while (remaining > 0 && count < overflow.length) {
+            int chunk = chunkLength(next, seq, remaining);
+            if (chunk < 0) break;
+            overflow[count++] = next;
+            remaining -= chunk;
+            next = region(next).getInt(offset(next) + 4);
+        }
+        return Arrays.copyOf(overflow, count);
+    }
+
+    /**
+     * Validates one link of a chain.
+     *
+     * @return The overflow slot's chunk length, or -1 if the slot is out of
+     *         range, not an overflow slot of record {@code seq}, or longer than
+     *         the {@code remaining} bytes
+     */
+    private int chunkLength(int slot, long seq, int remaining) {
+        if (slot < 0 || slot >= capacity()) return -1;
+        MappedByteBuffer region = region(slot);
+        int offset = offset(slot);
+        int chunk = -region.getInt(offset);
+        if (chunk <= 0 || chunk > maxPayloadBytes() || chunk > remaining) return -1;
+        if (region.getLong(offset + 8) != seq) return -1;
+        return chunk;
+    }
+
+    /** Reserves overflow slots, releasing them all if any cannot be allocated. */
+    private synchronized int[] allocateOverflow(int count) throws IOException {
+        int[] overflow = new int[count];
+        int allocated = 0;
+        try {
+            for (; allocated < count; allocated++) {
+                overflow[allocated] = allocate();
+            }
+        } catch (IOException | RuntimeException e) {
+            for (int i = 0; i < allocated; i++) {
+                pushFree(overflow[i]);
+            }
+            throw e;
+        }
+        return overflow;
+    }
+
+    private static int ceilDiv(int bytes, int chunkBytes) {
+        return (bytes + chunkBytes - 1) / chunkBytes;
+    }
+
+    private void clear(int slot) {
+        region(slot).putInt(offset(slot), 0);
+    }
+
+    private void pushFree(int slot) {
+        if (freeCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length * 2);
+        }
+        freeSlots[freeCount++] = slot;
+    }
+
+    private void mapFile(int index) throws IOException {
+        long fileBytes = (long) slotSize * slotsPerFile;
+        Path path = filePath(index);
+        MappedByteBuffer region;
+        try (FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (channel.size() > fileBytes) {
+                throw new IllegalStateException("Slot file larger than configured layout: " + path);
+            }
+            // Extends the file to full size; the mapping outlives the channel
+            region = channel.map(FileChannel.MapMode.READ_WRITE, 0, fileBytes);
+        }
+        MappedByteBuffer[] grown = Arrays.copyOf(regions, index + 1);
+        grown[index] = region;
+        regions = grown;
+    }
+
+    private void checkLayout() throws IOException {
+        Path meta = directory.resolve(META_FILE);
+        if (Files.exists(meta)) {
+            try (DataInputStream in = new DataInputStream(Files.newInputStream(meta))) {
+                if (in.readInt() != META_MAGIC) {
+                    throw new IllegalStateException("Not a slot store: " + meta);
+                }
+                int storedSlotSize = in.readInt();
+                int storedSlotsPerFile = in.readInt();
+                if (storedSlotSize != slotSize || storedSlotsPerFile != slotsPerFile) {
+                    throw new IllegalStateException(String.format(
+                            "Store was created with slotSizeBytes=%d, slotsPerFile=%d",
+                            storedSlotSize, storedSlotsPerFile));
+                }
+            }
+        } else {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(meta))) {
+                out.writeInt(META_MAGIC);
+                out.writeInt(slotSize);
+                out.writeInt(slotsPerFile);
+            }
+        }
+    }
+
+    private Path filePath(int index) {
+        return directory.resolve(String.format("slots-%05d.dat", index));
+    }
+
+    /** CRC32 of the payload's remaining bytes, then of seq; the payload's position is unchanged. */
+    private static int checksum(ByteBuffer payload, long seq) {
+        CRC32 crc = new CRC32();
+        crc.update(payload.duplicate());
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            crc.update((int) (seq >>> shift));
+        }
+        return (int) crc.getValue();
+    }
+}
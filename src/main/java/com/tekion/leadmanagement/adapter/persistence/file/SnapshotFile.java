@@ -0,0 +1,180 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Point-in-time dump of every stored lead, so startup replays only the log tail.
+ *
+ * <h2>On-Disk Format</h2>
+ * <pre>
+ *   [int MAGIC][byte VERSION][long boundarySeq]
+ *   ([int length][int crc32][payload])*
+ *   [int -1][long recordCount]
+ * </pre>
+ *
+ * <p>{@code boundarySeq} is the first log sequence <i>not</i> covered by the
+ * snapshot. Snapshots are written to a temporary file, fsynced and atomically
+ * renamed, so a crash leaves either the complete snapshot or none. The rename
+ * is made durable before {@link #write} returns, so older snapshots and the
+ * log segments the new one covers may be deleted afterwards.
+ */
+final class SnapshotFile {
+
+    private static final int MAGIC = 0x4C534E50; // "LSNP"
+    private static final byte VERSION = 1;
+    private static final String PREFIX = "snapshot-";
+    private static final String SUFFIX = ".snap";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private SnapshotFile() {
+    }
+
+    /**
+     * Writes a snapshot.
+     *
+     * @param directory   Store directory
+     * @param boundarySeq First log sequence not covered by this snapshot
+     * @param source      Feeds every record payload to the given sink
+     * @param sync        Forces the directory once the snapshot is renamed into place
+     * @throws IOException if writing, syncing or renaming fails
+     */
+    static void write(Path directory, long boundarySeq, Consumer<Consumer<byte[]>> source,
+                      DirectorySync sync) throws IOException {
+        Path target = path(directory, boundarySeq);
+        Path temp = directory.resolve(target.getFileName() + TEMP_SUFFIX);
+
+        try (FileOutputStream file = new FileOutputStream(temp.toFile());
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeLong(boundarySeq);
+
+            long[] count = {0};
+            try {
+                source.accept(payload -> {
+                    try {
+                        CRC32 crc = new CRC32();
+                        crc.update(payload);
+                        out.writeInt(payload.length);
+                        out.writeInt((int) crc.getValue());
+                        out.write(payload);
+                        count[0]++;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+
+            out.writeInt(-1);
+            out.writeLong(count[0]);
+            out.flush();
+            file.getFD().sync();
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        sync.force(directory);
+    }
+
+    /**
+     * Loads the newest snapshot, if any.
+     *
+     * @param directory Store directory
+     * @param handler   Receives every record payload
+     * @return The snapshot's boundary sequence, or 0 if there is no snapshot
+     * @throws IOException           if the snapshot cannot be read
+     * @throws IllegalStateException if the snapshot is corrupt
+     */
+    static long loadLatest(Path directory, Consumer<byte[]> handler) throws IOException {
+        List<Long> boundaries = listBoundaries(directory);
+        if (boundaries.isEmpty()) return 0;
+
+        long boundary = boundaries.get(boundaries.size() - 1);
+        Path path = path(directory, boundary);
+        try (InputStream file = Files.newInputStream(path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 64 * 1024))) {
+            if (in.readInt() != MAGIC || in.readByte() != VERSION || in.readLong() != boundary) {
+                throw new IllegalStateException("Bad snapshot header: " + path);
+            }
+            long count = 0;
+            int length;
+            while ((length = in.readInt()) != -1) {
+                if (length <= 0 || length > WriteAheadLog.MAX_RECORD_BYTES) {
+                    throw new IllegalStateException("Bad record length in snapshot: " + path);
+                }
+                int crc = in.readInt();
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+
+                CRC32 actual = new CRC32();
+                actual.update(payload);
+                if ((int) actual.getValue() != crc) {
+                    throw new IllegalStateException("Checksum mismatch in snapshot: " + path);
+                }
+                handler.accept(payload);
+                count++;
+            }
+            if (in.readLong() != count) {
+                throw new IllegalStateException("Record count mismatch in snapshot: " + path);
+            }
+        }
+        return boundary;
+    }
+
+    /**
+     * Deletes snapshots older than {@code boundarySeq} and leftover temporary files.
+     *
+     * @param directory   Store directory
+     * @param boundarySeq Boundary of the snapshot to keep
+     * @throws IOException if listing or deleting fails
+     */
+    static void deleteOlderThan(Path directory, long boundarySeq) throws IOException {
+        for (long boundary : listBoundaries(directory)) {
+            if (boundary < boundarySeq) {
+                Files.deleteIfExists(path(directory, boundary));
+            }
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : (Iterable<Path>) files::iterator) {
+                String name = file.getFileName().toString();
+                if (name.startsWith(PREFIX) && name.endsWith(TEMP_SUFFIX)
+                        && !name.equals(path(directory, boundarySeq).getFileName() + TEMP_SUFFIX)) {
+                    Files.deleteIfExists(file);
+                }
+            }
+        }
+    }
+
+    private static Path path(Path directory, long boundarySeq) {
+        return directory.resolve(String.format("%s%020d%s", PREFIX, boundarySeq, SUFFIX));
+    }
+
+    private static List<Long> listBoundaries(Path directory) throws IOException {
+        List<Long> boundaries = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(PREFIX) && name.endsWith(SUFFIX)) {
+                    boundaries.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                }
+            });
+        }
+        boundaries.sort(Long::compare);
+        return boundaries;
+    }
+}
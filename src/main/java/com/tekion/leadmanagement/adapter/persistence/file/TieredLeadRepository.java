@@ -0,0 +1,723 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import com.tekion.leadmanagement.adapter.persistence.inmemory.InMemoryLeadRepository;
+import com.tekion.leadmanagement.domain.lead.model.CoalescedWrite;
+import com.tekion.leadmanagement.domain.lead.model.Email;
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadPage;
+import com.tekion.leadmanagement.domain.lead.model.LeadPageToken;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.model.PhoneCoordinate;
+import com.tekion.leadmanagement.domain.lead.port.LeadPersistencePort;
+import lombok.Value;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Hot/cold tiering decorator that moves old terminal leads out of the heap.
+ *
+ * <h2>Overview</h2>
+ * <p>Converted and lost leads are rarely read again but would otherwise stay
+ * in the {@link InMemoryLeadRepository} forever. An eviction sweep moves
+ * terminal leads not updated for {@code coldAfter} into a Deflate-compressed,
+ * append-only cold segment on local disk. What stays on the heap per cold
+ * lead is one small index entry (leadId to block offset), so heap use scales
+ * with open leads rather than lifetime leads.
+ *
+ * <h2>Reads</h2>
+ * <ul>
+ *   <li>{@link #findByIdAndDealerId} falls back to the cold tier on a hot
+ *       miss and decodes the lead from its block, without promoting it</li>
+ *   <li>State queries for terminal states and all counts cover both tiers.
+ *       Paginated and streamed state queries walk the cold tier's sorted
+ *       leadId index from the page token and decode only the blocks holding
+ *       the page's cold leads</li>
+ *   <li>Score, time-range and contact queries cover the hot tier only:
+ *       cold leads are closed, so they are out of rankings and dedup</li>
+ * </ul>
+ *
+ * <h2>Writes</h2>
+ * <p>Saving a cold lead first promotes it back into the hot tier with its
+ * stored version, so versioning and {@link #saveIfVersion} behave as if it
+ * had never left. Writes share a read lock; the eviction step that indexes a
+ * block and removes its leads from the hot tier takes the write lock, so a
+ * save is never applied to a lead that is halfway between tiers.
+ *
+ * <h2>Limitations</h2>
+ * <ul>
+ *   <li>The cold segment is scratch space for a process whose hot tier is
+ *       in memory: it is recreated on open and deleted on {@link #close()}</li>
+ *   <li>Promoted leads leave dead records behind; the segment is never compacted</li>
+ * </ul>
+ *
+ * @see LeadPersistencePort for the interface contract
+ * @see TieredLeadRepositoryConfig for tuning options
+ */
+public class TieredLeadRepository implements LeadPersistencePort, Closeable {
+
+    /** File name of the cold segment inside the configured directory. */
+    static final String COLD_SEGMENT_FILE = "cold-leads.seg";
+
+    private final TieredLeadRepositoryConfig config;
+    private final InMemoryLeadRepository hot;
+    private final ColdSegment cold;
+
+    /** Cold leads per dealer. */
+    private final ConcurrentHashMap<String, ColdDealer> coldDealers = new ConcurrentHashMap<>();
+
+    /** Shared by writers, exclusive for moving leads between tiers. */
+    private final ReadWriteLock tierLock = new ReentrantReadWriteLock();
+
+    /** One eviction sweep at a time. */
+    private final Object sweepLock = new Object();
+
+    private final ScheduledExecutorService background;
+    private volatile boolean closed;
+
+    /**
+     * Creates a tiered repository over a new, empty hot tier.
+     *
+     * @param config Tiering configuration
+     * @throws IllegalArgumentException if the configuration is invalid
+     * @throws UncheckedIOException     if the cold segment cannot be created
+     */
+    public TieredLeadRepository(TieredLeadRepositoryConfig config) {
+        this(new InMemoryLeadRepository(), config);
+    }
+
+    /**
+     * Creates a tiered repository over an existing hot tier.
+     *
+     * @param hot    The in-memory repository holding hot leads
+     * @param config Tiering configuration
+     * @throws IllegalArgumentException if hot is null or the configuration is invalid
+     * @throws UncheckedIOException     if the cold segment cannot be created
+     */
+    public TieredLeadRepository(InMemoryLeadRepository hot, TieredLeadRepositoryConfig config) {
+        if (hot == null) {
+            throw new IllegalArgumentException("hot cannot be null");
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("config cannot be null");
+        }
+        config.validate();
+        this.config = config;
+        this.hot = hot;
+
+        try {
+            Files.createDirectories(config.getDirectory());
+            this.cold = new ColdSegment(config.getDirectory().resolve(COLD_SEGMENT_FILE), config.getCompressionLevel());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create cold segment in " + config.getDirectory(), e);
+        }
+
+        if (config.getSweepInterval().isZero()) {
+            this.background = null;
+        } else {
+            this.background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "lead-tiering-" + config.getDirectory().getFileName());
+                thread.setDaemon(true);
+                return thread;
+            });
+            long periodNanos = config.getSweepInterval().toNanos();
+            background.scheduleWithFixedDelay(this::backgroundSweep, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // WRITES
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Saves a lead to the hot tier, promoting its cold copy first if it has one.
+     *
+     * @param lead The lead to persist
+     * @return The saved lead (same instance)
+     * @throws IllegalArgumentException if lead is null or has blank dealerId/leadId
+     * @throws IllegalStateException    if the repository is closed
+     */
+    @Override
+    public Lead save(Lead lead) {
+        validate(lead);
+        tierLock.readLock().lock();
+        try {
+            ensureOpen();
+            promote(lead.getDealerId(), lead.getLeadId());
+            return hot.save(lead);
+        } finally {
+            tierLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Saves a lead only if its stored version, in either tier, equals
+     * {@code expectedVersion}.
+     *
+     * @param lead            The modified lead
+     * @param expectedVersion The version the caller read, or 0 to insert only if absent
+     * @return true if the lead was stored, false on a version mismatch
+     * @throws IllegalArgumentException if lead is invalid or expectedVersion is negative
+     * @throws IllegalStateException    if the repository is closed
+     */
+    @Override
+    public boolean saveIfVersion(Lead lead, long expectedVersion) {
+        validate(lead);
+        tierLock.readLock().lock();
+        try {
+            ensureOpen();
+            promote(lead.getDealerId(), lead.getLeadId());
+            return hot.saveIfVersion(lead, expectedVersion);
+        } finally {
+            tierLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Promotes the lead if it is cold, then stores the net result of
+     * {@code writes} updates in the hot tier as one write.
+     *
+     * @param lead            The final state of the lead
+     * @param expectedVersion The version the updates were based on, or 0 if absent
+     * @param writes          Number of updates being persisted
+     * @return true if the lead was stored, false on a version mismatch
+     * @throws IllegalArgumentException if lead is invalid, expectedVersion is negative or writes is not positive
+     * @throws IllegalStateException    if the repository is closed
+     */
+    @Override
+    public boolean saveCoalesced(Lead lead, long expectedVersion, int writes) {
+        validate(lead);
+        tierLock.readLock().lock();
+        try {
+            ensureOpen();
+            promote(lead.getDealerId(), lead.getLeadId());
+            return hot.saveCoalesced(lead, expectedVersion, writes);
+        } finally {
+            tierLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Saves many leads to the hot tier, promoting any cold ones first.
+     *
+     * @param leads The leads to persist
+     * @return The saved leads (same instances, input order)
+     * @throws IllegalArgumentException if leads is null or any lead is invalid
+     * @throws IllegalStateException    if the repository is closed
+     */
+    @Override
+    public List<Lead> saveAll(Collection<Lead> leads) {
+        if (leads == null) {
+            throw new IllegalArgumentException("leads cannot be null");
+        }
+        for (Lead lead : leads) {
+            validate(lead);
+        }
+        tierLock.readLock().lock();
+        try {
+            ensureOpen();
+            for (Lead lead : leads) {
+                promote(lead.getDealerId(), lead.getLeadId());
+            }
+            return hot.saveAll(leads);
+        } finally {
+            tierLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Promotes any cold leads, then applies the coalesced writes to the hot
+     * tier in one call.
+     *
+     * @param writes The writes to persist
+     * @return For each write, in input order: true if it was stored, false on a version mismatch
+     * @throws IllegalArgumentException if writes is null or contains null, or any lead is invalid
+     * @throws IllegalStateException    if the repository is closed
+     */
+    @Override
+    public boolean[] saveAllCoalesced(List<CoalescedWrite> writes) {
+        if (writes == null) {
+            throw new IllegalArgumentException("writes cannot be null");
+        }
+        for (CoalescedWrite write : writes) {
+            if (write == null) {
+                throw new IllegalArgumentException("writes cannot contain null");
+            }
+            validate(write.getLead());
+        }
+        tierLock.readLock().lock();
+        try {
+            ensureOpen();
+            for (CoalescedWrite write : writes) {
+                promote(write.getLead().getDealerId(), write.getLead().getLeadId());
+            }
+            return hot.saveAllCoalesced(writes);
+        } finally {
+            tierLock.readLock().unlock();
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // READS
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Finds a lead in the hot tier, or decodes it from the cold tier.
+     *
+     * @param leadId   The lead's unique identifier
+     * @param dealerId The dealer the lead belongs to
+     * @return Optional containing the lead if found in either tier
+     * @throws UncheckedIOException if the cold segment cannot be read
+     */
+    @Override
+    public Optional<Lead> findByIdAndDealerId(String leadId, String dealerId) {
+        if (leadId == null || dealerId == null) return Optional.empty();
+
+        Optional<Lead> found = hot.findByIdAndDealerId(leadId, dealerId);
+        if (found.isPresent()) return found;
+
+        ColdDealer dealer = coldDealers.get(dealerId);
+        ColdRef ref = dealer != null ? dealer.refs.get(leadId) : null;
+        if (ref == null) {
+            // A concurrent promotion restores to the hot tier before dropping the cold entry
+            return hot.findByIdAndDealerId(leadId, dealerId);
+        }
+        return Optional.of(readCold(ref, leadId));
+    }
+
+    /**
+     * Finds leads in a state. Terminal states include cold leads, which are
+     * read from disk a block at a time.
+     */
+    @Override
+    public List<Lead> findByDealerIdAndState(String dealerId, LeadState state) {
+        List<Lead> hotLeads = hot.findByDealerIdAndState(dealerId, state);
+        if (state == null || !state.isTerminal()) return hotLeads;
+
+        ColdDealer dealer = coldDealers.get(dealerId);
+        if (dealer == null || dealer.refs.isEmpty()) return hotLeads;
+
+        // Sorted by leadId like the hot tier; a lead mid-promotion is taken from the hot tier
+        TreeMap<String, Lead> merged = new TreeMap<>();
+        readColdInState(dealer, state).forEach(lead -> merged.put(lead.getLeadId(), lead));
+        hotLeads.forEach(lead -> merged.put(lead.getLeadId(), lead));
+        return new ArrayList<>(merged.values());
+    }
+
+    /**
+     * Returns one page of a dealer's leads in a state, ordered by leadId.
+     *
+     * <p>For terminal states the hot tier's page is merged with the cold
+     * leads that follow the token in the dealer's sorted cold index; only the
+     * blocks holding cold leads that make the page are read and decoded.
+     *
+     * @param dealerId  The dealer to query
+     * @param state     The lead state to filter by
+     * @param pageSize  Maximum number of leads on the page
+     * @param pageToken Token from the previous page, or null for the first page
+     * @return The page of matching leads from both tiers
+     * @throws IllegalArgumentException if pageSize is not positive or the token is invalid
+     * @throws UncheckedIOException     if the cold segment cannot be read
+     */
+    @Override
+    public LeadPage findByDealerIdAndState(String dealerId, LeadState state, int pageSize, String pageToken) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        LeadPageToken after = LeadPageToken.decode(pageToken, LeadPageToken.Kind.STATE, dealerId, state);
+        ColdDealer dealer = dealerId != null ? coldDealers.get(dealerId) : null;
+        if (state == null || !state.isTerminal() || dealer == null) {
+            return hot.findByDealerIdAndState(dealerId, state, pageSize, pageToken);
+        }
+
+        // Cold candidates first: a lead promoted after this is then in the hot page
+        NavigableSet<String> coldIds = dealer.leadIds(state);
+        List<String> coldCandidates = new ArrayList<>();
+        Map<String, ColdRef> coldRefs = new HashMap<>();
+        for (String leadId : after == null ? coldIds : coldIds.tailSet(after.getLastLeadId(), false)) {
+            if (coldCandidates.size() > pageSize) break;
+            ColdRef ref = dealer.refs.get(leadId);
+            if (ref == null || ref.getState() != state) continue;
+            coldCandidates.add(leadId);
+            coldRefs.put(leadId, ref);
+        }
+        LeadPage hotPage = hot.findByDealerIdAndState(dealerId, state, pageSize, pageToken);
+
+        // Merge by leadId; a lead in both tiers is mid-promotion and taken from the hot tier
+        List<Lead> hotLeads = hotPage.getLeads();
+        List<Lead> page = new ArrayList<>(pageSize);
+        Map<Integer, String> coldSlots = new HashMap<>();
+        int h = 0;
+        int c = 0;
+        while (page.size() < pageSize && (h < hotLeads.size() || c < coldCandidates.size())) {
+            int order = h == hotLeads.size() ? 1
+                    : c == coldCandidates.size() ? -1
+                    : hotLeads.get(h).getLeadId().compareTo(coldCandidates.get(c));
+            if (order <= 0) {
+                page.add(hotLeads.get(h++));
+                if (order == 0) c++;
+            } else {
+                coldSlots.put(page.size(), coldCandidates.get(c++));
+                page.add(null);
+            }
+        }
+        boolean more = h < hotLeads.size() || c < coldCandidates.size() || hotPage.hasNextPage();
+
+        // Decode only the cold leads that made the page
+        Map<String, ColdRef> pageRefs = new HashMap<>();
+        coldSlots.values().forEach(leadId -> pageRefs.put(leadId, coldRefs.get(leadId)));
+        Map<String, Lead> coldLeads = readCold(pageRefs);
+        coldSlots.forEach((slot, leadId) -> page.set(slot, coldLeads.get(leadId)));
+        String next = more && !page.isEmpty()
+                ? LeadPageToken.afterState(dealerId, state, page.get(page.size() - 1).getLeadId()).encode()
+                : null;
+        return LeadPage.builder().leads(page).nextPageToken(next).build();
+    }
+
+    /**
+     * Streams a dealer's leads in a state, ordered by leadId.
+     *
+     * <p>For terminal states the stream pages through both tiers a block's
+     * worth of leads at a time, so cold leads are decoded as the stream is
+     * consumed rather than up front.
+     */
+    @Override
+    public Stream<Lead> streamByDealerIdAndState(String dealerId, LeadState state) {
+        if (state == null || !state.isTerminal()) {
+            return hot.streamByDealerIdAndState(dealerId, state);
+        }
+        int pageSize = config.getBlockSize();
+        return Stream.iterate(findByDealerIdAndState(dealerId, state, pageSize, null), Objects::nonNull,
+                        page -> page.hasNextPage()
+                                ? findByDealerIdAndState(dealerId, state, pageSize, page.getNextPageToken())
+                                : null)
+                .flatMap(page -> page.getLeads().stream());
+    }
+
+    @Override
+    public List<Lead> findByDealerIdOrderByScore(String dealerId, int limit) {
+        return hot.findByDealerIdOrderByScore(dealerId, limit);
+    }
+
+    @Override
+    public LeadPage findByDealerIdOrderByScore(String dealerId, int pageSize, String pageToken) {
+        return hot.findByDealerIdOrderByScore(dealerId, pageSize, pageToken);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndCreatedAtBetween(String dealerId, Instant from, Instant to) {
+        return hot.findByDealerIdAndCreatedAtBetween(dealerId, from, to);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndUpdatedAtBetween(String dealerId, Instant from, Instant to) {
+        return hot.findByDealerIdAndUpdatedAtBetween(dealerId, from, to);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndContact(String dealerId, Email email, PhoneCoordinate phone) {
+        return hot.findByDealerIdAndContact(dealerId, email, phone);
+    }
+
+    /** Counts leads in a state across both tiers. O(1). */
+    @Override
+    public long countByDealerIdAndState(String dealerId, LeadState state) {
+        long count = hot.countByDealerIdAndState(dealerId, state);
+        ColdDealer dealer = dealerId != null ? coldDealers.get(dealerId) : null;
+        if (dealer != null && state != null) {
+            count += dealer.countsByState.get(state).sum();
+        }
+        return count;
+    }
+
+    /** Counts leads from a source across both tiers. O(1). */
+    @Override
+    public long countByDealerIdAndSource(String dealerId, LeadSource source) {
+        long count = hot.countByDealerIdAndSource(dealerId, source);
+        ColdDealer dealer = dealerId != null ? coldDealers.get(dealerId) : null;
+        if (dealer != null && source != null) {
+            count += dealer.countsBySource.get(source).sum();
+        }
+        return count;
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // TIERING
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Moves terminal leads not updated for {@code coldAfter} to the cold tier.
+     *
+     * <p>Runs periodically in the background unless {@code sweepInterval} is
+     * zero, and may also be called directly. Each dealer's candidates are
+     * compressed in blocks of {@code blockSize} outside any lock; a lead saved
+     * while its block was being written stays hot.
+     *
+     * @return The number of leads moved
+     * @throws IllegalStateException if the repository is closed
+     * @throws UncheckedIOException  if the cold segment cannot be written
+     */
+    public int evictColdLeads() {
+        synchronized (sweepLock) {
+            ensureOpen();
+            Instant cutoff = Instant.now().minus(config.getColdAfter());
+            int moved = 0;
+            for (String dealerId : hot.dealerIds()) {
+                List<Lead> candidates = hot.findByDealerIdAndUpdatedAtBefore(dealerId, cutoff).stream()
+                        .filter(lead -> lead.getState() != null && lead.getState().isTerminal())
+                        .collect(Collectors.toList());
+                for (int from = 0; from < candidates.size(); from += config.getBlockSize()) {
+                    int to = Math.min(from + config.getBlockSize(), candidates.size());
+                    moved += moveToCold(dealerId, candidates.subList(from, to));
+                }
+            }
+            return moved;
+        }
+    }
+
+    /** Leads currently held in the cold tier. */
+    public long coldLeadCount() {
+        return coldDealers.values().stream().mapToLong(dealer -> dealer.refs.size()).sum();
+    }
+
+    /** Bytes written to the cold segment, including records of since-promoted leads. */
+    public long coldSegmentBytes() {
+        return cold.size();
+    }
+
+    /**
+     * Stops the background sweep and deletes the cold segment.
+     *
+     * @throws IOException if the segment cannot be closed or deleted
+     */
+    @Override
+    public void close() throws IOException {
+        tierLock.writeLock().lock();
+        try {
+            if (closed) return;
+            closed = true;
+        } finally {
+            tierLock.writeLock().unlock();
+        }
+        if (background != null) {
+            background.shutdown();
+            try {
+                background.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (sweepLock) {
+            cold.close();
+        }
+    }
+
+    /** Writes one block, then indexes it and drops its leads from the hot tier. */
+    private int moveToCold(String dealerId, List<Lead> leads) {
+        List<byte[]> records = new ArrayList<>(leads.size());
+        for (Lead lead : leads) {
+            records.add(LeadRecordCodec.encode(lead));
+        }
+        long offset;
+        try {
+            offset = cold.append(records);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cold block for dealer " + dealerId, e);
+        }
+
+        int moved = 0;
+        tierLock.writeLock().lock();
+        try {
+            ColdDealer dealer = coldDealers.computeIfAbsent(dealerId, id -> new ColdDealer());
+            for (Lead lead : leads) {
+                ColdRef ref = new ColdRef(offset, lead.getState(), lead.getSource());
+                // Index first: a reader that misses the hot tier must find the cold entry
+                dealer.refs.put(lead.getLeadId(), ref);
+                if (hot.removeIfVersion(lead.getLeadId(), dealerId, lead.getVersion())) {
+                    dealer.added(lead.getLeadId(), ref);
+                    moved++;
+                } else {
+                    dealer.refs.remove(lead.getLeadId(), ref);
+                }
+            }
+        } finally {
+            tierLock.writeLock().unlock();
+        }
+        return moved;
+    }
+
+    /**
+     * Moves a cold lead back into the hot tier with its stored version.
+     * Call while holding the read lock.
+     */
+    private void promote(String dealerId, String leadId) {
+        ColdDealer dealer = coldDealers.get(dealerId);
+        if (dealer == null) return;
+        // computeIfPresent locks the entry, so concurrent writers of the lead promote it once
+        dealer.refs.computeIfPresent(leadId, (id, ref) -> {
+            hot.restore(readCold(ref, leadId));
+            dealer.removed(leadId, ref);
+            return null;
+        });
+    }
+
+    /** Decodes one lead from its block. */
+    private Lead readCold(ColdRef ref, String leadId) {
+        for (byte[] record : readBlock(ref.getOffset())) {
+            if (leadId.equals(LeadRecordCodec.decodeLeadId(record))) {
+                return LeadRecordCodec.decode(record);
+            }
+        }
+        throw new IllegalStateException("Cold block at offset " + ref.getOffset() + " does not contain lead " + leadId);
+    }
+
+    /** Decodes a dealer's cold leads in one state, reading each block once. */
+    private List<Lead> readColdInState(ColdDealer dealer, LeadState state) {
+        Map<String, ColdRef> refs = new HashMap<>();
+        dealer.refs.forEach((leadId, ref) -> {
+            if (ref.getState() == state) refs.put(leadId, ref);
+        });
+        return new ArrayList<>(readCold(refs).values());
+    }
+
+    /** Decodes the given cold leads, reading each of their blocks once. @return leadId → lead */
+    private Map<String, Lead> readCold(Map<String, ColdRef> refs) {
+        Map<Long, Set<String>> leadIdsByBlock = new TreeMap<>();
+        refs.forEach((leadId, ref) ->
+                leadIdsByBlock.computeIfAbsent(ref.getOffset(), offset -> new HashSet<>()).add(leadId));
+
+        Map<String, Lead> leads = new HashMap<>();
+        leadIdsByBlock.forEach((offset, wanted) -> {
+            for (byte[] record : readBlock(offset)) {
+                String leadId = LeadRecordCodec.decodeLeadId(record);
+                if (wanted.remove(leadId)) {
+                    leads.put(leadId, LeadRecordCodec.decode(record));
+                }
+            }
+            if (!wanted.isEmpty()) {
+                throw new IllegalStateException("Cold block at offset " + offset + " does not contain leads " + wanted);
+            }
+        });
+        return leads;
+    }
+
+    private List<byte[]> readBlock(long offset) {
+        try {
+            return cold.read(offset);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read cold block at offset " + offset, e);
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("repository is closed");
+    }
+
+    private void backgroundSweep() {
+        try {
+            evictColdLeads();
+        } catch (RuntimeException e) {
+            // Closed or failing disk: candidates stay hot and are retried next sweep
+        }
+    }
+
+    private static void validate(Lead lead) {
+        if (lead == null) {
+            throw new IllegalArgumentException("lead cannot be null");
+        }
+        if (lead.getDealerId() == null || lead.getDealerId().trim().isEmpty()) {
+            throw new IllegalArgumentException("dealerId cannot be blank");
+        }
+        if (lead.getLeadId() == null || lead.getLeadId().trim().isEmpty()) {
+            throw new IllegalArgumentException("leadId cannot be blank");
+        }
+    }
+
+    /**
+     * One dealer's cold leads.
+     *
+     * <p>The EnumMaps are fully populated at construction and never
+     * structurally modified afterwards; the counters and sets they hold are
+     * concurrent.
+     */
+    private static final class ColdDealer {
+
+        /** Where each cold lead is stored, keyed by leadId. */
+        private final ConcurrentHashMap<String, ColdRef> refs = new ConcurrentHashMap<>();
+
+        /** Cold leadIds per state, sorted for paging. May briefly hold a lead being promoted. */
+        private final EnumMap<LeadState, ConcurrentSkipListSet<String>> idsByState = new EnumMap<>(LeadState.class);
+
+        private final EnumMap<LeadState, LongAdder> countsByState = new EnumMap<>(LeadState.class);
+        private final EnumMap<LeadSource, LongAdder> countsBySource = new EnumMap<>(LeadSource.class);
+
+        ColdDealer() {
+            for (LeadState state : LeadState.values()) {
+                idsByState.put(state, new ConcurrentSkipListSet<>());
+                countsByState.put(state, new LongAdder());
+            }
+            for (LeadSource source : LeadSource.values()) {
+                countsBySource.put(source, new LongAdder());
+            }
+        }
+
+        NavigableSet<String> leadIds(LeadState state) {
+            return idsByState.get(state);
+        }
+
+        /** Indexes and counts a lead that just became cold. */
+        void added(String leadId, ColdRef ref) {
+            if (ref.getState() != null) {
+                idsByState.get(ref.getState()).add(leadId);
+                countsByState.get(ref.getState()).increment();
+            }
+            if (ref.getSource() != null) countsBySource.get(ref.getSource()).increment();
+        }
+
+        /** Reverses {@link #added} for a promoted lead. */
+        void removed(String leadId, ColdRef ref) {
+            if (ref.getState() != null) {
+                idsByState.get(ref.getState()).remove(leadId);
+                countsByState.get(ref.getState()).decrement();
+            }
+            if (ref.getSource() != null) countsBySource.get(ref.getSource()).decrement();
+        }
+    }
+
+    /**
+     * A cold lead's block, plus the fields needed to query and count it
+     * without reading the block.
+     */
+    @Value
+    private static class ColdRef {
+        long offset;
+        LeadState state;
+        LeadSource source;
+    }
+}
@@ -0,0 +1,66 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.zip.Deflater;
+
+/**
+ * Configuration for {@link TieredLeadRepository}.
+ *
+ * <h2>Example Usage</h2>
+ * <pre>{@code
+ * TieredLeadRepositoryConfig config = TieredLeadRepositoryConfig.builder()
+ *     .directory(Path.of("/var/tmp/leads-cold"))
+ *     .coldAfter(Duration.ofDays(7))
+ *     .build();
+ * }</pre>
+ */
+@Value
+@Builder
+public class TieredLeadRepositoryConfig {
+
+    /** Directory holding the cold segment (created if missing). Required. */
+    Path directory;
+
+    /** Terminal leads not updated for this long are moved to cold storage. */
+    @Builder.Default
+    Duration coldAfter = Duration.ofDays(30);
+
+    /** Period of the background eviction sweep; zero disables it. */
+    @Builder.Default
+    Duration sweepInterval = Duration.ofHours(1);
+
+    /** Leads compressed together in one cold block. Larger compresses better; smaller faults in faster. */
+    @Builder.Default
+    int blockSize = 128;
+
+    /** Deflate level, 0-9 or {@link Deflater#DEFAULT_COMPRESSION}. */
+    @Builder.Default
+    int compressionLevel = Deflater.DEFAULT_COMPRESSION;
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if any setting is missing or out of range
+     */
+    void validate() {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory cannot be null");
+        }
+        if (coldAfter == null || coldAfter.isNegative()) {
+            throw new IllegalArgumentException("coldAfter cannot be negative");
+        }
+        if (sweepInterval == null || sweepInterval.isNegative()) {
+            throw new IllegalArgumentException("sweepInterval cannot be negative");
+        }
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("blockSize must be positive");
+        }
+        if (compressionLevel != Deflater.DEFAULT_COMPRESSION && (compressionLevel < 0 || compressionLevel > 9)) {
+            throw new IllegalArgumentException("compressionLevel must be between 0 and 9");
+        }
+    }
+}
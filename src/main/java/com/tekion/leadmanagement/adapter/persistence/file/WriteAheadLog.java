@@ -0,0 +1,487 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Segmented, append-only log of opaque records.
+ *
+ * <h2>On-Disk Format</h2>
+ * <p>Segments are named {@code wal-<firstSequence>.log}. Each record is framed as
+ * {@code [int length][int crc32(payload)][payload]}; a record's sequence number
+ * is its segment's first sequence plus its position in the segment.
+ *
+ * <h2>Group Commit</h2>
+ * <p>Appends go into a shared in-memory buffer. {@link #sync(long)} writes the
+ * buffer and fsyncs once on behalf of every record appended so far, so
+ * concurrent writers waiting on the same fsync share its cost.
+ *
+ * <h2>Recovery</h2>
+ * <p>A torn or corrupt record at the end of the last segment (a crash mid-append)
+ * is truncated away on {@link #open}. A bad record in any earlier segment means
+ * data loss and fails the open, because segments are fsynced before rolling.
+ *
+ * <h2>Failures</h2>
+ * <p>The first I/O error poisons the log. The buffer may have been partly
+ * written, so appending after it could leave a gap or a torn record in the
+ * middle of a segment; every later append, flush, roll and sync throws
+ * {@link IllegalStateException} instead. Reopening truncates whatever was
+ * torn and appends from the last intact record.
+ */
+final class WriteAheadLog implements Closeable {
+
+    /** Bytes of framing in front of every payload. */
+    static final int HEADER_BYTES = 8;
+
+    /** Upper bound on a single payload; larger lengths are treated as corruption. */
+    static final int MAX_RECORD_BYTES = 16 * 1024 * 1024;
+
+    private static final int BUFFER_BYTES = 256 * 1024;
+    private static final String SEGMENT_PREFIX = "wal-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final long segmentSizeBytes;
+
+    /** Serializes buffer and channel access. */
+    private final Object writeLock = new Object();
+
+    /** Elects one thread at a time to fsync; others wait and usually find their record covered. */
+    private final Object syncLock = new Object();
+
+    private final ByteBuffer pending = ByteBuffer.allocate(BUFFER_BYTES);
+
+    /** Highest sequence known to be on stable storage. */
+    private final AtomicLong durableSeq = new AtomicLong(-1);
+
+    /** First I/O error; once set, nothing more is written until the log is reopened. */
+    private volatile IOException failure;
+
+    // Guarded by writeLock
+    private FileChannel channel;
+    private long segmentBytes;
+    private long nextSeq;
+    private boolean closed;
+
+    WriteAheadLog(Path directory, long segmentSizeBytes) {
+        this.directory = directory;
+        this.segmentSizeBytes = segmentSizeBytes;
+    }
+
+    /**
+     * Replays existing records and opens the log for appending.
+     *
+     * @param fromSeq First sequence to hand to {@code handler}; earlier records are
+     *                already covered by a snapshot
+     * @param handler Receives each replayed payload in sequence order
+     * @return The sequence the next appended record will get
+     * @throws IOException           if a segment cannot be read or truncated
+     * @throws IllegalStateException if a sealed segment is corrupt or sequences have a gap
+     */
+    long open(long fromSeq, Consumer<byte[]> handler) throws IOException {
+        synchronized (writeLock) {
+            List<Segment> segments = listSegments();
+            long seq = fromSeq;
+            Segment last = null;
+            ReplayResult lastResult = null;
+
+            for (int i = 0; i < segments.size(); i++) {
+                Segment segment = segments.get(i);
+                boolean isLast = i == segments.size() - 1;
+                // Entirely covered by the snapshot
+                if (!isLast && segments.get(i + 1).firstSeq <= fromSeq) continue;
+
+                if (segment.firstSeq > seq) {
+                    throw new IllegalStateException("Missing log records before " + segment.path);
+                }
+                ReplayResult result = replaySegment(segment, fromSeq, handler);
+                if (result.torn && !isLast) {
+                    throw new IllegalStateException(
+                            "Corrupt record in sealed segment " + segment.path + " at offset " + result.validBytes);
+                }
+                seq = Math.max(seq, result.nextSeq);
+                last = segment;
+                lastResult = result;
+            }
+
+            nextSeq = seq;
+            if (last != null && lastResult.nextSeq == nextSeq) {
+                channel = FileChannel.open(last.path, StandardOpenOption.WRITE);
+                // Drop a torn tail left by a crash mid-append
+                channel.truncate(lastResult.validBytes);
+                channel.position(lastResult.validBytes);
+                segmentBytes = lastResult.validBytes;
+            } else {
+                // No segments, or the last one ends before the snapshot boundary
+                startSegmentLocked(nextSeq);
+            }
+            durableSeq.set(nextSeq - 1);
+            return nextSeq;
+        }
+    }
+
+    /**
+     * Appends a record to the buffer.
+     *
+     * <p>The record is not durable until {@link #sync(long)} returns for its
+     * sequence (or a background flush/fsync covers it).
+     *
+     * @param payload The record payload
+     * @return The record's sequence number
+     * @throws IOException           if writing out a full buffer fails
+     * @throws IllegalStateException if the log is closed or has failed
+     */
+    long append(byte[] payload) throws IOException {
+        checkSize(payload);
+        int crc = checksum(payload);
+        synchronized (writeLock) {
+            ensureOpen();
+            try {
+                return appendLocked(payload, crc);
+            } catch (IOException e) {
+                throw poison(e);
+            }
+        }
+    }
+
+    /**
+     * Appends several records under one lock acquisition, with consecutive sequences.
+     *
+     * @param payloads The record payloads, in order
+     * @return The last record's sequence number, or -1 if {@code payloads} is empty
+     * @throws IOException           if writing out a full buffer fails
+     * @throws IllegalStateException if the log is closed or has failed
+     */
+    long appendAll(List<byte[]> payloads) throws IOException {
+        int[] crcs = new int[payloads.size()];
+        for (int i = 0; i < crcs.length; i++) {
+            checkSize(payloads.get(i));
+            crcs[i] = checksum(payloads.get(i));
+        }
+        synchronized (writeLock) {
+            ensureOpen();
+            long last = -1;
+            try {
+                for (int i = 0; i < crcs.length; i++) {
+                    last = appendLocked(payloads.get(i), crcs[i]);
+                }
+            } catch (IOException e) {
+                throw poison(e);
+            }
+            return last;
+        }
+    }
+
+    /**
+     * Makes every record up to {@code seq} durable.
+     *
+     * <p>Group commit: one caller writes the buffer and fsyncs; concurrent callers
+     * whose records were covered by that fsync return without syncing again.
+     *
+     * @param seq Sequence returned by {@link #append(byte[])}
+     * @throws IOException           if the write or fsync fails
+     * @throws IllegalStateException if the log is closed or has failed
+     */
+    void sync(long seq) throws IOException {
+        if (durableSeq.get() >= seq) return;
+        synchronized (syncLock) {
+            if (durableSeq.get() >= seq) return;
+
+            FileChannel target;
+            long covered;
+            synchronized (writeLock) {
+                ensureOpen();
+                try {
+                    flushPendingLocked();
+                } catch (IOException e) {
+                    throw poison(e);
+                }
+                target = channel;
+                covered = nextSeq - 1;
+            }
+            try {
+                // Outside writeLock so appenders keep filling the buffer meanwhile
+                target.force(false);
+            } catch (ClosedChannelException e) {
+                // A concurrent roll() or close() forced this segment before closing it
+            } catch (IOException e) {
+                // The kernel may have dropped the dirty pages; a retry could falsely succeed
+                synchronized (writeLock) {
+                    throw poison(e);
+                }
+            }
+            durableSeq.accumulateAndGet(covered, Math::max);
+        }
+    }
+
+    /**
+     * Fsyncs everything appended so far.
+     *
+     * @throws IOException if the write or fsync fails
+     */
+    void syncAll() throws IOException {
+        long last;
+        synchronized (writeLock) {
+            last = nextSeq - 1;
+        }
+        sync(last);
+    }
+
+    /**
+     * Hands buffered records to the OS without fsyncing.
+     *
+     * @throws IOException           if the write fails
+     * @throws IllegalStateException if the log is closed or has failed
+     */
+    void flush() throws IOException {
+        synchronized (writeLock) {
+            ensureOpen();
+            try {
+                flushPendingLocked();
+            } catch (IOException e) {
+                throw poison(e);
+            }
+        }
+    }
+
+    /**
+     * Seals the current segment and starts a new one.
+     *
+     * @return The first sequence of the new segment; every earlier record is in a
+     *         sealed, fsynced segment
+     * @throws IOException           if sealing or creating a segment fails
+     * @throws IllegalStateException if the log is closed or has failed
+     */
+    long roll() throws IOException {
+        synchronized (writeLock) {
+            ensureOpen();
+            if (segmentBytes > 0) {
+                try {
+                    rollLocked();
+                } catch (IOException e) {
+                    throw poison(e);
+                }
+            }
+            return nextSeq;
+        }
+    }
+
+    /**
+     * Deletes sealed segments whose records all precede {@code seq}.
+     *
+     * @param seq First sequence that must be kept
+     * @throws IOException if listing or deleting fails
+     */
+    void deleteSegmentsBefore(long seq) throws IOException {
+        synchronized (writeLock) {
+            List<Segment> segments = listSegments();
+            for (int i = 0; i < segments.size() - 1; i++) {
+                if (segments.get(i + 1).firstSeq <= seq) {
+                    Files.deleteIfExists(segments.get(i).path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes out and fsyncs buffered records, then closes the current segment.
+     *
+     * <p>A failed log is closed without writing anything; its error was
+     * already reported to the caller that hit it.
+     *
+     * @throws IOException if the final write or fsync fails
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (writeLock) {
+            if (closed) return;
+            closed = true;
+            if (failure != null) {
+                channel.close();
+                return;
+            }
+            try {
+                flushPendingLocked();
+                channel.force(false);
+                durableSeq.accumulateAndGet(nextSeq - 1, Math::max);
+            } finally {
+                channel.close();
+            }
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // INTERNALS (callers hold writeLock)
+    // ════════════════════════════════════════════════════════════════
+
+    private void ensureOpen() {
+        if (closed) throw new IllegalStateException("write-ahead log is closed");
+        if (failure != null) throw new IllegalStateException("write-ahead log failed; reopen to recover", failure);
+    }
+
+    /** Records the first I/O error, after which {@link #ensureOpen()} rejects every write. */
+    private IOException poison(IOException e) {
+        if (failure == null) failure = e;
+        return e;
+    }
+
+    private long appendLocked(byte[] payload, int crc) throws IOException {
+        int recordBytes = HEADER_BYTES + payload.length;
+        if (segmentBytes > 0 && segmentBytes + recordBytes > segmentSizeBytes) {
+            rollLocked();
+        }
+        if (recordBytes > pending.remaining()) {
+            flushPendingLocked();
+        }
+        if (recordBytes > pending.capacity()) {
+            // Oversized record: bypass the buffer
+            ByteBuffer record = ByteBuffer.allocate(recordBytes);
+            record.putInt(payload.length).putInt(crc).put(payload).flip();
+            writeFully(record);
+        } else {
+            pending.putInt(payload.length).putInt(crc).put(payload);
+        }
+        segmentBytes += recordBytes;
+        return nextSeq++;
+    }
+
+    private void rollLocked() throws IOException {
+        flushPendingLocked();
+        channel.force(false);
+        durableSeq.accumulateAndGet(nextSeq - 1, Math::max);
+        channel.close();
+        startSegmentLocked(nextSeq);
+    }
+
+    private void startSegmentLocked(long firstSeq) throws IOException {
+        channel = FileChannel.open(segmentPath(firstSeq),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        segmentBytes = channel.size();
+        channel.position(segmentBytes);
+        syncDirectory();
+    }
+
+    private void flushPendingLocked() throws IOException {
+        if (pending.position() == 0) return;
+        pending.flip();
+        writeFully(pending);
+        pending.clear();
+    }
+
+    private void writeFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private static void checkSize(byte[] payload) {
+        if (payload.length == 0 || payload.length > MAX_RECORD_BYTES) {
+            throw new IllegalArgumentException("Record size out of range: " + payload.length);
+        }
+    }
+
+    private static int checksum(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return (int) crc.getValue();
+    }
+
+    /** Makes a newly created segment's directory entry durable. */
+    private void syncDirectory() throws IOException {
+        DirectorySync.FORCE.force(directory);
+    }
+
+    private Path segmentPath(long firstSeq) {
+        return directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, firstSeq, SEGMENT_SUFFIX));
+    }
+
+    private List<Segment> listSegments() throws IOException {
+        List<Segment> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.forEach(path -> {
+                String name = path.getFileName().toString();
+                if (name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX)) {
+                    String digits = name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length());
+                    segments.add(new Segment(path, Long.parseLong(digits)));
+                }
+            });
+        }
+        segments.sort((a, b) -> Long.compare(a.firstSeq, b.firstSeq));
+        return segments;
+    }
+
+    /**
+     * Reads one segment, stopping at the first torn or corrupt record.
+     */
+    private static ReplayResult replaySegment(Segment segment, long fromSeq, Consumer<byte[]> handler)
+            throws IOException {
+        long size = Files.size(segment.path);
+        long seq = segment.firstSeq;
+        long validBytes = 0;
+
+        try (InputStream file = Files.newInputStream(segment.path);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 64 * 1024))) {
+            while (validBytes + HEADER_BYTES <= size) {
+                int length = in.readInt();
+                int crc = in.readInt();
+                if (length <= 0 || length > MAX_RECORD_BYTES || validBytes + HEADER_BYTES + length > size) {
+                    break;
+                }
+                byte[] payload = new byte[length];
+                in.readFully(payload);
+
+                CRC32 actual = new CRC32();
+                actual.update(payload);
+                if ((int) actual.getValue() != crc) {
+                    break;
+                }
+                if (seq >= fromSeq) {
+                    handler.accept(payload);
+                }
+                seq++;
+                validBytes += HEADER_BYTES + length;
+            }
+        } catch (EOFException e) {
+            // Shorter than its reported size: treat as torn
+        }
+        return new ReplayResult(seq, validBytes, validBytes < size);
+    }
+
+    private static final class Segment {
+        final Path path;
+        final long firstSeq;
+
+        Segment(Path path, long firstSeq) {
+            this.path = path;
+            this.firstSeq = firstSeq;
+        }
+    }
+
+    private static final class ReplayResult {
+        final long nextSeq;
+        final long validBytes;
+        final boolean torn;
+
+        ReplayResult(long nextSeq, long validBytes, boolean torn) {
+            this.nextSeq = nextSeq;
+            this.validBytes = validBytes;
+            this.torn = torn;
+        }
+    }
+}
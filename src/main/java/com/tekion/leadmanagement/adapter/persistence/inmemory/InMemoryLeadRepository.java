@@ -1,14 +1,38 @@
 package com.tekion.leadmanagement.adapter.persistence.inmemory;
 
+import com.tekion.leadmanagement.domain.lead.model.CoalescedWrite;
+import com.tekion.leadmanagement.domain.lead.model.Email;
 import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadPage;
+import com.tekion.leadmanagement.domain.lead.model.LeadPageToken;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
 import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.model.PhoneCoordinate;
 import com.tekion.leadmanagement.domain.lead.port.LeadPersistencePort;
+import lombok.Value;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * In-memory implementation of lead persistence for testing and development.
@@ -23,20 +47,52 @@ import java.util.concurrent.ConcurrentHashMap;
  * </ul>
  *
  * <h2>Multi-Tenant Isolation</h2>
- * <p>Data is stored using composite keys: {@code dealerId:leadId}.
- * This ensures complete isolation between different dealers' data,
- * even though all data resides in the same in-memory map.
+ * <p>Data is stored in a two-level map: {@code dealerId → (leadId → Lead)}.
+ * Each dealer owns a separate partition, so per-dealer queries only touch
+ * that dealer's leads and point lookups need no composite key.
+ *
+ * <h2>Secondary Indexes</h2>
+ * <p>Each dealer partition has these secondary indexes, all maintained by {@link #save(Lead)}:
+ * <ul>
+ *   <li>Sorted lead IDs per {@link LeadState}, so {@link #findByDealerIdAndState(String, LeadState)}
+ *       costs O(matching leads) instead of O(all stored leads)</li>
+ *   <li>A sorted set of (score desc, updatedAt desc, leadId) keys, so
+ *       {@link #findByDealerIdOrderByScore(String, int)} reads only the first K entries</li>
+ *   <li>Sorted sets of (createdAt, leadId) and (updatedAt, leadId) keys, so the
+ *       time-range queries cost O(log n + matches)</li>
+ *   <li>Hash maps from normalized email and E.164 phone to lead IDs, so
+ *       {@link #findByDealerIdAndContact} costs O(matches)</li>
+ * </ul>
+ * <p>The per-state lead IDs and the score keys are sorted sets, so the
+ * paginated and streaming variants resume from a page token's key with a
+ * tailSet view instead of skipping earlier pages.
+ * <p>Each partition also keeps a {@link LongAdder} per state and per source,
+ * adjusted on every save from the replaced snapshot's values, so the count
+ * methods are O(1) and allocation-free.
+ *
+ * <h2>Copy-on-Write Snapshots</h2>
+ * <p>Saving stores a {@link Lead#freeze() frozen} copy of the lead, whose
+ * setters and domain operations throw {@link UnsupportedOperationException};
+ * a later save swaps in a new snapshot atomically. Reads return snapshots
+ * directly, so readers need no locks or copies, always see a lead exactly as
+ * it was saved, and cannot change what other readers see. Mutating a lead
+ * after saving it does not affect the store until it is saved again; to
+ * modify a lead that was read, save a {@link Lead#copy()} of it.
  *
  * <h2>Thread Safety</h2>
  * <p>Uses {@link ConcurrentHashMap} for thread-safe concurrent access.
  * All read and write operations are atomic at the individual key level.
+ * Index maintenance for a lead is serialized per lead, so concurrent saves
+ * of the same lead cannot leave it indexed under stale values.
+ * <p>Every save increments the lead's {@link Lead#getVersion() version};
+ * {@link #saveIfVersion(Lead, long)} checks and bumps it under the same
+ * per-lead lock, giving read-modify-write callers a compare-and-set.
  *
  * <h2>Limitations</h2>
  * <ul>
  *   <li>Data is lost when the application restarts</li>
  *   <li>Not suitable for production or distributed systems</li>
  *   <li>No transaction support</li>
- *   <li>Linear scan for filtered queries (not scalable)</li>
  * </ul>
  *
  * @see LeadPersistencePort for the interface contract
@@ -44,45 +100,187 @@ import java.util.concurrent.ConcurrentHashMap;
 public class InMemoryLeadRepository implements LeadPersistencePort {
 
     /**
-     * Main storage for leads.
+     * Main storage for leads, partitioned by dealer.
      *
-     * <p>Key format: "{dealerId}:{leadId}" to enforce tenant-aware storage.
+     * <p>Key: dealerId. Each partition holds that dealer's leads and indexes.
      * <p>Using ConcurrentHashMap for thread-safe concurrent access.
      */
-    private final ConcurrentHashMap<String, Lead> store = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, DealerPartition> partitions = new ConcurrentHashMap<>();
+
+    /** Expected-version sentinel for unconditional writes. */
+    private static final long ANY_VERSION = -1L;
 
     /**
      * Saves a lead to the in-memory store.
      *
      * <p>This is an upsert operation - it will insert if the key doesn't
-     * exist or update if it does.
+     * exist or update if it does. The lead's version is set to the stored
+     * version plus one (1 for an insert), and a frozen snapshot of it is
+     * stored. A lead that is itself frozen is stored but not stamped.
      *
      * @param lead The lead to persist
-     * @return The saved lead (same instance)
+     * @return The saved lead (same instance, not the stored snapshot)
      * @throws IllegalArgumentException if lead is null or has blank dealerId/leadId
      */
     @Override
     public Lead save(Lead lead) {
-        // Validate input
-        if (lead == null) {
-            throw new IllegalArgumentException("lead cannot be null");
+        validate(lead);
+
+        // Store in the dealer's own partition for tenant isolation
+        partition(lead).put(lead, ANY_VERSION, 1, true);
+        return lead;
+    }
+
+    /**
+     * Saves a lead only if the stored version still equals {@code expectedVersion}.
+     *
+     * <p>The check, the version bump and the re-index all happen inside one
+     * {@code compute()} on the lead's entry, so two writers holding the same
+     * version cannot both succeed.
+     *
+     * @param lead            The modified lead
+     * @param expectedVersion The version the caller read, or 0 to insert only if absent
+     * @return true if the lead was stored, false if the stored version differs
+     * @throws IllegalArgumentException if lead is invalid or expectedVersion is negative
+     */
+    @Override
+    public boolean saveIfVersion(Lead lead, long expectedVersion) {
+        validate(lead);
+        if (expectedVersion < 0) {
+            throw new IllegalArgumentException("expectedVersion cannot be negative");
         }
-        if (lead.getDealerId() == null || lead.getDealerId().trim().isEmpty()) {
-            throw new IllegalArgumentException("dealerId cannot be blank");
+        return partition(lead).put(lead, expectedVersion, 1, true);
+    }
+
+    /**
+     * Stores the result of several updates as one write, in the same
+     * {@code compute()} as {@link #saveIfVersion}.
+     *
+     * @param lead            The final state of the lead
+     * @param expectedVersion The version the updates were based on, or 0 if absent
+     * @param writes          Number of updates being persisted
+     * @return true if the lead was stored with version {@code expectedVersion + writes}
+     * @throws IllegalArgumentException if lead is invalid, expectedVersion is negative or writes is not positive
+     */
+    @Override
+    public boolean saveCoalesced(Lead lead, long expectedVersion, int writes) {
+        validate(lead);
+        if (expectedVersion < 0) {
+            throw new IllegalArgumentException("expectedVersion cannot be negative");
         }
-        if (lead.getLeadId() == null || lead.getLeadId().trim().isEmpty()) {
-            throw new IllegalArgumentException("leadId cannot be blank");
+        if (writes <= 0) {
+            throw new IllegalArgumentException("writes must be positive");
         }
+        return partition(lead).put(lead, expectedVersion, writes, true);
+    }
 
-        // Store using composite key for tenant isolation
-        store.put(key(lead.getDealerId(), lead.getLeadId()), lead);
-        return lead;
+    /**
+     * Stores a lead exactly as given, keeping its version.
+     *
+     * <p>For adapters that rebuild this repository from durable records,
+     * where the recorded version must survive a restart. A {@link Lead#freeze()
+     * frozen} lead becomes the stored snapshot as-is; any other lead is frozen
+     * first. Request handling should use {@link #save(Lead)} instead.
+     *
+     * @param lead The lead to store
+     * @throws IllegalArgumentException if lead is null or has blank dealerId/leadId
+     */
+    public void restore(Lead lead) {
+        validate(lead);
+        partition(lead).put(lead, ANY_VERSION, 1, false);
+    }
+
+    /**
+     * Removes a lead if its stored version still equals {@code expectedVersion}.
+     *
+     * <p>For tiering adapters that move leads out of memory: a save racing
+     * with the removal bumps the version, so the newer lead is kept. Not part
+     * of {@link LeadPersistencePort}; leads are otherwise never deleted.
+     *
+     * @param leadId          The lead's unique identifier
+     * @param dealerId        The dealer the lead belongs to
+     * @param expectedVersion The version the caller last saw
+     * @return true if the lead was removed, false if absent or modified since
+     */
+    public boolean removeIfVersion(String leadId, String dealerId, long expectedVersion) {
+        if (leadId == null || dealerId == null) return false;
+
+        DealerPartition partition = partitions.get(dealerId);
+        return partition != null && partition.remove(leadId, expectedVersion);
+    }
+
+    /**
+     * Saves many leads, resolving each dealer's partition once.
+     *
+     * <p>All leads are validated before any is stored. Leads are then grouped
+     * by dealer and written partition by partition, so a batch spanning few
+     * dealers pays one partition lookup per dealer rather than per lead.
+     *
+     * @param leads The leads to persist
+     * @return The saved leads (same instances, not the stored snapshots, input order)
+     * @throws IllegalArgumentException if leads is null or any lead is invalid
+     */
+    @Override
+    public List<Lead> saveAll(Collection<Lead> leads) {
+        if (leads == null) {
+            throw new IllegalArgumentException("leads cannot be null");
+        }
+        Map<String, List<Lead>> byDealer = new HashMap<>();
+        for (Lead lead : leads) {
+            validate(lead);
+            byDealer.computeIfAbsent(lead.getDealerId(), id -> new ArrayList<>()).add(lead);
+        }
+
+        for (Map.Entry<String, List<Lead>> group : byDealer.entrySet()) {
+            DealerPartition partition = partitions.computeIfAbsent(group.getKey(), id -> new DealerPartition());
+            for (Lead lead : group.getValue()) {
+                partition.put(lead, ANY_VERSION, 1, true);
+            }
+        }
+        return new ArrayList<>(leads);
+    }
+
+    /**
+     * Stores many coalesced writes, resolving each dealer's partition once.
+     *
+     * <p>All leads are validated before any is stored. Writes are then grouped
+     * by dealer as in {@link #saveAll}; each is checked and stored in its own
+     * {@code compute()}, in input order within its lead.
+     *
+     * @param writes The writes to persist
+     * @return For each write, in input order: true if it was stored, false on a version mismatch
+     * @throws IllegalArgumentException if writes is null or contains null, or any lead is invalid
+     */
+    @Override
+    public boolean[] saveAllCoalesced(List<CoalescedWrite> writes) {
+        if (writes == null) {
+            throw new IllegalArgumentException("writes cannot be null");
+        }
+        Map<String, List<Integer>> byDealer = new HashMap<>();
+        for (int i = 0; i < writes.size(); i++) {
+            CoalescedWrite write = writes.get(i);
+            if (write == null) {
+                throw new IllegalArgumentException("writes cannot contain null");
+            }
+            validate(write.getLead());
+            byDealer.computeIfAbsent(write.getLead().getDealerId(), id -> new ArrayList<>()).add(i);
+        }
+
+        boolean[] saved = new boolean[writes.size()];
+        for (Map.Entry<String, List<Integer>> group : byDealer.entrySet()) {
+            DealerPartition partition = partitions.computeIfAbsent(group.getKey(), id -> new DealerPartition());
+            for (int i : group.getValue()) {
+                CoalescedWrite write = writes.get(i);
+                saved[i] = partition.put(write.getLead(), write.getExpectedVersion(), write.getWrites(), true);
+            }
+        }
+        return saved;
     }
 
     /**
      * Finds a lead by its ID within a specific dealer's scope.
      *
-     * <p>O(1) lookup using the composite key.
+     * <p>O(1) lookup: dealer partition, then lead.
      *
      * @param leadId   The lead's unique identifier
      * @param dealerId The dealer the lead belongs to
@@ -91,14 +289,16 @@ public class InMemoryLeadRepository implements LeadPersistencePort {
     @Override
     public Optional<Lead> findByIdAndDealerId(String leadId, String dealerId) {
         if (leadId == null || dealerId == null) return Optional.empty();
-        return Optional.ofNullable(store.get(key(dealerId, leadId)));
+
+        DealerPartition partition = partitions.get(dealerId);
+        if (partition == null) return Optional.empty();
+        return Optional.ofNullable(partition.leads.get(leadId));
     }
 
     /**
      * Finds all leads for a dealer in a specific state.
      *
-     * <p>O(n) linear scan through all stored leads.
-     * In production, this would use indexed database queries.
+     * <p>O(matching leads) lookup through the dealer's state index.
      *
      * @param dealerId The dealer to query
      * @param state    The lead state to filter by
@@ -108,9 +308,14 @@ public class InMemoryLeadRepository implements LeadPersistencePort {
     public List<Lead> findByDealerIdAndState(String dealerId, LeadState state) {
         if (dealerId == null || state == null) return List.of();
 
+        DealerPartition partition = partitions.get(dealerId);
+        if (partition == null) return List.of();
+
         List<Lead> result = new ArrayList<>();
-        for (Lead lead : store.values()) {
-            if (dealerId.equals(lead.getDealerId()) && state == lead.getState()) {
+        for (String leadId : partition.leadIds(state)) {
+            Lead lead = partition.leads.get(leadId);
+            // Re-check the state: a lead being moved can briefly sit in two sets
+            if (lead != null && state == lead.getState()) {
                 result.add(lead);
             }
         }
@@ -124,8 +329,11 @@ public class InMemoryLeadRepository implements LeadPersistencePort {
      * <ol>
      *   <li>Higher score first (null scores go last)</li>
      *   <li>More recently updated first (tie-breaker)</li>
+     *   <li>Lead ID ascending (for a stable order)</li>
      * </ol>
      *
+     * <p>O(log n + limit): walks only the head of the dealer's score index.
+     *
      * @param dealerId The dealer to query
      * @param limit    Maximum number of leads to return
      * @return Sorted list of top leads
@@ -134,33 +342,582 @@ public class InMemoryLeadRepository implements LeadPersistencePort {
     public List<Lead> findByDealerIdOrderByScore(String dealerId, int limit) {
         if (dealerId == null || limit <= 0) return List.of();
 
-        // Filter leads by dealer
+        DealerPartition partition = partitions.get(dealerId);
+        if (partition == null) return List.of();
+
+        List<Lead> result = new ArrayList<>(Math.min(limit, 64));
+        // A lead being re-keyed can briefly appear under both its old and new key
+        Set<String> seen = new HashSet<>();
+        for (ScoreKey scoreKey : partition.byScore) {
+            if (result.size() >= limit) break;
+            if (!seen.add(scoreKey.getLeadId())) continue;
+
+            Lead lead = partition.leads.get(scoreKey.getLeadId());
+            if (lead != null) {
+                result.add(lead);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns one page of a dealer's leads in a state, ordered by leadId.
+     *
+     * <p>O(log n + page size): resumes from the token's leadId with a
+     * tailSet view of the dealer's sorted state index.
+     *
+     * @param dealerId  The dealer to query
+     * @param state     The lead state to filter by
+     * @param pageSize  Maximum number of leads on the page
+     * @param pageToken Token from the previous page, or null for the first page
+     * @return The page of matching leads
+     * @throws IllegalArgumentException if pageSize is not positive or the token is invalid
+     */
+    @Override
+    public LeadPage findByDealerIdAndState(String dealerId, LeadState state, int pageSize, String pageToken) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        LeadPageToken after = LeadPageToken.decode(pageToken, LeadPageToken.Kind.STATE, dealerId, state);
+        if (dealerId == null || state == null) return LeadPage.empty();
+
+        DealerPartition partition = partitions.get(dealerId);
+        if (partition == null) return LeadPage.empty();
+
+        NavigableSet<String> ids = partition.leadIds(state);
+        Iterator<Lead> leads = leadsInState(partition,
+                after == null ? ids : ids.tailSet(after.getLastLeadId(), false), state).iterator();
+
+        List<Lead> page = new ArrayList<>(Math.min(pageSize, 64));
+        while (page.size() < pageSize && leads.hasNext()) {
+            page.add(leads.next());
+        }
+        String next = leads.hasNext()
+                ? LeadPageToken.afterState(dealerId, state, page.get(page.size() - 1).getLeadId()).encode()
+                : null;
+        return LeadPage.builder().leads(page).nextPageToken(next).build();
+    }
+
+    /**
+     * Returns one page of a dealer's leads ranked by score.
+     *
+     * <p>O(log n + page size): resumes from the token's key with a tailSet
+     * view of the dealer's score index.
+     *
+     * @param dealerId  The dealer to query
+     * @param pageSize  Maximum number of leads on the page
+     * @param pageToken Token from the previous page, or null for the first page
+     * @return The page of ranked leads
+     * @throws IllegalArgumentException if pageSize is not positive or the token is invalid
+     */
+    @Override
+    public LeadPage findByDealerIdOrderByScore(String dealerId, int pageSize, String pageToken) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        LeadPageToken after = LeadPageToken.decode(pageToken, LeadPageToken.Kind.SCORE, dealerId, null);
+        if (dealerId == null) return LeadPage.empty();
+
+        DealerPartition partition = partitions.get(dealerId);
+        if (partition == null) return LeadPage.empty();
+
+        NavigableSet<ScoreKey> keys = after == null
+                ? partition.byScore
+                : partition.byScore.tailSet(
+                        new ScoreKey(after.getLastScore(), after.getLastUpdatedAt(), after.getLastLeadId()), false);
+
+        List<Lead> page = new ArrayList<>(Math.min(pageSize, 64));
+        ScoreKey lastKey = null;
+        boolean more = false;
+        // A lead being re-keyed can briefly appear under both its old and new key
+        Set<String> seen = new HashSet<>();
+        for (ScoreKey scoreKey : keys) {
+            if (!seen.add(scoreKey.getLeadId())) continue;
+            Lead lead = partition.leads.get(scoreKey.getLeadId());
+            if (lead == null) continue;
+            if (page.size() == pageSize) {
+                more = true;
+                break;
+            }
+            page.add(lead);
+            lastKey = scoreKey;
+        }
+        String next = more
+                ? LeadPageToken.afterScore(dealerId, lastKey.getScore(), lastKey.getUpdatedAt(), lastKey.getLeadId()).encode()
+                : null;
+        return LeadPage.builder().leads(page).nextPageToken(next).build();
+    }
+
+    /**
+     * Streams a dealer's leads in a state, ordered by leadId.
+     *
+     * <p>Lazily walks the dealer's sorted state index, so memory use does not
+     * grow with the number of matching leads. Weakly consistent: leads saved
+     * while the stream is consumed may or may not appear.
+     *
+     * @param dealerId The dealer to query
+     * @param state    The lead state to filter by
+     * @return Lazy stream of matching leads
+     */
+    @Override
+    public Stream<Lead> streamByDealerIdAndState(String dealerId, LeadState state) {
+        if (dealerId == null || state == null) return Stream.empty();
+
+        DealerPartition partition = partitions.get(dealerId);
+        if (partition == null) return Stream.empty();
+        return leadsInState(partition, partition.leadIds(state), state);
+    }
+
+    /**
+     * Finds a dealer's leads created in {@code [from, to)}, oldest first.
+     *
+     * <p>O(log n + matches) through the dealer's createdAt index.
+     *
+     * @param dealerId The dealer to query
+     * @param from     Inclusive lower bound
+     * @param to       Exclusive upper bound
+     * @return Matching leads ordered by createdAt, then leadId
+     * @throws IllegalArgumentException if a bound is null
+     */
+    @Override
+    public List<Lead> findByDealerIdAndCreatedAtBetween(String dealerId, Instant from, Instant to) {
+        return findInTimeRange(dealerId, from, to, partition -> partition.byCreatedAt, Lead::getCreatedAt);
+    }
+
+    /**
+     * Finds a dealer's leads last updated in {@code [from, to)}, least recently updated first.
+     *
+     * <p>O(log n + matches) through the dealer's updatedAt index.
+     *
+     * @param dealerId The dealer to query
+     * @param from     Inclusive lower bound
+     * @param to       Exclusive upper bound
+     * @return Matching leads ordered by updatedAt, then leadId
+     * @throws IllegalArgumentException if a bound is null
+     */
+    @Override
+    public List<Lead> findByDealerIdAndUpdatedAtBetween(String dealerId, Instant from, Instant to) {
+        return findInTimeRange(dealerId, from, to, partition -> partition.byUpdatedAt, Lead::getUpdatedAt);
+    }
+
+    private List<Lead> findInTimeRange(String dealerId, Instant from, Instant to,
+                                       Function<DealerPartition, NavigableSet<TimeKey>> index,
+                                       Function<Lead, Instant> time) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("time range bounds cannot be null");
+        }
+        if (dealerId == null || !from.isBefore(to)) return List.of();
+
+        DealerPartition partition = partitions.get(dealerId);
+        if (partition == null) return List.of();
+
         List<Lead> result = new ArrayList<>();
-        for (Lead lead : store.values()) {
-            if (dealerId.equals(lead.getDealerId())) {
+        // A lead being re-keyed can briefly appear under both its old and new key
+        Set<String> seen = new HashSet<>();
+        for (TimeKey key : index.apply(partition).subSet(TimeKey.lowest(from), true, TimeKey.lowest(to), false)) {
+            Lead lead = partition.leads.get(key.getLeadId());
+            if (lead != null && key.getAt().equals(time.apply(lead)) && seen.add(key.getLeadId())) {
                 result.add(lead);
             }
         }
+        return result;
+    }
+
+    /**
+     * Finds a dealer's leads sharing the given email or E.164 phone.
+     *
+     * <p>O(matches): two hash lookups in the dealer's contact indexes.
+     *
+     * @param dealerId The dealer to query
+     * @param email    Email to match, or null
+     * @param phone    Phone to match, or null
+     * @return Matching leads ordered by leadId
+     */
+    @Override
+    public List<Lead> findByDealerIdAndContact(String dealerId, Email email, PhoneCoordinate phone) {
+        if (dealerId == null || (email == null && phone == null)) return List.of();
 
-        // Sort: higher score first, null scores last, then by updatedAt desc
-        result.sort(
-                Comparator
-                        .comparing((Lead l) -> l.getScore(), Comparator.nullsLast(Comparator.reverseOrder()))
-                        .thenComparing(Lead::getUpdatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
-        );
+        DealerPartition partition = partitions.get(dealerId);
+        if (partition == null) return List.of();
 
-        // Apply limit
-        return result.size() <= limit ? result : result.subList(0, limit);
+        String emailKey = emailKey(email);
+        String phoneKey = phoneKey(phone);
+        Map<String, Lead> matches = new TreeMap<>();
+        for (String leadId : partition.leadIds(partition.leadIdsByEmail, emailKey)) {
+            Lead lead = partition.leads.get(leadId);
+            // Re-check: a lead whose email just changed can briefly sit under both keys
+            if (lead != null && emailKey.equals(emailKey(lead.getEmail()))) matches.put(leadId, lead);
+        }
+        for (String leadId : partition.leadIds(partition.leadIdsByPhone, phoneKey)) {
+            Lead lead = partition.leads.get(leadId);
+            if (lead != null && phoneKey.equals(phoneKey(lead.getPhone()))) matches.put(leadId, lead);
+        }
+        return new ArrayList<>(matches.values());
     }
 
     /**
-     * Generates the composite storage key for tenant isolation.
+     * Counts a dealer's leads in a state.
      *
-     * @param dealerId The dealer identifier
-     * @param leadId   The lead identifier
-     * @return Composite key in format "dealerId:leadId"
+     * <p>O(1): reads the partition's per-state counter. Concurrent saves may
+     * or may not be reflected yet.
+     *
+     * @param dealerId The dealer to query
+     * @param state    The lead state to count
+     * @return Number of matching leads
      */
-    private String key(String dealerId, String leadId) {
-        return dealerId + ":" + leadId;
+    @Override
+    public long countByDealerIdAndState(String dealerId, LeadState state) {
+        if (dealerId == null || state == null) return 0;
+
+        DealerPartition partition = partitions.get(dealerId);
+        return partition != null ? partition.countsByState.get(state).sum() : 0;
+    }
+
+    /**
+     * Counts a dealer's leads acquired through a source.
+     *
+     * <p>O(1): reads the partition's per-source counter. Concurrent saves may
+     * or may not be reflected yet.
+     *
+     * @param dealerId The dealer to query
+     * @param source   The lead source to count
+     * @return Number of matching leads
+     */
+    @Override
+    public long countByDealerIdAndSource(String dealerId, LeadSource source) {
+        if (dealerId == null || source == null) return 0;
+
+        DealerPartition partition = partitions.get(dealerId);
+        return partition != null ? partition.countsBySource.get(source).sum() : 0;
+    }
+
+    /**
+     * Visits every stored lead across all dealers.
+     *
+     * <p>Not tenant-scoped: intended for maintenance tasks such as snapshots
+     * and exports, not for request handling. Iteration is weakly consistent;
+     * leads saved concurrently may or may not be visited.
+     *
+     * @param action Callback invoked once per stored lead
+     */
+    public void forEachLead(Consumer<Lead> action) {
+        if (action == null) throw new IllegalArgumentException("action cannot be null");
+        for (DealerPartition partition : partitions.values()) {
+            partition.leads.values().forEach(action);
+        }
+    }
+
+    /**
+     * The dealers that have stored leads.
+     *
+     * <p>Not tenant-scoped: for maintenance tasks that work dealer by dealer.
+     * A dealer whose leads were all removed may still be listed.
+     *
+     * @return Snapshot of dealer IDs
+     */
+    public Set<String> dealerIds() {
+        return Set.copyOf(partitions.keySet());
+    }
+
+    /**
+     * The leadIds filed under a state in the dealer's state index, without
+     * the state re-check queries apply. For tests of index consistency.
+     *
+     * @return Snapshot of the indexed leadIds, in leadId order
+     */
+    NavigableSet<String> indexedLeadIds(String dealerId, LeadState state) {
+        DealerPartition partition = partitions.get(dealerId);
+        return partition != null ? new TreeSet<>(partition.leadIds(state)) : new TreeSet<>();
+    }
+
+    /** Resolves index entries to leads, re-checking state as {@link #findByDealerIdAndState} does. */
+    private static Stream<Lead> leadsInState(DealerPartition partition, NavigableSet<String> leadIds, LeadState state) {
+        return leadIds.stream()
+                .map(partition.leads::get)
+                .filter(lead -> lead != null && state == lead.getState());
+    }
+
+    private static String emailKey(Email email) {
+        return email != null ? email.getValue() : null;
+    }
+
+    private static String phoneKey(PhoneCoordinate phone) {
+        return phone != null ? phone.toE164() : null;
+    }
+
+    private DealerPartition partition(Lead lead) {
+        return partitions.computeIfAbsent(lead.getDealerId(), id -> new DealerPartition());
+    }
+
+    private static void validate(Lead lead) {
+        if (lead == null) {
+            throw new IllegalArgumentException("lead cannot be null");
+        }
+        if (lead.getDealerId() == null || lead.getDealerId().trim().isEmpty()) {
+            throw new IllegalArgumentException("dealerId cannot be blank");
+        }
+        if (lead.getLeadId() == null || lead.getLeadId().trim().isEmpty()) {
+            throw new IllegalArgumentException("leadId cannot be blank");
+        }
+    }
+
+    /**
+     * One dealer's leads and secondary indexes.
+     *
+     * <p>The EnumMaps are fully populated at construction and never structurally
+     * modified afterwards, so concurrent reads of them are safe; the sets and
+     * counters they hold are concurrent.
+     */
+    private static final class DealerPartition {
+
+        /** This dealer's leads keyed by leadId. */
+        private final ConcurrentHashMap<String, Lead> leads = new ConcurrentHashMap<>();
+
+        /** Lead IDs grouped by the state they were last saved in, sorted for keyset paging. */
+        private final EnumMap<LeadState, NavigableSet<String>> leadIdsByState = new EnumMap<>(LeadState.class);
+
+        /** Score-ordered keys; iteration order is the ranking order. */
+        private final ConcurrentSkipListSet<ScoreKey> byScore = new ConcurrentSkipListSet<>(ScoreKey.ORDER);
+
+        /** (createdAt, leadId) keys in time order; leads without createdAt are not indexed. */
+        private final ConcurrentSkipListSet<TimeKey> byCreatedAt = new ConcurrentSkipListSet<>(TimeKey.ORDER);
+
+        /** (updatedAt, leadId) keys in time order; leads without updatedAt are not indexed. */
+        private final ConcurrentSkipListSet<TimeKey> byUpdatedAt = new ConcurrentSkipListSet<>(TimeKey.ORDER);
+
+        /** Lead IDs by normalized email. Sets are added and emptied atomically per key. */
+        private final ConcurrentHashMap<String, Set<String>> leadIdsByEmail = new ConcurrentHashMap<>();
+
+        /** Lead IDs by E.164 phone. */
+        private final ConcurrentHashMap<String, Set<String>> leadIdsByPhone = new ConcurrentHashMap<>();
+
+        /** Stored leads per state; striped so concurrent saves do not contend on one counter. */
+        private final EnumMap<LeadState, LongAdder> countsByState = new EnumMap<>(LeadState.class);
+
+        /** Stored leads per source. */
+        private final EnumMap<LeadSource, LongAdder> countsBySource = new EnumMap<>(LeadSource.class);
+
+        /** What each lead is currently indexed under. Only written while holding the lead's entry. */
+        private final ConcurrentHashMap<String, IndexedLead> indexedLeads = new ConcurrentHashMap<>();
+
+        DealerPartition() {
+            for (LeadState state : LeadState.values()) {
+                leadIdsByState.put(state, new ConcurrentSkipListSet<>());
+                countsByState.put(state, new LongAdder());
+            }
+            for (LeadSource source : LeadSource.values()) {
+                countsBySource.put(source, new LongAdder());
+            }
+        }
+
+        NavigableSet<String> leadIds(LeadState state) {
+            return leadIdsByState.get(state);
+        }
+
+        /** The lead IDs under a contact key; empty for a null key. */
+        Set<String> leadIds(ConcurrentHashMap<String, Set<String>> index, String key) {
+            if (key == null) return Set.of();
+            return index.getOrDefault(key, Set.of());
+        }
+
+        /**
+         * Stores a frozen snapshot of a lead and re-indexes it.
+         *
+         * <p>compute() locks the lead's entry, so the version check, the write
+         * and the index moves happen atomically with respect to other saves of
+         * the same lead. The snapshot is frozen inside it because its version
+         * is only known there; stored snapshots never change, so the replaced
+         * one tells exactly which entries and counters to move the lead out of.
+         *
+         * @param expectedVersion Required stored version (0 = absent), or {@link #ANY_VERSION}
+         * @param increment       Added to the stored version when stamping
+         * @param stamp           Store the lead at stored version + increment and set that
+         *                        version on the caller's lead; otherwise keep its own version
+         * @return false if the stored version did not match
+         */
+        boolean put(Lead lead, long expectedVersion, int increment, boolean stamp) {
+            String leadId = lead.getLeadId();
+            Lead[] stored = new Lead[1];
+            leads.compute(leadId, (id, previousLead) -> {
+                long storedVersion = previousLead != null ? previousLead.getVersion() : 0L;
+                if (expectedVersion != ANY_VERSION && expectedVersion != storedVersion) {
+                    return previousLead;
+                }
+                Lead snapshot = stamp ? lead.freeze(storedVersion + increment) : lead.freeze();
+                IndexedLead current = IndexedLead.of(snapshot);
+                reindex(leadId, indexedLeads.put(leadId, current), current);
+                recount(previousLead, snapshot);
+                String previousEmail = previousLead != null ? emailKey(previousLead.getEmail()) : null;
+                String previousPhone = previousLead != null ? phoneKey(previousLead.getPhone()) : null;
+                move(leadIdsByEmail, leadId, previousEmail, emailKey(snapshot.getEmail()));
+                move(leadIdsByPhone, leadId, previousPhone, phoneKey(snapshot.getPhone()));
+                stored[0] = snapshot;
+                return snapshot;
+            });
+            if (stored[0] == null) {
+                return false;
+            }
+            if (stamp && !lead.isFrozen()) {
+                lead.setVersion(stored[0].getVersion());
+            }
+            return true;
+        }
+
+        /**
+         * Removes a lead and its index entries if its version matches, under
+         * the same entry lock as {@link #put}.
+         */
+        boolean remove(String leadId, long expectedVersion) {
+            boolean[] removed = new boolean[1];
+            leads.computeIfPresent(leadId, (id, previousLead) -> {
+                if (previousLead.getVersion() != expectedVersion) {
+                    return previousLead;
+                }
+                IndexedLead previous = indexedLeads.remove(leadId);
+                if (previous != null) {
+                    if (previous.getState() != null) leadIds(previous.getState()).remove(leadId);
+                    byScore.remove(previous.getScoreKey());
+                    move(byCreatedAt, previous.getCreatedKey(), null);
+                    move(byUpdatedAt, previous.getUpdatedKey(), null);
+                }
+                recount(previousLead, null);
+                move(leadIdsByEmail, leadId, emailKey(previousLead.getEmail()), null);
+                move(leadIdsByPhone, leadId, phoneKey(previousLead.getPhone()), null);
+                removed[0] = true;
+                return null;
+            });
+            return removed[0];
+        }
+
+        /**
+         * Moves a lead's contribution from its replaced snapshot's state and
+         * source to the new one's (null current = removed).
+         */
+        private void recount(Lead previous, Lead current) {
+            LeadState previousState = previous != null ? previous.getState() : null;
+            LeadState currentState = current != null ? current.getState() : null;
+            if (currentState != previousState) {
+                if (currentState != null) countsByState.get(currentState).increment();
+                if (previousState != null) countsByState.get(previousState).decrement();
+            }
+            LeadSource previousSource = previous != null ? previous.getSource() : null;
+            LeadSource currentSource = current != null ? current.getSource() : null;
+            if (currentSource != previousSource) {
+                if (currentSource != null) countsBySource.get(currentSource).increment();
+                if (previousSource != null) countsBySource.get(previousSource).decrement();
+            }
+        }
+
+        /**
+         * Moves a lead between index entries. New entries are added before old
+         * ones are removed so concurrent readers never miss the lead.
+         */
+        private void reindex(String leadId, IndexedLead previous, IndexedLead current) {
+            LeadState previousState = previous != null ? previous.getState() : null;
+            if (current.getState() != previousState) {
+                if (current.getState() != null) leadIds(current.getState()).add(leadId);
+                if (previousState != null) leadIds(previousState).remove(leadId);
+            }
+
+            byScore.add(current.getScoreKey());
+            if (previous != null && !previous.getScoreKey().equals(current.getScoreKey())) {
+                byScore.remove(previous.getScoreKey());
+            }
+
+            move(byCreatedAt, previous != null ? previous.getCreatedKey() : null, current.getCreatedKey());
+            move(byUpdatedAt, previous != null ? previous.getUpdatedKey() : null, current.getUpdatedKey());
+        }
+
+        /** Moves a lead ID between contact keys, adding before removing and dropping emptied sets. */
+        private static void move(ConcurrentHashMap<String, Set<String>> index, String leadId,
+                                 String previous, String current) {
+            if (Objects.equals(previous, current)) return;
+            if (current != null) {
+                index.compute(current, (key, ids) -> {
+                    Set<String> result = ids != null ? ids : ConcurrentHashMap.newKeySet();
+                    result.add(leadId);
+                    return result;
+                });
+            }
+            if (previous != null) {
+                index.computeIfPresent(previous, (key, ids) -> {
+                    ids.remove(leadId);
+                    return ids.isEmpty() ? null : ids;
+                });
+            }
+        }
+
+        /** Replaces a nullable time key, adding before removing. */
+        private static void move(NavigableSet<TimeKey> index, TimeKey previous, TimeKey current) {
+            if (current != null) index.add(current);
+            if (previous != null && !previous.equals(current)) index.remove(previous);
+        }
+    }
+
+    /**
+     * The index keys a lead was last saved with.
+     */
+    @Value
+    private static class IndexedLead {
+        LeadState state;
+        ScoreKey scoreKey;
+        /** Null if the lead has no createdAt. */
+        TimeKey createdKey;
+        /** Null if the lead has no updatedAt. */
+        TimeKey updatedKey;
+
+        static IndexedLead of(Lead lead) {
+            String leadId = lead.getLeadId();
+            return new IndexedLead(
+                    lead.getState(),
+                    new ScoreKey(lead.getScore(), lead.getUpdatedAt(), leadId),
+                    TimeKey.of(lead.getCreatedAt(), leadId),
+                    TimeKey.of(lead.getUpdatedAt(), leadId));
+        }
+    }
+
+    /**
+     * Immutable sort key for the score index.
+     *
+     * <p>Captures score and updatedAt at save time: the Lead itself is mutable
+     * and must not be used as a key in a sorted set.
+     */
+    @Value
+    private static class ScoreKey {
+
+        /** Higher score first (nulls last), then newer first (nulls last), then leadId. */
+        static final Comparator<ScoreKey> ORDER = Comparator
+                .comparing(ScoreKey::getScore, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(ScoreKey::getUpdatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(ScoreKey::getLeadId);
+
+        Integer score;
+        Instant updatedAt;
+        String leadId;
+    }
+
+    /**
+     * Immutable sort key for the time indexes: a timestamp plus leadId, so
+     * leads sharing a timestamp get distinct keys.
+     */
+    @Value
+    private static class TimeKey {
+
+        static final Comparator<TimeKey> ORDER = Comparator
+                .comparing(TimeKey::getAt)
+                .thenComparing(TimeKey::getLeadId);
+
+        Instant at;
+        String leadId;
+
+        /** The key for a lead, or null if it has no timestamp. */
+        static TimeKey of(Instant at, String leadId) {
+            return at != null ? new TimeKey(at, leadId) : null;
+        }
+
+        /** Sorts before every real key with the same timestamp. */
+        static TimeKey lowest(Instant at) {
+            return new TimeKey(at, "");
+        }
     }
-}
\ No newline at end of file
+}
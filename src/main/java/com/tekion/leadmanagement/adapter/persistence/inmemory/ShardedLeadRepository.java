@@ -0,0 +1,406 @@
+package com.tekion.leadmanagement.adapter.persistence.inmemory;
+
+import com.tekion.leadmanagement.domain.lead.model.CoalescedWrite;
+import com.tekion.leadmanagement.domain.lead.model.Email;
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadPage;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.model.PhoneCoordinate;
+import com.tekion.leadmanagement.domain.lead.port.LeadPersistencePort;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Lead storage split into independent {@link InMemoryLeadRepository} shards
+ * by dealer.
+ *
+ * <h2>Overview</h2>
+ * <p>Each dealer is assigned to one of N shards by the hash of its
+ * dealerId, and every operation is routed to that shard. A shard has its
+ * own partition map, indexes and counters, so scans and sorts of dealers on
+ * one shard share no memory with writes to dealers on another.
+ *
+ * <h2>Single-Writer Mode</h2>
+ * <p>With {@link ShardedLeadRepositoryConfig#isSingleWriter()}, each shard
+ * has one writer thread. Writes are handed to it and the caller waits for
+ * the result, so a shard's indexes are only ever modified by one thread and
+ * writes never contend on them. Reads still run on the caller's thread
+ * against the copy-on-write snapshots.
+ *
+ * <h2>Maintenance Fan-out</h2>
+ * <p>{@link #fanOut(Function)} runs a task against every shard in
+ * parallel, for cross-dealer jobs such as snapshots, exports, tiering or
+ * re-scoring sweeps. In single-writer mode each task runs on its shard's
+ * writer, so it is serialized with that shard's writes; writes it makes
+ * through this repository to its own shard run inline.
+ *
+ * @see InMemoryLeadRepository for the per-shard storage and its guarantees
+ * @see ShardedLeadRepositoryConfig for tuning options
+ */
+public class ShardedLeadRepository implements LeadPersistencePort, Closeable {
+
+    private final Shard[] shards;
+
+    /**
+     * Creates a sharded repository.
+     *
+     * @param config Shard count and writer mode
+     * @throws IllegalArgumentException if the configuration is invalid
+     */
+    public ShardedLeadRepository(ShardedLeadRepositoryConfig config) {
+        if (config == null) {
+            throw new IllegalArgumentException("config cannot be null");
+        }
+        config.validate();
+        this.shards = new Shard[config.getShardCount()];
+        for (int i = 0; i < shards.length; i++) {
+            shards[i] = new Shard(i, config.isSingleWriter());
+        }
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // WRITES
+    // ════════════════════════════════════════════════════════════════
+
+    @Override
+    public Lead save(Lead lead) {
+        if (lead == null) throw new IllegalArgumentException("lead cannot be null");
+        Shard shard = shardFor(lead.getDealerId());
+        return shard.write(() -> shard.repository.save(lead));
+    }
+
+    @Override
+    public boolean saveIfVersion(Lead lead, long expectedVersion) {
+        if (lead == null) throw new IllegalArgumentException("lead cannot be null");
+        Shard shard = shardFor(lead.getDealerId());
+        return shard.write(() -> shard.repository.saveIfVersion(lead, expectedVersion));
+    }
+
+    @Override
+    public boolean saveCoalesced(Lead lead, long expectedVersion, int writes) {
+        if (lead == null) throw new IllegalArgumentException("lead cannot be null");
+        Shard shard = shardFor(lead.getDealerId());
+        return shard.write(() -> shard.repository.saveCoalesced(lead, expectedVersion, writes));
+    }
+
+    /**
+     * Persists a batch: validates every lead, then writes each shard's
+     * share with one {@link InMemoryLeadRepository#saveAll} call. In
+     * single-writer mode the shards' writers apply their shares in parallel.
+     */
+    @Override
+    public List<Lead> saveAll(Collection<Lead> leads) {
+        if (leads == null) {
+            throw new IllegalArgumentException("leads cannot be null");
+        }
+        List<Lead> input = new ArrayList<>(leads);
+        @SuppressWarnings("unchecked")
+        List<Lead>[] byShard = new List[shards.length];
+        for (Lead lead : input) {
+            if (lead == null) {
+                throw new IllegalArgumentException("leads cannot contain null");
+            }
+            if (lead.getDealerId() == null || lead.getDealerId().trim().isEmpty()) {
+                throw new IllegalArgumentException("dealerId cannot be blank");
+            }
+            if (lead.getLeadId() == null || lead.getLeadId().trim().isEmpty()) {
+                throw new IllegalArgumentException("leadId cannot be blank");
+            }
+            int index = shardIndex(lead.getDealerId());
+            if (byShard[index] == null) byShard[index] = new ArrayList<>();
+            byShard[index].add(lead);
+        }
+
+        List<Future<List<Lead>>> pending = new ArrayList<>();
+        for (int i = 0; i < shards.length; i++) {
+            if (byShard[i] == null) continue;
+            Shard shard = shards[i];
+            List<Lead> share = byShard[i];
+            pending.add(shard.startWrite(() -> shard.repository.saveAll(share)));
+        }
+        for (Future<List<Lead>> future : pending) {
+            await(future);
+        }
+        // The shard adapters return the input instances
+        return input;
+    }
+
+    /**
+     * Persists coalesced writes: validates every lead, then applies each
+     * shard's share with one {@link InMemoryLeadRepository#saveAllCoalesced}
+     * call, in parallel in single-writer mode.
+     */
+    @Override
+    public boolean[] saveAllCoalesced(List<CoalescedWrite> writes) {
+        if (writes == null) {
+            throw new IllegalArgumentException("writes cannot be null");
+        }
+        @SuppressWarnings("unchecked")
+        List<Integer>[] byShard = new List[shards.length];
+        for (int i = 0; i < writes.size(); i++) {
+            CoalescedWrite write = writes.get(i);
+            if (write == null) {
+                throw new IllegalArgumentException("writes cannot contain null");
+            }
+            Lead lead = write.getLead();
+            if (lead.getDealerId() == null || lead.getDealerId().trim().isEmpty()) {
+                throw new IllegalArgumentException("dealerId cannot be blank");
+            }
+            if (lead.getLeadId() == null || lead.getLeadId().trim().isEmpty()) {
+                throw new IllegalArgumentException("leadId cannot be blank");
+            }
+            int index = shardIndex(lead.getDealerId());
+            if (byShard[index] == null) byShard[index] = new ArrayList<>();
+            byShard[index].add(i);
+        }
+
+        List<Future<boolean[]>> pending = new ArrayList<>();
+        List<List<Integer>> positions = new ArrayList<>();
+        for (int i = 0; i < shards.length; i++) {
+            if (byShard[i] == null) continue;
+            Shard shard = shards[i];
+            List<CoalescedWrite> share = new ArrayList<>(byShard[i].size());
+            for (int position : byShard[i]) {
+                share.add(writes.get(position));
+            }
+            pending.add(shard.startWrite(() -> shard.repository.saveAllCoalesced(share)));
+            positions.add(byShard[i]);
+        }
+        boolean[] saved = new boolean[writes.size()];
+        for (int i = 0; i < pending.size(); i++) {
+            boolean[] shareSaved = await(pending.get(i));
+            for (int j = 0; j < shareSaved.length; j++) {
+                saved[positions.get(i).get(j)] = shareSaved[j];
+            }
+        }
+        return saved;
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // READS
+    // ════════════════════════════════════════════════════════════════
+
+    @Override
+    public Optional<Lead> findByIdAndDealerId(String leadId, String dealerId) {
+        return shardFor(dealerId).repository.findByIdAndDealerId(leadId, dealerId);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndState(String dealerId, LeadState state) {
+        return shardFor(dealerId).repository.findByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdOrderByScore(String dealerId, int limit) {
+        return shardFor(dealerId).repository.findByDealerIdOrderByScore(dealerId, limit);
+    }
+
+    @Override
+    public LeadPage findByDealerIdAndState(String dealerId, LeadState state, int pageSize, String pageToken) {
+        return shardFor(dealerId).repository.findByDealerIdAndState(dealerId, state, pageSize, pageToken);
+    }
+
+    @Override
+    public LeadPage findByDealerIdOrderByScore(String dealerId, int pageSize, String pageToken) {
+        return shardFor(dealerId).repository.findByDealerIdOrderByScore(dealerId, pageSize, pageToken);
+    }
+
+    @Override
+    public Stream<Lead> streamByDealerIdAndState(String dealerId, LeadState state) {
+        return shardFor(dealerId).repository.streamByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndCreatedAtBetween(String dealerId, Instant from, Instant to) {
+        return shardFor(dealerId).repository.findByDealerIdAndCreatedAtBetween(dealerId, from, to);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndUpdatedAtBetween(String dealerId, Instant from, Instant to) {
+        return shardFor(dealerId).repository.findByDealerIdAndUpdatedAtBetween(dealerId, from, to);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndContact(String dealerId, Email email, PhoneCoordinate phone) {
+        return shardFor(dealerId).repository.findByDealerIdAndContact(dealerId, email, phone);
+    }
+
+    @Override
+    public long countByDealerIdAndState(String dealerId, LeadState state) {
+        return shardFor(dealerId).repository.countByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public long countByDealerIdAndSource(String dealerId, LeadSource source) {
+        return shardFor(dealerId).repository.countByDealerIdAndSource(dealerId, source);
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // MAINTENANCE
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Runs a task against every shard in parallel and waits for all of them.
+     *
+     * <p>Not tenant-scoped. The task receives the shard's own repository and
+     * should confine itself to it. In single-writer mode it runs on the
+     * shard's writer thread; otherwise on the common fork-join pool.
+     *
+     * @param task Task to run once per shard
+     * @return The task results, in shard order
+     * @throws RuntimeException the first task failure, after all tasks finished
+     */
+    public <T> List<T> fanOut(Function<InMemoryLeadRepository, T> task) {
+        if (task == null) throw new IllegalArgumentException("task cannot be null");
+        List<Future<T>> pending = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            pending.add(shard.startTask(() -> task.apply(shard.repository)));
+        }
+        List<T> results = new ArrayList<>(shards.length);
+        RuntimeException failure = null;
+        for (Future<T> future : pending) {
+            try {
+                results.add(await(future));
+            } catch (RuntimeException e) {
+                if (failure == null) failure = e;
+            }
+        }
+        if (failure != null) throw failure;
+        return results;
+    }
+
+    /**
+     * Visits every stored lead, shard by shard in parallel.
+     *
+     * @param action Callback invoked once per stored lead; must be thread-safe
+     * @see InMemoryLeadRepository#forEachLead(Consumer)
+     */
+    public void forEachLead(Consumer<Lead> action) {
+        if (action == null) throw new IllegalArgumentException("action cannot be null");
+        fanOut(shard -> {
+            shard.forEachLead(action);
+            return null;
+        });
+    }
+
+    /**
+     * The dealers that have stored leads, across all shards.
+     *
+     * @return Snapshot of dealer IDs
+     */
+    public Set<String> dealerIds() {
+        Set<String> dealerIds = new HashSet<>();
+        for (Shard shard : shards) {
+            dealerIds.addAll(shard.repository.dealerIds());
+        }
+        return Set.copyOf(dealerIds);
+    }
+
+    /**
+     * @return The number of shards
+     */
+    public int shardCount() {
+        return shards.length;
+    }
+
+    /** Stops the writer threads, letting queued writes finish. */
+    @Override
+    public void close() {
+        for (Shard shard : shards) {
+            if (shard.writer != null) shard.writer.shutdown();
+        }
+        for (Shard shard : shards) {
+            if (shard.writer == null) continue;
+            try {
+                shard.writer.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    int shardIndex(String dealerId) {
+        int hash = dealerId.hashCode();
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, shards.length);
+    }
+
+    private Shard shardFor(String dealerId) {
+        // Null dealerIds still reach a shard, which rejects or ignores them as the port specifies
+        return shards[dealerId == null ? 0 : shardIndex(dealerId)];
+    }
+
+    /** Waits for a shard task, rethrowing its failure unwrapped. */
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a shard", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) throw (RuntimeException) cause;
+            if (cause instanceof Error) throw (Error) cause;
+            throw new IllegalStateException("Shard task failed", cause);
+        }
+    }
+
+    /** One shard: its storage and, in single-writer mode, its writer thread. */
+    private static final class Shard {
+        final InMemoryLeadRepository repository = new InMemoryLeadRepository();
+        final ExecutorService writer;
+        volatile Thread writerThread;
+
+        Shard(int index, boolean singleWriter) {
+            this.writer = singleWriter ? Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "lead-shard-" + index);
+                thread.setDaemon(true);
+                writerThread = thread;
+                return thread;
+            }) : null;
+        }
+
+        /** Applies a write on the writer thread (inline if there is none, or we are it). */
+        <T> T write(Supplier<T> action) {
+            if (writer == null || Thread.currentThread() == writerThread) {
+                return action.get();
+            }
+            return await(writer.submit(action::get));
+        }
+
+        /** Starts a write on the writer thread; runs it inline if there is none, or we are it. */
+        <T> Future<T> startWrite(Supplier<T> action) {
+            if (writer == null || Thread.currentThread() == writerThread) {
+                return CompletableFuture.completedFuture(action.get());
+            }
+            return writer.submit(action::get);
+        }
+
+        /** Starts a maintenance task on the writer thread, or on the common pool if there is none. */
+        <T> Future<T> startTask(Supplier<T> action) {
+            if (writer == null) {
+                return CompletableFuture.supplyAsync(action);
+            }
+            return startWrite(action);
+        }
+    }
+}
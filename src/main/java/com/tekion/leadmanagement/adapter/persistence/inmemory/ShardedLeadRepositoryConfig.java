@@ -0,0 +1,43 @@
+package com.tekion.leadmanagement.adapter.persistence.inmemory;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * Configuration for {@link ShardedLeadRepository}.
+ *
+ * <h2>Example Usage</h2>
+ * <pre>{@code
+ * ShardedLeadRepositoryConfig config = ShardedLeadRepositoryConfig.builder()
+ *     .shardCount(16)
+ *     .singleWriter(true)
+ *     .build();
+ * }</pre>
+ */
+@Value
+@Builder
+public class ShardedLeadRepositoryConfig {
+
+    /** Number of independent shards; dealers are assigned by hash. */
+    @Builder.Default
+    int shardCount = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * If true, each shard gets one writer thread that applies all of its
+     * writes and runs its maintenance tasks; callers wait for their write.
+     * If false, callers write to the shard directly.
+     */
+    @Builder.Default
+    boolean singleWriter = false;
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if any setting is out of range
+     */
+    void validate() {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive");
+        }
+    }
+}
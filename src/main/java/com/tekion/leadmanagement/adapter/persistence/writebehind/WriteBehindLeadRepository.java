@@ -0,0 +1,635 @@
+package com.tekion.leadmanagement.adapter.persistence.writebehind;
+
+import com.tekion.leadmanagement.domain.lead.model.CoalescedWrite;
+import com.tekion.leadmanagement.domain.lead.model.Email;
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadPage;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.model.PhoneCoordinate;
+import com.tekion.leadmanagement.domain.lead.port.LeadPersistencePort;
+
+import java.io.Closeable;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * {@link LeadPersistencePort} decorator that buffers writes and persists
+ * them to the underlying adapter in the background.
+ *
+ * <h2>Overview</h2>
+ * <p>Saves return once the lead is in the buffer. Repeated saves of the same
+ * (dealerId, leadId) replace the buffered state, so a lead that is created,
+ * transitioned and re-scored within one flush interval costs the adapter a
+ * single write. A background thread flushes the buffer every
+ * {@code flushInterval}, or sooner once {@code maxBatchSize} leads are
+ * pending; {@link #flush()} and {@link #close()} flush on the caller's thread.
+ *
+ * <h2>Versions</h2>
+ * <p>Each buffered lead remembers the stored version it builds on and how
+ * many writes it absorbed. Saves and {@link #saveIfVersion} check and bump
+ * the buffered version exactly as the adapter would, and the flush hands
+ * both numbers to {@link LeadPersistencePort#saveAllCoalesced}, so the stored
+ * version afterwards is the one callers were given. A flush writes every
+ * pending lead it covers in that one adapter call, so a durable adapter
+ * syncs once per flush rather than once per lead.
+ *
+ * <p>A lead that received an unconditional {@link #save} while buffered
+ * does not depend on that compare-and-set: if it fails, the flush persists
+ * the lead with {@link LeadPersistencePort#saveAll} instead, as the
+ * caller's own {@code save} would have.
+ *
+ * <h2>Read-Your-Writes</h2>
+ * <ul>
+ *   <li>{@link #findByIdAndDealerId} answers from the buffer when the lead is pending</li>
+ *   <li>Every other query and count first flushes the dealer's pending leads,
+ *       so indexes and counters in the adapter reflect them</li>
+ * </ul>
+ *
+ * <h2>Failures</h2>
+ * <ul>
+ *   <li>If the adapter fails a flush, its leads stay buffered and are
+ *       retried on the next flush; {@link #flush()} rethrows the failure</li>
+ *   <li>Only writes made through this decorator are coordinated. If another
+ *       writer changes a buffered lead in the adapter, the flush loses its
+ *       compare-and-set. A lead buffered by {@code saveIfVersion} or
+ *       {@code saveCoalesced} alone is then discarded and counted as a
+ *       conflict, as a stale {@code saveIfVersion} would be; a lead that
+ *       was last saved unconditionally overwrites the other writer</li>
+ *   <li>Buffered writes are lost if the process dies before they are flushed</li>
+ * </ul>
+ *
+ * <h2>Thread Safety</h2>
+ * <p>Each save replaces its lead's buffer entry inside {@code compute()}.
+ * Flushes run one at a time: a flush writes the entries it saw, then
+ * removes each one only if no save replaced it in the meantime. An entry
+ * that absorbed further saves stays buffered, rebased onto the version
+ * just stored, so only those later saves remain to be written.
+ *
+ * @see WriteBehindLeadRepositoryConfig for tuning options
+ * @see WriteBehindStats for flush latency, queue depth and coalescing ratio
+ */
+public class WriteBehindLeadRepository implements LeadPersistencePort, Closeable {
+
+    /** Expected-version sentinel for unconditional writes. */
+    private static final long ANY_VERSION = -1L;
+
+    private final LeadPersistencePort delegate;
+    private final WriteBehindLeadRepositoryConfig config;
+
+    /** Buffered leads, dealerId → (leadId → pending write). */
+    private final ConcurrentHashMap<String, ConcurrentHashMap<String, Pending>> pending = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+
+    private final ScheduledExecutorService background;
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    /** Serializes flushes, so every buffered entry is written by exactly one of them. */
+    private final ReentrantLock flushLock = new ReentrantLock();
+    private volatile boolean closed;
+
+    private final LongAdder acceptedWrites = new LongAdder();
+    private final LongAdder flushedWrites = new LongAdder();
+    private final LongAdder flushedRecords = new LongAdder();
+    private final LongAdder conflicts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushNanos = new LongAdder();
+    private final AtomicLong maxFlushNanos = new AtomicLong();
+
+    /**
+     * Creates a write-behind buffer in front of an adapter and starts its flush thread.
+     *
+     * @param delegate The adapter holding the leads
+     * @param config   Buffer configuration
+     * @throws IllegalArgumentException if delegate is null or the configuration is invalid
+     */
+    public WriteBehindLeadRepository(LeadPersistencePort delegate, WriteBehindLeadRepositoryConfig config) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("delegate cannot be null");
+        }
+        if (config == null) {
+            throw new IllegalArgumentException("config cannot be null");
+        }
+        config.validate();
+        this.delegate = delegate;
+        this.config = config;
+
+        this.background = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, config.getThreadName());
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodNanos = config.getFlushInterval().toNanos();
+        background.scheduleWithFixedDelay(this::backgroundFlush, periodNanos, periodNanos, TimeUnit.NANOSECONDS);
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // WRITES (buffered)
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Buffers the lead, replacing any pending state of the same lead.
+     *
+     * @param lead The lead to persist
+     * @return The saved lead (same instance), with its version set
+     * @throws IllegalArgumentException if lead is null or has blank dealerId/leadId
+     * @throws IllegalStateException    if the buffer is closed
+     */
+    @Override
+    public Lead save(Lead lead) {
+        validate(lead);
+        buffer(lead, ANY_VERSION, 1);
+        return lead;
+    }
+
+    /**
+     * Buffers the lead only if its current version, pending or stored,
+     * equals {@code expectedVersion}.
+     *
+     * @param lead            The modified lead
+     * @param expectedVersion The version the caller read, or 0 to insert only if absent
+     * @return true if the lead was buffered, false on a version mismatch
+     * @throws IllegalArgumentException if lead is invalid or expectedVersion is negative
+     * @throws IllegalStateException    if the buffer is closed
+     */
+    @Override
+    public boolean saveIfVersion(Lead lead, long expectedVersion) {
+        validate(lead);
+        if (expectedVersion < 0) {
+            throw new IllegalArgumentException("expectedVersion cannot be negative");
+        }
+        return buffer(lead, expectedVersion, 1);
+    }
+
+    /**
+     * Buffers the net result of {@code writes} updates, so write-behind
+     * buffers can be stacked.
+     *
+     * @throws IllegalArgumentException if lead is invalid, expectedVersion is negative or writes is not positive
+     * @throws IllegalStateException    if the buffer is closed
+     */
+    @Override
+    public boolean saveCoalesced(Lead lead, long expectedVersion, int writes) {
+        validate(lead);
+        if (expectedVersion < 0) {
+            throw new IllegalArgumentException("expectedVersion cannot be negative");
+        }
+        if (writes <= 0) {
+            throw new IllegalArgumentException("writes must be positive");
+        }
+        return buffer(lead, expectedVersion, writes);
+    }
+
+    /**
+     * Validates the whole batch, then buffers each write in order, so
+     * write-behind buffers can be stacked.
+     *
+     * @throws IllegalArgumentException if writes is null or contains null, or any lead is invalid
+     * @throws IllegalStateException    if the buffer is closed
+     */
+    @Override
+    public boolean[] saveAllCoalesced(List<CoalescedWrite> writes) {
+        if (writes == null) {
+            throw new IllegalArgumentException("writes cannot be null");
+        }
+        for (CoalescedWrite write : writes) {
+            if (write == null) {
+                throw new IllegalArgumentException("writes cannot contain null");
+            }
+            validate(write.getLead());
+        }
+        boolean[] saved = new boolean[writes.size()];
+        for (int i = 0; i < saved.length; i++) {
+            CoalescedWrite write = writes.get(i);
+            saved[i] = buffer(write.getLead(), write.getExpectedVersion(), write.getWrites());
+        }
+        return saved;
+    }
+
+    /**
+     * Validates the whole batch, then buffers each lead in order.
+     *
+     * @param leads The leads to persist
+     * @return The saved leads (same instances, input order)
+     * @throws IllegalArgumentException if leads is null or any lead is invalid
+     * @throws IllegalStateException    if the buffer is closed
+     */
+    @Override
+    public List<Lead> saveAll(Collection<Lead> leads) {
+        if (leads == null) {
+            throw new IllegalArgumentException("leads cannot be null");
+        }
+        List<Lead> batch = new ArrayList<>(leads);
+        for (Lead lead : batch) {
+            validate(lead);
+        }
+        for (Lead lead : batch) {
+            buffer(lead, ANY_VERSION, 1);
+        }
+        return batch;
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // READS
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Finds a lead, from the buffer if it has a pending write.
+     *
+     * <p>A buffered lead is a shared, {@link Lead#freeze() frozen} snapshot.
+     */
+    @Override
+    public Optional<Lead> findByIdAndDealerId(String leadId, String dealerId) {
+        if (leadId != null && dealerId != null) {
+            ConcurrentHashMap<String, Pending> dealer = pending.get(dealerId);
+            Pending entry = dealer != null ? dealer.get(leadId) : null;
+            if (entry != null) {
+                return Optional.of(entry.lead);
+            }
+        }
+        return delegate.findByIdAndDealerId(leadId, dealerId);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndState(String dealerId, LeadState state) {
+        flushDealer(dealerId);
+        return delegate.findByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdOrderByScore(String dealerId, int limit) {
+        flushDealer(dealerId);
+        return delegate.findByDealerIdOrderByScore(dealerId, limit);
+    }
+
+    @Override
+    public LeadPage findByDealerIdAndState(String dealerId, LeadState state, int pageSize, String pageToken) {
+        flushDealer(dealerId);
+        return delegate.findByDealerIdAndState(dealerId, state, pageSize, pageToken);
+    }
+
+    @Override
+    public LeadPage findByDealerIdOrderByScore(String dealerId, int pageSize, String pageToken) {
+        flushDealer(dealerId);
+        return delegate.findByDealerIdOrderByScore(dealerId, pageSize, pageToken);
+    }
+
+    @Override
+    public Stream<Lead> streamByDealerIdAndState(String dealerId, LeadState state) {
+        flushDealer(dealerId);
+        return delegate.streamByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndCreatedAtBetween(String dealerId, Instant from, Instant to) {
+        flushDealer(dealerId);
+        return delegate.findByDealerIdAndCreatedAtBetween(dealerId, from, to);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndUpdatedAtBetween(String dealerId, Instant from, Instant to) {
+        flushDealer(dealerId);
+        return delegate.findByDealerIdAndUpdatedAtBetween(dealerId, from, to);
+    }
+
+    @Override
+    public List<Lead> findByDealerIdAndContact(String dealerId, Email email, PhoneCoordinate phone) {
+        flushDealer(dealerId);
+        return delegate.findByDealerIdAndContact(dealerId, email, phone);
+    }
+
+    @Override
+    public long countByDealerIdAndState(String dealerId, LeadState state) {
+        flushDealer(dealerId);
+        return delegate.countByDealerIdAndState(dealerId, state);
+    }
+
+    @Override
+    public long countByDealerIdAndSource(String dealerId, LeadSource source) {
+        flushDealer(dealerId);
+        return delegate.countByDealerIdAndSource(dealerId, source);
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // FLUSHING
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Writes every pending lead to the adapter on the caller's thread.
+     *
+     * <p>If the adapter fails, the leads stay buffered for the next flush.
+     *
+     * @throws RuntimeException the failure reported by the adapter
+     */
+    public void flush() {
+        RuntimeException failure = flushAll();
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * Stops the flush thread and flushes the remaining buffered leads.
+     * Later writes fail; reads keep working. The adapter is not closed.
+     *
+     * @throws RuntimeException the first failure of the final flush
+     */
+    @Override
+    public void close() {
+        closed = true;
+        background.shutdown();
+        try {
+            background.awaitTermination(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        flush();
+    }
+
+    /**
+     * @return A snapshot of the buffer's counters
+     */
+    public WriteBehindStats stats() {
+        return new WriteBehindStats(
+                pendingCount.get(),
+                acceptedWrites.sum(),
+                flushedWrites.sum(),
+                flushedRecords.sum(),
+                conflicts.sum(),
+                failures.sum(),
+                flushes.sum(),
+                flushNanos.sum(),
+                maxFlushNanos.get());
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // INTERNALS
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * A buffered lead: its latest state and the stored version it builds on.
+     * Immutable; each write replaces the entry.
+     */
+    private static final class Pending {
+        final Lead lead;
+        final long baseVersion;
+        final int writes;
+        /** False once an unconditional save replaced the state; later conditional writes were checked against it. */
+        final boolean conditional;
+
+        Pending(Lead lead, long baseVersion, int writes, boolean conditional) {
+            this.lead = lead;
+            this.baseVersion = baseVersion;
+            this.writes = writes;
+            this.conditional = conditional;
+        }
+    }
+
+    /**
+     * Adds {@code writes} updates to the lead's buffer entry.
+     *
+     * @param expectedVersion Required current version, or {@link #ANY_VERSION}
+     * @return false if the current version did not match
+     */
+    private boolean buffer(Lead lead, long expectedVersion, int writes) {
+        ensureOpen();
+        if (pendingCount.get() >= config.getMaxPendingLeads()) {
+            // Back-pressure: the writer pays for the flush the background thread is behind on
+            flush();
+        }
+
+        Pending[] accepted = new Pending[1];
+        ConcurrentHashMap<String, Pending> dealer = pending.computeIfAbsent(lead.getDealerId(), id -> new ConcurrentHashMap<>());
+        Pending entry = dealer.compute(lead.getLeadId(), (leadId, current) -> {
+            long base = current != null ? current.baseVersion : storedVersion(lead);
+            int buffered = current != null ? current.writes : 0;
+            if (expectedVersion != ANY_VERSION && expectedVersion != base + buffered) {
+                return current;
+            }
+            boolean conditional = expectedVersion != ANY_VERSION && (current == null || current.conditional);
+            // Readers share the buffered snapshot, so it is frozen
+            accepted[0] = new Pending(lead.freeze(base + buffered + writes), base, buffered + writes, conditional);
+            return accepted[0];
+        });
+        if (entry == null || entry != accepted[0]) {
+            return false;
+        }
+
+        if (!lead.isFrozen()) {
+            lead.setVersion(entry.lead.getVersion());
+        }
+        acceptedWrites.add(writes);
+        if (entry.writes == writes) {
+            scheduleFlushIfFull(pendingCount.incrementAndGet());
+        }
+        if (closed) {
+            // Raced with close(): its final flush may already have passed this lead
+            flushLead(dealer, lead.getLeadId());
+        }
+        return true;
+    }
+
+    private void scheduleFlushIfFull(int count) {
+        if (count < config.getMaxBatchSize() || !flushScheduled.compareAndSet(false, true)) return;
+        try {
+            background.execute(() -> {
+                flushScheduled.set(false);
+                backgroundFlush();
+            });
+        } catch (RejectedExecutionException e) {
+            // Closing: close() flushes everything
+            flushScheduled.set(false);
+        }
+    }
+
+    private void backgroundFlush() {
+        // Failed records stay buffered and are retried by the next flush
+        flushAll();
+    }
+
+    /** Flushes every dealer in one adapter call. @return the adapter's failure, or null */
+    private RuntimeException flushAll() {
+        flushLock.lock();
+        try {
+            List<Flushing> batch = new ArrayList<>(pendingCount.get());
+            for (ConcurrentHashMap<String, Pending> dealer : pending.values()) {
+                collect(dealer, batch);
+            }
+            return write(batch);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /** Flushes one dealer's pending leads before a query reads the adapter. */
+    private void flushDealer(String dealerId) {
+        if (dealerId == null) return;  // the adapter rejects it
+        ConcurrentHashMap<String, Pending> dealer = pending.get(dealerId);
+        if (dealer == null || dealer.isEmpty()) return;
+
+        RuntimeException failure;
+        flushLock.lock();
+        try {
+            List<Flushing> batch = new ArrayList<>();
+            collect(dealer, batch);
+            failure = write(batch);
+        } finally {
+            flushLock.unlock();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /** Flushes one lead, for a save that raced with {@link #close()}. */
+    private void flushLead(ConcurrentHashMap<String, Pending> dealer, String leadId) {
+        RuntimeException failure;
+        flushLock.lock();
+        try {
+            Pending entry = dealer.get(leadId);
+            if (entry == null) return;
+            failure = write(List.of(new Flushing(dealer, leadId, entry)));
+        } finally {
+            flushLock.unlock();
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /** A buffer entry as a flush saw it. */
+    private static final class Flushing {
+        final ConcurrentHashMap<String, Pending> dealer;
+        final String leadId;
+        final Pending entry;
+
+        Flushing(ConcurrentHashMap<String, Pending> dealer, String leadId, Pending entry) {
+            this.dealer = dealer;
+            this.leadId = leadId;
+            this.entry = entry;
+        }
+    }
+
+    private static void collect(ConcurrentHashMap<String, Pending> dealer, List<Flushing> batch) {
+        dealer.forEach((leadId, entry) -> batch.add(new Flushing(dealer, leadId, entry)));
+    }
+
+    /**
+     * Writes the entries with one {@code saveAllCoalesced} call, then saves
+     * the unconditional ones that lost their compare-and-set with one
+     * {@code saveAll}. Caller holds {@link #flushLock}.
+     *
+     * @return The adapter's failure, or null; entries not yet written stay buffered
+     */
+    private RuntimeException write(List<Flushing> batch) {
+        if (batch.isEmpty()) return null;
+        long start = System.nanoTime();
+        try {
+            List<CoalescedWrite> writes = new ArrayList<>(batch.size());
+            for (Flushing flushing : batch) {
+                Pending entry = flushing.entry;
+                writes.add(new CoalescedWrite(entry.lead, entry.baseVersion, entry.writes));
+            }
+            boolean[] saved = delegate.saveAllCoalesced(writes);
+
+            List<Flushing> overwrite = new ArrayList<>();
+            for (int i = 0; i < saved.length; i++) {
+                Flushing flushing = batch.get(i);
+                if (saved[i]) {
+                    retire(flushing, true);
+                } else if (!flushing.entry.conditional) {
+                    overwrite.add(flushing);
+                } else {
+                    retire(flushing, false);
+                }
+            }
+            if (!overwrite.isEmpty()) {
+                List<Lead> leads = new ArrayList<>(overwrite.size());
+                for (Flushing flushing : overwrite) {
+                    leads.add(flushing.entry.lead);
+                }
+                delegate.saveAll(leads);
+                for (Flushing flushing : overwrite) {
+                    retire(flushing, true);
+                }
+            }
+        } catch (RuntimeException e) {
+            failures.increment();
+            return e;
+        }
+        recordFlush(System.nanoTime() - start);
+        return null;
+    }
+
+    /**
+     * Removes a flushed entry from the buffer. If saves replaced it since the
+     * flush read it, the newer entry stays and, when the flushed state was
+     * persisted, is rebased so only those saves remain.
+     */
+    private void retire(Flushing flushing, boolean persisted) {
+        Pending flushed = flushing.entry;
+        boolean[] removed = new boolean[1];
+        flushing.dealer.computeIfPresent(flushing.leadId, (id, current) -> {
+            if (current == flushed) {
+                removed[0] = true;
+                return null;
+            }
+            if (!persisted) return current;
+            return new Pending(current.lead, flushed.baseVersion + flushed.writes,
+                    current.writes - flushed.writes, current.conditional);
+        });
+        if (persisted) {
+            flushedWrites.add(flushed.writes);
+            flushedRecords.increment();
+        }
+        if (removed[0]) {
+            pendingCount.decrementAndGet();
+            if (!persisted) conflicts.increment();
+        }
+    }
+
+    private void recordFlush(long nanos) {
+        flushes.increment();
+        flushNanos.add(nanos);
+        maxFlushNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /** The adapter's version of a lead, 0 if absent. */
+    private long storedVersion(Lead lead) {
+        return delegate.findByIdAndDealerId(lead.getLeadId(), lead.getDealerId())
+                .map(Lead::getVersion)
+                .orElse(0L);
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Write-behind buffer is closed");
+        }
+    }
+
+    private static void validate(Lead lead) {
+        if (lead == null) {
+            throw new IllegalArgumentException("lead cannot be null");
+        }
+        if (lead.getDealerId() == null || lead.getDealerId().trim().isEmpty()) {
+            throw new IllegalArgumentException("dealerId cannot be blank");
+        }
+        if (lead.getLeadId() == null || lead.getLeadId().trim().isEmpty()) {
+            throw new IllegalArgumentException("leadId cannot be blank");
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.tekion.leadmanagement.adapter.persistence.writebehind;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Duration;
+
+/**
+ * Configuration for {@link WriteBehindLeadRepository}.
+ *
+ * <h2>Flush Triggers</h2>
+ * <p>Buffered leads are written to the underlying adapter every
+ * {@code flushInterval}, or sooner once {@code maxBatchSize} distinct leads
+ * are pending. A longer interval coalesces more updates per lead at the
+ * cost of a larger window of writes that a crash would lose.
+ * {@code maxPendingLeads} bounds that window: a writer that finds the
+ * buffer full flushes it itself before continuing.
+ *
+ * <h2>Example Usage</h2>
+ * <pre>{@code
+ * WriteBehindLeadRepositoryConfig config = WriteBehindLeadRepositoryConfig.builder()
+ *     .flushInterval(Duration.ofMillis(250))
+ *     .maxBatchSize(1024)
+ *     .build();
+ * }</pre>
+ */
+@Value
+@Builder
+public class WriteBehindLeadRepositoryConfig {
+
+    /** Longest time a buffered write waits before it is flushed. */
+    @Builder.Default
+    Duration flushInterval = Duration.ofMillis(100);
+
+    /** Pending leads that trigger a flush before the interval elapses. */
+    @Builder.Default
+    int maxBatchSize = 256;
+
+    /** Pending leads at which writers flush the buffer themselves. */
+    @Builder.Default
+    int maxPendingLeads = 16384;
+
+    /** Name of the background flush thread. */
+    @Builder.Default
+    String threadName = "lead-write-behind";
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if any setting is missing or out of range
+     */
+    void validate() {
+        if (flushInterval == null || flushInterval.isNegative() || flushInterval.isZero()) {
+            throw new IllegalArgumentException("flushInterval must be positive");
+        }
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("maxBatchSize must be positive");
+        }
+        if (maxPendingLeads < maxBatchSize) {
+            throw new IllegalArgumentException("maxPendingLeads cannot be below maxBatchSize");
+        }
+        if (threadName == null) {
+            throw new IllegalArgumentException("threadName cannot be null");
+        }
+    }
+}
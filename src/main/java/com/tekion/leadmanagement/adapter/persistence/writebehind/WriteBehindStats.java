@@ -0,0 +1,59 @@
+package com.tekion.leadmanagement.adapter.persistence.writebehind;
+
+import lombok.Value;
+
+/**
+ * Point-in-time statistics of a {@link WriteBehindLeadRepository}.
+ *
+ * <p>Counters are cumulative since the buffer was created and are read
+ * without a common lock, so they may be mutually inconsistent by a few
+ * in-flight operations.
+ */
+@Value
+public class WriteBehindStats {
+
+    /** Leads currently buffered and not yet flushed (queue depth). */
+    long pendingCount;
+
+    /** Writes accepted into the buffer. */
+    long acceptedWrites;
+
+    /** Accepted writes that have reached the underlying adapter. */
+    long flushedWrites;
+
+    /** Records written to the underlying adapter; each carries one or more writes. */
+    long flushedRecords;
+
+    /** Buffered leads discarded because the adapter's version had moved on. */
+    long conflictCount;
+
+    /** Record writes that failed and were kept for the next flush. */
+    long failureCount;
+
+    /** Flushes that wrote at least one record. */
+    long flushCount;
+
+    /** Summed duration of those flushes. */
+    long totalFlushNanos;
+
+    /** Longest single flush. */
+    long maxFlushNanos;
+
+    /**
+     * Writes saved per record written.
+     *
+     * @return flushedWrites / flushedRecords, or 1.0 if nothing was flushed
+     */
+    public double coalescingRatio() {
+        return flushedRecords == 0 ? 1.0 : (double) flushedWrites / flushedRecords;
+    }
+
+    /**
+     * Mean flush latency.
+     *
+     * @return totalFlushNanos / flushCount, or 0 if nothing was flushed
+     */
+    public long averageFlushNanos() {
+        return flushCount == 0 ? 0 : totalFlushNanos / flushCount;
+    }
+}
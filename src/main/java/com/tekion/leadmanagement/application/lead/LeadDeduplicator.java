@@ -0,0 +1,124 @@
+package com.tekion.leadmanagement.application.lead;
+
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.port.LeadPersistencePort;
+
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Finds the open lead an incoming submission duplicates, and serializes
+ * ingest of the same shopper.
+ *
+ * <h2>Matching</h2>
+ * <p>An incoming lead duplicates a stored lead of the same dealer when their
+ * normalized email or E.164 phone match (see
+ * {@link LeadPersistencePort#findByDealerIdAndContact}). Only open leads
+ * (non-terminal state) are merge targets; if several match, the oldest wins.
+ *
+ * <h2>Concurrency</h2>
+ * <p>{@link #findOpenDuplicate(Lead)} takes no locks: it is a plain indexed
+ * read. Only the "no duplicate yet, create one" path must be exclusive, or
+ * two concurrent submissions of a new shopper would both create a lead.
+ * {@link #withContactLock(Lead, Supplier)} runs that path under striped
+ * locks keyed by dealer and contact, so unrelated shoppers rarely contend.
+ *
+ * @see LeadService#ingest(Lead) for the full create-or-merge flow
+ */
+public class LeadDeduplicator {
+
+    /** Default number of lock stripes. */
+    static final int DEFAULT_STRIPES = 256;
+
+    /** Oldest first, then leadId, so every ingest picks the same target. */
+    private static final Comparator<Lead> MERGE_TARGET_ORDER = Comparator
+            .comparing(Lead::getCreatedAt, Comparator.nullsLast(Comparator.naturalOrder()))
+            .thenComparing(Lead::getLeadId);
+
+    private final LeadPersistencePort persistencePort;
+    private final ReentrantLock[] stripes;
+
+    /**
+     * Creates a deduplicator with {@value #DEFAULT_STRIPES} lock stripes.
+     *
+     * @param persistencePort Port used for contact lookups
+     * @throws IllegalArgumentException if persistencePort is null
+     */
+    public LeadDeduplicator(LeadPersistencePort persistencePort) {
+        this(persistencePort, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates a deduplicator with a custom number of lock stripes.
+     *
+     * @param persistencePort Port used for contact lookups
+     * @param stripes         Number of lock stripes (must be positive)
+     * @throws IllegalArgumentException if persistencePort is null or stripes is not positive
+     */
+    public LeadDeduplicator(LeadPersistencePort persistencePort, int stripes) {
+        if (persistencePort == null) throw new IllegalArgumentException("persistencePort cannot be null");
+        if (stripes <= 0) throw new IllegalArgumentException("stripes must be positive");
+        this.persistencePort = persistencePort;
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Finds the open lead that the incoming lead duplicates. Lock-free.
+     *
+     * @param incoming The submitted lead
+     * @return The oldest open lead sharing its email or phone, if any
+     */
+    public Optional<Lead> findOpenDuplicate(Lead incoming) {
+        if (incoming == null || incoming.getDealerId() == null) return Optional.empty();
+        return persistencePort.findByDealerIdAndContact(incoming.getDealerId(), incoming.getEmail(), incoming.getPhone())
+                .stream()
+                .filter(lead -> !lead.getLeadId().equals(incoming.getLeadId()))
+                .filter(lead -> lead.getState() != null && !lead.getState().isTerminal())
+                .min(MERGE_TARGET_ORDER);
+    }
+
+    /**
+     * Runs an action while holding the locks for the lead's dealer and
+     * contact keys.
+     *
+     * <p>Two leads sharing an email or a phone always share at least one
+     * stripe, so their actions never overlap. Stripes are acquired in index
+     * order, so overlapping lock sets cannot deadlock.
+     *
+     * @param incoming The submitted lead
+     * @param action   The action to run exclusively
+     * @return The action's result
+     */
+    public <T> T withContactLock(Lead incoming, Supplier<T> action) {
+        int emailStripe = stripe(incoming.getDealerId(),
+                incoming.getEmail() != null ? incoming.getEmail().getValue() : null);
+        int phoneStripe = stripe(incoming.getDealerId(),
+                incoming.getPhone() != null ? incoming.getPhone().toE164() : null);
+        ReentrantLock first = stripes[Math.min(emailStripe, phoneStripe)];
+        ReentrantLock second = stripes[Math.max(emailStripe, phoneStripe)];
+
+        first.lock();
+        try {
+            second.lock();   // Reentrant: a no-op hold count bump when first == second
+            try {
+                return action.get();
+            } finally {
+                second.unlock();
+            }
+        } finally {
+            first.unlock();
+        }
+    }
+
+    /** Stripe for a contact key; a missing key maps to the dealer's own stripe. */
+    private int stripe(String dealerId, String contactKey) {
+        int hash = 31 * String.valueOf(dealerId).hashCode() + String.valueOf(contactKey).hashCode();
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, stripes.length);
+    }
+}
@@ -2,11 +2,20 @@ package com.tekion.leadmanagement.application.lead;
 
 import com.tekion.leadmanagement.domain.lead.model.Lead;
 import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.port.AsyncLeadPersistencePort;
 import com.tekion.leadmanagement.domain.lead.port.LeadPersistencePort;
 import com.tekion.leadmanagement.domain.scoring.model.ScoringResult;
 import com.tekion.leadmanagement.domain.scoring.service.LeadScoringEngine;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
 
 /**
  * Application service for lead management operations.
@@ -15,6 +24,7 @@ import java.util.Optional;
  * <p>This service orchestrates lead lifecycle operations including:
  * <ul>
  *   <li>Lead creation and persistence</li>
+ *   <li>Ingest with duplicate detection and merging</li>
  *   <li>Lead retrieval with tenant isolation</li>
  *   <li>State transitions through the sales pipeline</li>
  *   <li>Lead scoring computation and persistence</li>
@@ -33,10 +43,31 @@ import java.util.Optional;
  * <p>All operations require {@code dealerId} to ensure tenant isolation.
  * A lead from one dealer cannot be accessed or modified by another dealer.
  *
+ * <h2>Concurrent Updates</h2>
+ * <p>Read-modify-write operations ({@link #transitionState},
+ * {@link #computeAndPersistScore} and {@link #computeAndPersistScores})
+ * mutate a {@link Lead#copy() copy} of the stored lead and write it with
+ * {@link LeadPersistencePort#saveIfVersion}.
+ * If another writer got there first, the operation re-reads and retries
+ * with jittered exponential backoff, up to {@value #MAX_UPDATE_ATTEMPTS}
+ * attempts. Writers to different leads never wait on each other, and no
+ * update is silently lost.
+ *
+ * <h2>Non-blocking Operations</h2>
+ * <p>When built with an {@link AsyncLeadPersistencePort}, {@link #createAsync},
+ * {@link #transitionStateAsync} and {@link #computeAndPersistScoreAsync}
+ * compose its futures instead of blocking the calling thread. They follow
+ * the same compare-and-set retry, but back off with a delayed stage rather
+ * than parking a thread. Failures complete the future exceptionally with the
+ * exception the blocking counterpart would throw, wrapped in a
+ * {@link java.util.concurrent.CompletionException}.
+ *
  * <h2>Dependencies</h2>
  * <ul>
  *   <li>{@link LeadPersistencePort} - For lead storage operations</li>
  *   <li>{@link LeadScoringEngine} - For computing lead priority scores</li>
+ *   <li>{@link LeadDeduplicator} - For finding duplicates at ingest</li>
+ *   <li>{@link AsyncLeadPersistencePort} - Optional, for the non-blocking operations</li>
  * </ul>
  *
  * @see Lead for the lead domain model
@@ -44,21 +75,71 @@ import java.util.Optional;
  */
 public class LeadService {
 
+    /** Attempts per read-modify-write before giving up on a contended lead. */
+    static final int MAX_UPDATE_ATTEMPTS = 16;
+
+    /** First retry waits up to this long; each further retry doubles it. */
+    private static final long BASE_BACKOFF_NANOS = 50_000L;
+
+    /** Upper bound for a single backoff. */
+    private static final long MAX_BACKOFF_NANOS = 10_000_000L;
+
+    /** Audit actor recorded on merges performed by {@link #ingest(Lead)}. */
+    static final String DEDUP_ACTOR = "lead-dedup";
+
     private final LeadPersistencePort persistencePort;
     private final LeadScoringEngine scoringEngine;
+    private final LeadDeduplicator deduplicator;
+    private final AsyncLeadPersistencePort asyncPersistencePort;
 
     /**
      * Creates a new LeadService with required dependencies.
      *
+     * <p>Uses a {@link LeadDeduplicator} with default settings over the same port.
+     *
      * @param persistencePort Port for lead persistence operations
      * @param scoringEngine   Engine for computing lead scores
      * @throws IllegalArgumentException if any dependency is null
      */
     public LeadService(LeadPersistencePort persistencePort, LeadScoringEngine scoringEngine) {
+        this(persistencePort, scoringEngine,
+                persistencePort != null ? new LeadDeduplicator(persistencePort) : null);
+    }
+
+    /**
+     * Creates a new LeadService with a custom deduplicator.
+     *
+     * @param persistencePort Port for lead persistence operations
+     * @param scoringEngine   Engine for computing lead scores
+     * @param deduplicator    Duplicate finder used by {@link #ingest(Lead)}
+     * @throws IllegalArgumentException if any dependency is null
+     */
+    public LeadService(LeadPersistencePort persistencePort, LeadScoringEngine scoringEngine,
+                       LeadDeduplicator deduplicator) {
+        this(persistencePort, scoringEngine, deduplicator, null);
+    }
+
+    /**
+     * Creates a new LeadService that also supports the non-blocking operations.
+     *
+     * <p>Both ports must front the same storage, typically an
+     * {@code ExecutorAsyncLeadRepository} wrapping {@code persistencePort}.
+     *
+     * @param persistencePort      Port for lead persistence operations
+     * @param scoringEngine        Engine for computing lead scores
+     * @param deduplicator         Duplicate finder used by {@link #ingest(Lead)}
+     * @param asyncPersistencePort Port used by the {@code ...Async} operations (may be null)
+     * @throws IllegalArgumentException if any required dependency is null
+     */
+    public LeadService(LeadPersistencePort persistencePort, LeadScoringEngine scoringEngine,
+                       LeadDeduplicator deduplicator, AsyncLeadPersistencePort asyncPersistencePort) {
         if (persistencePort == null) throw new IllegalArgumentException("persistencePort cannot be null");
         if (scoringEngine == null) throw new IllegalArgumentException("scoringEngine cannot be null");
+        if (deduplicator == null) throw new IllegalArgumentException("deduplicator cannot be null");
         this.persistencePort = persistencePort;
         this.scoringEngine = scoringEngine;
+        this.deduplicator = deduplicator;
+        this.asyncPersistencePort = asyncPersistencePort;
     }
 
     /**
@@ -76,6 +157,39 @@ public class LeadService {
         return persistencePort.save(lead);
     }
 
+    /**
+     * Creates a lead, or merges it into an existing open lead for the same shopper.
+     *
+     * <p>The dedup stage in front of {@link #create(Lead)} for third-party
+     * feeds that resubmit the same shopper:
+     * <ol>
+     *   <li>Lock-free lookup of an open lead of the same dealer sharing the
+     *       email or E.164 phone</li>
+     *   <li>If found, {@link Lead#mergeDuplicate merge} the submission into it
+     *       and re-score, with the same compare-and-set retry as
+     *       {@link #transitionState}</li>
+     *   <li>Otherwise, under the deduplicator's contact lock, look again and
+     *       create the lead only if there is still no duplicate</li>
+     * </ol>
+     * <p>Concurrent ingests of one new shopper therefore create exactly one
+     * lead; the others merge into it.
+     *
+     * @param lead The submitted lead
+     * @return The merged existing lead, or the newly created lead (compare leadIds to tell)
+     * @throws IllegalArgumentException if lead is null or has invalid fields
+     * @throws IllegalStateException    if concurrent writers won every merge attempt
+     */
+    public Lead ingest(Lead lead) {
+        if (lead == null) throw new IllegalArgumentException("lead cannot be null");
+
+        Optional<Lead> merged = deduplicator.findOpenDuplicate(lead).flatMap(target -> mergeInto(target, lead));
+        if (merged.isPresent()) return merged.get();
+
+        return deduplicator.withContactLock(lead, () -> deduplicator.findOpenDuplicate(lead)
+                .flatMap(target -> mergeInto(target, lead))
+                .orElseGet(() -> create(lead)));
+    }
+
     /**
      * Finds a lead by ID within a specific dealer's scope.
      *
@@ -91,20 +205,19 @@ public class LeadService {
      * Transitions a lead to a new state in the sales pipeline.
      *
      * <p>Valid transitions are enforced by the {@link Lead#transitionTo(LeadState)}
-     * method. Invalid transitions will throw an exception.
+     * method. Invalid transitions will throw an exception. The transition is
+     * validated against the latest stored state on every retry.
      *
      * @param leadId   The lead's unique identifier
      * @param dealerId The dealer the lead belongs to
      * @param target   The target state to transition to
      * @return The updated lead with new state
-     * @throws IllegalArgumentException if lead not found or transition invalid
+     * @throws IllegalArgumentException if lead not found
+     * @throws IllegalStateException    if the transition is invalid, or concurrent
+     *                                  writers won every attempt
      */
     public Lead transitionState(String leadId, String dealerId, LeadState target) {
-        Lead lead = persistencePort.findByIdAndDealerId(leadId, dealerId)
-                .orElseThrow(() -> new IllegalArgumentException("Lead not found: " + leadId));
-
-        lead.transitionTo(target);
-        return persistencePort.save(lead);
+        return updateWithRetry(leadId, dealerId, lead -> lead.transitionTo(target));
     }
 
     /**
@@ -133,19 +246,195 @@ public class LeadService {
      *   <li>Retrieves the lead from storage</li>
      *   <li>Runs all scoring rules via the scoring engine</li>
      *   <li>Updates the lead's score field</li>
-     *   <li>Persists the updated lead</li>
+     *   <li>Persists the updated lead if nobody else saved it meanwhile,
+     *       otherwise starts over</li>
      * </ol>
      *
      * @param leadId   The lead's unique identifier
      * @param dealerId The dealer the lead belongs to
      * @throws IllegalArgumentException if lead not found
+     * @throws IllegalStateException    if concurrent writers won every attempt
      */
     public void computeAndPersistScore(String leadId, String dealerId) {
-        Lead lead = persistencePort.findByIdAndDealerId(leadId, dealerId)
-                .orElseThrow(() -> new IllegalArgumentException("Lead not found: " + leadId));
+        updateWithRetry(leadId, dealerId, lead -> lead.updateScore(scoringEngine.scoreValue(lead)));
+    }
+
+    /**
+     * Re-scores a batch of leads and persists each with compare-and-set.
+     *
+     * <p>Intended for bulk jobs such as nightly re-scoring: scoring runs in
+     * parallel via {@link LeadScoringEngine#scoreAndUpdateBatch(List)} over
+     * {@link Lead#copy() copies} of the given leads, so the inputs, which
+     * may be snapshots other readers hold, are never modified. Each copy is
+     * then written with {@link LeadPersistencePort#saveIfVersion} against
+     * the version the caller read. A lead that another writer saved in
+     * between is re-read and re-scored like {@link #computeAndPersistScore},
+     * so no concurrent update is overwritten.
+     *
+     * @param leads The leads to re-score (must not be null or contain nulls)
+     * @return The persisted leads with updated scores, in input order
+     * @throws IllegalArgumentException if leads is null or contains invalid leads,
+     *                                  or a conflicting lead no longer exists
+     * @throws IllegalStateException    if concurrent writers won every attempt on a lead
+     */
+    public List<Lead> computeAndPersistScores(List<Lead> leads) {
+        if (leads == null) throw new IllegalArgumentException("leads cannot be null");
+        List<Lead> copies = new ArrayList<>(leads.size());
+        for (Lead lead : leads) {
+            if (lead == null) throw new IllegalArgumentException("leads cannot contain null");
+            copies.add(lead.copy());
+        }
+        scoringEngine.scoreAndUpdateBatch(copies);
+
+        List<Lead> persisted = new ArrayList<>(copies.size());
+        for (int i = 0; i < copies.size(); i++) {
+            Lead scored = copies.get(i);
+            if (persistencePort.saveIfVersion(scored, leads.get(i).getVersion())) {
+                persisted.add(scored);
+            } else {
+                // Saved by someone else since the caller's read; score the latest version instead
+                persisted.add(updateWithRetry(scored.getLeadId(), scored.getDealerId(),
+                        lead -> lead.updateScore(scoringEngine.scoreValue(lead))));
+            }
+        }
+        return persisted;
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // NON-BLOCKING OPERATIONS
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Non-blocking {@link #create(Lead)}.
+     *
+     * @param lead The lead to create
+     * @return Future of the persisted lead
+     * @throws IllegalStateException if the service has no async port
+     */
+    public CompletableFuture<Lead> createAsync(Lead lead) {
+        AsyncLeadPersistencePort port = asyncPort();
+        if (lead == null) {
+            return CompletableFuture.failedFuture(new IllegalArgumentException("lead cannot be null"));
+        }
+        return port.save(lead);
+    }
+
+    /**
+     * Non-blocking {@link #transitionState(String, String, LeadState)}.
+     *
+     * @param leadId   The lead's unique identifier
+     * @param dealerId The dealer the lead belongs to
+     * @param target   The target state to transition to
+     * @return Future of the updated lead
+     * @throws IllegalStateException if the service has no async port
+     */
+    public CompletableFuture<Lead> transitionStateAsync(String leadId, String dealerId, LeadState target) {
+        return updateWithRetryAsync(asyncPort(), leadId, dealerId, lead -> lead.transitionTo(target), 1);
+    }
+
+    /**
+     * Non-blocking {@link #computeAndPersistScore(String, String)}.
+     *
+     * <p>Scoring runs on the thread that completes the read, usually a
+     * worker of the async port.
+     *
+     * @param leadId   The lead's unique identifier
+     * @param dealerId The dealer the lead belongs to
+     * @return Future completed once the score is persisted
+     * @throws IllegalStateException if the service has no async port
+     */
+    public CompletableFuture<Void> computeAndPersistScoreAsync(String leadId, String dealerId) {
+        return updateWithRetryAsync(asyncPort(), leadId, dealerId,
+                lead -> lead.updateScore(scoringEngine.scoreValue(lead)), 1)
+                .thenApply(lead -> null);
+    }
+
+    private AsyncLeadPersistencePort asyncPort() {
+        if (asyncPersistencePort == null) {
+            throw new IllegalStateException("LeadService was created without an AsyncLeadPersistencePort");
+        }
+        return asyncPersistencePort;
+    }
+
+    /**
+     * Merges a duplicate into the target and re-scores it.
+     *
+     * @return The merged lead, or empty if the target reached a terminal state first
+     */
+    private Optional<Lead> mergeInto(Lead target, Lead duplicate) {
+        try {
+            return Optional.of(updateWithRetry(target.getLeadId(), target.getDealerId(), lead -> {
+                lead.mergeDuplicate(duplicate, DEDUP_ACTOR);
+                lead.updateScore(scoringEngine.scoreValue(lead));
+            }));
+        } catch (IllegalStateException e) {
+            boolean closed = persistencePort.findByIdAndDealerId(target.getLeadId(), target.getDealerId())
+                    .map(lead -> lead.getState() == null || lead.getState().isTerminal())
+                    .orElse(true);
+            if (closed) return Optional.empty();
+            throw e;
+        }
+    }
+
+    /**
+     * Applies a mutation to the latest stored version of a lead with
+     * compare-and-set, retrying on conflicts.
+     *
+     * @param mutation Applied to a fresh copy on each attempt; exceptions abort the update
+     * @return The persisted copy
+     */
+    private Lead updateWithRetry(String leadId, String dealerId, Consumer<Lead> mutation) {
+        for (int attempt = 1; ; attempt++) {
+            Lead current = persistencePort.findByIdAndDealerId(leadId, dealerId)
+                    .orElseThrow(() -> new IllegalArgumentException("Lead not found: " + leadId));
+
+            // Never mutate the stored instance: adapters may hand out their own
+            Lead updated = current.copy();
+            long expectedVersion = updated.getVersion();
+            mutation.accept(updated);
+            if (persistencePort.saveIfVersion(updated, expectedVersion)) {
+                return updated;
+            }
+
+            if (attempt == MAX_UPDATE_ATTEMPTS) {
+                throw new IllegalStateException(
+                        "Lead " + leadId + " was modified concurrently; gave up after " + attempt + " attempts");
+            }
+            LockSupport.parkNanos(backoffNanos(attempt));
+        }
+    }
+
+    /**
+     * Non-blocking {@link #updateWithRetry}: each attempt is a read stage
+     * composed with a conditional-write stage, and a lost race schedules the
+     * next attempt on a delayed executor instead of parking a thread.
+     */
+    private CompletableFuture<Lead> updateWithRetryAsync(AsyncLeadPersistencePort port, String leadId,
+                                                         String dealerId, Consumer<Lead> mutation, int attempt) {
+        return port.findByIdAndDealerId(leadId, dealerId).thenCompose(found -> {
+            Lead current = found.orElseThrow(() -> new IllegalArgumentException("Lead not found: " + leadId));
+
+            Lead updated = current.copy();
+            long expectedVersion = updated.getVersion();
+            mutation.accept(updated);
+            return port.saveIfVersion(updated, expectedVersion).thenCompose(saved -> {
+                if (saved) {
+                    return CompletableFuture.completedFuture(updated);
+                }
+                if (attempt == MAX_UPDATE_ATTEMPTS) {
+                    throw new IllegalStateException(
+                            "Lead " + leadId + " was modified concurrently; gave up after " + attempt + " attempts");
+                }
+                Executor delayed = CompletableFuture.delayedExecutor(backoffNanos(attempt), TimeUnit.NANOSECONDS);
+                return CompletableFuture.runAsync(() -> { }, delayed)
+                        .thenCompose(ignored -> updateWithRetryAsync(port, leadId, dealerId, mutation, attempt + 1));
+            });
+        });
+    }
 
-        ScoringResult scoringResult = scoringEngine.score(lead);
-        lead.updateScore(scoringResult.getFinalScore());
-        persistencePort.save(lead);
+    /** A random wait up to BASE * 2^(attempt-1), capped, so retrying writers spread out. */
+    private static long backoffNanos(int attempt) {
+        long ceiling = Math.min(MAX_BACKOFF_NANOS, BASE_BACKOFF_NANOS << Math.min(attempt - 1, 20));
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
     }
-}
\ No newline at end of file
+}
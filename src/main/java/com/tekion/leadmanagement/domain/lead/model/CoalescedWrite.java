@@ -0,0 +1,44 @@
+package com.tekion.leadmanagement.domain.lead.model;
+
+import lombok.Value;
+
+/**
+ * The net result of several consecutive updates to one lead, to be persisted
+ * as a single write.
+ *
+ * <p>One entry of a {@code LeadPersistencePort.saveAllCoalesced} batch; it
+ * carries exactly the arguments of {@code saveCoalesced}.
+ */
+@Value
+public class CoalescedWrite {
+
+    /** The final state of the lead. */
+    Lead lead;
+
+    /** The stored version the updates were based on, or 0 if the lead was absent. */
+    long expectedVersion;
+
+    /** Number of updates being persisted. */
+    int writes;
+
+    /**
+     * @param lead            The final state of the lead
+     * @param expectedVersion The stored version the updates were based on (0 if absent)
+     * @param writes          Number of updates being persisted (at least 1)
+     * @throws IllegalArgumentException if lead is null, expectedVersion is negative or writes is not positive
+     */
+    public CoalescedWrite(Lead lead, long expectedVersion, int writes) {
+        if (lead == null) {
+            throw new IllegalArgumentException("lead cannot be null");
+        }
+        if (expectedVersion < 0) {
+            throw new IllegalArgumentException("expectedVersion cannot be negative");
+        }
+        if (writes <= 0) {
+            throw new IllegalArgumentException("writes must be positive");
+        }
+        this.lead = lead;
+        this.expectedVersion = expectedVersion;
+        this.writes = writes;
+    }
+}
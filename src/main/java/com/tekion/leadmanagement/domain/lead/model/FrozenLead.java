@@ -0,0 +1,155 @@
+package com.tekion.leadmanagement.domain.lead.model;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link Lead} whose state can no longer change.
+ *
+ * <h2>Overview</h2>
+ * <p>Created by {@link Lead#freeze()}. Every setter and domain operation
+ * throws {@link UnsupportedOperationException}, so a snapshot can be handed
+ * to any number of readers without copying and without any of them
+ * changing what the others see. Value objects are immutable already; the
+ * audit trail is copied once and only exposed as an unmodifiable view.
+ *
+ * <p>{@link #copy()} returns an ordinary, mutable lead for read-modify-write.
+ *
+ * <p>Every setter {@code Lead} declares must be overridden here;
+ * {@code LeadTest} checks this by reflection.
+ */
+final class FrozenLead extends Lead {
+
+    FrozenLead(Lead source, long version) {
+        super(source.getLeadId(),
+                source.getDealerId(),
+                source.getTenantId(),
+                source.getSiteId(),
+                source.getFirstName(),
+                source.getLastName(),
+                source.getEmail(),
+                source.getPhone(),
+                source.getSource(),
+                source.getState(),
+                source.getVehicleInterest(),
+                source.getScore(),
+                source.getCreatedAt(),
+                source.getUpdatedAt(),
+                new ArrayList<>(source.getAuditTrail()),
+                version);
+    }
+
+    @Override
+    public boolean isFrozen() {
+        return true;
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // DOMAIN OPERATIONS (rejected)
+    // ════════════════════════════════════════════════════════════════
+
+    @Override
+    public void transitionTo(LeadState target, String actor, String reason) {
+        throw frozen();
+    }
+
+    @Override
+    public void mergeDuplicate(Lead duplicate, String actor) {
+        throw frozen();
+    }
+
+    @Override
+    public void updateScore(int newScore) {
+        throw frozen();
+    }
+
+    // ════════════════════════════════════════════════════════════════
+    // SETTERS (rejected)
+    // ════════════════════════════════════════════════════════════════
+
+    @Override
+    public void setLeadId(String leadId) {
+        throw frozen();
+    }
+
+    @Override
+    public void setDealerId(String dealerId) {
+        throw frozen();
+    }
+
+    @Override
+    public void setTenantId(String tenantId) {
+        throw frozen();
+    }
+
+    @Override
+    public void setSiteId(String siteId) {
+        throw frozen();
+    }
+
+    @Override
+    public void setFirstName(String firstName) {
+        throw frozen();
+    }
+
+    @Override
+    public void setLastName(String lastName) {
+        throw frozen();
+    }
+
+    @Override
+    public void setEmail(Email email) {
+        throw frozen();
+    }
+
+    @Override
+    public void setPhone(PhoneCoordinate phone) {
+        throw frozen();
+    }
+
+    @Override
+    public void setSource(LeadSource source) {
+        throw frozen();
+    }
+
+    @Override
+    public void setState(LeadState state) {
+        throw frozen();
+    }
+
+    @Override
+    public void setVehicleInterest(VehicleInterest vehicleInterest) {
+        throw frozen();
+    }
+
+    @Override
+    public void setScore(Integer score) {
+        throw frozen();
+    }
+
+    @Override
+    public void setCreatedAt(Instant createdAt) {
+        throw frozen();
+    }
+
+    @Override
+    public void setUpdatedAt(Instant updatedAt) {
+        throw frozen();
+    }
+
+    @Override
+    public void setAuditTrail(List<AuditEntry> auditTrail) {
+        throw frozen();
+    }
+
+    @Override
+    public void setVersion(long version) {
+        throw frozen();
+    }
+
+    private UnsupportedOperationException frozen() {
+        return new UnsupportedOperationException(
+                "lead " + getLeadId() + " is a frozen snapshot; modify a copy() instead");
+    }
+}
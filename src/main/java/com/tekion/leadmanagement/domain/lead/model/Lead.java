@@ -125,6 +125,19 @@ public class Lead {
     @Builder.Default
     private List<AuditEntry> auditTrail = new ArrayList<>();
 
+    // ════════════════════════════════════════════════════════════════
+    // CONCURRENCY CONTROL
+    // ════════════════════════════════════════════════════════════════
+
+    /**
+     * Optimistic-locking version, incremented by the persistence layer on
+     * every successful save.
+     * <p>Read-modify-write callers pass the version they read to
+     * {@code LeadPersistencePort.saveIfVersion}; a mismatch means another
+     * writer saved the lead in between.
+     */
+    private long version;
+
     // ════════════════════════════════════════════════════════════════
     // FACTORY METHOD
     // ════════════════════════════════════════════════════════════════
@@ -269,6 +282,132 @@ public class Lead {
         return Collections.unmodifiableList(auditTrail);
     }
 
+    /**
+     * Folds a duplicate submission of the same shopper into this lead.
+     *
+     * <p>The merge:
+     * <ul>
+     *   <li>Keeps the better {@link VehicleInterest}: the one with the higher
+     *       trade-in value (no trade-in ranks lowest); on a tie the duplicate's,
+     *       as the more recent</li>
+     *   <li>Fills in email or phone if this lead has none</li>
+     *   <li>Appends an {@link AuditEntry} (from and to state are the current
+     *       state) naming the merged lead and its source</li>
+     *   <li>Updates the {@code updatedAt} timestamp</li>
+     * </ul>
+     * <p>State, source, score and createdAt are left unchanged; callers
+     * re-score after merging.
+     *
+     * @param duplicate The newly submitted lead for the same shopper
+     * @param actor     Who performed the merge (null = SYSTEM)
+     * @throws IllegalArgumentException if duplicate is null or belongs to another dealer
+     * @throws IllegalStateException if this lead is in a terminal state
+     */
+    public void mergeDuplicate(Lead duplicate, String actor) {
+        if (duplicate == null) {
+            throw new IllegalArgumentException("duplicate cannot be null");
+        }
+        if (dealerId == null || !dealerId.equals(duplicate.getDealerId())) {
+            throw new IllegalArgumentException("cannot merge leads of different dealers");
+        }
+        if (state == null || state.isTerminal()) {
+            throw new IllegalStateException("cannot merge into a lead in state " + state);
+        }
+
+        if (preferIncoming(vehicleInterest, duplicate.getVehicleInterest())) {
+            this.vehicleInterest = duplicate.getVehicleInterest();
+        }
+        if (this.email == null) this.email = duplicate.getEmail();
+        if (this.phone == null) this.phone = duplicate.getPhone();
+
+        Instant now = Instant.now();
+        if (this.auditTrail == null) {
+            this.auditTrail = new ArrayList<>();
+        }
+        this.auditTrail.add(AuditEntry.builder()
+                .timestamp(now)
+                .actor(actor != null ? actor : "SYSTEM")
+                .fromState(state)
+                .toState(state)
+                .reason("Merged duplicate lead " + duplicate.getLeadId() + " from " + duplicate.getSource())
+                .build());
+        this.updatedAt = now;
+    }
+
+    private static boolean preferIncoming(VehicleInterest current, VehicleInterest incoming) {
+        if (incoming == null) return false;
+        if (current == null) return true;
+        int currentTradeIn = current.getTradeInValue().orElse(-1);
+        int incomingTradeIn = incoming.getTradeInValue().orElse(-1);
+        return incomingTradeIn >= currentTradeIn;
+    }
+
+    /**
+     * Creates an independent copy of this lead for read-modify-write.
+     *
+     * <p>Value objects are immutable and shared; the audit trail is copied,
+     * so transitions on the copy do not affect this instance. Leads read from
+     * a repository may be {@link #freeze() frozen} snapshots and are copied
+     * with this method before being modified. The copy is never frozen.
+     *
+     * @return A new Lead with the same field values and version
+     */
+    public Lead copy() {
+        return Lead.builder()
+                .leadId(leadId)
+                .dealerId(dealerId)
+                .tenantId(tenantId)
+                .siteId(siteId)
+                .firstName(firstName)
+                .lastName(lastName)
+                .email(email)
+                .phone(phone)
+                .source(source)
+                .state(state)
+                .vehicleInterest(vehicleInterest)
+                .score(score)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .auditTrail(auditTrail != null ? new ArrayList<>(auditTrail) : new ArrayList<>())
+                .version(version)
+                .build();
+    }
+
+    /**
+     * Returns an immutable snapshot of this lead.
+     *
+     * <p>Every setter and domain operation of the snapshot throws
+     * {@link UnsupportedOperationException}, so repositories can hand one
+     * snapshot to any number of readers. A frozen lead returns itself.
+     *
+     * @return A frozen lead with the same field values and version
+     */
+    public Lead freeze() {
+        return freeze(version);
+    }
+
+    /**
+     * Returns an immutable snapshot of this lead stamped with another version,
+     * for repositories that assign the version as they store the snapshot.
+     *
+     * @param version The snapshot's version
+     * @return A frozen lead with this lead's field values and {@code version}
+     * @see #freeze()
+     */
+    public Lead freeze(long version) {
+        if (isFrozen() && version == this.version) {
+            return this;
+        }
+        return new FrozenLead(this, version);
+    }
+
+    /**
+     * @return true if this lead is a snapshot from {@link #freeze()} and cannot be modified
+     */
+    public boolean isFrozen() {
+        return false;
+    }
+
     /**
      * Updates the lead's priority score.
      *
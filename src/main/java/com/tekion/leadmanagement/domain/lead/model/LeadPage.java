@@ -0,0 +1,52 @@
+package com.tekion.leadmanagement.domain.lead.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated lead query.
+ *
+ * <h2>Usage</h2>
+ * <pre>{@code
+ * String token = null;
+ * do {
+ *     LeadPage page = port.findByDealerIdAndState(dealerId, LeadState.NEW, 500, token);
+ *     page.getLeads().forEach(this::export);
+ *     token = page.getNextPageToken();
+ * } while (token != null);
+ * }</pre>
+ *
+ * <p>Pages are positioned by the last key returned, not by offset, so each
+ * page costs O(page size) however deep the caller has paged, and leads saved
+ * between calls do not shift later pages.
+ *
+ * @see LeadPageToken for the continuation token format
+ */
+@Value
+@Builder
+public class LeadPage {
+
+    private static final LeadPage EMPTY = new LeadPage(List.of(), null);
+
+    /** Leads on this page, in query order. Never null. */
+    List<Lead> leads;
+
+    /** Opaque token for the next page, or null if this is the last page. */
+    String nextPageToken;
+
+    /**
+     * @return true if another page may follow
+     */
+    public boolean hasNextPage() {
+        return nextPageToken != null;
+    }
+
+    /**
+     * @return A page with no leads and no continuation
+     */
+    public static LeadPage empty() {
+        return EMPTY;
+    }
+}
@@ -0,0 +1,153 @@
+package com.tekion.leadmanagement.domain.lead.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Objects;
+
+/**
+ * Continuation position for keyset-paginated lead queries.
+ *
+ * <h2>Overview</h2>
+ * <p>A token records which query it belongs to (kind, dealer, state) and the
+ * sort key of the last lead returned. Clients see it only as an opaque
+ * URL-safe string; adapters decode it to resume right after that key.
+ *
+ * <h2>Sort Keys</h2>
+ * <table border="1">
+ *   <tr><th>Kind</th><th>Order</th><th>Key</th></tr>
+ *   <tr><td>STATE</td><td>leadId ascending</td><td>lastLeadId</td></tr>
+ *   <tr><td>SCORE</td><td>score desc, updatedAt desc, leadId asc</td>
+ *       <td>lastScore, lastUpdatedAt, lastLeadId</td></tr>
+ * </table>
+ *
+ * <p>Tokens are not signed or encrypted: they carry only the caller's own
+ * dealer ID and sort keys, and a token is rejected when replayed against a
+ * different dealer or query.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class LeadPageToken {
+
+    private static final byte FORMAT_VERSION = 1;
+
+    /** Which paginated query a token continues. */
+    public enum Kind {
+        /** {@code findByDealerIdAndState}: ordered by leadId. */
+        STATE,
+        /** {@code findByDealerIdOrderByScore}: ordered by the score ranking. */
+        SCORE
+    }
+
+    Kind kind;
+    String dealerId;
+
+    /** Queried state (STATE tokens only). */
+    LeadState state;
+
+    String lastLeadId;
+
+    /** Last score (SCORE tokens only; null if that lead had no score). */
+    Integer lastScore;
+
+    /** Last updatedAt (SCORE tokens only; may be null). */
+    Instant lastUpdatedAt;
+
+    /**
+     * Creates a token positioned after {@code lastLeadId} in a state query.
+     */
+    public static LeadPageToken afterState(String dealerId, LeadState state, String lastLeadId) {
+        return new LeadPageToken(Kind.STATE, dealerId, state, lastLeadId, null, null);
+    }
+
+    /**
+     * Creates a token positioned after the given key in a score-ranked query.
+     */
+    public static LeadPageToken afterScore(String dealerId, Integer lastScore, Instant lastUpdatedAt, String lastLeadId) {
+        return new LeadPageToken(Kind.SCORE, dealerId, null, lastLeadId, lastScore, lastUpdatedAt);
+    }
+
+    /**
+     * Serializes this token to an opaque URL-safe string.
+     *
+     * @return The encoded token
+     */
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(FORMAT_VERSION);
+            out.writeByte(kind.ordinal());
+            out.writeUTF(dealerId);
+            out.writeByte(state != null ? state.ordinal() : -1);
+            out.writeUTF(lastLeadId);
+            out.writeBoolean(lastScore != null);
+            if (lastScore != null) out.writeInt(lastScore);
+            out.writeBoolean(lastUpdatedAt != null);
+            if (lastUpdatedAt != null) {
+                out.writeLong(lastUpdatedAt.getEpochSecond());
+                out.writeInt(lastUpdatedAt.getNano());
+            }
+        } catch (IOException e) {
+            // ByteArrayOutputStream does not throw; kept for the checked signature
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    /**
+     * Decodes a token and checks that it continues the given query.
+     *
+     * @param token    The encoded token, or null for the first page
+     * @param kind     The query kind being continued
+     * @param dealerId The dealer being queried
+     * @param state    The state being queried (STATE queries only)
+     * @return The decoded token, or null if {@code token} is null
+     * @throws IllegalArgumentException if the token is malformed or belongs to a different query
+     */
+    public static LeadPageToken decode(String token, Kind kind, String dealerId, LeadState state) {
+        if (token == null) return null;
+
+        LeadPageToken decoded;
+        try (DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            if (in.readByte() != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported page token version");
+            }
+            Kind decodedKind = enumAt(Kind.values(), in.readByte());
+            String decodedDealerId = in.readUTF();
+            int stateOrdinal = in.readByte();
+            LeadState decodedState = stateOrdinal == -1 ? null : enumAt(LeadState.values(), stateOrdinal);
+            String decodedLeadId = in.readUTF();
+            Integer decodedScore = in.readBoolean() ? in.readInt() : null;
+            Instant decodedUpdatedAt = in.readBoolean()
+                    ? Instant.ofEpochSecond(in.readLong(), in.readInt())
+                    : null;
+            decoded = new LeadPageToken(decodedKind, decodedDealerId, decodedState,
+                    decodedLeadId, decodedScore, decodedUpdatedAt);
+        } catch (IOException | RuntimeException e) {
+            throw new IllegalArgumentException("Malformed page token", e);
+        }
+
+        if (decoded.kind != kind || !decoded.dealerId.equals(dealerId)
+                || !Objects.equals(decoded.state, kind == Kind.STATE ? state : null)) {
+            throw new IllegalArgumentException("Page token does not belong to this query");
+        }
+        return decoded;
+    }
+
+    private static <E extends Enum<E>> E enumAt(E[] values, int ordinal) {
+        if (ordinal < 0 || ordinal >= values.length) {
+            throw new IllegalArgumentException("Unknown ordinal: " + ordinal);
+        }
+        return values[ordinal];
+    }
+}
@@ -110,6 +110,18 @@ public class VehicleInterest {
      * @return Age in years (current year - vehicle year)
      */
     public int getCurrentVehicleAge() {
-        return Year.now().getValue() - year;
+        return getVehicleAge(Year.now().getValue());
+    }
+
+    /**
+     * Calculates the age of the vehicle in a given year.
+     *
+     * <p>Lets batch scoring read the calendar once instead of per lead.
+     *
+     * @param currentYear The year to measure against
+     * @return Age in years (currentYear - vehicle year)
+     */
+    public int getVehicleAge(int currentYear) {
+        return currentYear - year;
     }
 }
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.tekion.leadmanagement.domain.lead.port;
+
+import com.tekion.leadmanagement.domain.lead.model.Email;
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadPage;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.model.PhoneCoordinate;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Non-blocking variant of {@link LeadPersistencePort}.
+ *
+ * <h2>Overview</h2>
+ * <p>Each method starts the operation and returns at once with a
+ * {@link CompletableFuture}, so a caller waiting on slow storage does not
+ * hold a thread. Callers compose the futures ({@code thenCompose},
+ * {@code thenApply}) instead of blocking on them.
+ *
+ * <h2>Contract</h2>
+ * <p>Semantics, tenant isolation, versioning and read results (private
+ * copies or frozen snapshots) are exactly those of the matching
+ * {@link LeadPersistencePort} method. An
+ * exception the blocking method would throw completes the future
+ * exceptionally instead; it is not thrown by the call itself. A future may
+ * also fail with {@link java.util.concurrent.RejectedExecutionException}
+ * when the adapter is saturated or shut down.
+ *
+ * <p>{@code streamByDealerIdAndState} has no counterpart: a lazy stream
+ * cannot be handed across threads safely. Use the list or paged queries.
+ *
+ * <h2>Implementations</h2>
+ * <ul>
+ *   <li>{@code ExecutorAsyncLeadRepository} - Runs any blocking port on a bounded executor</li>
+ * </ul>
+ *
+ * @see LeadPersistencePort for the operation semantics
+ */
+public interface AsyncLeadPersistencePort {
+
+    /** @see LeadPersistencePort#save(Lead) */
+    CompletableFuture<Lead> save(Lead lead);
+
+    /** @see LeadPersistencePort#saveIfVersion(Lead, long) */
+    CompletableFuture<Boolean> saveIfVersion(Lead lead, long expectedVersion);
+
+    /** @see LeadPersistencePort#saveAll(Collection) */
+    CompletableFuture<List<Lead>> saveAll(Collection<Lead> leads);
+
+    /** @see LeadPersistencePort#findByIdAndDealerId(String, String) */
+    CompletableFuture<Optional<Lead>> findByIdAndDealerId(String leadId, String dealerId);
+
+    /** @see LeadPersistencePort#findByDealerIdAndState(String, LeadState) */
+    CompletableFuture<List<Lead>> findByDealerIdAndState(String dealerId, LeadState state);
+
+    /** @see LeadPersistencePort#findByDealerIdOrderByScore(String, int) */
+    CompletableFuture<List<Lead>> findByDealerIdOrderByScore(String dealerId, int limit);
+
+    /** @see LeadPersistencePort#findByDealerIdAndState(String, LeadState, int, String) */
+    CompletableFuture<LeadPage> findByDealerIdAndState(String dealerId, LeadState state, int pageSize, String pageToken);
+
+    /** @see LeadPersistencePort#findByDealerIdOrderByScore(String, int, String) */
+    CompletableFuture<LeadPage> findByDealerIdOrderByScore(String dealerId, int pageSize, String pageToken);
+
+    /** @see LeadPersistencePort#findByDealerIdAndCreatedAtBetween(String, Instant, Instant) */
+    CompletableFuture<List<Lead>> findByDealerIdAndCreatedAtBetween(String dealerId, Instant from, Instant to);
+
+    /** @see LeadPersistencePort#findByDealerIdAndUpdatedAtBetween(String, Instant, Instant) */
+    CompletableFuture<List<Lead>> findByDealerIdAndUpdatedAtBetween(String dealerId, Instant from, Instant to);
+
+    /** @see LeadPersistencePort#findByDealerIdAndContact(String, Email, PhoneCoordinate) */
+    CompletableFuture<List<Lead>> findByDealerIdAndContact(String dealerId, Email email, PhoneCoordinate phone);
+
+    /** @see LeadPersistencePort#countByDealerIdAndState(String, LeadState) */
+    CompletableFuture<Long> countByDealerIdAndState(String dealerId, LeadState state);
+
+    /** @see LeadPersistencePort#countByDealerIdAndSource(String, LeadSource) */
+    CompletableFuture<Long> countByDealerIdAndSource(String dealerId, LeadSource source);
+}
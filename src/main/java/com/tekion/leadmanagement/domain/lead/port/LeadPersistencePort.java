@@ -1,10 +1,24 @@
 package com.tekion.leadmanagement.domain.lead.port;
 
+import com.tekion.leadmanagement.domain.lead.model.CoalescedWrite;
+import com.tekion.leadmanagement.domain.lead.model.Email;
 import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadPage;
+import com.tekion.leadmanagement.domain.lead.model.LeadPageToken;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
 import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.model.PhoneCoordinate;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Port interface for lead persistence operations.
@@ -22,6 +36,8 @@ import java.util.Optional;
  * <h2>Implementations</h2>
  * <ul>
  *   <li>{@code InMemoryLeadRepository} - For testing and development</li>
+ *   <li>{@code FileLeadRepository} - Durable single-node storage (write-ahead log + snapshots)</li>
+ *   <li>{@code MappedLeadRepository} - Off-heap storage in memory-mapped files for very large datasets</li>
  *   <li>{@code MongoLeadRepository} - For production (future)</li>
  *   <li>{@code JpaLeadRepository} - For SQL databases (future)</li>
  * </ul>
@@ -29,6 +45,16 @@ import java.util.Optional;
  * <h2>Thread Safety</h2>
  * <p>Implementations must be thread-safe for concurrent access.
  *
+ * <h2>Read Results</h2>
+ * <p>Leads returned by the query methods are either private copies or
+ * {@link Lead#freeze() frozen} snapshots shared between readers (the
+ * in-memory adapter returns its stored snapshots directly). Adapters must
+ * never hand out a mutable instance that another reader can also see.
+ * Setters and domain operations of a frozen lead throw
+ * {@link UnsupportedOperationException}: to change a lead, modify a
+ * {@link Lead#copy()} and save that. Saving never publishes the caller's
+ * instance, so modifying a lead after saving it does not change stored state.
+ *
  * @see com.tekion.leadmanagement.adapter.persistence.inmemory.InMemoryLeadRepository
  */
 public interface LeadPersistencePort {
@@ -45,6 +71,145 @@ public interface LeadPersistencePort {
      */
     Lead save(Lead lead);
 
+    /**
+     * Persists a lead only if the stored version equals {@code expectedVersion}
+     * (compare-and-set).
+     *
+     * <p>Every successful write, through this method or {@link #save(Lead)},
+     * stores the lead with version = previous version + 1 and sets that
+     * version on the given instance, unless it is frozen. A lead that is not
+     * stored has version 0, so {@code expectedVersion = 0} means "insert only
+     * if absent".
+     *
+     * <p>Read-modify-write callers pass the version they read and retry on
+     * {@code false}, which means another writer saved the lead in between.
+     * The check and the write must be atomic.
+     *
+     * @param lead            The modified lead (must not be null)
+     * @param expectedVersion The version the caller read (0 if absent)
+     * @return true if the lead was persisted, false on a version mismatch
+     * @throws IllegalArgumentException if lead is null or has invalid fields, or expectedVersion is negative
+     */
+    boolean saveIfVersion(Lead lead, long expectedVersion);
+
+    /**
+     * Persists the net result of {@code writes} consecutive updates to one
+     * lead as a single write, if the stored version equals {@code expectedVersion}.
+     *
+     * <p>On success the lead is stored with version
+     * {@code expectedVersion + writes}, exactly as if each update had been
+     * saved in turn. Write-behind buffers use this to flush coalesced updates
+     * without the stored version falling behind the versions their callers
+     * already saw.
+     *
+     * <p>The default implementation performs {@code writes} successive
+     * {@link #saveIfVersion} calls with the final lead; only the first is
+     * conditional on the caller's version, and a writer interleaving after
+     * it fails the call with an exception. Adapters override this to check
+     * and write once.
+     *
+     * @param lead            The final state of the lead (must not be null)
+     * @param expectedVersion The stored version the updates were based on (0 if absent)
+     * @param writes          Number of updates being persisted (at least 1)
+     * @return true if the lead was persisted, false on a version mismatch
+     * @throws IllegalArgumentException if lead is invalid, expectedVersion is negative or writes is not positive
+     * @throws IllegalStateException    if the default implementation was interrupted by another writer
+     */
+    default boolean saveCoalesced(Lead lead, long expectedVersion, int writes) {
+        if (writes <= 0) {
+            throw new IllegalArgumentException("writes must be positive");
+        }
+        if (!saveIfVersion(lead, expectedVersion)) {
+            return false;
+        }
+        for (int i = 1; i < writes; i++) {
+            if (!saveIfVersion(lead, expectedVersion + i)) {
+                throw new IllegalStateException(
+                        "Lead " + lead.getLeadId() + " was modified concurrently during a coalesced write");
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Persists many coalesced writes in one call, each checked and applied
+     * as {@link #saveCoalesced} would.
+     *
+     * <p>Every lead is validated before any is written. Each write then
+     * succeeds or fails on its own version check; a later write to the same
+     * lead is checked against the version an earlier one stored. Write-behind
+     * buffers flush through this, and durable adapters override it to commit
+     * the batch with a single sync.
+     *
+     * <p>The default implementation validates, then calls
+     * {@link #saveCoalesced} per write.
+     *
+     * @param writes The writes to persist (must not be null or contain nulls)
+     * @return For each write, in input order: true if it was persisted, false on a version mismatch
+     * @throws IllegalArgumentException if writes is null or contains null, or any lead has invalid fields
+     */
+    default boolean[] saveAllCoalesced(List<CoalescedWrite> writes) {
+        if (writes == null) {
+            throw new IllegalArgumentException("writes cannot be null");
+        }
+        for (CoalescedWrite write : writes) {
+            if (write == null) {
+                throw new IllegalArgumentException("writes cannot contain null");
+            }
+            Lead lead = write.getLead();
+            if (lead.getDealerId() == null || lead.getDealerId().trim().isEmpty()) {
+                throw new IllegalArgumentException("dealerId cannot be blank");
+            }
+            if (lead.getLeadId() == null || lead.getLeadId().trim().isEmpty()) {
+                throw new IllegalArgumentException("leadId cannot be blank");
+            }
+        }
+
+        boolean[] saved = new boolean[writes.size()];
+        for (int i = 0; i < saved.length; i++) {
+            CoalescedWrite write = writes.get(i);
+            saved[i] = saveCoalesced(write.getLead(), write.getExpectedVersion(), write.getWrites());
+        }
+        return saved;
+    }
+
+    /**
+     * Persists many leads in one call (insert or update each).
+     *
+     * <p>Every lead is validated before any is written, so an invalid lead
+     * fails the whole batch. Adapters override this to group writes by dealer
+     * and, for durable storage, to commit the batch as a unit.
+     *
+     * <p>The default implementation validates, then calls {@link #save(Lead)}
+     * per lead.
+     *
+     * @param leads The leads to persist (must not be null or contain nulls)
+     * @return The persisted leads, in input order
+     * @throws IllegalArgumentException if leads is null or any lead is null or has invalid fields
+     */
+    default List<Lead> saveAll(Collection<Lead> leads) {
+        if (leads == null) {
+            throw new IllegalArgumentException("leads cannot be null");
+        }
+        for (Lead lead : leads) {
+            if (lead == null) {
+                throw new IllegalArgumentException("leads cannot contain null");
+            }
+            if (lead.getDealerId() == null || lead.getDealerId().trim().isEmpty()) {
+                throw new IllegalArgumentException("dealerId cannot be blank");
+            }
+            if (lead.getLeadId() == null || lead.getLeadId().trim().isEmpty()) {
+                throw new IllegalArgumentException("leadId cannot be blank");
+            }
+        }
+
+        List<Lead> saved = new ArrayList<>(leads.size());
+        for (Lead lead : leads) {
+            saved.add(save(lead));
+        }
+        return saved;
+    }
+
     /**
      * Finds a lead by ID within a specific dealer's scope.
      *
@@ -86,4 +251,236 @@ public interface LeadPersistencePort {
      * @return List of leads ordered by score (highest first)
      */
     List<Lead> findByDealerIdOrderByScore(String dealerId, int limit);
-}
\ No newline at end of file
+
+    /**
+     * Returns one page of a dealer's leads in a state, ordered by leadId.
+     *
+     * <p>Keyset pagination: pass {@code null} for the first page, then each
+     * page's {@link LeadPage#getNextPageToken()} until it is null. Each page
+     * costs O(page size) regardless of how deep the caller has paged.
+     *
+     * <p>The default implementation materializes the full result of
+     * {@link #findByDealerIdAndState(String, LeadState)}; adapters with an
+     * ordered index override it.
+     *
+     * @param dealerId  The dealer to query
+     * @param state     The lead state to filter by
+     * @param pageSize  Maximum number of leads on the page (must be positive)
+     * @param pageToken Token from the previous page, or null for the first page
+     * @return The page (empty if none found)
+     * @throws IllegalArgumentException if pageSize is not positive or the token is invalid for this query
+     */
+    default LeadPage findByDealerIdAndState(String dealerId, LeadState state, int pageSize, String pageToken) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        LeadPageToken after = LeadPageToken.decode(pageToken, LeadPageToken.Kind.STATE, dealerId, state);
+
+        List<Lead> candidates = findByDealerIdAndState(dealerId, state).stream()
+                .filter(lead -> after == null || lead.getLeadId().compareTo(after.getLastLeadId()) > 0)
+                .sorted(Comparator.comparing(Lead::getLeadId))
+                .limit(pageSize + 1L)
+                .collect(Collectors.toList());
+        if (candidates.size() <= pageSize) {
+            return LeadPage.builder().leads(candidates).build();
+        }
+        List<Lead> leads = candidates.subList(0, pageSize);
+        Lead last = leads.get(pageSize - 1);
+        return LeadPage.builder()
+                .leads(List.copyOf(leads))
+                .nextPageToken(LeadPageToken.afterState(dealerId, state, last.getLeadId()).encode())
+                .build();
+    }
+
+    /**
+     * Returns one page of a dealer's leads ranked by score.
+     *
+     * <p>Same ranking as {@link #findByDealerIdOrderByScore(String, int)}:
+     * score descending (null last), then updatedAt descending, then leadId.
+     *
+     * <p>The default implementation materializes the dealer's full ranking;
+     * adapters with a score index override it.
+     *
+     * @param dealerId  The dealer to query
+     * @param pageSize  Maximum number of leads on the page (must be positive)
+     * @param pageToken Token from the previous page, or null for the first page
+     * @return The page (empty if none found)
+     * @throws IllegalArgumentException if pageSize is not positive or the token is invalid for this query
+     */
+    default LeadPage findByDealerIdOrderByScore(String dealerId, int pageSize, String pageToken) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("pageSize must be positive");
+        }
+        LeadPageToken after = LeadPageToken.decode(pageToken, LeadPageToken.Kind.SCORE, dealerId, null);
+
+        Comparator<Lead> ranking = Comparator
+                .comparing(Lead::getScore, Comparator.nullsLast(Comparator.<Integer>reverseOrder()))
+                .thenComparing(Lead::getUpdatedAt, Comparator.nullsLast(Comparator.reverseOrder()))
+                .thenComparing(Lead::getLeadId);
+        Lead afterKey = after == null ? null : Lead.builder()
+                .leadId(after.getLastLeadId())
+                .score(after.getLastScore())
+                .updatedAt(after.getLastUpdatedAt())
+                .build();
+
+        List<Lead> candidates = findByDealerIdOrderByScore(dealerId, Integer.MAX_VALUE).stream()
+                .filter(lead -> afterKey == null || ranking.compare(lead, afterKey) > 0)
+                .limit(pageSize + 1L)
+                .collect(Collectors.toList());
+        if (candidates.size() <= pageSize) {
+            return LeadPage.builder().leads(candidates).build();
+        }
+        List<Lead> leads = candidates.subList(0, pageSize);
+        Lead last = leads.get(pageSize - 1);
+        return LeadPage.builder()
+                .leads(List.copyOf(leads))
+                .nextPageToken(LeadPageToken.afterScore(
+                        dealerId, last.getScore(), last.getUpdatedAt(), last.getLeadId()).encode())
+                .build();
+    }
+
+    /**
+     * Streams a dealer's leads in a state.
+     *
+     * <p>Adapters walk their index lazily, so exports can read any number of
+     * leads without materializing them all. The stream is weakly consistent:
+     * leads saved while it is consumed may or may not appear. Order is
+     * adapter-specific. The default implementation streams the materialized
+     * list.
+     *
+     * @param dealerId The dealer to query
+     * @param state    The lead state to filter by
+     * @return Stream of matching leads (empty if none found)
+     */
+    default Stream<Lead> streamByDealerIdAndState(String dealerId, LeadState state) {
+        return findByDealerIdAndState(dealerId, state).stream();
+    }
+
+    /**
+     * Finds a dealer's leads created in {@code [from, to)}, oldest first.
+     *
+     * <p>For recency-driven jobs (e.g. re-scoring leads that just crossed a
+     * {@code RecencyRule} age boundary). Leads without a createdAt never match.
+     * Ties on createdAt are ordered by leadId.
+     *
+     * <p>Adapters with a time index answer this in O(log n + matches); the
+     * default implementation scans the dealer's leads in every state.
+     *
+     * @param dealerId The dealer to query
+     * @param from     Inclusive lower bound (must not be null)
+     * @param to       Exclusive upper bound (must not be null)
+     * @return Matching leads ordered by createdAt (empty if none found)
+     * @throws IllegalArgumentException if a bound is null
+     */
+    default List<Lead> findByDealerIdAndCreatedAtBetween(String dealerId, Instant from, Instant to) {
+        return findInTimeRange(dealerId, from, to, Lead::getCreatedAt);
+    }
+
+    /**
+     * Finds a dealer's leads last updated in {@code [from, to)}, least recently
+     * updated first.
+     *
+     * <p>Same contract as {@link #findByDealerIdAndCreatedAtBetween}, keyed
+     * on updatedAt as of each lead's last save.
+     *
+     * @param dealerId The dealer to query
+     * @param from     Inclusive lower bound (must not be null)
+     * @param to       Exclusive upper bound (must not be null)
+     * @return Matching leads ordered by updatedAt (empty if none found)
+     * @throws IllegalArgumentException if a bound is null
+     */
+    default List<Lead> findByDealerIdAndUpdatedAtBetween(String dealerId, Instant from, Instant to) {
+        return findInTimeRange(dealerId, from, to, Lead::getUpdatedAt);
+    }
+
+    /**
+     * Finds a dealer's leads not updated since {@code before}, least recently
+     * updated first. Intended for SLA sweeps ("no activity for 48 hours").
+     *
+     * @param dealerId The dealer to query
+     * @param before   Exclusive upper bound (must not be null)
+     * @return Matching leads ordered by updatedAt (empty if none found)
+     * @throws IllegalArgumentException if before is null
+     */
+    default List<Lead> findByDealerIdAndUpdatedAtBefore(String dealerId, Instant before) {
+        return findByDealerIdAndUpdatedAtBetween(dealerId, Instant.MIN, before);
+    }
+
+    /** Scanning implementation behind the default time-range queries. */
+    private List<Lead> findInTimeRange(String dealerId, Instant from, Instant to, Function<Lead, Instant> time) {
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("time range bounds cannot be null");
+        }
+        if (dealerId == null) return List.of();
+        return Arrays.stream(LeadState.values())
+                .flatMap(state -> streamByDealerIdAndState(dealerId, state))
+                .filter(lead -> {
+                    Instant at = time.apply(lead);
+                    return at != null && !at.isBefore(from) && at.isBefore(to);
+                })
+                .sorted(Comparator.comparing(time).thenComparing(Lead::getLeadId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Finds a dealer's leads that share a contact key with the given email or phone.
+     *
+     * <p>For duplicate detection at ingest. Emails match on their normalized
+     * value and phones on {@link PhoneCoordinate#toE164()}; a lead matching
+     * either is returned once. A null email or phone is ignored.
+     *
+     * <p>Adapters answer this from hashed per-dealer indexes; the default
+     * implementation scans the dealer's leads in every state.
+     *
+     * @param dealerId The dealer to query
+     * @param email    Email to match, or null
+     * @param phone    Phone to match, or null
+     * @return Matching leads ordered by leadId (empty if none, or both contacts are null)
+     */
+    default List<Lead> findByDealerIdAndContact(String dealerId, Email email, PhoneCoordinate phone) {
+        if (dealerId == null || (email == null && phone == null)) return List.of();
+        String e164 = phone != null ? phone.toE164() : null;
+        return Arrays.stream(LeadState.values())
+                .flatMap(state -> streamByDealerIdAndState(dealerId, state))
+                .filter(lead -> (email != null && email.equals(lead.getEmail()))
+                        || (e164 != null && lead.getPhone() != null && e164.equals(lead.getPhone().toE164())))
+                .sorted(Comparator.comparing(Lead::getLeadId))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Counts a dealer's leads in a state.
+     *
+     * <p>Adapters keep running counters so this is O(1); the default
+     * implementation counts {@link #streamByDealerIdAndState(String, LeadState)}.
+     * Under concurrent writes the count is a recent value, not a snapshot
+     * consistent with other counts.
+     *
+     * @param dealerId The dealer to query
+     * @param state    The lead state to count
+     * @return Number of matching leads (0 if none or inputs are null)
+     */
+    default long countByDealerIdAndState(String dealerId, LeadState state) {
+        if (dealerId == null || state == null) return 0;
+        return streamByDealerIdAndState(dealerId, state).count();
+    }
+
+    /**
+     * Counts a dealer's leads acquired through a source.
+     *
+     * <p>Adapters keep running counters so this is O(1); the default
+     * implementation streams the dealer's leads in every state. Same
+     * consistency as {@link #countByDealerIdAndState(String, LeadState)}.
+     *
+     * @param dealerId The dealer to query
+     * @param source   The lead source to count
+     * @return Number of matching leads (0 if none or inputs are null)
+     */
+    default long countByDealerIdAndSource(String dealerId, LeadSource source) {
+        if (dealerId == null || source == null) return 0;
+        return Arrays.stream(LeadState.values())
+                .flatMap(state -> streamByDealerIdAndState(dealerId, state))
+                .filter(lead -> lead.getSource() == source)
+                .count();
+    }
+}
@@ -0,0 +1,149 @@
+package com.tekion.leadmanagement.domain.scoring.model;
+
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.model.VehicleInterest;
+
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * The scoring features of a run of leads, extracted once into primitive
+ * arrays.
+ *
+ * <h2>Overview</h2>
+ * <p>Columnar rules read these arrays instead of walking each {@link Lead}
+ * and its value objects, so a rule's pass over a batch is a tight loop
+ * over one or two arrays. Element {@code i} of every column describes the
+ * {@code i}-th lead given to {@link #of(Lead[], int)}; only the first
+ * {@link #size()} elements are meaningful.
+ *
+ * <h2>Missing Values</h2>
+ * <table border="1">
+ *   <tr><th>Column</th><th>Value when missing</th></tr>
+ *   <tr><td>sourceOrdinals, stateOrdinals</td><td>{@link #NO_ORDINAL}</td></tr>
+ *   <tr><td>vehicleYears</td><td>{@link #NO_INT} (no vehicle interest)</td></tr>
+ *   <tr><td>tradeInValues</td><td>{@link #NO_INT} (no vehicle interest or no trade-in)</td></tr>
+ *   <tr><td>createdAtEpochNanos</td><td>{@link #NO_LONG}</td></tr>
+ * </table>
+ *
+ * <p>The arrays are exposed without copying; treat them as read-only.
+ *
+ * @see com.tekion.leadmanagement.domain.scoring.rule.ColumnarScoringRule
+ */
+public final class LeadColumns {
+
+    /** Ordinal of a missing source or state. */
+    public static final int NO_ORDINAL = -1;
+
+    /** Value of a missing int feature. */
+    public static final int NO_INT = Integer.MIN_VALUE;
+
+    /** Value of a missing long feature; clamped instants never take it. */
+    public static final long NO_LONG = Long.MIN_VALUE;
+
+    private final int size;
+    private final int[] sourceOrdinals;
+    private final int[] stateOrdinals;
+    private final int[] vehicleYears;
+    private final int[] tradeInValues;
+    private final long[] createdAtEpochNanos;
+
+    private LeadColumns(int size) {
+        this.size = size;
+        this.sourceOrdinals = new int[size];
+        this.stateOrdinals = new int[size];
+        this.vehicleYears = new int[size];
+        this.tradeInValues = new int[size];
+        this.createdAtEpochNanos = new long[size];
+    }
+
+    /**
+     * Extracts the features of the first {@code count} leads of an array.
+     *
+     * @param leads Leads to extract (none of the first {@code count} may be null)
+     * @param count Number of leads to extract
+     * @return Columns with one element per lead, in array order
+     * @throws IllegalArgumentException if leads is null, count is out of range,
+     *                                  or one of the leads is null
+     */
+    public static LeadColumns of(Lead[] leads, int count) {
+        if (leads == null || count < 0 || count > leads.length) {
+            throw new IllegalArgumentException("count out of range: " + count);
+        }
+        LeadColumns columns = new LeadColumns(count);
+        for (int i = 0; i < count; i++) {
+            Lead lead = leads[i];
+            if (lead == null) {
+                throw new IllegalArgumentException("leads cannot contain null");
+            }
+            LeadSource source = lead.getSource();
+            columns.sourceOrdinals[i] = source == null ? NO_ORDINAL : source.ordinal();
+            LeadState state = lead.getState();
+            columns.stateOrdinals[i] = state == null ? NO_ORDINAL : state.ordinal();
+
+            VehicleInterest vi = lead.getVehicleInterest();
+            if (vi == null) {
+                columns.vehicleYears[i] = NO_INT;
+                columns.tradeInValues[i] = NO_INT;
+            } else {
+                columns.vehicleYears[i] = vi.getYear();
+                Optional<Integer> tradeIn = vi.getTradeInValue();
+                columns.tradeInValues[i] = tradeIn.isPresent() ? tradeIn.get() : NO_INT;
+            }
+
+            Instant createdAt = lead.getCreatedAt();
+            columns.createdAtEpochNanos[i] = createdAt == null ? NO_LONG : epochNanos(createdAt);
+        }
+        return columns;
+    }
+
+    /**
+     * Converts an instant to nanoseconds since the epoch.
+     *
+     * <p>Instants outside the representable range, roughly the years 1677
+     * to 2262, are clamped to {@code Long.MIN_VALUE + 1} and
+     * {@code Long.MAX_VALUE}, so {@link #NO_LONG} stays unambiguous.
+     *
+     * @param instant The instant to convert (must not be null)
+     * @return Nanoseconds since 1970-01-01T00:00:00Z, clamped
+     */
+    public static long epochNanos(Instant instant) {
+        try {
+            return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), 1_000_000_000L), instant.getNano());
+        } catch (ArithmeticException e) {
+            return instant.getEpochSecond() < 0 ? Long.MIN_VALUE + 1 : Long.MAX_VALUE;
+        }
+    }
+
+    /** @return Number of leads in the columns */
+    public int size() {
+        return size;
+    }
+
+    /** @return {@code LeadSource} ordinal per lead, or {@link #NO_ORDINAL} */
+    public int[] sourceOrdinals() {
+        return sourceOrdinals;
+    }
+
+    /** @return {@code LeadState} ordinal per lead, or {@link #NO_ORDINAL} */
+    public int[] stateOrdinals() {
+        return stateOrdinals;
+    }
+
+    /** @return Vehicle model year per lead, or {@link #NO_INT} */
+    public int[] vehicleYears() {
+        return vehicleYears;
+    }
+
+    /** @return Trade-in value in dollars per lead, or {@link #NO_INT} */
+    public int[] tradeInValues() {
+        return tradeInValues;
+    }
+
+    /** @return Creation time per lead as clamped {@link #epochNanos(Instant)}, or {@link #NO_LONG} */
+    public long[] createdAtEpochNanos() {
+        return createdAtEpochNanos;
+    }
+}
@@ -0,0 +1,69 @@
+package com.tekion.leadmanagement.domain.scoring.model;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.Year;
+
+/**
+ * The moment a scoring run is evaluated at, captured once and shared by
+ * every lead in the run.
+ *
+ * <h2>Overview</h2>
+ * <p>Time-based rules such as recency and vehicle age need "now". Reading
+ * the clock per lead costs an allocation and, for {@code Year.now()}, a
+ * time-zone lookup; it also lets one batch straddle an hour, day or year
+ * boundary so that identical leads score differently. A context reads its
+ * {@link Clock} once and caches the values rules derive from it, so every
+ * lead scored with the same context sees the same instant.
+ *
+ * <h2>Example Usage</h2>
+ * <pre>{@code
+ * ScoringContext context = ScoringContext.of(Clock.fixed(asOf, ZoneId.of("America/Chicago")));
+ * int score = engine.scoreValue(lead, context);
+ * }</pre>
+ *
+ * @see com.tekion.leadmanagement.domain.scoring.rule.ScoringRule#evaluate(
+ *      com.tekion.leadmanagement.domain.lead.model.Lead, ScoringContext)
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ScoringContext {
+
+    /** The clock the context was captured from; its zone defines the calendar year. */
+    Clock clock;
+
+    /** The captured instant every rule compares against. */
+    Instant now;
+
+    /** Calendar year of {@link #now} in the clock's zone. */
+    int currentYear;
+
+    /**
+     * Captures the current instant of a clock.
+     *
+     * @param clock The clock to read (must not be null)
+     * @return A context fixed at the clock's current instant
+     * @throws IllegalArgumentException if clock is null
+     */
+    public static ScoringContext of(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("clock cannot be null");
+        }
+        Instant now = clock.instant();
+        return new ScoringContext(clock, now, Year.from(now.atZone(clock.getZone())).getValue());
+    }
+
+    /**
+     * Captures the system clock in the default time zone, matching
+     * {@code Instant.now()} and {@code Year.now()}.
+     *
+     * @return A context fixed at the current instant
+     */
+    public static ScoringContext now() {
+        return of(Clock.systemDefaultZone());
+    }
+}
@@ -0,0 +1,94 @@
+package com.tekion.leadmanagement.domain.scoring.rule;
+
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.scoring.model.ScoringContext;
+
+/**
+ * A {@link ScoringRule} that is a step function over a small, fixed set of
+ * buckets.
+ *
+ * <h2>How It Works</h2>
+ * <ol>
+ *   <li>{@link #bucketOf(Lead)} maps a lead to one of {@link #bucketCount()} buckets</li>
+ *   <li>{@link #bucketFactor(int)} gives the factor shared by every lead in a bucket</li>
+ *   <li>{@link #evaluate(Lead)} is the composition of the two</li>
+ *   <li>Time-based rules override {@link #bucketOf(Lead, ScoringContext)} to
+ *       classify against the context's instant</li>
+ * </ol>
+ *
+ * <h2>Why Bucket</h2>
+ * <p>Because every bucketed rule has finitely many outcomes, the
+ * {@code LeadScoringEngine} can precompute the weighted sum of all its
+ * bucketed rules for every combination of buckets. Scoring a lead then
+ * costs one {@code bucketOf} call per rule and one table read instead of
+ * the floating-point arithmetic. Rules that are not bucketed are evaluated
+ * as usual on top of the table.
+ *
+ * <h2>Contract</h2>
+ * <ul>
+ *   <li>{@code bucketCount()} is constant and positive</li>
+ *   <li>{@code bucketOf()} returns 0 to {@code bucketCount() - 1} and handles a null lead</li>
+ *   <li>{@code bucketFactor()} is constant per bucket; override {@code evaluate()}
+ *       only if it still returns {@code bucketFactor(bucketOf(lead))}</li>
+ * </ul>
+ *
+ * @see com.tekion.leadmanagement.domain.scoring.service.LeadScoringEngine
+ */
+public interface BucketedScoringRule extends ScoringRule {
+
+    /**
+     * @return Number of buckets this rule distinguishes (at least 1)
+     */
+    int bucketCount();
+
+    /**
+     * Classifies a lead.
+     *
+     * @param lead The lead to classify (may be null - handle gracefully)
+     * @return Bucket index from 0 to {@code bucketCount() - 1}
+     */
+    int bucketOf(Lead lead);
+
+    /**
+     * Classifies a lead as of the context's captured instant. The default
+     * ignores the context.
+     *
+     * @param lead    The lead to classify (may be null - handle gracefully)
+     * @param context The scoring run's clock snapshot (never null)
+     * @return Bucket index from 0 to {@code bucketCount() - 1}
+     */
+    default int bucketOf(Lead lead, ScoringContext context) {
+        return bucketOf(lead);
+    }
+
+    /**
+     * Returns the factor of every lead in a bucket.
+     *
+     * @param bucket Bucket index from 0 to {@code bucketCount() - 1}
+     * @return Score factor from 0.0 to 1.0
+     */
+    double bucketFactor(int bucket);
+
+    /**
+     * Evaluates a lead through its bucket.
+     *
+     * @param lead The lead to evaluate (may be null)
+     * @return {@code bucketFactor(bucketOf(lead))}
+     */
+    @Override
+    default double evaluate(Lead lead) {
+        return bucketFactor(bucketOf(lead));
+    }
+
+    /**
+     * Evaluates a lead through its bucket as of the context's instant.
+     *
+     * @param lead    The lead to evaluate (may be null)
+     * @param context The scoring run's clock snapshot (never null)
+     * @return {@code bucketFactor(bucketOf(lead, context))}
+     */
+    @Override
+    default double evaluate(Lead lead, ScoringContext context) {
+        return bucketFactor(bucketOf(lead, context));
+    }
+}
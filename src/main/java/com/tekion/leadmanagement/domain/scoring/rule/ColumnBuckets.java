@@ -0,0 +1,110 @@
+package com.tekion.leadmanagement.domain.scoring.rule;
+
+/**
+ * Step-function kernels shared by the built-in {@link ColumnarScoringRule}s.
+ *
+ * <h2>The Step Function</h2>
+ * <p>Every threshold-based built-in rule is the same function of one
+ * column:
+ * <pre>
+ *   bucket = value == missing ? missingBucket
+ *                             : base + step × |{ k : value &gt;= cuts[k] }|
+ * </pre>
+ * with {@code step} +1 when larger values mean higher buckets and -1 when
+ * they mean lower ones.
+ *
+ * <h2>Vector API</h2>
+ * <p>If the {@code jdk.incubator.vector} module is in the boot layer
+ * ({@code --add-modules jdk.incubator.vector}), the kernels compare a full
+ * SIMD register of values per cut; see {@link VectorColumnBuckets}.
+ * Otherwise, or if the module cannot be linked, the scalar loops here are
+ * used. Both produce identical buckets.
+ */
+final class ColumnBuckets {
+
+    /** One implementation of the step kernels, over indexes {@code [from, to)}. */
+    interface Kernel {
+
+        void steps(int[] values, int from, int to, int missing, int missingBucket,
+                   int base, int step, int[] cuts, int[] buckets);
+
+        void steps(long[] values, int from, int to, long missing, int missingBucket,
+                   int base, int step, long[] cuts, int[] buckets);
+    }
+
+    /** Plain loops; always available. */
+    static final Kernel SCALAR = new Kernel() {
+        @Override
+        public void steps(int[] values, int from, int to, int missing, int missingBucket,
+                          int base, int step, int[] cuts, int[] buckets) {
+            for (int i = from; i < to; i++) {
+                int value = values[i];
+                if (value == missing) {
+                    buckets[i] = missingBucket;
+                    continue;
+                }
+                int bucket = base;
+                for (int cut : cuts) {
+                    if (value >= cut) bucket += step;
+                }
+                buckets[i] = bucket;
+            }
+        }
+
+        @Override
+        public void steps(long[] values, int from, int to, long missing, int missingBucket,
+                          int base, int step, long[] cuts, int[] buckets) {
+            for (int i = from; i < to; i++) {
+                long value = values[i];
+                if (value == missing) {
+                    buckets[i] = missingBucket;
+                    continue;
+                }
+                int bucket = base;
+                for (long cut : cuts) {
+                    if (value >= cut) bucket += step;
+                }
+                buckets[i] = bucket;
+            }
+        }
+    };
+
+    /** The Vector API kernels, or null when the incubator module is unavailable. */
+    static final Kernel VECTOR = loadVectorKernel();
+
+    /** The kernel the rules use. */
+    static final Kernel KERNEL = VECTOR != null ? VECTOR : SCALAR;
+
+    private ColumnBuckets() {
+    }
+
+    /** Step function over an int column; see the class documentation. */
+    static void steps(int[] values, int count, int missing, int missingBucket,
+                      int base, int step, int[] cuts, int[] buckets) {
+        KERNEL.steps(values, 0, count, missing, missingBucket, base, step, cuts, buckets);
+    }
+
+    /** Step function over a long column; see the class documentation. */
+    static void steps(long[] values, int count, long missing, int missingBucket,
+                      int base, int step, long[] cuts, int[] buckets) {
+        KERNEL.steps(values, 0, count, missing, missingBucket, base, step, cuts, buckets);
+    }
+
+    /**
+     * Loads {@link VectorColumnBuckets} by name, so that this class links
+     * even when the incubator module is absent.
+     */
+    private static Kernel loadVectorKernel() {
+        if (ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return null;
+        }
+        try {
+            // The constructor throws if the platform has no usable SIMD width
+            return (Kernel) Class.forName(ColumnBuckets.class.getPackageName() + ".VectorColumnBuckets")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.tekion.leadmanagement.domain.scoring.rule;
 
 import com.tekion.leadmanagement.domain.lead.model.Lead;
 import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.scoring.model.LeadColumns;
+import com.tekion.leadmanagement.domain.scoring.model.ScoringContext;
 
 /**
  * Scoring rule that evaluates lead quality based on engagement level.
@@ -47,7 +49,10 @@ import com.tekion.leadmanagement.domain.lead.model.LeadState;
  *
  * @see LeadState for lead lifecycle states
  */
-public class EngagementRule implements ScoringRule {
+public class EngagementRule implements ColumnarScoringRule {
+
+    /** Bucket 0 is a missing state; bucket {@code ordinal + 1} is each {@link LeadState}. */
+    private static final LeadState[] STATES = LeadState.values();
 
     @Override
     public String getName() {
@@ -59,19 +64,48 @@ public class EngagementRule implements ScoringRule {
         return 15;
     }
 
+    @Override
+    public int bucketCount() {
+        return STATES.length + 1;
+    }
+
+    @Override
+    public int bucketOf(Lead lead) {
+        // Handle null cases gracefully
+        if (lead == null || lead.getState() == null) return 0;
+        return lead.getState().ordinal() + 1;
+    }
+
     /**
-     * Evaluates the lead based on their current pipeline state.
+     * Classifies a batch by state ordinal.
      *
-     * @param lead The lead to evaluate
+     * @param columns The batch's features
+     * @param context Unused; engagement does not depend on time
+     * @param buckets Receives {@code ordinal + 1} per lead, 0 for a missing state
+     * @return Always true
+     */
+    @Override
+    public boolean bucketColumn(LeadColumns columns, ScoringContext context, int[] buckets) {
+        // NO_ORDINAL is -1, so a missing state lands in bucket 0
+        int[] ordinals = columns.stateOrdinals();
+        for (int i = 0; i < columns.size(); i++) {
+            buckets[i] = ordinals[i] + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates a bucket based on its pipeline state.
+     *
+     * @param bucket The bucket to evaluate
      * @return Factor from 0.1-1.0 based on engagement level
      */
     @Override
-    public double evaluate(Lead lead) {
-        // Handle null cases gracefully
-        if (lead == null || lead.getState() == null) return 0.0;
+    public double bucketFactor(int bucket) {
+        if (bucket == 0) return 0.0;
 
         // Use lead state as engagement proxy
-        LeadState state = lead.getState();
+        LeadState state = STATES[bucket - 1];
         switch (state) {
             case NEW:
                 return 0.2;   // Not contacted yet - low engagement
@@ -87,4 +121,4 @@ public class EngagementRule implements ScoringRule {
                 return 0.0;   // Unknown state
         }
     }
-}
\ No newline at end of file
+}
@@ -1,8 +1,9 @@
 package com.tekion.leadmanagement.domain.scoring.rule;
 
 import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.scoring.model.LeadColumns;
+import com.tekion.leadmanagement.domain.scoring.model.ScoringContext;
 
-import java.time.Duration;
 import java.time.Instant;
 
 /**
@@ -36,7 +37,13 @@ import java.time.Instant;
  * <p>Studies show that responding to leads within 5 minutes can increase
  * conversion rates by up to 9x compared to waiting 10 minutes.
  */
-public class RecencyRule implements ScoringRule {
+public class RecencyRule implements ColumnarScoringRule {
+
+    /** Factors of: no creation time, &lt;24 hours, 1-6 days, 7-29 days, 30+ days. */
+    private static final double[] FACTORS = {0.0, 1.0, 0.7, 0.4, 0.1};
+
+    /** Tier boundaries in nanoseconds, longest first: 30 days, 7 days, 24 hours. */
+    private static final long[] TIER_NANOS = {30 * 86_400_000_000_000L, 7 * 86_400_000_000_000L, 86_400_000_000_000L};
 
     @Override
     public String getName() {
@@ -48,28 +55,87 @@ public class RecencyRule implements ScoringRule {
         return 15;
     }
 
+    @Override
+    public int bucketCount() {
+        return FACTORS.length;
+    }
+
+    /**
+     * Classifies the lead by how long ago it was created, as of now.
+     *
+     * @param lead The lead to classify
+     * @return 0 without a creation time, otherwise 1-4 by age tier (fresher = lower)
+     */
+    @Override
+    public int bucketOf(Lead lead) {
+        return bucketOf(lead, ScoringContext.now());
+    }
+
     /**
-     * Evaluates the lead based on how long ago it was created.
+     * Classifies the lead by how long before the context's instant it was created.
      *
-     * @param lead The lead to evaluate
-     * @return Factor from 0.1-1.0 based on lead age (fresher = higher)
+     * @param lead    The lead to classify
+     * @param context The scoring run's clock snapshot
+     * @return 0 without a creation time, otherwise 1-4 by age tier (fresher = lower)
      */
     @Override
-    public double evaluate(Lead lead) {
+    public int bucketOf(Lead lead, ScoringContext context) {
         // Handle null cases gracefully
-        if (lead == null || lead.getCreatedAt() == null) return 0.0;
+        if (lead == null || lead.getCreatedAt() == null) return 0;
 
-        Instant now = Instant.now();
+        // Whole seconds since creation, truncated like Duration.between(createdAt, now)
+        Instant createdAt = lead.getCreatedAt();
+        Instant now = context.getNow();
+        long seconds = now.getEpochSecond() - createdAt.getEpochSecond();
+        if (now.getNano() < createdAt.getNano()) seconds--;
 
-        // Calculate time since lead was created
         // Use Math.max to handle future dates (clock skew) gracefully
-        long hours = Math.max(0, Duration.between(lead.getCreatedAt(), now).toHours());
-        long days = Math.max(0, Duration.between(lead.getCreatedAt(), now).toDays());
-
-        // Score based on recency tiers
-        if (hours < 24) return 1.0;  // Less than 24 hours - hot lead
-        if (days < 7) return 0.7;    // Less than a week - warm lead
-        if (days < 30) return 0.4;   // Less than a month - cool lead
-        return 0.1;                   // 30+ days old - stale lead
+        long hours = Math.max(0, seconds / 3600);
+        long days = Math.max(0, seconds / 86400);
+
+        // Bucket by recency tiers
+        if (hours < 24) return 1;  // Less than 24 hours - hot lead
+        if (days < 7) return 2;    // Less than a week - warm lead
+        if (days < 30) return 3;   // Less than a month - cool lead
+        return 4;                  // 30+ days old - stale lead
+    }
+
+    /**
+     * Classifies a batch by how long before the context's instant each lead
+     * was created.
+     *
+     * @param columns The batch's features
+     * @param context The scoring run's clock snapshot
+     * @param buckets Receives 0-4 per lead, as {@link #bucketOf(Lead, ScoringContext)}
+     * @return false if the context's instant is too close to the range of
+     *         {@link LeadColumns#epochNanos} for its clamping to be exact
+     */
+    @Override
+    public boolean bucketColumn(LeadColumns columns, ScoringContext context, int[] buckets) {
+        long now = LeadColumns.epochNanos(context.getNow());
+        if (now == Long.MAX_VALUE) return false;
+
+        // Whole seconds since creation reach a tier exactly when
+        // createdAt <= now - tier, i.e. not createdAt >= now - tier + 1,
+        // so start at the stalest bucket and step down for each cut reached
+        long[] cuts = new long[TIER_NANOS.length];
+        try {
+            for (int t = 0; t < cuts.length; t++) {
+                cuts[t] = Math.subtractExact(now, TIER_NANOS[t]) + 1;
+            }
+        } catch (ArithmeticException e) {
+            return false;
+        }
+        // Clamped creation times must stay below every cut
+        if (cuts[0] <= Long.MIN_VALUE + 1) return false;
+
+        ColumnBuckets.steps(columns.createdAtEpochNanos(), columns.size(),
+                LeadColumns.NO_LONG, 0, 4, -1, cuts, buckets);
+        return true;
+    }
+
+    @Override
+    public double bucketFactor(int bucket) {
+        return FACTORS[bucket];
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,7 @@
 package com.tekion.leadmanagement.domain.scoring.rule;
 
 import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.scoring.model.ScoringContext;
 
 /**
  * Interface for pluggable lead scoring rules.
@@ -38,6 +39,9 @@ import com.tekion.leadmanagement.domain.lead.model.Lead;
  *     }
  * }
  * </pre>
+ * <p>Rules that are step functions over a few discrete buckets should
+ * implement {@link BucketedScoringRule} instead, so the engine can score
+ * them from a precomputed table.
  *
  * @see com.tekion.leadmanagement.domain.scoring.service.LeadScoringEngine
  * @see com.tekion.leadmanagement.domain.scoring.model.ScoringResult
@@ -85,4 +89,20 @@ public interface ScoringRule {
      * @return Score factor from 0.0 to 1.0
      */
     double evaluate(Lead lead);
+
+    /**
+     * Evaluates a lead as of the context's captured instant.
+     *
+     * <p>The engine always calls this overload. Rules that depend on the
+     * current time override it and read {@link ScoringContext#getNow()}
+     * instead of the system clock, so every lead of a batch is scored at
+     * the same instant. The default ignores the context.
+     *
+     * @param lead    The lead to evaluate (may be null - handle gracefully)
+     * @param context The scoring run's clock snapshot (never null)
+     * @return Score factor from 0.0 to 1.0
+     */
+    default double evaluate(Lead lead, ScoringContext context) {
+        return evaluate(lead);
+    }
 }
\ No newline at end of file
@@ -2,6 +2,8 @@ package com.tekion.leadmanagement.domain.scoring.rule;
 
 import com.tekion.leadmanagement.domain.lead.model.Lead;
 import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.scoring.model.LeadColumns;
+import com.tekion.leadmanagement.domain.scoring.model.ScoringContext;
 
 /**
  * Scoring rule that evaluates lead quality based on acquisition channel.
@@ -26,7 +28,10 @@ import com.tekion.leadmanagement.domain.lead.model.LeadSource;
  *
  * @see LeadSource for available lead sources
  */
-public class SourceQualityRule implements ScoringRule {
+public class SourceQualityRule implements ColumnarScoringRule {
+
+    /** Bucket 0 is a missing source; bucket {@code ordinal + 1} is each {@link LeadSource}. */
+    private static final LeadSource[] SOURCES = LeadSource.values();
 
     @Override
     public String getName() {
@@ -38,18 +43,47 @@ public class SourceQualityRule implements ScoringRule {
         return 20;
     }
 
+    @Override
+    public int bucketCount() {
+        return SOURCES.length + 1;
+    }
+
+    @Override
+    public int bucketOf(Lead lead) {
+        // Handle null cases gracefully
+        if (lead == null || lead.getSource() == null) return 0;
+        return lead.getSource().ordinal() + 1;
+    }
+
     /**
-     * Evaluates the lead based on its acquisition source.
+     * Classifies a batch by source ordinal.
      *
-     * @param lead The lead to evaluate
+     * @param columns The batch's features
+     * @param context Unused; source quality does not depend on time
+     * @param buckets Receives {@code ordinal + 1} per lead, 0 for a missing source
+     * @return Always true
+     */
+    @Override
+    public boolean bucketColumn(LeadColumns columns, ScoringContext context, int[] buckets) {
+        // NO_ORDINAL is -1, so a missing source lands in bucket 0
+        int[] ordinals = columns.sourceOrdinals();
+        for (int i = 0; i < columns.size(); i++) {
+            buckets[i] = ordinals[i] + 1;
+        }
+        return true;
+    }
+
+    /**
+     * Evaluates a bucket based on its acquisition source.
+     *
+     * @param bucket The bucket to evaluate
      * @return Factor from 0.0-1.0 based on source quality
      */
     @Override
-    public double evaluate(Lead lead) {
-        // Handle null cases gracefully
-        if (lead == null || lead.getSource() == null) return 0.0;
+    public double bucketFactor(int bucket) {
+        if (bucket == 0) return 0.0;
 
-        LeadSource source = lead.getSource();
+        LeadSource source = SOURCES[bucket - 1];
         switch (source) {
             case REFERRAL:
                 return 1.0;   // Best: personal recommendation
@@ -63,4 +97,4 @@ public class SourceQualityRule implements ScoringRule {
                 return 0.0;   // Unknown source
         }
     }
-}
\ No newline at end of file
+}
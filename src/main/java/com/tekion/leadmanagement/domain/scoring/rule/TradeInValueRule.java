@@ -2,6 +2,8 @@ package com.tekion.leadmanagement.domain.scoring.rule;
 
 import com.tekion.leadmanagement.domain.lead.model.Lead;
 import com.tekion.leadmanagement.domain.lead.model.VehicleInterest;
+import com.tekion.leadmanagement.domain.scoring.model.LeadColumns;
+import com.tekion.leadmanagement.domain.scoring.model.ScoringContext;
 
 /**
  * Scoring rule that evaluates lead quality based on trade-in value.
@@ -31,7 +33,13 @@ import com.tekion.leadmanagement.domain.lead.model.VehicleInterest;
  *
  * @see VehicleInterest#getTradeInValue() for trade-in value source
  */
-public class TradeInValueRule implements ScoringRule {
+public class TradeInValueRule implements ColumnarScoringRule {
+
+    /** Factors of: no lead, no or zero trade-in, $1-$5,000, $5,001-$10,000, &gt;$10,000. */
+    private static final double[] FACTORS = {0.0, 0.1, 0.4, 0.7, 1.0};
+
+    /** Smallest trade-in of each tier above "none": $1, $5,001 and $10,001. */
+    private static final int[] TIER_FLOORS = {1, 5_001, 10_001};
 
     @Override
     public String getName() {
@@ -43,28 +51,54 @@ public class TradeInValueRule implements ScoringRule {
         return 25;
     }
 
+    @Override
+    public int bucketCount() {
+        return FACTORS.length;
+    }
+
     /**
-     * Evaluates the lead based on their trade-in vehicle value.
+     * Classifies the lead by their trade-in vehicle value.
      *
-     * @param lead The lead to evaluate
-     * @return Factor from 0.1-1.0 based on trade-in value (higher = better)
+     * @param lead The lead to classify
+     * @return 0 for a null lead, otherwise 1-4 by trade-in tier (higher = better)
      */
     @Override
-    public double evaluate(Lead lead) {
+    public int bucketOf(Lead lead) {
         // Handle null lead gracefully
-        if (lead == null) return 0.0;
+        if (lead == null) return 0;
 
         VehicleInterest vi = lead.getVehicleInterest();
-        if (vi == null) return 0.1; // No vehicle info = minimal score
+        if (vi == null) return 1; // No vehicle info = minimal score
 
         // Get trade-in value (may be empty Optional)
         Integer tradeIn = vi.getTradeInValue().orElse(null);
-        if (tradeIn == null) return 0.1; // No trade-in specified
+        if (tradeIn == null) return 1; // No trade-in specified
+
+        // Bucket by trade-in value tiers
+        if (tradeIn > 10_000) return 4;  // High value trade-in
+        if (tradeIn > 5_000) return 3;   // Medium value trade-in
+        if (tradeIn > 0) return 2;       // Low value trade-in
+        return 1;                        // Zero or negative (shouldn't happen)
+    }
 
-        // Score based on trade-in value tiers
-        if (tradeIn > 10_000) return 1.0;  // High value trade-in
-        if (tradeIn > 5_000) return 0.7;   // Medium value trade-in
-        if (tradeIn > 0) return 0.4;       // Low value trade-in
-        return 0.1;                         // Zero or negative (shouldn't happen)
+    /**
+     * Classifies a batch by trade-in value.
+     *
+     * @param columns The batch's features
+     * @param context Unused; trade-in value does not depend on time
+     * @param buckets Receives 1-4 per lead, as {@link #bucketOf(Lead)}
+     * @return Always true
+     */
+    @Override
+    public boolean bucketColumn(LeadColumns columns, ScoringContext context, int[] buckets) {
+        // No vehicle or no trade-in is bucket 1; each tier passed adds one
+        ColumnBuckets.steps(columns.tradeInValues(), columns.size(),
+                LeadColumns.NO_INT, 1, 1, 1, TIER_FLOORS, buckets);
+        return true;
+    }
+
+    @Override
+    public double bucketFactor(int bucket) {
+        return FACTORS[bucket];
     }
-}
\ No newline at end of file
+}
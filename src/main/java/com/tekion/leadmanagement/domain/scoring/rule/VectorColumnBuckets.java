@@ -0,0 +1,75 @@
+package com.tekion.leadmanagement.domain.scoring.rule;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link ColumnBuckets} kernels on the incubating Vector API.
+ *
+ * <p>Each loop iteration loads one register of values, compares it against
+ * every cut and adds {@code step} in the lanes whose comparison holds,
+ * then blends in the missing bucket. Long columns are counted in long
+ * lanes and narrowed to ints on store. Tails shorter than a register go
+ * through {@link ColumnBuckets#SCALAR}.
+ *
+ * <p>Only ever loaded reflectively by {@link ColumnBuckets}, after
+ * checking that {@code jdk.incubator.vector} is present.
+ */
+final class VectorColumnBuckets implements ColumnBuckets.Kernel {
+
+    private static final VectorSpecies<Integer> INTS = IntVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+
+    /** Int lanes matching {@link #LONGS} one for one, for narrowing long buckets. */
+    private static final VectorSpecies<Integer> INTS_PER_LONG =
+            VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.length() * Integer.SIZE));
+
+    /**
+     * @throws IllegalStateException if the platform's preferred vectors hold
+     *                               fewer than two longs, where the scalar
+     *                               loops are faster
+     */
+    VectorColumnBuckets() {
+        if (LONGS.length() < 2) {
+            throw new IllegalStateException("No SIMD support: " + LONGS);
+        }
+    }
+
+    @Override
+    public void steps(int[] values, int from, int to, int missing, int missingBucket,
+                      int base, int step, int[] cuts, int[] buckets) {
+        int upper = from + INTS.loopBound(to - from);
+        int i = from;
+        for (; i < upper; i += INTS.length()) {
+            IntVector v = IntVector.fromArray(INTS, values, i);
+            IntVector bucket = IntVector.broadcast(INTS, base);
+            for (int cut : cuts) {
+                bucket = bucket.add(step, v.compare(VectorOperators.GE, cut));
+            }
+            bucket.blend(missingBucket, v.compare(VectorOperators.EQ, missing)).intoArray(buckets, i);
+        }
+        ColumnBuckets.SCALAR.steps(values, i, to, missing, missingBucket, base, step, cuts, buckets);
+    }
+
+    @Override
+    public void steps(long[] values, int from, int to, long missing, int missingBucket,
+                      int base, int step, long[] cuts, int[] buckets) {
+        int upper = from + LONGS.loopBound(to - from);
+        int i = from;
+        for (; i < upper; i += LONGS.length()) {
+            LongVector v = LongVector.fromArray(LONGS, values, i);
+            LongVector bucket = LongVector.broadcast(LONGS, base);
+            for (long cut : cuts) {
+                bucket = bucket.add(step, v.compare(VectorOperators.GE, cut));
+            }
+            bucket.blend(missingBucket, v.compare(VectorOperators.EQ, missing))
+                    .convertShape(VectorOperators.L2I, INTS_PER_LONG, 0)
+                    .reinterpretAsInts()
+                    .intoArray(buckets, i);
+        }
+        ColumnBuckets.SCALAR.steps(values, i, to, missing, missingBucket, base, step, cuts, buckets);
+    }
+}
@@ -2,6 +2,8 @@ package com.tekion.leadmanagement.domain.scoring.rule;
 
 import com.tekion.leadmanagement.domain.lead.model.Lead;
 import com.tekion.leadmanagement.domain.lead.model.VehicleInterest;
+import com.tekion.leadmanagement.domain.scoring.model.LeadColumns;
+import com.tekion.leadmanagement.domain.scoring.model.ScoringContext;
 
 /**
  * Scoring rule that evaluates lead priority based on current vehicle age.
@@ -30,7 +32,10 @@ import com.tekion.leadmanagement.domain.lead.model.VehicleInterest;
  *
  * @see VehicleInterest#getCurrentVehicleAge() for age calculation
  */
-public class VehicleAgeRule implements ScoringRule {
+public class VehicleAgeRule implements ColumnarScoringRule {
+
+    /** Factors of: no vehicle info, 0-2 years, 3-4 years, 5+ years. */
+    private static final double[] FACTORS = {0.0, 0.2, 0.6, 1.0};
 
     @Override
     public String getName() {
@@ -42,26 +47,66 @@ public class VehicleAgeRule implements ScoringRule {
         return 25;
     }
 
+    @Override
+    public int bucketCount() {
+        return FACTORS.length;
+    }
+
+    /**
+     * Classifies the lead by their current vehicle's age this year.
+     *
+     * @param lead The lead to classify
+     * @return 0 without vehicle info, otherwise 1-3 by age tier (older = higher)
+     */
+    @Override
+    public int bucketOf(Lead lead) {
+        return bucketOf(lead, ScoringContext.now());
+    }
+
     /**
-     * Evaluates the lead based on their current vehicle's age.
+     * Classifies the lead by their current vehicle's age in the context's year.
      *
-     * @param lead The lead to evaluate
-     * @return Factor from 0.0-1.0 based on vehicle age (older = higher)
+     * @param lead    The lead to classify
+     * @param context The scoring run's clock snapshot
+     * @return 0 without vehicle info, otherwise 1-3 by age tier (older = higher)
      */
     @Override
-    public double evaluate(Lead lead) {
+    public int bucketOf(Lead lead, ScoringContext context) {
         // Handle null cases gracefully
-        if (lead == null) return 0.0;
+        if (lead == null) return 0;
 
         VehicleInterest vi = lead.getVehicleInterest();
-        if (vi == null) return 0.0;
+        if (vi == null) return 0;
 
         // Calculate vehicle age in years
-        int age = vi.getCurrentVehicleAge();
+        int age = vi.getVehicleAge(context.getCurrentYear());
 
-        // Score based on age tiers
-        if (age >= 5) return 1.0;   // High priority: 5+ year old vehicle
-        if (age >= 3) return 0.6;   // Medium priority: 3-4 years old
-        return 0.2;                  // Low priority: newer vehicle (0-2 years)
+        // Bucket by age tiers
+        if (age >= 5) return 3;   // High priority: 5+ year old vehicle
+        if (age >= 3) return 2;   // Medium priority: 3-4 years old
+        return 1;                 // Low priority: newer vehicle (0-2 years)
+    }
+
+    /**
+     * Classifies a batch by vehicle age in the context's year.
+     *
+     * @param columns The batch's features
+     * @param context The scoring run's clock snapshot
+     * @param buckets Receives 0-3 per lead, as {@link #bucketOf(Lead, ScoringContext)}
+     * @return Always true
+     */
+    @Override
+    public boolean bucketColumn(LeadColumns columns, ScoringContext context, int[] buckets) {
+        // Age >= 5 means year < currentYear - 4 and age >= 3 means year < currentYear - 2,
+        // so start at the oldest tier and step down for each cut a model year reaches
+        int currentYear = context.getCurrentYear();
+        ColumnBuckets.steps(columns.vehicleYears(), columns.size(),
+                LeadColumns.NO_INT, 0, 3, -1, new int[]{currentYear - 4, currentYear - 2}, buckets);
+        return true;
+    }
+
+    @Override
+    public double bucketFactor(int bucket) {
+        return FACTORS[bucket];
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,21 @@
 package com.tekion.leadmanagement.domain.scoring.service;
 
 import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.scoring.model.ScoringContext;
 import com.tekion.leadmanagement.domain.scoring.model.ScoringResult;
 import com.tekion.leadmanagement.domain.scoring.rule.ScoringRule;
 
-import java.util.LinkedHashMap;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Engine that computes lead priority scores using configurable rules.
@@ -45,25 +54,101 @@ import java.util.Map;
  * <p>This class is thread-safe if all rules are thread-safe. The engine
  * holds no mutable state between calls to {@code score()}.
  *
+ * <h2>Performance</h2>
+ * <p>Rule weights are validated and captured when the engine is built.
+ * {@link #scoreValue(Lead)} skips the per-rule breakdown and allocates
+ * nothing itself; prefer it when only the number is needed.
+ *
+ * <h2>Time</h2>
+ * <p>Time-based rules are evaluated against a {@link ScoringContext}, one
+ * read of the engine's {@link Clock}. Single-lead calls capture a context
+ * per call; batch calls capture one per batch, so every lead in a batch is
+ * scored at the same instant. Pass a context explicitly to score several
+ * calls at one instant, or build the engine with a fixed clock for
+ * reproducible scores.
+ *
+ * <h2>Batches</h2>
+ * <p>{@link #scoreBatch(List)} and {@link #scoreAndUpdateBatch(List)} split
+ * the input into index ranges and score them on the calling thread plus the
+ * executor of a {@link LeadScoringEngineConfig}, bounded by its maximum
+ * parallelism. By default that is the common {@code ForkJoinPool}; give
+ * heavy re-scoring its own pool.
+ *
+ * <p>When every rule is a {@code ColumnarScoringRule}, as the built-in
+ * rules are, {@code scoreAndUpdateBatch} scores each range column by
+ * column; see {@link ScoringPlan}.
+ *
  * @see ScoringRule for implementing custom scoring criteria
  * @see ScoringResult for the output structure
  */
 public class LeadScoringEngine {
 
-    /** The list of scoring rules to apply (injected at construction). */
-    private final List<ScoringRule> rules;
+    /** The rules, validated and flattened once at construction. */
+    private final ScoringPlan plan;
+
+    /** Source of each scoring run's {@link ScoringContext}. */
+    private final Clock clock;
+
+    /** Executor, parallelism and chunk size of the batch methods. */
+    private final LeadScoringEngineConfig config;
 
     /**
      * Creates a new scoring engine with the given rules.
      *
+     * <p>Rules are validated and their weights read once, here; see
+     * {@link ScoringPlan}.
+     *
      * @param rules List of scoring rules to apply (must not be null or empty)
-     * @throws IllegalArgumentException if rules is null or empty
+     * @throws IllegalArgumentException if rules is null, empty or contains null,
+     *                                  or any rule has a negative weight
      */
     public LeadScoringEngine(List<ScoringRule> rules) {
-        if (rules == null || rules.isEmpty()) {
-            throw new IllegalArgumentException("rules cannot be null/empty");
+        this(rules, Clock.systemDefaultZone());
+    }
+
+    /**
+     * Creates a scoring engine that reads time from the given clock.
+     *
+     * @param rules List of scoring rules to apply (must not be null or empty)
+     * @param clock Clock for time-based rules; its zone defines the calendar year
+     * @throws IllegalArgumentException if clock is null, rules is null, empty or
+     *                                  contains null, or any rule has a negative weight
+     */
+    public LeadScoringEngine(List<ScoringRule> rules, Clock clock) {
+        this(rules, clock, LeadScoringEngineConfig.builder().build());
+    }
+
+    /**
+     * Creates a scoring engine that reads time from the given clock and
+     * scores batches as configured.
+     *
+     * @param rules  List of scoring rules to apply (must not be null or empty)
+     * @param clock  Clock for time-based rules; its zone defines the calendar year
+     * @param config Batch executor, parallelism and chunk size (must not be null)
+     * @throws IllegalArgumentException if clock or config is null or invalid,
+     *                                  rules is null, empty or contains null,
+     *                                  or any rule has a negative weight
+     */
+    public LeadScoringEngine(List<ScoringRule> rules, Clock clock, LeadScoringEngineConfig config) {
+        if (clock == null) {
+            throw new IllegalArgumentException("clock cannot be null");
         }
-        this.rules = rules;
+        if (config == null) {
+            throw new IllegalArgumentException("config cannot be null");
+        }
+        config.validate();
+        this.plan = new ScoringPlan(rules);
+        this.clock = clock;
+        this.config = config;
+    }
+
+    /**
+     * Captures the engine's clock for one scoring run.
+     *
+     * @return A context fixed at the clock's current instant
+     */
+    public ScoringContext newContext() {
+        return ScoringContext.of(clock);
     }
 
     /**
@@ -75,68 +160,80 @@ public class LeadScoringEngine {
      *
      * @param lead The lead to score (must not be null)
      * @return ScoringResult containing final score and per-rule breakdown
-     * @throws IllegalArgumentException if lead is null or any rule has negative weight
+     * @throws IllegalArgumentException if lead is null
      */
     public ScoringResult score(Lead lead) {
+        return score(lead, newContext());
+    }
+
+    /**
+     * Scores a lead as of the context's instant.
+     *
+     * @param lead    The lead to score (must not be null)
+     * @param context The instant to score at (must not be null)
+     * @return ScoringResult containing final score and per-rule breakdown
+     * @throws IllegalArgumentException if lead or context is null
+     */
+    public ScoringResult score(Lead lead, ScoringContext context) {
         if (lead == null) {
             throw new IllegalArgumentException("lead cannot be null");
         }
+        if (context == null) {
+            throw new IllegalArgumentException("context cannot be null");
+        }
+        return plan.score(lead, context);
+    }
 
-        // LinkedHashMap preserves insertion order for consistent breakdown display
-        Map<String, Double> breakdown = new LinkedHashMap<>();
-        double weightedSum = 0.0;
-        int totalWeight = 0;
-
-        // Apply each rule and accumulate weighted scores
-        for (ScoringRule rule : rules) {
-            // Evaluate the rule and clamp to valid range
-            double factor = clamp01(rule.evaluate(lead));
-            breakdown.put(rule.getName(), factor);
-
-            // Validate weight is non-negative
-            int weight = rule.getWeight();
-            if (weight < 0) {
-                throw new IllegalArgumentException("Negative weight for rule: " + rule.getName());
-            }
+    /**
+     * Computes only the final score of a lead.
+     *
+     * <p>Returns the same value as {@code score(lead).getFinalScore()} but
+     * builds no breakdown, so the engine allocates nothing per call. Use it
+     * wherever the breakdown is not needed, such as bulk re-scoring.
+     *
+     * @param lead The lead to score (must not be null)
+     * @return Final score from 0 to 100
+     * @throws IllegalArgumentException if lead is null
+     */
+    public int scoreValue(Lead lead) {
+        return scoreValue(lead, newContext());
+    }
 
-            // Accumulate weighted contribution
-            weightedSum += factor * weight;
-            totalWeight += weight;
+    /**
+     * Computes only the final score of a lead as of the context's instant.
+     *
+     * @param lead    The lead to score (must not be null)
+     * @param context The instant to score at (must not be null)
+     * @return Final score from 0 to 100
+     * @throws IllegalArgumentException if lead or context is null
+     */
+    public int scoreValue(Lead lead, ScoringContext context) {
+        if (lead == null) {
+            throw new IllegalArgumentException("lead cannot be null");
         }
-
-        // Calculate final normalized score
-        int finalScore;
-        if (totalWeight == 0) {
-            // Edge case: all rules have zero weight
-            finalScore = 0;
-        } else {
-            // Normalize to 0-100 range and round
-            finalScore = (int) Math.round((weightedSum / totalWeight) * 100.0);
+        if (context == null) {
+            throw new IllegalArgumentException("context cannot be null");
         }
-
-        // Return immutable result - wrap breakdown in unmodifiable map
-        return ScoringResult.builder()
-                .finalScore(finalScore)
-                .breakdown(Map.copyOf(breakdown))
-                .build();
+        return plan.scoreValue(lead, context);
     }
 
     /**
      * Scores multiple leads in batch for improved performance.
      *
-     * <p>This method processes leads in parallel using Java's parallel streams,
-     * which can significantly improve throughput when scoring many leads.
-     *
-     * <h2>Performance</h2>
-     * <p>For large batches (100+ leads), parallel processing can provide
-     * 2-4x speedup depending on available CPU cores.
+     * <p>Leads are scored in parallel, one index range per task, on the
+     * calling thread and the configured executor; see
+     * {@link LeadScoringEngineConfig}. Null leads and leads without an ID
+     * are skipped.
      *
      * <h2>Thread Safety</h2>
      * <p>This method is thread-safe if all rules are thread-safe.
      *
+     * <p>The clock is read once, so every lead is scored at the same instant.
+     *
      * @param leads List of leads to score (must not be null)
      * @return Map of leadId → ScoringResult for each lead
      * @throws IllegalArgumentException if leads is null
+     * @throws IllegalStateException    if two leads share an ID
      */
     public Map<String, ScoringResult> scoreBatch(List<Lead> leads) {
         if (leads == null) {
@@ -146,13 +243,26 @@ public class LeadScoringEngine {
             return Map.of();
         }
 
-        // Use parallel stream for batch processing
-        return leads.parallelStream()
-                .filter(lead -> lead != null && lead.getLeadId() != null)
-                .collect(java.util.stream.Collectors.toMap(
-                        Lead::getLeadId,
-                        this::score
-                ));
+        // One clock read for the whole batch
+        ScoringContext context = newContext();
+        List<Lead> items = indexable(leads);
+        ScoringResult[] results = new ScoringResult[items.size()];
+        forEachRange(items.size(), (from, to) -> {
+            for (int i = from; i < to; i++) {
+                Lead lead = items.get(i);
+                if (lead != null && lead.getLeadId() != null) {
+                    results[i] = plan.score(lead, context);
+                }
+            }
+        });
+
+        Map<String, ScoringResult> byId = new HashMap<>((int) (results.length / 0.75f) + 1);
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != null && byId.putIfAbsent(items.get(i).getLeadId(), results[i]) != null) {
+                throw new IllegalStateException("Duplicate leadId in batch: " + items.get(i).getLeadId());
+            }
+        }
+        return byId;
     }
 
     /**
@@ -160,6 +270,14 @@ public class LeadScoringEngine {
      *
      * <p>This is a convenience method that combines scoring with updating
      * the lead's score property.
+     * The clock is read once for the whole batch, and leads are scored in
+     * parallel like {@link #scoreBatch(List)}. Each range is scored column
+     * by column when the rules support it, with the same results as
+     * {@link #scoreValue(Lead, ScoringContext)}.
+     *
+     * <p>The given leads themselves are modified. Leads read from a
+     * repository may be snapshots shared with other readers, so score
+     * {@link Lead#copy() copies} of them and persist those instead.
      *
      * @param leads List of leads to score and update
      * @return The same list with scores updated
@@ -169,28 +287,137 @@ public class LeadScoringEngine {
             throw new IllegalArgumentException("leads cannot be null");
         }
 
-        leads.parallelStream()
-                .filter(lead -> lead != null)
-                .forEach(lead -> {
-                    ScoringResult result = score(lead);
-                    lead.updateScore(result.getFinalScore());
-                });
+        ScoringContext context = newContext();
+        List<Lead> items = indexable(leads);
+        forEachRange(items.size(), (from, to) -> {
+            Lead[] range = new Lead[to - from];
+            int count = 0;
+            for (int i = from; i < to; i++) {
+                Lead lead = items.get(i);
+                if (lead != null) {
+                    range[count++] = lead;
+                }
+            }
+            int[] scores = new int[count];
+            plan.scoreValues(range, count, context, scores);
+            for (int i = 0; i < count; i++) {
+                range[i].updateScore(scores[i]);
+            }
+        });
 
         return leads;
     }
 
+    // ════════════════════════════════════════════════════════════════
+    // BATCH SCHEDULING
+    // ════════════════════════════════════════════════════════════════
+
+    /** Scores the leads at indexes {@code from} (inclusive) to {@code to} (exclusive). */
+    @FunctionalInterface
+    private interface RangeScorer {
+        void score(int from, int to);
+    }
+
+    /** The list itself if indexing is cheap, otherwise an array-backed copy. */
+    private static List<Lead> indexable(List<Lead> leads) {
+        return leads instanceof RandomAccess ? leads : new ArrayList<>(leads);
+    }
+
     /**
-     * Clamps a value to the 0.0-1.0 range.
+     * Runs a scorer over {@code [0, size)} in chunks and returns once every
+     * chunk is done.
      *
-     * <p>This ensures rule implementations that return out-of-range values
-     * don't break the scoring calculation.
+     * <p>The caller always takes part, so a saturated or rejecting executor
+     * slows a batch down but never stalls it. Helpers that start after the
+     * last chunk is claimed return at once.
      *
-     * @param v The value to clamp
-     * @return Value clamped to [0.0, 1.0] range
+     * @throws RuntimeException or Error thrown by the scorer on any thread
      */
-    private double clamp01(double v) {
-        if (v < 0.0) return 0.0;
-        if (v > 1.0) return 1.0;
-        return v;
+    private void forEachRange(int size, RangeScorer scorer) {
+        int chunkSize = config.getChunkSize();
+        int chunks = (int) ((size + (long) chunkSize - 1) / chunkSize);
+        int helpers = Math.min(chunks, config.getMaxParallelism()) - 1;
+        if (helpers <= 0) {
+            scorer.score(0, size);
+            return;
+        }
+
+        BatchRun run = new BatchRun(size, chunkSize, chunks, scorer);
+        Executor executor = config.getExecutor();
+        for (int i = 0; i < helpers; i++) {
+            try {
+                executor.execute(run);
+            } catch (RejectedExecutionException e) {
+                break; // the caller scores what the helpers would have
+            }
+        }
+        run.run();
+        run.await();
+    }
+
+    /** One batch's chunks, claimed in order by whichever thread is free. */
+    private static final class BatchRun implements Runnable {
+
+        private final int size;
+        private final int chunkSize;
+        private final int chunks;
+        private final RangeScorer scorer;
+        private final AtomicInteger nextChunk = new AtomicInteger();
+        private final CountDownLatch unfinished;
+        private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        BatchRun(int size, int chunkSize, int chunks, RangeScorer scorer) {
+            this.size = size;
+            this.chunkSize = chunkSize;
+            this.chunks = chunks;
+            this.scorer = scorer;
+            this.unfinished = new CountDownLatch(chunks);
+        }
+
+        @Override
+        public void run() {
+            int chunk;
+            while ((chunk = nextChunk.getAndIncrement()) < chunks) {
+                int from = chunk * chunkSize;
+                try {
+                    // After a failure the rest of the chunks are only counted off
+                    if (failure.get() == null) {
+                        scorer.score(from, (int) Math.min((long) from + chunkSize, size));
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    unfinished.countDown();
+                }
+            }
+        }
+
+        /** Waits for every chunk, then rethrows the first failure. */
+        void await() {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    unfinished.await();
+                    break;
+                } catch (InterruptedException e) {
+                    // Helpers still write into the caller's results; keep waiting
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+
+            Throwable t = failure.get();
+            if (t instanceof RuntimeException) {
+                throw (RuntimeException) t;
+            }
+            if (t instanceof Error) {
+                throw (Error) t;
+            }
+            if (t != null) {
+                throw new IllegalStateException("Batch scoring failed", t);
+            }
+        }
     }
-}
\ No newline at end of file
+}
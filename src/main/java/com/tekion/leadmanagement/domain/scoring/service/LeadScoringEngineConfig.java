@@ -0,0 +1,66 @@
+package com.tekion.leadmanagement.domain.scoring.service;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Configuration for the batch methods of {@link LeadScoringEngine}.
+ *
+ * <h2>How Batches Are Split</h2>
+ * <p>A batch is cut into contiguous index ranges of {@code chunkSize}
+ * leads. The calling thread and up to {@code maxParallelism - 1} tasks on
+ * {@code executor} claim ranges until none are left, so no more than
+ * {@code maxParallelism} threads score one batch. A batch of at most one
+ * chunk, or a parallelism of 1, is scored on the calling thread alone.
+ *
+ * <h2>Choosing an Executor</h2>
+ * <p>The default is the JVM-wide common {@link ForkJoinPool}, which
+ * {@code parallelStream()} and {@code CompletableFuture} also use. Give
+ * large re-scoring jobs their own pool so they cannot starve other
+ * parallel work; the engine never shuts down the executor it is given.
+ *
+ * <h2>Example Usage</h2>
+ * <pre>{@code
+ * LeadScoringEngineConfig config = LeadScoringEngineConfig.builder()
+ *     .executor(new ForkJoinPool(4))
+ *     .maxParallelism(4)
+ *     .chunkSize(4096)
+ *     .build();
+ * }</pre>
+ */
+@Value
+@Builder
+public class LeadScoringEngineConfig {
+
+    /** Runs the batch tasks beyond the calling thread. */
+    @Builder.Default
+    Executor executor = ForkJoinPool.commonPool();
+
+    /** Most threads, including the caller, that score one batch. */
+    @Builder.Default
+    int maxParallelism = Runtime.getRuntime().availableProcessors();
+
+    /** Leads per index range; each range is scored by one thread. */
+    @Builder.Default
+    int chunkSize = 1024;
+
+    /**
+     * Validates the configuration.
+     *
+     * @throws IllegalArgumentException if any setting is missing or out of range
+     */
+    void validate() {
+        if (executor == null) {
+            throw new IllegalArgumentException("executor cannot be null");
+        }
+        if (maxParallelism <= 0) {
+            throw new IllegalArgumentException("maxParallelism must be positive");
+        }
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+    }
+}
@@ -0,0 +1,303 @@
+package com.tekion.leadmanagement.domain.scoring.service;
+
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.scoring.model.LeadColumns;
+import com.tekion.leadmanagement.domain.scoring.model.ScoringContext;
+import com.tekion.leadmanagement.domain.scoring.model.ScoringResult;
+import com.tekion.leadmanagement.domain.scoring.rule.BucketedScoringRule;
+import com.tekion.leadmanagement.domain.scoring.rule.ColumnarScoringRule;
+import com.tekion.leadmanagement.domain.scoring.rule.ScoringRule;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The rules of a {@link LeadScoringEngine}, validated and flattened into
+ * arrays once when the engine is built.
+ *
+ * <h2>Why Compile</h2>
+ * <p>Rule weights and names are read once here instead of on every lead,
+ * and the total weight is summed once. {@code scoreValue} then walks
+ * two arrays and returns a primitive, so scoring a lead allocates nothing
+ * beyond what the rules themselves allocate.
+ *
+ * <h2>Lookup Table</h2>
+ * <p>{@link BucketedScoringRule}s have finitely many outcomes, so the plan
+ * precomputes their weighted sum for every combination of buckets in a
+ * dense table indexed by mixed-radix bucket numbers. With the five
+ * built-in rules that is 5 × 4 × 5 × 6 × 5 = 3000 entries. If every rule is
+ * bucketed the table holds final scores, and {@code scoreValue} is one
+ * {@code bucketOf} call per rule plus one array read; otherwise it holds
+ * partial sums and the remaining rules are evaluated on top. No table is
+ * built if it would exceed {@value #MAX_TABLE_SIZE} entries.
+ *
+ * <h2>Columnar Batches</h2>
+ * <p>If there is a table and every bucketed rule is a
+ * {@link ColumnarScoringRule}, {@code scoreValues} extracts a run of leads
+ * into {@link LeadColumns} once and builds the table indexes rule by rule,
+ * one pass over the run per rule. The scores come from the same table, so
+ * they match {@code scoreValue} exactly.
+ *
+ * <h2>Consistency</h2>
+ * <p>Bucketed rules are ordered first, and {@code score},
+ * {@code scoreValue} and the table all accumulate the same terms in
+ * that same order, so their scores are always identical. Weights are
+ * captured at construction; a rule whose weight changes later must be
+ * recompiled into a new engine.
+ */
+final class ScoringPlan {
+
+    /** Largest lookup table built; about 512 KB of partial sums. */
+    static final int MAX_TABLE_SIZE = 1 << 16;
+
+    /** Bucketed rules first, then the others, each group in the caller's order. */
+    private final ScoringRule[] rules;
+    private final String[] names;
+    private final int[] weights;
+    private final int totalWeight;
+
+    /** The first {@code bucketed.length} entries of {@link #rules}. */
+    private final BucketedScoringRule[] bucketed;
+    private final int[] bucketCounts;
+    private final int[] strides;
+
+    /** Final score per bucket combination, when every rule is bucketed. */
+    private final int[] scoreTable;
+
+    /** Weighted sum of the bucketed rules per combination, when some rules are not. */
+    private final double[] partialTable;
+
+    /** {@link #bucketed} as columnar rules, or null unless all are and there is a table. */
+    private final ColumnarScoringRule[] columnar;
+
+    /**
+     * Compiles a rule list.
+     *
+     * @param rules The rules (must not be null, empty or contain nulls)
+     * @throws IllegalArgumentException if rules is null, empty or contains null,
+     *                                  any rule has a negative weight, or a
+     *                                  bucketed rule has no buckets
+     */
+    ScoringPlan(List<ScoringRule> rules) {
+        if (rules == null || rules.isEmpty()) {
+            throw new IllegalArgumentException("rules cannot be null/empty");
+        }
+        List<BucketedScoringRule> bucketedRules = new ArrayList<>();
+        List<ScoringRule> otherRules = new ArrayList<>();
+        for (ScoringRule rule : rules) {
+            if (rule == null) {
+                throw new IllegalArgumentException("rules cannot contain null");
+            }
+            if (rule instanceof BucketedScoringRule) {
+                bucketedRules.add((BucketedScoringRule) rule);
+            } else {
+                otherRules.add(rule);
+            }
+        }
+
+        int count = rules.size();
+        this.rules = new ScoringRule[count];
+        this.names = new String[count];
+        this.weights = new int[count];
+        this.bucketed = bucketedRules.toArray(new BucketedScoringRule[0]);
+        int total = 0;
+        for (int i = 0; i < count; i++) {
+            ScoringRule rule = i < bucketed.length ? bucketed[i] : otherRules.get(i - bucketed.length);
+            int weight = rule.getWeight();
+            if (weight < 0) {
+                throw new IllegalArgumentException("Negative weight for rule: " + rule.getName());
+            }
+            this.rules[i] = rule;
+            this.names[i] = rule.getName();
+            this.weights[i] = weight;
+            total += weight;
+        }
+        this.totalWeight = total;
+
+        // Mixed-radix strides; the first bucketed rule varies fastest
+        this.bucketCounts = new int[bucketed.length];
+        this.strides = new int[bucketed.length];
+        long tableSize = 1;
+        for (int i = 0; i < bucketed.length; i++) {
+            int buckets = bucketed[i].bucketCount();
+            if (buckets <= 0) {
+                throw new IllegalArgumentException("No buckets for rule: " + bucketed[i].getName());
+            }
+            bucketCounts[i] = buckets;
+            strides[i] = (int) tableSize;
+            tableSize = Math.min(tableSize * buckets, (long) MAX_TABLE_SIZE + 1);
+        }
+
+        double[] sums = bucketed.length > 0 && tableSize <= MAX_TABLE_SIZE ? buildPartialSums((int) tableSize) : null;
+        if (sums != null && otherRules.isEmpty()) {
+            this.scoreTable = new int[sums.length];
+            for (int i = 0; i < sums.length; i++) {
+                scoreTable[i] = finalScore(sums[i]);
+            }
+            this.partialTable = null;
+        } else {
+            this.scoreTable = null;
+            this.partialTable = sums;
+        }
+
+        boolean allColumnar = sums != null;
+        for (BucketedScoringRule rule : bucketed) {
+            allColumnar &= rule instanceof ColumnarScoringRule;
+        }
+        this.columnar = allColumnar ? new ColumnarScoringRule[bucketed.length] : null;
+        for (int i = 0; allColumnar && i < bucketed.length; i++) {
+            columnar[i] = (ColumnarScoringRule) bucketed[i];
+        }
+    }
+
+    /**
+     * Scores a lead without building a breakdown.
+     *
+     * @param lead    The lead to score (must not be null)
+     * @param context The instant to score at (must not be null)
+     * @return Final score from 0 to 100
+     */
+    int scoreValue(Lead lead, ScoringContext context) {
+        if (scoreTable != null) {
+            return scoreTable[tableIndex(lead, context)];
+        }
+        double weightedSum = 0.0;
+        int first = 0;
+        if (partialTable != null) {
+            weightedSum = partialTable[tableIndex(lead, context)];
+            first = bucketed.length;
+        }
+        for (int i = first; i < rules.length; i++) {
+            weightedSum += clamp01(rules[i].evaluate(lead, context)) * weights[i];
+        }
+        return finalScore(weightedSum);
+    }
+
+    /**
+     * Scores a run of leads, column by column when the rules allow it.
+     *
+     * @param leads   The leads to score; the first {@code count} must not be null
+     * @param count   Number of leads to score
+     * @param context The instant to score at (must not be null)
+     * @param scores  Receives the final score of each lead, in order
+     */
+    void scoreValues(Lead[] leads, int count, ScoringContext context, int[] scores) {
+        if (columnar == null) {
+            for (int i = 0; i < count; i++) {
+                scores[i] = scoreValue(leads[i], context);
+            }
+            return;
+        }
+
+        LeadColumns columns = LeadColumns.of(leads, count);
+        int[] index = new int[count];
+        int[] buckets = new int[count];
+        for (int r = 0; r < columnar.length; r++) {
+            if (!columnar[r].bucketColumn(columns, context, buckets)) {
+                for (int i = 0; i < count; i++) {
+                    buckets[i] = columnar[r].bucketOf(leads[i], context);
+                }
+            }
+            int stride = strides[r];
+            for (int i = 0; i < count; i++) {
+                int bucket = buckets[i];
+                if (bucket < 0 || bucket >= bucketCounts[r]) {
+                    throw bucketOutOfRange(r, bucket);
+                }
+                index[i] += bucket * stride;
+            }
+        }
+
+        if (scoreTable != null) {
+            for (int i = 0; i < count; i++) {
+                scores[i] = scoreTable[index[i]];
+            }
+            return;
+        }
+        for (int i = 0; i < count; i++) {
+            double weightedSum = partialTable[index[i]];
+            for (int r = bucketed.length; r < rules.length; r++) {
+                weightedSum += clamp01(rules[r].evaluate(leads[i], context)) * weights[r];
+            }
+            scores[i] = finalScore(weightedSum);
+        }
+    }
+
+    /**
+     * Scores a lead and records each rule's clamped factor.
+     *
+     * @param lead    The lead to score (must not be null)
+     * @param context The instant to score at (must not be null)
+     * @return Final score with per-rule breakdown
+     */
+    ScoringResult score(Lead lead, ScoringContext context) {
+        // LinkedHashMap keeps the last factor when two rules share a name
+        Map<String, Double> breakdown = new LinkedHashMap<>(rules.length * 2);
+        double weightedSum = 0.0;
+        for (int i = 0; i < rules.length; i++) {
+            double factor = clamp01(rules[i].evaluate(lead, context));
+            breakdown.put(names[i], factor);
+            weightedSum += factor * weights[i];
+        }
+        return ScoringResult.builder()
+                .finalScore(finalScore(weightedSum))
+                .breakdown(Map.copyOf(breakdown))
+                .build();
+    }
+
+    /** Table position of a lead's bucket combination. */
+    private int tableIndex(Lead lead, ScoringContext context) {
+        int index = 0;
+        for (int i = 0; i < bucketed.length; i++) {
+            int bucket = bucketed[i].bucketOf(lead, context);
+            if (bucket < 0 || bucket >= bucketCounts[i]) {
+                throw bucketOutOfRange(i, bucket);
+            }
+            index += bucket * strides[i];
+        }
+        return index;
+    }
+
+    /** Error for a bucketed rule that broke its {@code bucketCount()} contract. */
+    private IllegalStateException bucketOutOfRange(int rule, int bucket) {
+        return new IllegalStateException(
+                "Rule " + names[rule] + " returned bucket " + bucket + " of " + bucketCounts[rule]);
+    }
+
+    /** Weighted sum of the bucketed rules for every combination, in rule order. */
+    private double[] buildPartialSums(int size) {
+        double[][] terms = new double[bucketed.length][];
+        for (int i = 0; i < bucketed.length; i++) {
+            terms[i] = new double[bucketCounts[i]];
+            for (int bucket = 0; bucket < bucketCounts[i]; bucket++) {
+                terms[i][bucket] = clamp01(bucketed[i].bucketFactor(bucket)) * weights[i];
+            }
+        }
+        double[] sums = new double[size];
+        for (int index = 0; index < size; index++) {
+            double weightedSum = 0.0;
+            for (int i = 0; i < bucketed.length; i++) {
+                weightedSum += terms[i][(index / strides[i]) % bucketCounts[i]];
+            }
+            sums[index] = weightedSum;
+        }
+        return sums;
+    }
+
+    /** Normalizes a weighted sum to 0-100; 0 when every rule has zero weight. */
+    private int finalScore(double weightedSum) {
+        if (totalWeight == 0) {
+            return 0;
+        }
+        return (int) Math.round((weightedSum / totalWeight) * 100.0);
+    }
+
+    /** Clamps a rule's factor to the 0.0-1.0 range. */
+    private static double clamp01(double v) {
+        if (v < 0.0) return 0.0;
+        if (v > 1.0) return 1.0;
+        return v;
+    }
+}
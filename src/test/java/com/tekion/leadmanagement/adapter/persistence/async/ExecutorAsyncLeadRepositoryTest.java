@@ -0,0 +1,140 @@
+package com.tekion.leadmanagement.adapter.persistence.async;
+
+import com.tekion.leadmanagement.adapter.persistence.inmemory.InMemoryLeadRepository;
+import com.tekion.leadmanagement.domain.lead.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExecutorAsyncLeadRepositoryTest {
+
+    private final InMemoryLeadRepository delegate = new InMemoryLeadRepository();
+    private ExecutorAsyncLeadRepository repo;
+
+    @AfterEach
+    void tearDown() {
+        if (repo != null) repo.close();
+    }
+
+    private Lead createLead(String dealerId, String firstName) {
+        return Lead.newLead(
+                dealerId, "tenant-1", "site-1",
+                firstName, "Test",
+                new Email(firstName.toLowerCase() + "@test.com"),
+                new PhoneCoordinate("+1", "4155550123"),
+                LeadSource.WEBSITE,
+                new VehicleInterest("Toyota", "Camry", 2020, 15000)
+        );
+    }
+
+    @Test
+    void shouldRunCallsOnWorkerThreads() {
+        AtomicReference<String> workerName = new AtomicReference<>();
+        InMemoryLeadRepository recording = new InMemoryLeadRepository() {
+            @Override
+            public Lead save(Lead lead) {
+                workerName.set(Thread.currentThread().getName());
+                return super.save(lead);
+            }
+        };
+        repo = new ExecutorAsyncLeadRepository(recording, ExecutorAsyncLeadRepositoryConfig.builder()
+                .threads(1)
+                .threadNamePrefix("lead-io-")
+                .build());
+        Lead lead = createLead("dealer-1", "Alice");
+
+        Optional<Lead> found = repo.save(lead)
+                .thenCompose(saved -> repo.findByIdAndDealerId(saved.getLeadId(), "dealer-1"))
+                .join();
+
+        assertEquals("Alice", found.orElseThrow().getFirstName());
+        assertEquals("lead-io-1", workerName.get());
+        assertEquals(1L, repo.countByDealerIdAndState("dealer-1", LeadState.NEW).join());
+        assertEquals(List.of(lead.getLeadId()),
+                repo.findByDealerIdAndState("dealer-1", LeadState.NEW).join().stream().map(Lead::getLeadId).toList());
+    }
+
+    @Test
+    void shouldCompleteConditionalWritesWithVersionCheckResult() {
+        repo = new ExecutorAsyncLeadRepository(delegate, ExecutorAsyncLeadRepositoryConfig.builder().build());
+        Lead lead = createLead("dealer-1", "Alice");
+
+        assertTrue(repo.saveIfVersion(lead, 0).join());
+        assertFalse(repo.saveIfVersion(lead.copy(), 0).join());
+    }
+
+    @Test
+    void shouldFailFutureInsteadOfThrowing() {
+        repo = new ExecutorAsyncLeadRepository(delegate, ExecutorAsyncLeadRepositoryConfig.builder().build());
+
+        CompletableFuture<Lead> future = repo.save(null);
+
+        ExecutionException failure = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+    }
+
+    @Test
+    void shouldRejectCallsBeyondQueueCapacity() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryLeadRepository blocking = new InMemoryLeadRepository() {
+            @Override
+            public Optional<Lead> findByIdAndDealerId(String leadId, String dealerId) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.findByIdAndDealerId(leadId, dealerId);
+            }
+        };
+        repo = new ExecutorAsyncLeadRepository(blocking, ExecutorAsyncLeadRepositoryConfig.builder()
+                .threads(1)
+                .queueCapacity(1)
+                .build());
+
+        CompletableFuture<Optional<Lead>> running = repo.findByIdAndDealerId("a", "dealer-1");
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Optional<Lead>> queued = repo.findByIdAndDealerId("b", "dealer-1");
+        CompletableFuture<Optional<Lead>> rejected = repo.findByIdAndDealerId("c", "dealer-1");
+
+        CompletionException failure = assertThrows(CompletionException.class, rejected::join);
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+
+        release.countDown();
+        assertTrue(running.join().isEmpty());
+        assertTrue(queued.join().isEmpty());
+    }
+
+    @Test
+    void shouldRejectCallsAfterClose() {
+        repo = new ExecutorAsyncLeadRepository(delegate, ExecutorAsyncLeadRepositoryConfig.builder().build());
+        repo.close();
+
+        CompletionException failure = assertThrows(CompletionException.class,
+                () -> repo.findByIdAndDealerId("a", "dealer-1").join());
+        assertInstanceOf(RejectedExecutionException.class, failure.getCause());
+    }
+
+    @Test
+    void shouldRejectInvalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> new ExecutorAsyncLeadRepository(delegate,
+                ExecutorAsyncLeadRepositoryConfig.builder().threads(0).build()));
+        assertThrows(IllegalArgumentException.class, () -> new ExecutorAsyncLeadRepository(delegate,
+                ExecutorAsyncLeadRepositoryConfig.builder().queueCapacity(-1).build()));
+        assertThrows(IllegalArgumentException.class, () -> new ExecutorAsyncLeadRepository(null,
+                ExecutorAsyncLeadRepositoryConfig.builder().build()));
+    }
+}
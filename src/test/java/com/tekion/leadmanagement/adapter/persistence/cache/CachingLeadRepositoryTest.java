@@ -0,0 +1,233 @@
+package com.tekion.leadmanagement.adapter.persistence.cache;
+
+import com.tekion.leadmanagement.adapter.persistence.inmemory.InMemoryLeadRepository;
+import com.tekion.leadmanagement.domain.lead.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingLeadRepositoryTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    /** Counts the lookups that reach the underlying adapter. */
+    private final InMemoryLeadRepository delegate = new InMemoryLeadRepository() {
+        @Override
+        public Optional<Lead> findByIdAndDealerId(String leadId, String dealerId) {
+            loads.incrementAndGet();
+            return super.findByIdAndDealerId(leadId, dealerId);
+        }
+    };
+
+    private CachingLeadRepository open(long maximumEntries) {
+        return new CachingLeadRepository(delegate, CachingLeadRepositoryConfig.builder()
+                .maximumWeight(maximumEntries)
+                .weigher(lead -> 1)
+                .build());
+    }
+
+    private Lead createLead(String dealerId, String firstName) {
+        return Lead.newLead(
+                dealerId, "tenant-1", "site-1",
+                firstName, "Test",
+                new Email(firstName.toLowerCase() + "@test.com"),
+                new PhoneCoordinate("+1", "4155550123"),
+                LeadSource.WEBSITE,
+                new VehicleInterest("Toyota", "Camry", 2020, 15000)
+        );
+    }
+
+    /** Saves leads straight to the adapter so the cache starts cold. */
+    private List<Lead> seed(String dealerId, String prefix, int count) {
+        List<Lead> leads = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            leads.add(delegate.save(createLead(dealerId, prefix + i)));
+        }
+        return leads;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Read-through and write-through tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldLoadOnMissAndServeRepeatReadsFromCache() {
+        CachingLeadRepository cache = open(100);
+        Lead lead = seed("dealer-1", "Alice", 1).get(0);
+
+        assertEquals("Alice0", cache.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().getFirstName());
+        cache.findByIdAndDealerId(lead.getLeadId(), "dealer-1");
+        cache.findByIdAndDealerId(lead.getLeadId(), "dealer-1");
+
+        assertEquals(1, loads.get());
+        CacheStats stats = cache.stats();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getEntryCount());
+        assertEquals(2.0 / 3, stats.hitRate(), 1e-9);
+    }
+
+    @Test
+    void shouldNotCacheAbsentLeads() {
+        CachingLeadRepository cache = open(100);
+
+        assertTrue(cache.findByIdAndDealerId("missing", "dealer-1").isEmpty());
+        assertTrue(cache.findByIdAndDealerId("missing", "dealer-1").isEmpty());
+
+        assertEquals(2, loads.get());
+        assertEquals(0, cache.stats().getEntryCount());
+    }
+
+    @Test
+    void shouldServeWrittenVersionWithoutLoadingAndIgnoreLaterCallerMutation() {
+        CachingLeadRepository cache = open(100);
+        Lead lead = createLead("dealer-1", "Alice");
+        cache.save(lead);
+        lead.setFirstName("Changed after save");
+
+        Lead cached = cache.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+
+        assertEquals("Alice", cached.getFirstName());
+        assertEquals(1, cached.getVersion());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void shouldRefreshEntryOnConditionalWrite() {
+        CachingLeadRepository cache = open(100);
+        Lead lead = cache.save(createLead("dealer-1", "Alice"));
+
+        Lead update = cache.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().copy();
+        update.setFirstName("Alicia");
+        assertTrue(cache.saveIfVersion(update, 1));
+
+        Lead cached = cache.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals("Alicia", cached.getFirstName());
+        assertEquals(2, cached.getVersion());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    void shouldDropEntryWhenConditionalWriteLoses() {
+        CachingLeadRepository cache = open(100);
+        Lead lead = cache.save(createLead("dealer-1", "Alice"));
+
+        // Another writer bypasses the cache
+        Lead concurrent = delegate.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().copy();
+        concurrent.setFirstName("Other writer");
+        delegate.save(concurrent);
+        loads.set(0);
+
+        Lead stale = lead.copy();
+        stale.setFirstName("Ours");
+        assertFalse(cache.saveIfVersion(stale, 1));
+
+        assertEquals("Other writer", cache.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().getFirstName());
+        assertEquals(1, loads.get());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Invalidation tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldInvalidateOnlyTheGivenDealer() {
+        CachingLeadRepository cache = open(100);
+        Lead east = seed("dealer-east", "East", 1).get(0);
+        Lead west = seed("dealer-west", "West", 1).get(0);
+        cache.findByIdAndDealerId(east.getLeadId(), "dealer-east");
+        cache.findByIdAndDealerId(west.getLeadId(), "dealer-west");
+
+        Lead bulk = east.copy();
+        bulk.setFirstName("Reimported");
+        delegate.save(bulk);
+        cache.invalidateDealer("dealer-east");
+        loads.set(0);
+
+        assertEquals("Reimported", cache.findByIdAndDealerId(east.getLeadId(), "dealer-east").orElseThrow().getFirstName());
+        assertEquals("West0", cache.findByIdAndDealerId(west.getLeadId(), "dealer-west").orElseThrow().getFirstName());
+        assertEquals(1, loads.get());
+
+        // The reloaded entry is cached under the new generation
+        cache.findByIdAndDealerId(east.getLeadId(), "dealer-east");
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void shouldInvalidateSingleLeadAndEverything() {
+        CachingLeadRepository cache = open(100);
+        List<Lead> leads = seed("dealer-1", "Lead", 3);
+        leads.forEach(lead -> cache.findByIdAndDealerId(lead.getLeadId(), "dealer-1"));
+
+        cache.invalidate(leads.get(0).getLeadId(), "dealer-1");
+        assertEquals(2, cache.stats().getEntryCount());
+
+        cache.invalidateAll();
+        assertEquals(0, cache.stats().getEntryCount());
+        assertEquals(0, cache.stats().getWeightedSize());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Eviction tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldStayWithinMaximumWeight() {
+        CachingLeadRepository cache = open(10);
+
+        for (int i = 0; i < 100; i++) {
+            cache.save(createLead("dealer-1", "Lead" + i));
+        }
+
+        CacheStats stats = cache.stats();
+        assertEquals(10, stats.getWeightedSize());
+        assertEquals(10, stats.getEntryCount());
+        assertEquals(90, stats.getEvictionCount() + stats.getRejectionCount());
+    }
+
+    @Test
+    void shouldNotCacheLeadHeavierThanMaximum() {
+        CachingLeadRepository cache = new CachingLeadRepository(delegate, CachingLeadRepositoryConfig.builder()
+                .maximumWeight(100)
+                .build());
+        Lead lead = cache.save(createLead("dealer-1", "Alice"));
+
+        assertEquals(0, cache.stats().getEntryCount());
+        assertEquals(1, cache.stats().getRejectionCount());
+        assertTrue(cache.findByIdAndDealerId(lead.getLeadId(), "dealer-1").isPresent());
+    }
+
+    @Test
+    void shouldKeepFrequentlyReadLeadsThroughOneOffScan() {
+        CachingLeadRepository cache = open(100);
+        List<Lead> hotSet = seed("dealer-1", "Hot", 50);
+        for (int round = 0; round < 5; round++) {
+            hotSet.forEach(lead -> cache.findByIdAndDealerId(lead.getLeadId(), "dealer-1"));
+        }
+
+        // A report touching every lead once
+        for (Lead lead : seed("dealer-1", "Scan", 1000)) {
+            cache.findByIdAndDealerId(lead.getLeadId(), "dealer-1");
+        }
+        loads.set(0);
+        hotSet.forEach(lead -> cache.findByIdAndDealerId(lead.getLeadId(), "dealer-1"));
+
+        assertTrue(loads.get() <= 5, "hot set reloads after scan: " + loads.get());
+        assertTrue(cache.stats().getWeightedSize() <= 100);
+    }
+
+    @Test
+    void shouldRejectInvalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> new CachingLeadRepository(delegate,
+                CachingLeadRepositoryConfig.builder().maximumWeight(0).build()));
+        assertThrows(IllegalArgumentException.class, () -> new CachingLeadRepository(delegate,
+                CachingLeadRepositoryConfig.builder().windowFraction(1.0).build()));
+        assertThrows(IllegalArgumentException.class, () -> new CachingLeadRepository(null,
+                CachingLeadRepositoryConfig.builder().build()));
+    }
+}
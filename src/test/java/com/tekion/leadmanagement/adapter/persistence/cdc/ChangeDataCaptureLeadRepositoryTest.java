@@ -0,0 +1,242 @@
+package com.tekion.leadmanagement.adapter.persistence.cdc;
+
+import com.tekion.leadmanagement.adapter.persistence.inmemory.InMemoryLeadRepository;
+import com.tekion.leadmanagement.domain.lead.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeDataCaptureLeadRepositoryTest {
+
+    private static final Duration NO_WAIT = Duration.ZERO;
+
+    private final InMemoryLeadRepository delegate = new InMemoryLeadRepository();
+
+    private ChangeDataCaptureLeadRepository open(int historySize, int bufferSize) {
+        return new ChangeDataCaptureLeadRepository(delegate, ChangeDataCaptureLeadRepositoryConfig.builder()
+                .historySize(historySize)
+                .subscriberBufferSize(bufferSize)
+                .build());
+    }
+
+    private Lead createLead(String dealerId, String firstName) {
+        return Lead.newLead(
+                dealerId, "tenant-1", "site-1",
+                firstName, "Test",
+                new Email(firstName.toLowerCase() + "@test.com"),
+                new PhoneCoordinate("+1", "4155550123"),
+                LeadSource.WEBSITE,
+                new VehicleInterest("Toyota", "Camry", 2020, 15000)
+        );
+    }
+
+    private static List<LeadChangeEvent> drain(LeadChangeSubscription subscription) throws InterruptedException {
+        List<LeadChangeEvent> events = new ArrayList<>();
+        for (LeadChangeEvent event; (event = subscription.poll(NO_WAIT)) != null; ) {
+            events.add(event);
+        }
+        return events;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Publishing tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldPublishInsertAndUpdateWithBeforeAndAfter() throws Exception {
+        ChangeDataCaptureLeadRepository repo = open(16, 16);
+        LeadChangeSubscription subscription = repo.subscribe();
+        Lead lead = createLead("dealer-1", "Alice");
+
+        repo.save(lead);
+        Lead update = lead.copy();
+        update.transitionTo(LeadState.CONTACTED);
+        assertTrue(repo.saveIfVersion(update, 1));
+
+        List<LeadChangeEvent> events = drain(subscription);
+        assertEquals(2, events.size());
+
+        LeadChangeEvent insert = events.get(0);
+        assertEquals(LeadChangeEvent.Type.INSERT, insert.getType());
+        assertEquals(1, insert.getSequence());
+        assertEquals(lead.getLeadId(), insert.getLeadId());
+        assertEquals("dealer-1", insert.getDealerId());
+        assertNull(insert.getBefore());
+        assertEquals(1, insert.getAfter().getVersion());
+
+        LeadChangeEvent change = events.get(1);
+        assertEquals(LeadChangeEvent.Type.UPDATE, change.getType());
+        assertEquals(2, change.getSequence());
+        assertEquals(LeadState.NEW, change.getBefore().getState());
+        assertEquals(LeadState.CONTACTED, change.getAfter().getState());
+        assertEquals(2, change.getAfter().getVersion());
+        assertEquals(3, subscription.nextSequence());
+    }
+
+    @Test
+    void shouldNotPublishRejectedConditionalWrite() throws Exception {
+        ChangeDataCaptureLeadRepository repo = open(16, 16);
+        Lead lead = createLead("dealer-1", "Alice");
+        repo.save(lead);
+        LeadChangeSubscription subscription = repo.subscribe();
+
+        assertFalse(repo.saveIfVersion(lead.copy(), 0));
+
+        assertTrue(drain(subscription).isEmpty());
+        assertEquals(1, repo.lastSequence());
+    }
+
+    @Test
+    void shouldPublishBatchInInputOrderChainingRepeatedLeads() throws Exception {
+        ChangeDataCaptureLeadRepository repo = open(16, 16);
+        LeadChangeSubscription subscription = repo.subscribe();
+        Lead first = createLead("dealer-1", "First");
+        Lead second = createLead("dealer-2", "Second");
+        Lead firstAgain = first.copy();
+        firstAgain.setFirstName("First v2");
+
+        repo.saveAll(List.of(first, second, firstAgain));
+
+        List<LeadChangeEvent> events = drain(subscription);
+        assertEquals(List.of("First", "Second", "First v2"),
+                events.stream().map(event -> event.getAfter().getFirstName()).toList());
+        assertNull(events.get(0).getBefore());
+        assertNull(events.get(1).getBefore());
+        assertEquals("First", events.get(2).getBefore().getFirstName());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Subscription tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldSignalGapToSlowSubscriberWithoutBlockingWriters() throws Exception {
+        ChangeDataCaptureLeadRepository repo = open(64, 4);
+        LeadChangeSubscription slow = repo.subscribe();
+
+        for (int i = 0; i < 10; i++) {
+            repo.save(createLead("dealer-1", "Lead" + i));
+        }
+
+        LeadChangeEvent gap = slow.poll(NO_WAIT);
+        assertTrue(gap.isGap());
+        assertEquals(1, gap.getSequence());
+        assertEquals(8, gap.getMissedThrough());
+        assertEquals(List.of(9L, 10L), drain(slow).stream().map(LeadChangeEvent::getSequence).toList());
+    }
+
+    @Test
+    void shouldResumeFromCheckpointWithinHistory() throws Exception {
+        ChangeDataCaptureLeadRepository repo = open(8, 8);
+        for (int i = 0; i < 5; i++) {
+            repo.save(createLead("dealer-1", "Lead" + i));
+        }
+
+        List<LeadChangeEvent> replay = drain(repo.subscribe(3));
+
+        assertEquals(List.of(3L, 4L, 5L), replay.stream().map(LeadChangeEvent::getSequence).toList());
+        assertThrows(IllegalArgumentException.class, () -> repo.subscribe(7));
+        assertThrows(IllegalArgumentException.class, () -> repo.subscribe(0));
+    }
+
+    @Test
+    void shouldStartWithGapWhenCheckpointIsOlderThanHistory() throws Exception {
+        ChangeDataCaptureLeadRepository repo = open(4, 4);
+        for (int i = 0; i < 10; i++) {
+            repo.save(createLead("dealer-1", "Lead" + i));
+        }
+        assertEquals(7, repo.oldestSequence());
+
+        List<LeadChangeEvent> events = drain(repo.subscribe(2));
+
+        assertTrue(events.get(0).isGap());
+        assertEquals(2, events.get(0).getSequence());
+        assertEquals(6, events.get(0).getMissedThrough());
+        assertEquals(List.of(7L, 8L, 9L, 10L),
+                events.subList(1, events.size()).stream().map(LeadChangeEvent::getSequence).toList());
+    }
+
+    @Test
+    void shouldWaitForNextEventAndWakeOnClose() throws Exception {
+        ChangeDataCaptureLeadRepository repo = open(16, 16);
+        LeadChangeSubscription subscription = repo.subscribe();
+        assertNull(subscription.poll(Duration.ofMillis(20)));
+
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<LeadChangeEvent> waiting = pool.submit(() -> subscription.poll(Duration.ofSeconds(10)));
+            Lead lead = createLead("dealer-1", "Late");
+            repo.save(lead);
+            assertEquals(lead.getLeadId(), waiting.get(5, TimeUnit.SECONDS).getLeadId());
+
+            Future<LeadChangeEvent> closed = pool.submit(() -> subscription.poll(Duration.ofSeconds(10)));
+            subscription.close();
+            assertNull(closed.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void shouldPublishEachLeadsChangesInCommitOrder() throws Exception {
+        ChangeDataCaptureLeadRepository repo = open(1 << 14, 1 << 14);
+        List<Lead> leads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            Lead lead = createLead("dealer-1", "Lead" + i);
+            repo.save(lead);
+            leads.add(lead);
+        }
+        LeadChangeSubscription subscription = repo.subscribe();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 200; i++) {
+                        Lead current = repo.findByIdAndDealerId(leads.get((thread + i) % 4).getLeadId(), "dealer-1")
+                                .orElseThrow().copy();
+                        current.updateScore(i % 100);
+                        repo.save(current);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        List<LeadChangeEvent> events = drain(subscription);
+        assertEquals(8 * 200, events.size());
+        Map<String, Long> lastVersion = new HashMap<>();
+        long expectedSequence = 5;
+        for (LeadChangeEvent event : events) {
+            assertEquals(expectedSequence++, event.getSequence());
+            long previous = lastVersion.getOrDefault(event.getLeadId(), 1L);
+            assertEquals(previous, event.getBefore().getVersion());
+            assertEquals(previous + 1, event.getAfter().getVersion());
+            lastVersion.put(event.getLeadId(), event.getAfter().getVersion());
+        }
+    }
+
+    @Test
+    void shouldRejectInvalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> open(0, 1));
+        assertThrows(IllegalArgumentException.class, () -> open(4, 8));
+        assertThrows(IllegalArgumentException.class, () -> new ChangeDataCaptureLeadRepository(null,
+                ChangeDataCaptureLeadRepositoryConfig.builder().build()));
+    }
+}
@@ -0,0 +1,567 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import com.tekion.leadmanagement.domain.lead.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileLeadRepositoryTest {
+
+    @TempDir
+    Path dir;
+
+    private final List<FileLeadRepository> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() throws IOException {
+        for (FileLeadRepository repo : opened) {
+            repo.close();
+        }
+    }
+
+    private FileLeadRepository open() {
+        return open(FileLeadRepositoryConfig.builder().directory(dir).build());
+    }
+
+    private FileLeadRepository open(FileLeadRepositoryConfig config) {
+        FileLeadRepository repo = new FileLeadRepository(config);
+        opened.add(repo);
+        return repo;
+    }
+
+    private Lead createLead(String dealerId, String firstName) {
+        return Lead.newLead(
+                dealerId, "tenant-1", "site-1",
+                firstName, "Test",
+                new Email(firstName.toLowerCase() + "@test.com"),
+                new PhoneCoordinate("+1", "4155550123"),
+                LeadSource.WEBSITE,
+                new VehicleInterest("Toyota", "Camry", 2020, 15000)
+        );
+    }
+
+    private List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().startsWith("wal-"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private List<Path> snapshots() throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(".snap"))
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private void chopBytes(Path file, int bytes) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file.toFile(), "rw")) {
+            raf.setLength(raf.length() - bytes);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Restart tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldRecoverLeadsAfterRestart() throws IOException {
+        FileLeadRepository repo = open();
+        Lead lead = createLead("dealer-1", "John");
+        lead.transitionTo(LeadState.CONTACTED, "agent-1", "Called");
+        repo.save(lead);
+        repo.close();
+
+        Lead recovered = open().findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+
+        assertEquals(lead.getFirstName(), recovered.getFirstName());
+        assertEquals(lead.getEmail(), recovered.getEmail());
+        assertEquals(lead.getPhone(), recovered.getPhone());
+        assertEquals(lead.getVehicleInterest(), recovered.getVehicleInterest());
+        assertEquals(LeadState.CONTACTED, recovered.getState());
+        assertEquals(lead.getCreatedAt(), recovered.getCreatedAt());
+        assertEquals(lead.getAuditTrail(), recovered.getAuditTrail());
+    }
+
+    @Test
+    void shouldRecoverLatestVersionAndIndexes() throws IOException {
+        FileLeadRepository repo = open();
+        Lead low = createLead("dealer-1", "Low");
+        Lead high = createLead("dealer-1", "High");
+        repo.save(low);
+        repo.save(high);
+
+        low.updateScore(10);
+        repo.save(low);
+        high.updateScore(90);
+        high.transitionTo(LeadState.CONTACTED, "agent-1", "Called");
+        repo.save(high);
+        repo.close();
+
+        FileLeadRepository reopened = open();
+
+        assertEquals(List.of(high.getLeadId(), low.getLeadId()),
+                reopened.findByDealerIdOrderByScore("dealer-1", 10).stream()
+                        .map(Lead::getLeadId).collect(Collectors.toList()));
+        assertEquals(1, reopened.findByDealerIdAndState("dealer-1", LeadState.NEW).size());
+        assertEquals(1, reopened.findByDealerIdAndState("dealer-1", LeadState.CONTACTED).size());
+    }
+
+    @Test
+    void shouldRecoverWithoutCleanClose() {
+        // ALWAYS fsyncs before save() returns, so an abandoned instance loses nothing
+        Lead lead = createLead("dealer-1", "John");
+        open().save(lead);
+
+        assertTrue(open().findByIdAndDealerId(lead.getLeadId(), "dealer-1").isPresent());
+    }
+
+    @Test
+    void shouldRejectInvalidLeads() {
+        FileLeadRepository repo = open();
+
+        assertThrows(IllegalArgumentException.class, () -> repo.save(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> repo.save(Lead.builder().leadId("lead-1").dealerId(" ").build()));
+    }
+
+    @Test
+    void shouldRecoverBatchAfterRestart() throws IOException {
+        FileLeadRepository repo = open();
+        List<Lead> batch = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            batch.add(createLead("dealer-" + (i % 4), "Lead" + i));
+        }
+        repo.saveAll(batch);
+        batch.get(0).updateScore(99);
+        repo.saveAll(List.of(batch.get(0)));
+        repo.close();
+
+        FileLeadRepository reopened = open();
+        for (int d = 0; d < 4; d++) {
+            assertEquals(25, reopened.findByDealerIdAndState("dealer-" + d, LeadState.NEW).size());
+        }
+        assertEquals(99, reopened.findByDealerIdOrderByScore("dealer-0", 1).get(0).getScore());
+    }
+
+    @Test
+    void shouldRecoverCounts() throws IOException {
+        FileLeadRepository repo = open();
+        Lead lead = createLead("dealer-1", "John");
+        repo.save(lead);
+        repo.save(createLead("dealer-1", "Jane"));
+        repo.snapshot();
+        lead.transitionTo(LeadState.CONTACTED);
+        repo.save(lead);
+        repo.close();
+
+        FileLeadRepository reopened = open();
+        assertEquals(1, reopened.countByDealerIdAndState("dealer-1", LeadState.NEW));
+        assertEquals(1, reopened.countByDealerIdAndState("dealer-1", LeadState.CONTACTED));
+        assertEquals(2, reopened.countByDealerIdAndSource("dealer-1", LeadSource.WEBSITE));
+    }
+
+    @Test
+    void shouldWriteNothingWhenBatchContainsInvalidLead() throws IOException {
+        FileLeadRepository repo = open();
+        Lead valid = createLead("dealer-1", "Valid");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> repo.saveAll(List.of(valid, Lead.builder().leadId("x").dealerId("").build())));
+        repo.close();
+
+        assertTrue(open().findByIdAndDealerId(valid.getLeadId(), "dealer-1").isEmpty());
+    }
+
+    @Test
+    void shouldRejectStaleVersionWithoutLoggingIt() throws IOException {
+        FileLeadRepository repo = open();
+        Lead lead = createLead("dealer-1", "John");
+        repo.save(lead);
+
+        Lead winner = lead.copy();
+        Lead loser = lead.copy();
+        winner.updateScore(55);
+        loser.updateScore(11);
+        assertTrue(repo.saveIfVersion(winner, 1));
+        assertFalse(repo.saveIfVersion(loser, 1));
+        repo.close();
+
+        Lead recovered = open().findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(55, recovered.getScore());
+        assertEquals(2, recovered.getVersion());
+    }
+
+    @Test
+    void shouldLogOnlyCoalescedWritesThatPassTheirVersionCheck() throws IOException {
+        FileLeadRepository repo = open(FileLeadRepositoryConfig.builder()
+                .directory(dir).fsyncPolicy(FsyncPolicy.ALWAYS).build());
+        Lead stored = createLead("dealer-1", "John");
+        repo.save(stored);
+
+        Lead fresh = createLead("dealer-2", "Jane");
+        Lead next = stored.copy();
+        next.updateScore(40);
+        Lead then = stored.copy();
+        then.updateScore(70);
+        Lead stale = stored.copy();
+        stale.updateScore(11);
+        boolean[] saved = repo.saveAllCoalesced(List.of(
+                new CoalescedWrite(fresh, 0, 2),
+                new CoalescedWrite(next, 1, 3),
+                // Checked against the version the previous write stored
+                new CoalescedWrite(then, 4, 1),
+                new CoalescedWrite(stale, 1, 1)));
+        repo.close();
+
+        assertArrayEquals(new boolean[]{true, true, true, false}, saved);
+        assertEquals(5, then.getVersion());
+        FileLeadRepository reopened = open();
+        Lead recovered = reopened.findByIdAndDealerId(stored.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(5, recovered.getVersion());
+        assertEquals(70, recovered.getScore());
+        assertEquals(2, reopened.findByIdAndDealerId(fresh.getLeadId(), "dealer-2").orElseThrow().getVersion());
+    }
+
+    @Test
+    void shouldRecoverVersionsFromSnapshotAndLog() throws IOException {
+        FileLeadRepository repo = open();
+        Lead lead = createLead("dealer-1", "John");
+        repo.save(lead);
+        repo.save(lead);
+        repo.snapshot();
+        repo.saveAll(List.of(lead, lead));
+        assertEquals(4, lead.getVersion());
+        repo.close();
+
+        FileLeadRepository reopened = open();
+        assertEquals(4, reopened.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().getVersion());
+        assertTrue(reopened.saveIfVersion(lead.copy(), 4));
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Crash recovery tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldDropTruncatedTailRecord() throws IOException {
+        FileLeadRepository repo = open();
+        Lead first = createLead("dealer-1", "First");
+        Lead second = createLead("dealer-1", "Second");
+        repo.save(first);
+        repo.save(second);
+        repo.close();
+
+        // Crash mid-append: the last record is only partly on disk
+        chopBytes(segments().get(segments().size() - 1), 5);
+
+        FileLeadRepository reopened = open();
+        assertTrue(reopened.findByIdAndDealerId(first.getLeadId(), "dealer-1").isPresent());
+        assertFalse(reopened.findByIdAndDealerId(second.getLeadId(), "dealer-1").isPresent());
+    }
+
+    @Test
+    void shouldAppendAfterTruncatedTailAcrossRestarts() throws IOException {
+        FileLeadRepository repo = open();
+        Lead first = createLead("dealer-1", "First");
+        repo.save(first);
+        repo.save(createLead("dealer-1", "Torn"));
+        repo.close();
+        chopBytes(segments().get(0), 3);
+
+        Lead third = createLead("dealer-1", "Third");
+        FileLeadRepository reopened = open();
+        reopened.save(third);
+        reopened.close();
+
+        FileLeadRepository again = open();
+        assertTrue(again.findByIdAndDealerId(first.getLeadId(), "dealer-1").isPresent());
+        assertTrue(again.findByIdAndDealerId(third.getLeadId(), "dealer-1").isPresent());
+        assertEquals(2, again.findByDealerIdAndState("dealer-1", LeadState.NEW).size());
+    }
+
+    @Test
+    void shouldDropTailRecordWithPartialHeader() throws IOException {
+        FileLeadRepository repo = open();
+        Lead lead = createLead("dealer-1", "John");
+        repo.save(lead);
+        repo.close();
+
+        Path segment = segments().get(0);
+        Files.write(segment, new byte[]{0, 0, 1}, StandardOpenOption.APPEND);
+
+        assertTrue(open().findByIdAndDealerId(lead.getLeadId(), "dealer-1").isPresent());
+    }
+
+    @Test
+    void shouldDropTailRecordWithBadChecksum() throws IOException {
+        FileLeadRepository repo = open();
+        Lead first = createLead("dealer-1", "First");
+        Lead second = createLead("dealer-1", "Second");
+        repo.save(first);
+        repo.save(second);
+        repo.close();
+
+        // Flip the last payload byte of the final record
+        Path segment = segments().get(0);
+        try (RandomAccessFile raf = new RandomAccessFile(segment.toFile(), "rw")) {
+            raf.seek(raf.length() - 1);
+            int b = raf.read();
+            raf.seek(raf.length() - 1);
+            raf.write(b ^ 0xFF);
+        }
+
+        FileLeadRepository reopened = open();
+        assertTrue(reopened.findByIdAndDealerId(first.getLeadId(), "dealer-1").isPresent());
+        assertFalse(reopened.findByIdAndDealerId(second.getLeadId(), "dealer-1").isPresent());
+    }
+
+    @Test
+    void shouldFailOnCorruptSealedSegment() throws IOException {
+        FileLeadRepositoryConfig config = FileLeadRepositoryConfig.builder()
+                .directory(dir).segmentSizeBytes(1024).snapshotEveryRecords(0).build();
+        FileLeadRepository repo = open(config);
+        for (int i = 0; i < 20; i++) {
+            repo.save(createLead("dealer-1", "Lead" + i));
+        }
+        repo.close();
+        assertTrue(segments().size() > 1);
+
+        chopBytes(segments().get(0), 5);
+
+        assertThrows(IllegalStateException.class, () -> open(config));
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Segment and snapshot tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldRollSegmentsAndReplayAll() throws IOException {
+        FileLeadRepositoryConfig config = FileLeadRepositoryConfig.builder()
+                .directory(dir).segmentSizeBytes(1024).snapshotEveryRecords(0).build();
+        FileLeadRepository repo = open(config);
+        for (int i = 0; i < 50; i++) {
+            repo.save(createLead("dealer-" + (i % 3), "Lead" + i));
+        }
+        repo.close();
+
+        assertTrue(segments().size() > 1);
+        FileLeadRepository reopened = open(config);
+        int total = 0;
+        for (int d = 0; d < 3; d++) {
+            total += reopened.findByDealerIdAndState("dealer-" + d, LeadState.NEW).size();
+        }
+        assertEquals(50, total);
+    }
+
+    @Test
+    void shouldReplayTailOnTopOfSnapshot() throws IOException {
+        FileLeadRepositoryConfig config = FileLeadRepositoryConfig.builder()
+                .directory(dir).segmentSizeBytes(1024).snapshotEveryRecords(0).build();
+        FileLeadRepository repo = open(config);
+        Lead lead = createLead("dealer-1", "John");
+        repo.save(lead);
+        for (int i = 0; i < 20; i++) {
+            repo.save(createLead("dealer-1", "Lead" + i));
+        }
+        repo.snapshot();
+
+        lead.updateScore(77);
+        repo.save(lead);
+        repo.close();
+
+        assertEquals(1, snapshots().size());
+        assertEquals(1, segments().size(), "segments covered by the snapshot are deleted");
+
+        FileLeadRepository reopened = open(config);
+        assertEquals(21, reopened.findByDealerIdAndState("dealer-1", LeadState.NEW).size());
+        assertEquals(77, reopened.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().getScore());
+    }
+
+    @Test
+    void shouldKeepOnlyLatestSnapshot() throws IOException {
+        FileLeadRepository repo = open();
+        repo.save(createLead("dealer-1", "First"));
+        repo.snapshot();
+        repo.save(createLead("dealer-1", "Second"));
+        repo.snapshot();
+        repo.close();
+
+        assertEquals(1, snapshots().size());
+        assertEquals(2, open().findByDealerIdAndState("dealer-1", LeadState.NEW).size());
+    }
+
+    @Test
+    void shouldSyncDirectoryAfterSnapshotRenameBeforeDeletingAnything() throws IOException {
+        List<String> seenAtSync = new ArrayList<>();
+        DirectorySync recording = directory -> seenAtSync.add(
+                snapshots().size() + " snapshots, " + segments().size() + " segments");
+        FileLeadRepositoryConfig config = FileLeadRepositoryConfig.builder()
+                .directory(dir).segmentSizeBytes(1024).snapshotEveryRecords(0).build();
+        FileLeadRepository repo = new FileLeadRepository(config, recording);
+        opened.add(repo);
+
+        repo.save(createLead("dealer-1", "First"));
+        repo.snapshot();
+        for (int i = 0; i < 20; i++) {
+            repo.save(createLead("dealer-1", "Lead" + i));
+        }
+        int segmentsBefore = segments().size();
+        repo.snapshot();
+
+        // The second sync saw the new snapshot beside the old one and every segment
+        assertEquals(2, seenAtSync.size());
+        assertEquals("2 snapshots, " + (segmentsBefore + 1) + " segments", seenAtSync.get(1));
+        assertEquals(1, snapshots().size());
+        assertEquals(1, segments().size());
+    }
+
+    @Test
+    void shouldKeepOldSnapshotAndSegmentsWhenDirectorySyncFails() throws IOException {
+        boolean[] failing = {false};
+        DirectorySync flaky = directory -> {
+            if (failing[0]) throw new IOException("sync failed");
+        };
+        FileLeadRepositoryConfig config = FileLeadRepositoryConfig.builder()
+                .directory(dir).segmentSizeBytes(1024).snapshotEveryRecords(0).build();
+        FileLeadRepository repo = new FileLeadRepository(config, flaky);
+        opened.add(repo);
+
+        repo.save(createLead("dealer-1", "First"));
+        repo.snapshot();
+        for (int i = 0; i < 20; i++) {
+            repo.save(createLead("dealer-1", "Lead" + i));
+        }
+        int segmentsBefore = segments().size();
+        failing[0] = true;
+
+        assertThrows(UncheckedIOException.class, repo::snapshot);
+        assertEquals(2, snapshots().size(), "the old snapshot is kept until the new one is durable");
+        assertEquals(segmentsBefore + 1, segments().size());
+    }
+
+    @Test
+    void shouldSnapshotInBackgroundAfterConfiguredRecords() throws Exception {
+        FileLeadRepositoryConfig config = FileLeadRepositoryConfig.builder()
+                .directory(dir).snapshotEveryRecords(10).build();
+        FileLeadRepository repo = open(config);
+        for (int i = 0; i < 10; i++) {
+            repo.save(createLead("dealer-1", "Lead" + i));
+        }
+
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (snapshots().isEmpty() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, snapshots().size());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Concurrency and fsync policy tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldPersistConcurrentSaves() throws Exception {
+        FileLeadRepository repo = open();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String dealerId = "dealer-" + (t % 2);
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 50; i++) {
+                    repo.save(createLead(dealerId, "Lead" + i));
+                }
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+        repo.close();
+
+        FileLeadRepository reopened = open();
+        assertEquals(200, reopened.findByDealerIdAndState("dealer-0", LeadState.NEW).size());
+        assertEquals(200, reopened.findByDealerIdAndState("dealer-1", LeadState.NEW).size());
+    }
+
+    @Test
+    void shouldPersistOnCloseUnderNeverPolicy() throws IOException {
+        FileLeadRepositoryConfig config = FileLeadRepositoryConfig.builder()
+                .directory(dir).fsyncPolicy(FsyncPolicy.NEVER).build();
+        FileLeadRepository repo = open(config);
+        Lead lead = createLead("dealer-1", "John");
+        repo.save(lead);
+        repo.close();
+
+        assertTrue(open(config).findByIdAndDealerId(lead.getLeadId(), "dealer-1").isPresent());
+    }
+
+    @Test
+    void shouldRejectSavesAfterClose() throws IOException {
+        FileLeadRepository repo = open();
+        repo.close();
+
+        assertThrows(IllegalStateException.class, () -> repo.save(createLead("dealer-1", "John")));
+    }
+
+    @Test
+    void shouldRefuseWritesAfterLogFailureUntilReopened() throws IOException {
+        Path store = dir.resolve("store");
+        FileLeadRepositoryConfig config = FileLeadRepositoryConfig.builder()
+                .directory(store).segmentSizeBytes(1024).snapshotEveryRecords(0).build();
+        FileLeadRepository repo = open(config);
+        repo.save(createLead("dealer-1", "John"));
+
+        // The next segment roll cannot create its file
+        try (Stream<Path> files = Files.list(store)) {
+            for (Path file : files.collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(store);
+        UncheckedIOException failure = null;
+        for (int i = 0; i < 20 && failure == null; i++) {
+            try {
+                repo.save(createLead("dealer-1", "User" + i));
+            } catch (UncheckedIOException e) {
+                failure = e;
+            }
+        }
+        assertNotNull(failure);
+
+        // The log stays poisoned even once the directory is back
+        Files.createDirectories(store);
+        assertThrows(IllegalStateException.class, () -> repo.save(createLead("dealer-1", "Jane")));
+        assertThrows(IllegalStateException.class, () -> repo.saveAll(List.of(createLead("dealer-1", "Jane"))));
+        assertThrows(IllegalStateException.class, repo::snapshot);
+
+        FileLeadRepository reopened = open(config);
+        Lead lead = reopened.save(createLead("dealer-1", "Jane"));
+        assertTrue(reopened.findByIdAndDealerId(lead.getLeadId(), "dealer-1").isPresent());
+    }
+
+    @Test
+    void shouldRejectInvalidConfig() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new FileLeadRepository(FileLeadRepositoryConfig.builder().build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new FileLeadRepository(FileLeadRepositoryConfig.builder()
+                        .directory(dir).segmentSizeBytes(10).build()));
+    }
+}
@@ -0,0 +1,319 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import com.tekion.leadmanagement.domain.lead.model.*;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeadRecordCodecTest {
+
+    private Lead createLead() {
+        Lead lead = Lead.newLead(
+                "dealer-1", "tenant-1", "site-1",
+                "John", "Doe",
+                new Email("john@test.com"),
+                new PhoneCoordinate("+1", "4155550123"),
+                LeadSource.WEBSITE,
+                new VehicleInterest("Toyota", "Camry", 2020, 15000)
+        );
+        lead.updateScore(42);
+        lead.transitionTo(LeadState.CONTACTED, "agent-1", "Called");
+        return lead;
+    }
+
+    @Test
+    void shouldRoundTripAllFieldsAndVersion() {
+        Lead lead = createLead();
+        lead.setVersion(9);
+
+        Lead decoded = LeadRecordCodec.decode(LeadRecordCodec.encode(lead));
+
+        assertEquals(lead, decoded);
+        assertEquals(9, decoded.getVersion());
+        assertEquals(lead.getLeadId(), LeadRecordCodec.decodeLeadId(LeadRecordCodec.encode(lead)));
+    }
+
+    @Test
+    void shouldStampVersionInPlace() {
+        Lead lead = createLead();
+        byte[] payload = LeadRecordCodec.encode(lead);
+
+        LeadRecordCodec.writeVersion(payload, Long.MAX_VALUE - 1);
+
+        assertEquals(Long.MAX_VALUE - 1, LeadRecordCodec.decode(payload).getVersion());
+    }
+
+    @Test
+    void shouldEncodeAndDecodeInPlaceInDirectBuffer() {
+        Lead lead = createLead();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(512);
+        buffer.position(7);
+
+        int length = LeadRecordCodec.encode(lead, 5, buffer);
+
+        ByteBuffer record = buffer.duplicate().position(7).limit(7 + length);
+        assertEquals(lead.getLeadId(), LeadRecordCodec.decodeLeadId(record.duplicate()));
+        Lead decoded = LeadRecordCodec.decode(record.asReadOnlyBuffer());
+        assertEquals(5, decoded.getVersion());
+        assertEquals(0, lead.getVersion());
+        decoded.setVersion(0);
+        assertEquals(lead, decoded);
+    }
+
+    @Test
+    void shouldDecodeVersionTwoRecords() throws IOException {
+        Lead lead = createLead();
+        lead.setVersion(5);
+
+        byte[] legacy = encodeLegacy(lead, true);
+
+        Lead decoded = LeadRecordCodec.decode(legacy);
+        assertEquals(lead, decoded);
+        assertEquals(5, decoded.getVersion());
+        assertEquals(lead.getLeadId(), LeadRecordCodec.decodeLeadId(legacy));
+        assertThrows(IllegalArgumentException.class, () -> LeadRecordCodec.writeVersion(legacy, 1));
+    }
+
+    @Test
+    void shouldDecodeVersionOneRecordsWithVersionZero() throws IOException {
+        Lead lead = createLead();
+        lead.setVersion(5);
+
+        byte[] legacy = encodeLegacy(lead, false);
+
+        Lead decoded = LeadRecordCodec.decode(legacy);
+        assertEquals(0, decoded.getVersion());
+        assertEquals(lead.getAuditTrail(), decoded.getAuditTrail());
+        assertEquals(lead.getLeadId(), LeadRecordCodec.decodeLeadId(legacy));
+    }
+
+    @Test
+    void shouldRejectUnknownFormat() {
+        byte[] payload = LeadRecordCodec.encode(createLead());
+        payload[0] = 99;
+
+        assertThrows(IllegalArgumentException.class, () -> LeadRecordCodec.decode(payload));
+        assertThrows(IllegalArgumentException.class,
+                () -> LeadRecordCodec.decode(Arrays.copyOf(payload, 0)));
+    }
+
+    @Test
+    void shouldRejectTruncatedRecords() {
+        byte[] payload = LeadRecordCodec.encode(createLead());
+
+        for (int length = 1; length < payload.length; length++) {
+            byte[] truncated = Arrays.copyOf(payload, length);
+            assertThrows(IllegalArgumentException.class, () -> LeadRecordCodec.decode(truncated),
+                    "length " + length);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Round-trip property tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldRoundTripRandomLeads() {
+        Random random = new Random(20240611L);
+        for (int i = 0; i < 2_000; i++) {
+            Lead lead = randomLead(random);
+
+            Lead decoded = LeadRecordCodec.decode(LeadRecordCodec.encode(lead));
+
+            assertEquals(lead, decoded, "seed iteration " + i);
+            assertEquals(lead.getVersion(), decoded.getVersion(), "seed iteration " + i);
+        }
+    }
+
+    @Test
+    void shouldRoundTripThroughDirectBuffersBackToBack() {
+        Random random = new Random(7L);
+        List<Lead> leads = new ArrayList<>();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        buffer.position(13);   // Records need not start at 0
+        for (int i = 0; i < 200; i++) {
+            Lead lead = randomLead(random);
+            leads.add(lead);
+            LeadRecordCodec.encode(lead, buffer);
+        }
+
+        buffer.flip().position(13);
+        for (Lead lead : leads) {
+            assertEquals(lead, LeadRecordCodec.decode(buffer));
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    void shouldSignalOverflowForSmallBuffers() {
+        Lead lead = createLead();
+        int size = LeadRecordCodec.encode(lead).length;
+
+        assertThrows(BufferOverflowException.class,
+                () -> LeadRecordCodec.encode(lead, ByteBuffer.allocate(size - 1)));
+        assertEquals(size, LeadRecordCodec.encode(lead, ByteBuffer.allocate(size)));
+    }
+
+    @Test
+    void shouldEncodeRepeatedStringsOnce() throws IOException {
+        Lead lead = createLead();
+        List<AuditEntry> trail = new ArrayList<>(lead.getAuditTrail());
+        Instant at = lead.getUpdatedAt();
+        for (int i = 0; i < 30; i++) {
+            at = at.plusSeconds(3_600);
+            trail.add(AuditEntry.builder()
+                    .timestamp(at)
+                    .actor("agent-1")
+                    .fromState(LeadState.CONTACTED)
+                    .toState(LeadState.CONTACTED)
+                    .reason("Left voicemail, no answer")
+                    .build());
+        }
+        lead.setAuditTrail(trail);
+
+        byte[] compact = LeadRecordCodec.encode(lead);
+        byte[] legacy = encodeLegacy(lead, true);
+
+        // A repeated entry is a dozen bytes of references and deltas instead of ~60
+        assertTrue(compact.length * 3 < legacy.length, compact.length + " vs " + legacy.length);
+        assertEquals(lead, LeadRecordCodec.decode(compact));
+    }
+
+    private static Lead randomLead(Random random) {
+        Instant createdAt = random.nextInt(10) == 0 ? null
+                : Instant.ofEpochSecond(1_500_000_000L + random.nextInt(300_000_000), random.nextInt(1_000_000_000));
+        List<AuditEntry> trail = new ArrayList<>();
+        int trailSize = random.nextInt(6);
+        Instant at = createdAt != null ? createdAt : Instant.EPOCH;
+        for (int i = 0; i < trailSize; i++) {
+            at = at.plusSeconds(random.nextInt(100_000) - 1_000).plusNanos(random.nextInt(1_000));
+            trail.add(AuditEntry.builder()
+                    .timestamp(random.nextInt(8) == 0 ? null : at)
+                    .actor(random.nextBoolean() ? "SYSTEM" : randomString(random))
+                    .fromState(randomEnum(random, LeadState.values()))
+                    .toState(randomEnum(random, LeadState.values()))
+                    .reason(randomString(random))
+                    .build());
+        }
+        return Lead.builder()
+                .version(random.nextInt(4) == 0 ? Long.MAX_VALUE : random.nextInt(1_000))
+                .leadId(UUID.randomUUID().toString())
+                .dealerId("dealer-" + random.nextInt(5))
+                .tenantId(randomString(random))
+                .siteId(randomString(random))
+                .firstName(randomString(random))
+                .lastName(randomString(random))
+                .email(random.nextInt(5) == 0 ? null : new Email("user" + random.nextInt(1000) + "@test.com"))
+                .phone(random.nextInt(5) == 0 ? null
+                        : new PhoneCoordinate("+" + (1 + random.nextInt(99)), String.valueOf(1_000_000_000L + random.nextInt(900_000_000))))
+                .source(randomEnum(random, LeadSource.values()))
+                .state(randomEnum(random, LeadState.values()))
+                .vehicleInterest(random.nextInt(5) == 0 ? null
+                        : new VehicleInterest("Make" + random.nextInt(3), "Model" + random.nextInt(3),
+                        1990 + random.nextInt(36), random.nextBoolean() ? null : random.nextInt(100_000)))
+                .score(random.nextBoolean() ? null : random.nextInt(101))
+                .createdAt(createdAt)
+                .updatedAt(random.nextInt(10) == 0 ? null : at.plusMillis(random.nextInt(10_000)))
+                .auditTrail(trail)
+                .build();
+    }
+
+    /** Null, empty, ASCII, or non-ASCII including a surrogate pair. */
+    private static String randomString(Random random) {
+        switch (random.nextInt(6)) {
+            case 0:
+                return null;
+            case 1:
+                return "";
+            case 2:
+                return "Zoë Ünal " + random.nextInt(100);
+            case 3:
+                return "emoji 🚗 " + random.nextInt(100);
+            default:
+                StringBuilder value = new StringBuilder();
+                int length = random.nextInt(200);
+                for (int i = 0; i < length; i++) {
+                    value.append((char) (' ' + random.nextInt(95)));
+                }
+                return value.toString();
+        }
+    }
+
+    private static <E extends Enum<E>> E randomEnum(Random random, E[] values) {
+        int index = random.nextInt(values.length + 1);
+        return index == values.length ? null : values[index];
+    }
+
+    /** The fixed-width layout written by format versions 1 and 2. */
+    private static byte[] encodeLegacy(Lead lead, boolean withLockVersion) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(withLockVersion ? 2 : 1);
+            if (withLockVersion) out.writeLong(lead.getVersion());
+            writeString(out, lead.getLeadId());
+            writeString(out, lead.getDealerId());
+            writeString(out, lead.getTenantId());
+            writeString(out, lead.getSiteId());
+            writeString(out, lead.getFirstName());
+            writeString(out, lead.getLastName());
+            writeString(out, lead.getEmail() != null ? lead.getEmail().getValue() : null);
+            out.writeBoolean(lead.getPhone() != null);
+            if (lead.getPhone() != null) {
+                writeString(out, lead.getPhone().getCountryCode());
+                writeString(out, lead.getPhone().getNumber());
+            }
+            out.writeByte(lead.getSource() != null ? lead.getSource().ordinal() : -1);
+            out.writeByte(lead.getState() != null ? lead.getState().ordinal() : -1);
+            VehicleInterest vi = lead.getVehicleInterest();
+            out.writeBoolean(vi != null);
+            if (vi != null) {
+                writeString(out, vi.getMake());
+                writeString(out, vi.getModel());
+                out.writeInt(vi.getYear());
+                writeInteger(out, vi.getTradeInValue().orElse(null));
+            }
+            writeInteger(out, lead.getScore());
+            writeInstant(out, lead.getCreatedAt());
+            writeInstant(out, lead.getUpdatedAt());
+            out.writeInt(lead.getAuditTrail().size());
+            for (AuditEntry entry : lead.getAuditTrail()) {
+                writeInstant(out, entry.getTimestamp());
+                writeString(out, entry.getActor());
+                out.writeByte(entry.getFromState() != null ? entry.getFromState().ordinal() : -1);
+                out.writeByte(entry.getToState() != null ? entry.getToState().ordinal() : -1);
+                writeString(out, entry.getReason());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeUTF(value);
+    }
+
+    private static void writeInteger(DataOutputStream out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) out.writeInt(value);
+    }
+
+    private static void writeInstant(DataOutputStream out, Instant value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.getEpochSecond());
+            out.writeInt(value.getNano());
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import com.tekion.leadmanagement.domain.lead.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MappedLeadRepositoryTest {
+
+    private static final int SLOT_SIZE = 1024;
+
+    @TempDir
+    Path dir;
+
+    private final List<MappedLeadRepository> opened = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        opened.forEach(MappedLeadRepository::close);
+    }
+
+    private MappedLeadRepository open() {
+        return open(MappedLeadRepositoryConfig.builder().directory(dir).slotsPerFile(64).build());
+    }
+
+    private MappedLeadRepository open(MappedLeadRepositoryConfig config) {
+        MappedLeadRepository repo = new MappedLeadRepository(config);
+        opened.add(repo);
+        return repo;
+    }
+
+    private Lead createLead(String dealerId, String firstName) {
+        return Lead.newLead(
+                dealerId, "tenant-1", "site-1",
+                firstName, "Test",
+                new Email(firstName.toLowerCase() + "@test.com"),
+                new PhoneCoordinate("+1", "4155550123"),
+                LeadSource.WEBSITE,
+                new VehicleInterest("Toyota", "Camry", 2020, 15000)
+        );
+    }
+
+    private byte[] readSlot(int slot) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(dir.resolve("slots-00000.dat").toFile(), "r")) {
+            byte[] bytes = new byte[SLOT_SIZE];
+            raf.seek((long) slot * SLOT_SIZE);
+            raf.readFully(bytes);
+            return bytes;
+        }
+    }
+
+    private void writeSlot(int slot, byte[] bytes) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(dir.resolve("slots-00000.dat").toFile(), "rw")) {
+            raf.seek((long) slot * SLOT_SIZE);
+            raf.write(bytes);
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Basic operations
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldSaveAndFindDecodedCopy() {
+        MappedLeadRepository repo = open();
+        Lead lead = createLead("dealer-1", "John");
+        repo.save(lead);
+
+        Lead found = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+
+        assertNotSame(lead, found);
+        assertEquals(lead.getLeadId(), found.getLeadId());
+        assertEquals(lead.getEmail(), found.getEmail());
+        assertEquals(lead.getVehicleInterest(), found.getVehicleInterest());
+        assertTrue(repo.findByIdAndDealerId(lead.getLeadId(), "dealer-2").isEmpty());
+    }
+
+    @Test
+    void shouldUpdateStateAndScoreIndexesOnResave() {
+        MappedLeadRepository repo = open();
+        Lead low = createLead("dealer-1", "Low");
+        Lead high = createLead("dealer-1", "High");
+        Lead unscored = createLead("dealer-1", "Unscored");
+        repo.save(low);
+        repo.save(high);
+        repo.save(unscored);
+
+        low.updateScore(10);
+        repo.save(low);
+        high.updateScore(90);
+        high.transitionTo(LeadState.CONTACTED, "agent-1", "Called");
+        repo.save(high);
+
+        assertEquals(List.of(high.getLeadId(), low.getLeadId(), unscored.getLeadId()),
+                repo.findByDealerIdOrderByScore("dealer-1", 10).stream()
+                        .map(Lead::getLeadId).collect(Collectors.toList()));
+        assertEquals(List.of(high.getLeadId()),
+                repo.findByDealerIdOrderByScore("dealer-1", 1).stream()
+                        .map(Lead::getLeadId).collect(Collectors.toList()));
+        assertEquals(2, repo.findByDealerIdAndState("dealer-1", LeadState.NEW).size());
+        assertEquals(1, repo.findByDealerIdAndState("dealer-1", LeadState.CONTACTED).size());
+    }
+
+    @Test
+    void shouldKeepSavingAsAuditTrailOutgrowsSlot() {
+        MappedLeadRepository repo = open();
+        Lead lead = createLead("dealer-1", "John");
+        repo.save(lead);
+
+        for (int i = 0; i < 40; i++) {
+            lead.mergeDuplicate(createLead("dealer-1", "Dup" + i), "agent-1");
+            repo.save(lead);
+        }
+        repo.close();
+
+        MappedLeadRepository reopened = open();
+        Lead found = reopened.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(41, found.getVersion());
+        assertEquals(lead.getAuditTrail(), found.getAuditTrail());
+        assertEquals(1, reopened.findByDealerIdAndState("dealer-1", LeadState.NEW).size());
+        // Each save freed the previous version's overflow slots
+        assertFalse(Files.exists(dir.resolve("slots-00001.dat")));
+    }
+
+    @Test
+    void shouldDiscardLeadWithTornOverflowSlot() throws IOException {
+        MappedLeadRepositoryConfig config = MappedLeadRepositoryConfig.builder()
+                .directory(dir).slotSizeBytes(128).slotsPerFile(64).build();
+        MappedLeadRepository repo = open(config);
+        Lead torn = createLead("dealer-1", "Torn");
+        repo.save(torn);                 // slot 0 plus overflow slots 1..n
+        Lead survivor = createLead("dealer-1", "Survivor");
+        repo.save(survivor);
+        repo.close();
+
+        try (RandomAccessFile raf = new RandomAccessFile(dir.resolve("slots-00000.dat").toFile(), "rw")) {
+            raf.seek(128 + 40);
+            raf.write(raf.read() ^ 0xFF);
+        }
+
+        MappedLeadRepository reopened = open(config);
+        assertTrue(reopened.findByIdAndDealerId(torn.getLeadId(), "dealer-1").isEmpty());
+        assertEquals(survivor.getFirstName(),
+                reopened.findByIdAndDealerId(survivor.getLeadId(), "dealer-1").orElseThrow().getFirstName());
+
+        // The torn lead's slots are reusable
+        for (int i = 0; i < 3; i++) {
+            reopened.save(createLead("dealer-1", "Replacement" + i));
+        }
+        assertEquals(4, reopened.findByDealerIdAndState("dealer-1", LeadState.NEW).size());
+    }
+
+    @Test
+    void shouldGrowIntoAdditionalFiles() {
+        MappedLeadRepository repo = open(MappedLeadRepositoryConfig.builder()
+                .directory(dir).slotsPerFile(4).build());
+        for (int i = 0; i < 30; i++) {
+            repo.save(createLead("dealer-" + (i % 3), "Lead" + i));
+        }
+        repo.close();
+
+        MappedLeadRepository reopened = open(MappedLeadRepositoryConfig.builder()
+                .directory(dir).slotsPerFile(4).build());
+        for (int d = 0; d < 3; d++) {
+            assertEquals(10, reopened.findByDealerIdAndState("dealer-" + d, LeadState.NEW).size());
+        }
+    }
+
+    @Test
+    void shouldSaveAllGroupedByDealer() {
+        MappedLeadRepository repo = open();
+        List<Lead> batch = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            batch.add(createLead("dealer-" + (i % 4), "Lead" + i));
+        }
+
+        assertEquals(batch, repo.saveAll(batch));
+        for (int d = 0; d < 4; d++) {
+            assertEquals(10, repo.findByDealerIdAndState("dealer-" + d, LeadState.NEW).size());
+        }
+        assertThrows(IllegalArgumentException.class, () -> repo.saveAll(null));
+    }
+
+    @Test
+    void shouldSaveOnlyWhenVersionMatches() {
+        MappedLeadRepository repo = open();
+        Lead lead = createLead("dealer-1", "John");
+        assertTrue(repo.saveIfVersion(lead, 0));
+
+        Lead winner = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        Lead loser = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(1, winner.getVersion());
+        winner.updateScore(55);
+        loser.transitionTo(LeadState.LOST);
+        assertTrue(repo.saveIfVersion(winner, 1));
+        assertFalse(repo.saveIfVersion(loser, 1));
+        repo.close();
+
+        MappedLeadRepository reopened = open();
+        Lead recovered = reopened.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(2, recovered.getVersion());
+        assertEquals(55, recovered.getScore());
+        assertEquals(LeadState.NEW, recovered.getState());
+    }
+
+    @Test
+    void shouldKeepCountsAcrossUpdatesAndRestart() {
+        MappedLeadRepository repo = open();
+        Lead moved = createLead("dealer-1", "Moved");
+        repo.save(moved);
+        repo.save(createLead("dealer-1", "Stays"));
+        moved.transitionTo(LeadState.CONTACTED);
+        moved.setSource(LeadSource.REFERRAL);
+        repo.save(moved);
+
+        assertEquals(1, repo.countByDealerIdAndState("dealer-1", LeadState.NEW));
+        assertEquals(1, repo.countByDealerIdAndState("dealer-1", LeadState.CONTACTED));
+        assertEquals(1, repo.countByDealerIdAndSource("dealer-1", LeadSource.WEBSITE));
+        assertEquals(1, repo.countByDealerIdAndSource("dealer-1", LeadSource.REFERRAL));
+        repo.close();
+
+        MappedLeadRepository reopened = open();
+        assertEquals(1, reopened.countByDealerIdAndState("dealer-1", LeadState.NEW));
+        assertEquals(1, reopened.countByDealerIdAndState("dealer-1", LeadState.CONTACTED));
+        assertEquals(1, reopened.countByDealerIdAndSource("dealer-1", LeadSource.REFERRAL));
+        assertEquals(0, reopened.countByDealerIdAndState("dealer-2", LeadState.NEW));
+    }
+
+    @Test
+    void shouldFindByTimeRangeLikeInMemoryAdapter() {
+        MappedLeadRepository repo = open();
+        Instant t0 = Instant.parse("2024-01-01T00:00:00Z");
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Lead lead = createLead("dealer-1", "Lead" + i);
+            lead.setCreatedAt(t0.plusSeconds(i * 60L));
+            lead.setUpdatedAt(t0.plusSeconds(1000 - i * 60L));
+            repo.save(lead);
+            ids.add(lead.getLeadId());
+        }
+
+        assertEquals(ids.subList(2, 5),
+                repo.findByDealerIdAndCreatedAtBetween("dealer-1", t0.plusSeconds(120), t0.plusSeconds(300)).stream()
+                        .map(Lead::getLeadId).collect(Collectors.toList()));
+        assertEquals(List.of(ids.get(9), ids.get(8)),
+                repo.findByDealerIdAndUpdatedAtBefore("dealer-1", t0.plusSeconds(521)).stream()
+                        .map(Lead::getLeadId).collect(Collectors.toList()));
+        assertEquals(10, repo.findByDealerIdAndCreatedAtBetween("dealer-1", Instant.MIN, Instant.MAX).size());
+    }
+
+    @Test
+    void shouldFindByContactAfterRestart() {
+        MappedLeadRepository repo = open();
+        Lead john = createLead("dealer-1", "John");
+        Lead jane = createLead("dealer-1", "Jane");
+        jane.setPhone(new PhoneCoordinate("+1", "6505550199"));
+        repo.save(john);
+        repo.save(jane);
+        repo.save(createLead("dealer-2", "John"));
+        repo.close();
+
+        MappedLeadRepository reopened = open();
+        assertEquals(List.of(john.getLeadId()),
+                reopened.findByDealerIdAndContact("dealer-1", new Email("john@test.com"), null).stream()
+                        .map(Lead::getLeadId).collect(Collectors.toList()));
+        assertEquals(List.of(jane.getLeadId()),
+                reopened.findByDealerIdAndContact("dealer-1", null, new PhoneCoordinate("+1", "650-555-0199")).stream()
+                        .map(Lead::getLeadId).collect(Collectors.toList()));
+        assertTrue(reopened.findByDealerIdAndContact("dealer-1", new Email("nobody@test.com"), null).isEmpty());
+    }
+
+    @Test
+    void shouldPageAndStreamLikeInMemoryAdapter() {
+        MappedLeadRepository repo = open();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 23; i++) {
+            Lead lead = createLead("dealer-1", "Lead" + i);
+            if (i % 3 != 0) lead.updateScore(i % 5 * 10);
+            repo.save(lead);
+            ids.add(lead.getLeadId());
+        }
+        ids.sort(null);
+
+        List<String> byState = new ArrayList<>();
+        String token = null;
+        do {
+            LeadPage page = repo.findByDealerIdAndState("dealer-1", LeadState.NEW, 7, token);
+            page.getLeads().forEach(lead -> byState.add(lead.getLeadId()));
+            token = page.getNextPageToken();
+        } while (token != null);
+        assertEquals(ids, byState);
+
+        List<String> byScore = new ArrayList<>();
+        do {
+            LeadPage page = repo.findByDealerIdOrderByScore("dealer-1", 4, token);
+            page.getLeads().forEach(lead -> byScore.add(lead.getLeadId()));
+            token = page.getNextPageToken();
+        } while (token != null);
+        assertEquals(repo.findByDealerIdOrderByScore("dealer-1", 100).stream()
+                .map(Lead::getLeadId).collect(Collectors.toList()), byScore);
+
+        assertEquals(23, repo.streamByDealerIdAndState("dealer-1", LeadState.NEW).count());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Recovery
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldRecoverAfterRestart() {
+        MappedLeadRepository repo = open();
+        Lead lead = createLead("dealer-1", "John");
+        repo.save(lead);
+        lead.updateScore(42);
+        repo.save(lead);
+        repo.close();
+
+        MappedLeadRepository reopened = open();
+
+        assertEquals(42, reopened.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().getScore());
+        assertEquals(1, reopened.findByDealerIdAndState("dealer-1", LeadState.NEW).size());
+    }
+
+    @Test
+    void shouldKeepNewestVersionWhenOldSlotWasNotFreed() throws IOException {
+        MappedLeadRepository repo = open();
+        Lead lead = createLead("dealer-1", "John");
+        repo.save(lead);                 // slot 0
+        repo.close();
+        byte[] firstVersion = readSlot(0);
+
+        repo = open();
+        lead.updateScore(77);
+        repo.save(lead);                 // slot 1, then slot 0 freed
+        repo.close();
+
+        // Crash between writing slot 1 and freeing slot 0
+        writeSlot(0, firstVersion);
+
+        MappedLeadRepository reopened = open();
+        assertEquals(77, reopened.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().getScore());
+        assertEquals(1, reopened.findByDealerIdAndState("dealer-1", LeadState.NEW).size());
+    }
+
+    @Test
+    void shouldDiscardTornSlot() throws IOException {
+        MappedLeadRepository repo = open();
+        Lead survivor = createLead("dealer-1", "Survivor");
+        Lead torn = createLead("dealer-1", "Torn");
+        repo.save(survivor);             // slot 0
+        repo.save(torn);                 // slot 1
+        repo.close();
+
+        byte[] slot = readSlot(1);
+        slot[40] ^= 0xFF;
+        writeSlot(1, slot);
+
+        MappedLeadRepository reopened = open();
+        assertTrue(reopened.findByIdAndDealerId(survivor.getLeadId(), "dealer-1").isPresent());
+        assertTrue(reopened.findByIdAndDealerId(torn.getLeadId(), "dealer-1").isEmpty());
+
+        // The discarded slot is reusable
+        reopened.save(createLead("dealer-1", "Replacement"));
+        assertEquals(2, reopened.findByDealerIdAndState("dealer-1", LeadState.NEW).size());
+    }
+
+    @Test
+    void shouldRejectReopenWithDifferentLayout() {
+        open().close();
+
+        assertThrows(IllegalStateException.class, () -> open(MappedLeadRepositoryConfig.builder()
+                .directory(dir).slotSizeBytes(2048).slotsPerFile(64).build()));
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Concurrency
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldHandleConcurrentSavesAcrossDealers() throws Exception {
+        MappedLeadRepository repo = open();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String dealerId = "dealer-" + (t % 4);
+            futures.add(pool.submit(() -> {
+                for (int i = 0; i < 100; i++) {
+                    Lead lead = createLead(dealerId, "Lead" + i);
+                    repo.save(lead);
+                    lead.updateScore(i % 100);
+                    repo.save(lead);
+                }
+            }));
+        }
+        for (Future<?> f : futures) f.get();
+        pool.shutdown();
+
+        for (int d = 0; d < 4; d++) {
+            assertEquals(200, repo.findByDealerIdAndState("dealer-" + d, LeadState.NEW).size());
+            assertEquals(99, repo.findByDealerIdOrderByScore("dealer-" + d, 1).get(0).getScore());
+        }
+    }
+}
@@ -0,0 +1,248 @@
+package com.tekion.leadmanagement.adapter.persistence.file;
+
+import com.tekion.leadmanagement.adapter.persistence.inmemory.InMemoryLeadRepository;
+import com.tekion.leadmanagement.domain.lead.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TieredLeadRepositoryTest {
+
+    private static final Instant LONG_AGO = Instant.now().minus(Duration.ofDays(90));
+
+    @TempDir
+    Path dir;
+
+    private final InMemoryLeadRepository hot = new InMemoryLeadRepository();
+    private TieredLeadRepository repo;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (repo != null) repo.close();
+    }
+
+    private TieredLeadRepository open() {
+        repo = new TieredLeadRepository(hot, TieredLeadRepositoryConfig.builder()
+                .directory(dir)
+                .coldAfter(Duration.ofDays(30))
+                .sweepInterval(Duration.ZERO)
+                .blockSize(16)
+                .build());
+        return repo;
+    }
+
+    private Lead createLead(String dealerId, String firstName) {
+        return Lead.newLead(
+                dealerId, "tenant-1", "site-1",
+                firstName, "Test",
+                new Email(firstName.toLowerCase() + "@test.com"),
+                new PhoneCoordinate("+1", "4155550123"),
+                LeadSource.WEBSITE,
+                new VehicleInterest("Toyota", "Camry", 2020, 15000)
+        );
+    }
+
+    /** A lead closed in {@code state} long enough ago to be evicted. */
+    private Lead saveClosedLead(String dealerId, String firstName, LeadState state) {
+        Lead lead = createLead(dealerId, firstName);
+        lead.setState(state);
+        lead.setUpdatedAt(LONG_AGO);
+        repo.save(lead);
+        return lead;
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Eviction tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldMoveOldTerminalLeadsOutOfHeapAndFaultThemIn() {
+        open();
+        Lead lost = saveClosedLead("dealer-1", "Lost", LeadState.LOST);
+
+        assertEquals(1, repo.evictColdLeads());
+
+        assertTrue(hot.findByIdAndDealerId(lost.getLeadId(), "dealer-1").isEmpty());
+        assertEquals(1, repo.coldLeadCount());
+        Lead found = repo.findByIdAndDealerId(lost.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(lost, found);
+        assertEquals(lost.getVersion(), found.getVersion());
+        assertTrue(repo.findByIdAndDealerId(lost.getLeadId(), "dealer-2").isEmpty());
+    }
+
+    @Test
+    void shouldKeepOpenAndRecentlyClosedLeadsHot() {
+        open();
+        Lead open = createLead("dealer-1", "Open");
+        open.setUpdatedAt(LONG_AGO);
+        repo.save(open);
+        Lead recent = createLead("dealer-1", "Recent");
+        recent.transitionTo(LeadState.LOST);
+        repo.save(recent);
+
+        assertEquals(0, repo.evictColdLeads());
+        assertEquals(0, repo.coldLeadCount());
+    }
+
+    @Test
+    void shouldIncludeColdLeadsInTerminalStateQueriesAndCounts() {
+        open();
+        for (int i = 0; i < 40; i++) {
+            saveClosedLead("dealer-1", "Lost" + i, LeadState.LOST);
+        }
+        saveClosedLead("dealer-1", "Converted", LeadState.CONVERTED);
+        repo.save(createLead("dealer-1", "Open"));
+
+        repo.evictColdLeads();
+
+        List<Lead> lost = repo.findByDealerIdAndState("dealer-1", LeadState.LOST);
+        assertEquals(40, lost.size());
+        List<String> ids = lost.stream().map(Lead::getLeadId).collect(Collectors.toList());
+        assertEquals(ids.stream().sorted().collect(Collectors.toList()), ids);
+        assertEquals(40, repo.countByDealerIdAndState("dealer-1", LeadState.LOST));
+        assertEquals(1, repo.countByDealerIdAndState("dealer-1", LeadState.CONVERTED));
+        assertEquals(1, repo.countByDealerIdAndState("dealer-1", LeadState.NEW));
+        assertEquals(42, repo.countByDealerIdAndSource("dealer-1", LeadSource.WEBSITE));
+    }
+
+    @Test
+    void shouldPageAndStreamTerminalStatesAcrossBothTiers() {
+        open();
+        Lead promoted = saveClosedLead("dealer-1", "Promoted", LeadState.LOST);
+        for (int i = 0; i < 40; i++) {
+            saveClosedLead("dealer-1", "Cold" + i, LeadState.LOST);
+        }
+        repo.evictColdLeads();
+        for (int i = 0; i < 10; i++) {
+            Lead lead = createLead("dealer-1", "Hot" + i);
+            lead.transitionTo(LeadState.LOST);
+            repo.save(lead);
+        }
+        repo.save(promoted);
+
+        List<String> expected = repo.findByDealerIdAndState("dealer-1", LeadState.LOST).stream()
+                .map(Lead::getLeadId).collect(Collectors.toList());
+        assertEquals(51, expected.size());
+
+        List<String> paged = new ArrayList<>();
+        String token = null;
+        do {
+            LeadPage page = repo.findByDealerIdAndState("dealer-1", LeadState.LOST, 7, token);
+            assertTrue(page.getLeads().size() <= 7);
+            page.getLeads().forEach(lead -> paged.add(lead.getLeadId()));
+            token = page.getNextPageToken();
+        } while (token != null);
+        assertEquals(expected, paged);
+
+        assertEquals(expected, repo.streamByDealerIdAndState("dealer-1", LeadState.LOST)
+                .map(Lead::getLeadId).collect(Collectors.toList()));
+        assertTrue(repo.findByDealerIdAndState("dealer-1", LeadState.CONVERTED, 5, null).getLeads().isEmpty());
+    }
+
+    @Test
+    void shouldCompressColdLeads() {
+        open();
+        long encodedBytes = 0;
+        for (int i = 0; i < 200; i++) {
+            encodedBytes += LeadRecordCodec.encode(saveClosedLead("dealer-1", "Shopper" + i, LeadState.CONVERTED)).length;
+        }
+
+        repo.evictColdLeads();
+
+        assertTrue(repo.coldSegmentBytes() < encodedBytes / 2,
+                repo.coldSegmentBytes() + " bytes on disk for " + encodedBytes + " encoded");
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Write-path tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldPromoteColdLeadOnSaveKeepingItsVersion() {
+        open();
+        Lead converted = saveClosedLead("dealer-1", "Back", LeadState.CONVERTED);
+        long version = converted.getVersion();
+        repo.evictColdLeads();
+
+        Lead edit = repo.findByIdAndDealerId(converted.getLeadId(), "dealer-1").orElseThrow().copy();
+        edit.updateScore(42);
+        assertFalse(repo.saveIfVersion(edit, version - 1));
+        assertTrue(repo.saveIfVersion(edit, version));
+
+        assertEquals(version + 1, edit.getVersion());
+        assertEquals(0, repo.coldLeadCount());
+        assertEquals(42, hot.findByIdAndDealerId(converted.getLeadId(), "dealer-1").orElseThrow().getScore());
+        assertEquals(1, repo.countByDealerIdAndState("dealer-1", LeadState.CONVERTED));
+    }
+
+    @Test
+    void shouldNotLoseWritesRacingWithEviction() throws Exception {
+        open();
+        List<Lead> leads = new ArrayList<>();
+        for (int i = 0; i < 32; i++) {
+            leads.add(saveClosedLead("dealer-1", "Race" + i, LeadState.LOST));
+        }
+        int rounds = 50;
+        AtomicBoolean writing = new AtomicBoolean(true);
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> evictor = pool.submit(() -> {
+                while (writing.get()) {
+                    repo.evictColdLeads();
+                }
+            });
+            Future<?> writer = pool.submit(() -> {
+                try {
+                    for (int round = 0; round < rounds; round++) {
+                        for (Lead lead : leads) {
+                            Lead edit = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().copy();
+                            assertTrue(repo.saveIfVersion(edit, edit.getVersion()));
+                        }
+                    }
+                } finally {
+                    writing.set(false);
+                }
+            });
+            writer.get();
+            evictor.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        for (Lead lead : leads) {
+            Lead stored = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+            assertEquals(1 + rounds, stored.getVersion());
+        }
+        assertEquals(32, repo.countByDealerIdAndState("dealer-1", LeadState.LOST));
+    }
+
+    @Test
+    void shouldDeleteColdSegmentOnClose() throws IOException {
+        open();
+        saveClosedLead("dealer-1", "Gone", LeadState.LOST);
+        repo.evictColdLeads();
+        Path segment = dir.resolve(TieredLeadRepository.COLD_SEGMENT_FILE);
+        assertTrue(Files.exists(segment));
+
+        repo.close();
+
+        assertFalse(Files.exists(segment));
+        assertThrows(IllegalStateException.class, () -> repo.save(createLead("dealer-1", "Late")));
+    }
+}
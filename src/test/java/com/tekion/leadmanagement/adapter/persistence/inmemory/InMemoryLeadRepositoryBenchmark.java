@@ -0,0 +1,94 @@
+package com.tekion.leadmanagement.adapter.persistence.inmemory;
+
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Before/after benchmark for {@link InMemoryLeadRepository#findByDealerIdAndState}.
+ *
+ * <p>{@code fullScan} reproduces the previous implementation (walk every stored
+ * lead and filter) over the same data; {@code stateIndex} goes through the
+ * per-dealer state index.
+ *
+ * <p>Run with:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+ * java -cp target/test-classes:target/classes:$(cat target/cp.txt) \
+ *     org.openjdk.jmh.Main InMemoryLeadRepositoryBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class InMemoryLeadRepositoryBenchmark {
+
+    @Param({"1000000"})
+    int totalLeads;
+
+    @Param({"4000"})
+    int dealers;
+
+    private InMemoryLeadRepository repository;
+    private Map<String, Lead> baselineStore;
+    private String[] dealerIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        repository = new InMemoryLeadRepository();
+        baselineStore = new ConcurrentHashMap<>();
+        dealerIds = new String[dealers];
+        for (int d = 0; d < dealers; d++) {
+            dealerIds[d] = "dealer-" + d;
+        }
+
+        LeadState[] states = LeadState.values();
+        Instant now = Instant.now();
+        for (int i = 0; i < totalLeads; i++) {
+            Lead lead = Lead.builder()
+                    .leadId(UUID.randomUUID().toString())
+                    .dealerId(dealerIds[i % dealers])
+                    .source(LeadSource.WEBSITE)
+                    .state(states[i % states.length])
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            repository.save(lead);
+            baselineStore.put(lead.getDealerId() + ":" + lead.getLeadId(), lead);
+        }
+    }
+
+    @Benchmark
+    public List<Lead> stateIndex() {
+        return repository.findByDealerIdAndState(randomDealer(), LeadState.NEW);
+    }
+
+    @Benchmark
+    public List<Lead> fullScan() {
+        String dealerId = randomDealer();
+        List<Lead> result = new ArrayList<>();
+        for (Lead lead : baselineStore.values()) {
+            if (dealerId.equals(lead.getDealerId()) && LeadState.NEW == lead.getState()) {
+                result.add(lead);
+            }
+        }
+        return result;
+    }
+
+    private String randomDealer() {
+        return dealerIds[ThreadLocalRandom.current().nextInt(dealerIds.length)];
+    }
+}
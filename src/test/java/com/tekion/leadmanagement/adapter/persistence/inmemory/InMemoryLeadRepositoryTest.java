@@ -5,8 +5,17 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -73,6 +82,47 @@ class InMemoryLeadRepositoryTest {
         );
     }
 
+    // ═══════════════════════════════════════════════════════════════
+    // saveAll() tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldSaveAllAcrossDealersInInputOrder() {
+        Lead a = createLead("dealer-1", "A", LeadSource.WEBSITE);
+        Lead b = createLead("dealer-2", "B", LeadSource.PHONE);
+        Lead c = createLead("dealer-1", "C", LeadSource.REFERRAL);
+
+        List<Lead> saved = repo.saveAll(List.of(a, b, c));
+
+        assertEquals(List.of(a, b, c), saved);
+        assertEquals(2, repo.findByDealerIdAndState("dealer-1", LeadState.NEW).size());
+        assertEquals(1, repo.findByDealerIdAndState("dealer-2", LeadState.NEW).size());
+    }
+
+    @Test
+    void shouldReindexLeadsUpdatedThroughSaveAll() {
+        Lead a = createLead("dealer-1", "A", LeadSource.WEBSITE);
+        Lead b = createLead("dealer-1", "B", LeadSource.WEBSITE);
+        repo.saveAll(List.of(a, b));
+
+        a.updateScore(10);
+        b.updateScore(90);
+        repo.saveAll(List.of(a, b));
+
+        List<Lead> top = repo.findByDealerIdOrderByScore("dealer-1", 1);
+        assertEquals(b.getLeadId(), top.get(0).getLeadId());
+    }
+
+    @Test
+    void shouldRejectWholeBatchWhenAnyLeadIsInvalid() {
+        Lead valid = createLead("dealer-1", "Valid", LeadSource.WEBSITE);
+        Lead invalid = Lead.builder().leadId("lead-x").dealerId(" ").build();
+
+        assertThrows(IllegalArgumentException.class, () -> repo.saveAll(List.of(valid, invalid)));
+        assertThrows(IllegalArgumentException.class, () -> repo.saveAll(null));
+        assertTrue(repo.findByIdAndDealerId(valid.getLeadId(), "dealer-1").isEmpty());
+    }
+
     // ═══════════════════════════════════════════════════════════════
     // findByIdAndDealerId() tests - Multi-Tenant Isolation
     // ═══════════════════════════════════════════════════════════════
@@ -177,6 +227,70 @@ class InMemoryLeadRepositoryTest {
         assertTrue(repo.findByDealerIdAndState("dealer-1", null).isEmpty());
     }
 
+    @Test
+    void shouldMoveLeadBetweenStatesOnResave() {
+        Lead lead = createLead("dealer-1", "John", LeadSource.WEBSITE);
+        repo.save(lead);
+
+        lead.transitionTo(LeadState.CONTACTED);
+        repo.save(lead);
+
+        assertTrue(repo.findByDealerIdAndState("dealer-1", LeadState.NEW).isEmpty());
+        assertEquals(1, repo.findByDealerIdAndState("dealer-1", LeadState.CONTACTED).size());
+    }
+
+    @Test
+    void shouldKeepStateIndexConsistentUnderConcurrentSaves() throws Exception {
+        int threads = 8;
+        List<Lead> leads = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            leads.add(createLead("dealer-" + (i % 4), "User" + i, LeadSource.WEBSITE));
+        }
+        LeadState[] states = LeadState.values();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 5_000; i++) {
+                        Lead lead = leads.get(random.nextInt(leads.size()));
+                        // Each save carries its own instance, like distinct requests would
+                        repo.save(Lead.builder()
+                                .leadId(lead.getLeadId())
+                                .dealerId(lead.getDealerId())
+                                .firstName(lead.getFirstName())
+                                .state(states[random.nextInt(states.length)])
+                                .build());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        // Every lead must be indexed and counted exactly once, under the state it was last stored with
+        for (int d = 0; d < 4; d++) {
+            String dealerId = "dealer-" + d;
+            Set<String> seen = new HashSet<>();
+            long counted = 0;
+            for (LeadState state : states) {
+                for (String leadId : repo.indexedLeadIds(dealerId, state)) {
+                    assertEquals(state, repo.findByIdAndDealerId(leadId, dealerId).orElseThrow().getState());
+                    assertTrue(seen.add(leadId), "lead indexed under two states");
+                }
+                assertEquals(repo.indexedLeadIds(dealerId, state).size(), repo.countByDealerIdAndState(dealerId, state));
+                counted += repo.countByDealerIdAndState(dealerId, state);
+            }
+            assertEquals(50, seen.size());
+            assertEquals(50, counted);
+        }
+    }
+
     // ═══════════════════════════════════════════════════════════════
     // findByDealerIdOrderByScore() tests
     // ═══════════════════════════════════════════════════════════════
@@ -268,4 +382,476 @@ class InMemoryLeadRepositoryTest {
         assertEquals("Later", top.get(0).getFirstName());   // more recent
         assertEquals("Earlier", top.get(1).getFirstName()); // older
     }
+
+    @Test
+    void shouldReRankLeadWhenScoreChangesAndIsResaved() {
+        Lead first = createLead("dealer-1", "First", LeadSource.WEBSITE);
+        first.updateScore(80);
+        Lead second = createLead("dealer-1", "Second", LeadSource.WEBSITE);
+        second.updateScore(60);
+        repo.save(first);
+        repo.save(second);
+
+        second.updateScore(95);
+        repo.save(second);
+
+        List<Lead> top = repo.findByDealerIdOrderByScore("dealer-1", 10);
+
+        assertEquals(2, top.size());
+        assertEquals("Second", top.get(0).getFirstName());
+        assertEquals("First", top.get(1).getFirstName());
+    }
+
+    @Test
+    void shouldReturnTopKFromLargeDealer() {
+        for (int i = 0; i < 1_000; i++) {
+            Lead lead = createLead("dealer-1", "User" + i, LeadSource.WEBSITE);
+            lead.updateScore(i % 101);
+            repo.save(lead);
+        }
+
+        List<Lead> top = repo.findByDealerIdOrderByScore("dealer-1", 5);
+
+        assertEquals(5, top.size());
+        for (Lead lead : top) {
+            assertEquals(100, lead.getScore());
+        }
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Pagination and streaming tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldPageThroughStateInLeadIdOrder() {
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            Lead lead = createLead("dealer-1", "User" + i, LeadSource.WEBSITE);
+            repo.save(lead);
+            expected.add(lead.getLeadId());
+        }
+        repo.save(createLead("dealer-2", "Other", LeadSource.WEBSITE));
+        expected.sort(null);
+
+        List<String> paged = new ArrayList<>();
+        String token = null;
+        int pages = 0;
+        do {
+            LeadPage page = repo.findByDealerIdAndState("dealer-1", LeadState.NEW, 10, token);
+            page.getLeads().forEach(lead -> paged.add(lead.getLeadId()));
+            token = page.getNextPageToken();
+            pages++;
+        } while (token != null);
+
+        assertEquals(expected, paged);
+        assertEquals(3, pages);
+    }
+
+    @Test
+    void shouldNotShiftLaterPagesWhenEarlierLeadsLeaveState() {
+        List<Lead> leads = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            leads.add(repo.save(createLead("dealer-1", "User" + i, LeadSource.WEBSITE)));
+        }
+        leads.sort(Comparator.comparing(Lead::getLeadId));
+
+        LeadPage first = repo.findByDealerIdAndState("dealer-1", LeadState.NEW, 3, null);
+        // A lead on the first page moves on; the cursor is a key, not an offset
+        leads.get(0).transitionTo(LeadState.CONTACTED);
+        repo.save(leads.get(0));
+
+        LeadPage second = repo.findByDealerIdAndState("dealer-1", LeadState.NEW, 3, first.getNextPageToken());
+        assertEquals(leads.subList(3, 6), second.getLeads());
+        assertFalse(second.hasNextPage());
+    }
+
+    @Test
+    void shouldPageThroughScoreRanking() {
+        for (int i = 0; i < 12; i++) {
+            Lead lead = createLead("dealer-1", "User" + i, LeadSource.WEBSITE);
+            if (i % 4 != 0) lead.updateScore(i % 3 * 10); // ties and nulls
+            repo.save(lead);
+        }
+        List<Lead> expected = repo.findByDealerIdOrderByScore("dealer-1", 100);
+
+        List<Lead> paged = new ArrayList<>();
+        String token = null;
+        do {
+            LeadPage page = repo.findByDealerIdOrderByScore("dealer-1", 5, token);
+            paged.addAll(page.getLeads());
+            token = page.getNextPageToken();
+        } while (token != null);
+
+        assertEquals(expected, paged);
+    }
+
+    @Test
+    void shouldStreamLeadsInStateLazily() {
+        for (int i = 0; i < 10; i++) {
+            Lead lead = createLead("dealer-1", "User" + i, LeadSource.WEBSITE);
+            if (i % 2 == 0) lead.transitionTo(LeadState.CONTACTED);
+            repo.save(lead);
+        }
+
+        assertEquals(5, repo.streamByDealerIdAndState("dealer-1", LeadState.CONTACTED).count());
+        assertEquals(2, repo.streamByDealerIdAndState("dealer-1", LeadState.NEW).limit(2).count());
+        assertEquals(0, repo.streamByDealerIdAndState("dealer-9", LeadState.NEW).count());
+    }
+
+    @Test
+    void shouldRejectInvalidPageRequests() {
+        String token = LeadPageToken.afterState("dealer-1", LeadState.NEW, "x").encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> repo.findByDealerIdAndState("dealer-1", LeadState.NEW, 0, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> repo.findByDealerIdAndState("dealer-2", LeadState.NEW, 10, token));
+        assertThrows(IllegalArgumentException.class,
+                () -> repo.findByDealerIdOrderByScore("dealer-1", 10, token));
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Copy-on-write snapshot tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldNotExposeCallerInstanceAfterSave() {
+        Lead lead = createLead("dealer-1", "John", LeadSource.WEBSITE);
+        repo.save(lead);
+
+        lead.transitionTo(LeadState.CONTACTED);
+        lead.updateScore(90);
+
+        Lead stored = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertNotSame(lead, stored);
+        assertEquals(LeadState.NEW, stored.getState());
+        assertNull(stored.getScore());
+        assertTrue(stored.getAuditTrail().isEmpty());
+    }
+
+    @Test
+    void shouldSwapInNewSnapshotOnResave() {
+        Lead lead = createLead("dealer-1", "John", LeadSource.WEBSITE);
+        repo.save(lead);
+        Lead before = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+
+        Lead updated = before.copy();
+        updated.transitionTo(LeadState.CONTACTED);
+        repo.save(updated);
+
+        // Earlier readers keep a consistent, unchanged view
+        assertEquals(LeadState.NEW, before.getState());
+        assertEquals(1, before.getVersion());
+        Lead after = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(LeadState.CONTACTED, after.getState());
+        assertEquals(2, after.getVersion());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // saveIfVersion() tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldIncrementVersionOnEverySave() {
+        Lead lead = createLead("dealer-1", "John", LeadSource.WEBSITE);
+        assertEquals(0, lead.getVersion());
+
+        repo.save(lead);
+        assertEquals(1, lead.getVersion());
+        repo.save(lead);
+        assertEquals(2, repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().getVersion());
+    }
+
+    @Test
+    void shouldSaveOnlyWhenVersionMatches() {
+        Lead lead = createLead("dealer-1", "John", LeadSource.WEBSITE);
+        repo.save(lead);
+
+        Lead first = lead.copy();
+        Lead second = lead.copy();
+        first.updateScore(40);
+        second.transitionTo(LeadState.CONTACTED);
+
+        assertTrue(repo.saveIfVersion(first, 1));
+        assertEquals(2, first.getVersion());
+        assertFalse(repo.saveIfVersion(second, 1));
+
+        Lead stored = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(first, stored);
+        assertEquals(LeadState.NEW, stored.getState());
+        assertEquals(1, repo.findByDealerIdAndState("dealer-1", LeadState.NEW).size());
+        assertTrue(repo.findByDealerIdAndState("dealer-1", LeadState.CONTACTED).isEmpty());
+    }
+
+    @Test
+    void shouldInsertOnlyIfAbsentWithVersionZero() {
+        Lead lead = createLead("dealer-1", "John", LeadSource.WEBSITE);
+
+        assertFalse(repo.saveIfVersion(lead, 1));
+        assertTrue(repo.saveIfVersion(lead, 0));
+        assertFalse(repo.saveIfVersion(lead.copy(), 0));
+        assertThrows(IllegalArgumentException.class, () -> repo.saveIfVersion(lead, -1));
+    }
+
+    @Test
+    void shouldAdvanceVersionByCoalescedWriteCount() {
+        Lead lead = createLead("dealer-1", "John", LeadSource.WEBSITE);
+        repo.save(lead);
+
+        Lead update = lead.copy();
+        update.transitionTo(LeadState.CONTACTED);
+        update.updateScore(70);
+        assertTrue(repo.saveCoalesced(update, 1, 3));
+        assertEquals(4, update.getVersion());
+        assertFalse(repo.saveCoalesced(update.copy(), 1, 2));
+
+        Lead stored = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(4, stored.getVersion());
+        assertEquals(1, repo.countByDealerIdAndState("dealer-1", LeadState.CONTACTED));
+        assertThrows(IllegalArgumentException.class, () -> repo.saveCoalesced(update, 4, 0));
+    }
+
+    @Test
+    void shouldNotLoseUpdatesUnderConcurrentCompareAndSet() throws Exception {
+        Lead lead = createLead("dealer-1", "John", LeadSource.WEBSITE);
+        repo.save(lead);
+        int threads = 8;
+        int updatesPerThread = 500;
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < updatesPerThread; i++) {
+                        Lead updated;
+                        do {
+                            updated = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().copy();
+                        } while (!repo.saveIfVersion(updated, updated.getVersion()));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(1 + threads * updatesPerThread,
+                repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().getVersion());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // count tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldCountByStateAndSource() {
+        repo.save(createLead("dealer-1", "A", LeadSource.WEBSITE));
+        repo.save(createLead("dealer-1", "B", LeadSource.WEBSITE));
+        repo.save(createLead("dealer-1", "C", LeadSource.REFERRAL));
+        repo.save(createLead("dealer-2", "D", LeadSource.WEBSITE));
+
+        assertEquals(3, repo.countByDealerIdAndState("dealer-1", LeadState.NEW));
+        assertEquals(0, repo.countByDealerIdAndState("dealer-1", LeadState.CONTACTED));
+        assertEquals(2, repo.countByDealerIdAndSource("dealer-1", LeadSource.WEBSITE));
+        assertEquals(1, repo.countByDealerIdAndSource("dealer-1", LeadSource.REFERRAL));
+        assertEquals(1, repo.countByDealerIdAndSource("dealer-2", LeadSource.WEBSITE));
+        assertEquals(0, repo.countByDealerIdAndState("dealer-3", LeadState.NEW));
+        assertEquals(0, repo.countByDealerIdAndState(null, LeadState.NEW));
+        assertEquals(0, repo.countByDealerIdAndSource("dealer-1", null));
+    }
+
+    @Test
+    void shouldKeepCountsAcrossTransitionsAndOverwrites() {
+        Lead lead = createLead("dealer-1", "John", LeadSource.WEBSITE);
+        repo.save(lead);
+        repo.save(lead);
+        assertEquals(1, repo.countByDealerIdAndState("dealer-1", LeadState.NEW));
+
+        Lead contacted = lead.copy();
+        contacted.transitionTo(LeadState.CONTACTED);
+        contacted.setSource(LeadSource.PHONE);
+        repo.save(contacted);
+
+        assertEquals(0, repo.countByDealerIdAndState("dealer-1", LeadState.NEW));
+        assertEquals(1, repo.countByDealerIdAndState("dealer-1", LeadState.CONTACTED));
+        assertEquals(0, repo.countByDealerIdAndSource("dealer-1", LeadSource.WEBSITE));
+        assertEquals(1, repo.countByDealerIdAndSource("dealer-1", LeadSource.PHONE));
+
+        // A rejected compare-and-set changes nothing
+        Lead stale = lead.copy();
+        stale.transitionTo(LeadState.LOST);
+        assertFalse(repo.saveIfVersion(stale, 1));
+        assertEquals(0, repo.countByDealerIdAndState("dealer-1", LeadState.LOST));
+    }
+
+    @Test
+    void shouldRejectInPlaceChangesToReadSnapshots() {
+        repo.save(createLead("dealer-1", "John", LeadSource.WEBSITE));
+        Lead read = repo.findByDealerIdAndState("dealer-1", LeadState.NEW).get(0);
+
+        assertTrue(read.isFrozen());
+        assertThrows(UnsupportedOperationException.class, () -> read.transitionTo(LeadState.CONTACTED));
+        assertThrows(UnsupportedOperationException.class, () -> read.updateScore(50));
+        assertThrows(UnsupportedOperationException.class, () -> read.setSource(LeadSource.PHONE));
+        assertSame(read, repo.findByIdAndDealerId(read.getLeadId(), "dealer-1").orElseThrow());
+        assertEquals(LeadState.NEW, read.getState());
+
+        // Modifying a copy leaves the snapshot other readers hold untouched
+        Lead updated = read.copy();
+        updated.transitionTo(LeadState.CONTACTED);
+        repo.save(updated);
+
+        assertEquals(LeadState.NEW, read.getState());
+        assertEquals(1, repo.countByDealerIdAndState("dealer-1", LeadState.CONTACTED));
+        assertTrue(repo.findByDealerIdAndState("dealer-1", LeadState.NEW).isEmpty());
+    }
+
+    @Test
+    void shouldResaveFrozenSnapshotWithoutStampingIt() {
+        repo.save(createLead("dealer-1", "John", LeadSource.WEBSITE));
+        Lead read = repo.findByDealerIdAndState("dealer-1", LeadState.NEW).get(0);
+
+        assertTrue(repo.saveIfVersion(read, 1));
+
+        assertEquals(1, read.getVersion());
+        assertEquals(2, repo.findByIdAndDealerId(read.getLeadId(), "dealer-1").orElseThrow().getVersion());
+        assertEquals(1, repo.countByDealerIdAndState("dealer-1", LeadState.NEW));
+    }
+
+    @Test
+    void shouldMatchIndexAfterConcurrentTransitions() throws Exception {
+        List<Lead> leads = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            leads.add(repo.save(createLead("dealer-1", "User" + i, LeadSource.values()[i % 4])));
+        }
+        LeadState[] states = LeadState.values();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 5_000; i++) {
+                        Lead update = leads.get(random.nextInt(leads.size())).copy();
+                        update.setState(states[random.nextInt(states.length)]);
+                        repo.save(update);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        long total = 0;
+        for (LeadState state : states) {
+            assertEquals(repo.findByDealerIdAndState("dealer-1", state).size(),
+                    repo.countByDealerIdAndState("dealer-1", state));
+            total += repo.countByDealerIdAndState("dealer-1", state);
+        }
+        assertEquals(100, total);
+        assertEquals(25, repo.countByDealerIdAndSource("dealer-1", LeadSource.REFERRAL));
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // time-range tests
+    // ═══════════════════════════════════════════════════════════════
+
+    private Lead createLeadAt(String firstName, Instant createdAt, Instant updatedAt) {
+        Lead lead = createLead("dealer-1", firstName, LeadSource.WEBSITE);
+        lead.setCreatedAt(createdAt);
+        lead.setUpdatedAt(updatedAt);
+        return lead;
+    }
+
+    @Test
+    void shouldFindLeadsCreatedInHalfOpenRange() {
+        Instant t0 = Instant.parse("2024-01-01T00:00:00Z");
+        Lead a = repo.save(createLeadAt("A", t0, t0));
+        Lead b = repo.save(createLeadAt("B", t0.plusSeconds(3600), t0));
+        Lead c = repo.save(createLeadAt("C", t0.plusSeconds(7200), t0));
+        repo.save(createLeadAt("NoTime", null, null));
+
+        assertEquals(List.of(a.getLeadId(), b.getLeadId()),
+                repo.findByDealerIdAndCreatedAtBetween("dealer-1", t0, t0.plusSeconds(7200)).stream()
+                        .map(Lead::getLeadId).collect(Collectors.toList()));
+        assertEquals(List.of(c.getLeadId()),
+                repo.findByDealerIdAndCreatedAtBetween("dealer-1", t0.plusSeconds(3601), Instant.MAX).stream()
+                        .map(Lead::getLeadId).collect(Collectors.toList()));
+        assertTrue(repo.findByDealerIdAndCreatedAtBetween("dealer-2", t0, Instant.MAX).isEmpty());
+        assertTrue(repo.findByDealerIdAndCreatedAtBetween("dealer-1", t0.plusSeconds(10), t0).isEmpty());
+        assertThrows(IllegalArgumentException.class,
+                () -> repo.findByDealerIdAndCreatedAtBetween("dealer-1", null, t0));
+    }
+
+    @Test
+    void shouldFindStaleLeadsAndMoveThemWhenUpdated() {
+        Instant t0 = Instant.parse("2024-01-01T00:00:00Z");
+        Lead stale = repo.save(createLeadAt("Stale", t0, t0));
+        Lead tie = repo.save(createLeadAt("Tie", t0, t0));
+        repo.save(createLeadAt("Fresh", t0, t0.plusSeconds(86_400)));
+
+        List<Lead> before = repo.findByDealerIdAndUpdatedAtBefore("dealer-1", t0.plusSeconds(3600));
+        assertEquals(2, before.size());
+        assertTrue(before.get(0).getLeadId().compareTo(before.get(1).getLeadId()) < 0, "ties ordered by leadId");
+
+        Lead touched = stale.copy();
+        touched.setUpdatedAt(t0.plusSeconds(90_000));
+        repo.save(touched);
+
+        assertEquals(List.of(tie.getLeadId()),
+                repo.findByDealerIdAndUpdatedAtBefore("dealer-1", t0.plusSeconds(3600)).stream()
+                        .map(Lead::getLeadId).collect(Collectors.toList()));
+        assertEquals(2, repo.findByDealerIdAndUpdatedAtBetween(
+                "dealer-1", t0.plusSeconds(86_400), t0.plusSeconds(90_001)).size());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // findByDealerIdAndContact() tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldFindDuplicatesByEmailOrPhone() {
+        Lead original = repo.save(createLead("dealer-1", "John", LeadSource.WEBSITE));
+        Lead samePhone = createLead("dealer-1", "Other", LeadSource.PHONE);
+        samePhone.setPhone(new PhoneCoordinate("+1", "(415) 555-0123"));
+        repo.save(samePhone);
+        Lead differentPhone = createLead("dealer-1", "Third", LeadSource.PHONE);
+        differentPhone.setPhone(new PhoneCoordinate("+1", "6505550199"));
+        repo.save(differentPhone);
+        repo.save(createLead("dealer-2", "John", LeadSource.WEBSITE));
+
+        List<Lead> byEmail = repo.findByDealerIdAndContact("dealer-1", new Email(" JOHN@test.com "), null);
+        assertEquals(List.of(original.getLeadId()),
+                byEmail.stream().map(Lead::getLeadId).collect(Collectors.toList()));
+
+        List<Lead> byEither = repo.findByDealerIdAndContact(
+                "dealer-1", new Email("john@test.com"), new PhoneCoordinate("+1", "415-555-0123"));
+        List<String> expected = new ArrayList<>(List.of(original.getLeadId(), samePhone.getLeadId()));
+        expected.sort(null);
+        assertEquals(expected, byEither.stream().map(Lead::getLeadId).collect(Collectors.toList()));
+
+        assertTrue(repo.findByDealerIdAndContact("dealer-1", null, null).isEmpty());
+        assertTrue(repo.findByDealerIdAndContact("dealer-3", new Email("john@test.com"), null).isEmpty());
+    }
+
+    @Test
+    void shouldMoveContactKeysWhenLeadChanges() {
+        Lead lead = repo.save(createLead("dealer-1", "John", LeadSource.WEBSITE));
+
+        Lead changed = lead.copy();
+        changed.setEmail(new Email("john.new@test.com"));
+        changed.setPhone(null);
+        repo.save(changed);
+
+        assertTrue(repo.findByDealerIdAndContact("dealer-1", new Email("john@test.com"), null).isEmpty());
+        assertTrue(repo.findByDealerIdAndContact("dealer-1", null, new PhoneCoordinate("+1", "4155550123")).isEmpty());
+        assertEquals(1, repo.findByDealerIdAndContact("dealer-1", new Email("john.new@test.com"), null).size());
+    }
 }
@@ -0,0 +1,114 @@
+package com.tekion.leadmanagement.adapter.persistence.inmemory;
+
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the previous flat layout ({@code "dealerId:leadId" → Lead}) with the
+ * two-level layout ({@code dealerId → leadId → Lead}) used by
+ * {@link InMemoryLeadRepository}.
+ *
+ * <p>Run with {@code -prof gc} to see the per-lookup key allocation of the flat layout.
+ * See {@link InMemoryLeadRepositoryBenchmark} for how to launch JMH.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class LeadStoreLayoutBenchmark {
+
+    @Param({"1000000"})
+    int totalLeads;
+
+    @Param({"4000"})
+    int dealers;
+
+    private Map<String, Lead> flat;
+    private Map<String, Map<String, Lead>> nested;
+    private InMemoryLeadRepository repository;
+    private Lead[] leads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        flat = new ConcurrentHashMap<>();
+        nested = new ConcurrentHashMap<>();
+        repository = new InMemoryLeadRepository();
+        leads = new Lead[totalLeads];
+
+        // UUID-shaped IDs on both sides, so composite keys are ~70 characters like production
+        String[] dealerIds = new String[dealers];
+        for (int d = 0; d < dealers; d++) {
+            dealerIds[d] = UUID.randomUUID().toString();
+        }
+
+        Instant now = Instant.now();
+        for (int i = 0; i < totalLeads; i++) {
+            Lead lead = Lead.builder()
+                    .leadId(UUID.randomUUID().toString())
+                    .dealerId(dealerIds[i % dealers])
+                    .source(LeadSource.WEBSITE)
+                    .state(LeadState.NEW)
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            leads[i] = lead;
+            flat.put(lead.getDealerId() + ":" + lead.getLeadId(), lead);
+            nested.computeIfAbsent(lead.getDealerId(), d -> new ConcurrentHashMap<>()).put(lead.getLeadId(), lead);
+            repository.save(lead);
+        }
+    }
+
+    @Benchmark
+    public Lead pointLookupFlat() {
+        Lead probe = randomLead();
+        return flat.get(probe.getDealerId() + ":" + probe.getLeadId());
+    }
+
+    @Benchmark
+    public Lead pointLookupNested() {
+        Lead probe = randomLead();
+        Map<String, Lead> partition = nested.get(probe.getDealerId());
+        return partition == null ? null : partition.get(probe.getLeadId());
+    }
+
+    @Benchmark
+    public Object pointLookupRepository() {
+        Lead probe = randomLead();
+        return repository.findByIdAndDealerId(probe.getLeadId(), probe.getDealerId());
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void dealerScanFlat(Blackhole blackhole) {
+        String dealerId = randomLead().getDealerId();
+        for (Lead lead : flat.values()) {
+            if (dealerId.equals(lead.getDealerId())) {
+                blackhole.consume(lead);
+            }
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void dealerScanNested(Blackhole blackhole) {
+        for (Lead lead : nested.get(randomLead().getDealerId()).values()) {
+            blackhole.consume(lead);
+        }
+    }
+
+    private Lead randomLead() {
+        return leads[ThreadLocalRandom.current().nextInt(leads.length)];
+    }
+}
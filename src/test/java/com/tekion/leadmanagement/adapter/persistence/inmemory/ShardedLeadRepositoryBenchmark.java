@@ -0,0 +1,113 @@
+package com.tekion.leadmanagement.adapter.persistence.inmemory;
+
+import com.tekion.leadmanagement.domain.lead.model.Lead;
+import com.tekion.leadmanagement.domain.lead.model.LeadSource;
+import com.tekion.leadmanagement.domain.lead.model.LeadState;
+import com.tekion.leadmanagement.domain.lead.port.LeadPersistencePort;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling benchmark for {@link ShardedLeadRepository} against a single
+ * {@link InMemoryLeadRepository}.
+ *
+ * <p>Each operation is drawn from a mixed workload over 200k leads of 2000
+ * dealers: 70% point reads, 20% read-modify-write updates and 10%
+ * dealer-wide state scans. {@code layout = single} is the unsharded baseline;
+ * the sharded layouts use {@code shards} shards.
+ *
+ * <p>Thread count is a JMH option, so sweep it from the shell:
+ * <pre>
+ * for t in 1 2 4 8 16 32; do
+ *     java -cp ... org.openjdk.jmh.Main ShardedLeadRepositoryBenchmark -t $t
+ * done
+ * </pre>
+ * See {@code InMemoryLeadRepositoryBenchmark} for the classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g"})
+public class ShardedLeadRepositoryBenchmark {
+
+    @Param({"single", "sharded", "sharded-single-writer"})
+    String layout;
+
+    @Param({"16"})
+    int shards;
+
+    @Param({"200000"})
+    int totalLeads;
+
+    @Param({"2000"})
+    int dealers;
+
+    private LeadPersistencePort port;
+    private ShardedLeadRepository sharded;
+    private String[] dealerIds;
+    private String[] leadIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (layout.equals("single")) {
+            port = new InMemoryLeadRepository();
+        } else {
+            sharded = new ShardedLeadRepository(ShardedLeadRepositoryConfig.builder()
+                    .shardCount(shards)
+                    .singleWriter(layout.equals("sharded-single-writer"))
+                    .build());
+            port = sharded;
+        }
+
+        dealerIds = new String[dealers];
+        for (int d = 0; d < dealers; d++) {
+            dealerIds[d] = "dealer-" + d;
+        }
+        leadIds = new String[totalLeads];
+        LeadState[] states = LeadState.values();
+        Instant now = Instant.now();
+        for (int i = 0; i < totalLeads; i++) {
+            leadIds[i] = UUID.randomUUID().toString();
+            Lead lead = Lead.builder()
+                    .leadId(leadIds[i])
+                    .dealerId(dealerIds[i % dealers])
+                    .source(LeadSource.WEBSITE)
+                    .state(states[i % states.length])
+                    .createdAt(now)
+                    .updatedAt(now)
+                    .build();
+            port.save(lead);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (sharded != null) sharded.close();
+    }
+
+    @Benchmark
+    public Object mixed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(totalLeads);
+        String dealerId = dealerIds[i % dealers];
+        int op = random.nextInt(100);
+        if (op < 70) {
+            return port.findByIdAndDealerId(leadIds[i], dealerId);
+        }
+        if (op < 90) {
+            Lead current = port.findByIdAndDealerId(leadIds[i], dealerId).orElseThrow();
+            Lead update = current.copy();
+            update.updateScore(random.nextInt(100));
+            return port.saveIfVersion(update, current.getVersion());
+        }
+        List<Lead> scan = port.findByDealerIdAndState(dealerId, LeadState.NEW);
+        return scan.size();
+    }
+}
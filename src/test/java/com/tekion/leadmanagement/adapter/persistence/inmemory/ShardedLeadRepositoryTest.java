@@ -0,0 +1,172 @@
+package com.tekion.leadmanagement.adapter.persistence.inmemory;
+
+import com.tekion.leadmanagement.domain.lead.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ShardedLeadRepositoryTest {
+
+    private ShardedLeadRepository repo;
+
+    @AfterEach
+    void tearDown() {
+        if (repo != null) repo.close();
+    }
+
+    private ShardedLeadRepository open(int shards, boolean singleWriter) {
+        repo = new ShardedLeadRepository(ShardedLeadRepositoryConfig.builder()
+                .shardCount(shards)
+                .singleWriter(singleWriter)
+                .build());
+        return repo;
+    }
+
+    private Lead createLead(String dealerId, String firstName) {
+        return Lead.newLead(
+                dealerId, "tenant-1", "site-1",
+                firstName, "Test",
+                new Email(firstName.toLowerCase() + "@test.com"),
+                new PhoneCoordinate("+1", "4155550123"),
+                LeadSource.WEBSITE,
+                new VehicleInterest("Toyota", "Camry", 2020, 15000)
+        );
+    }
+
+    @Test
+    void shouldRouteEachDealerToOneShardAndIsolateTenants() {
+        open(4, false);
+        Set<Integer> shardsUsed = new HashSet<>();
+        for (int d = 0; d < 20; d++) {
+            String dealerId = "dealer-" + d;
+            repo.save(createLead(dealerId, "Lead" + d));
+            shardsUsed.add(repo.shardIndex(dealerId));
+        }
+        Lead lead = createLead("dealer-1", "Alice");
+        repo.save(lead);
+
+        assertTrue(shardsUsed.size() > 1);
+        assertEquals(2, repo.countByDealerIdAndState("dealer-1", LeadState.NEW));
+        assertTrue(repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").isPresent());
+        assertTrue(repo.findByIdAndDealerId(lead.getLeadId(), "dealer-2").isEmpty());
+        assertEquals(20, repo.dealerIds().size());
+        assertEquals(20, repo.fanOut(shard -> shard.dealerIds().size()).stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void shouldApplyWritesOnShardWriterThreads() {
+        open(4, true);
+        Lead lead = createLead("dealer-1", "Alice");
+
+        assertSame(lead, repo.save(lead));
+        assertTrue(repo.saveIfVersion(lead.copy(), 1));
+        assertFalse(repo.saveIfVersion(lead.copy(), 1));
+        assertEquals(2, repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().getVersion());
+
+        List<String> threads = repo.fanOut(shard -> Thread.currentThread().getName());
+        assertEquals(List.of("lead-shard-0", "lead-shard-1", "lead-shard-2", "lead-shard-3"), threads);
+    }
+
+    @Test
+    void shouldPropagateWriteFailuresFromWriterThread() {
+        open(2, true);
+
+        Lead invalid = createLead("dealer-1", "Alice");
+        invalid.setLeadId(" ");
+        assertThrows(IllegalArgumentException.class, () -> repo.save(invalid));
+        assertThrows(IllegalArgumentException.class, () -> repo.save(null));
+    }
+
+    @Test
+    void shouldSaveBatchAcrossShardsInInputOrder() {
+        open(4, true);
+        List<Lead> batch = new ArrayList<>();
+        for (int d = 0; d < 12; d++) {
+            batch.add(createLead("dealer-" + d, "Lead" + d));
+        }
+
+        assertEquals(batch, repo.saveAll(batch));
+        for (Lead lead : batch) {
+            assertEquals(1, repo.findByIdAndDealerId(lead.getLeadId(), lead.getDealerId()).orElseThrow().getVersion());
+        }
+
+        List<Lead> withInvalid = new ArrayList<>(batch);
+        withInvalid.add(null);
+        assertThrows(IllegalArgumentException.class, () -> repo.saveAll(withInvalid));
+    }
+
+    @Test
+    void shouldLetMaintenanceTasksWriteThroughRepositoryWithoutDeadlock() {
+        open(3, true);
+        for (int d = 0; d < 9; d++) {
+            repo.save(createLead("dealer-" + d, "Lead" + d));
+        }
+
+        // A sweep that closes every NEW lead on its shard, writing through the sharded repository
+        List<Integer> closed = repo.fanOut(shard -> {
+            int count = 0;
+            for (String dealerId : shard.dealerIds()) {
+                for (Lead lead : shard.findByDealerIdAndState(dealerId, LeadState.NEW)) {
+                    Lead update = lead.copy();
+                    update.setState(LeadState.LOST);
+                    if (repo.saveIfVersion(update, lead.getVersion())) count++;
+                }
+            }
+            return count;
+        });
+
+        assertEquals(9, closed.stream().mapToInt(Integer::intValue).sum());
+        AtomicInteger visited = new AtomicInteger();
+        repo.forEachLead(lead -> {
+            assertEquals(LeadState.LOST, lead.getState());
+            visited.incrementAndGet();
+        });
+        assertEquals(9, visited.get());
+    }
+
+    @Test
+    void shouldNotLoseConcurrentConditionalWrites() throws Exception {
+        open(4, true);
+        Lead lead = createLead("dealer-1", "Counter");
+        repo.save(lead);
+        AtomicInteger successes = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        Lead current = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+                        Lead update = current.copy();
+                        update.updateScore(i);
+                        if (repo.saveIfVersion(update, current.getVersion())) successes.incrementAndGet();
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        assertEquals(1 + successes.get(), repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().getVersion());
+    }
+
+    @Test
+    void shouldRejectInvalidConfig() {
+        assertThrows(IllegalArgumentException.class, () -> open(0, false));
+        assertThrows(IllegalArgumentException.class, () -> new ShardedLeadRepository(null));
+    }
+}
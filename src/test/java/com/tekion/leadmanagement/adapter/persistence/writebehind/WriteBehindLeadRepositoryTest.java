@@ -0,0 +1,301 @@
+package com.tekion.leadmanagement.adapter.persistence.writebehind;
+
+import com.tekion.leadmanagement.adapter.persistence.inmemory.InMemoryLeadRepository;
+import com.tekion.leadmanagement.domain.lead.model.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class WriteBehindLeadRepositoryTest {
+
+    private final AtomicInteger adapterWrites = new AtomicInteger();
+    private final AtomicInteger adapterCalls = new AtomicInteger();
+    private final AtomicBoolean failWrites = new AtomicBoolean();
+
+    /** Counts the writes and batches that reach the underlying adapter, and can fail them. */
+    private final InMemoryLeadRepository delegate = new InMemoryLeadRepository() {
+        @Override
+        public boolean[] saveAllCoalesced(List<CoalescedWrite> writes) {
+            if (failWrites.get()) throw new IllegalStateException("disk full");
+            adapterCalls.incrementAndGet();
+            adapterWrites.addAndGet(writes.size());
+            return super.saveAllCoalesced(writes);
+        }
+    };
+
+    private WriteBehindLeadRepository repo;
+
+    @AfterEach
+    void tearDown() {
+        failWrites.set(false);
+        if (repo != null) repo.close();
+    }
+
+    /** A buffer that only flushes when asked, or once {@code maxBatchSize} leads are pending. */
+    private WriteBehindLeadRepository open(int maxBatchSize) {
+        repo = new WriteBehindLeadRepository(delegate, WriteBehindLeadRepositoryConfig.builder()
+                .flushInterval(Duration.ofHours(1))
+                .maxBatchSize(maxBatchSize)
+                .build());
+        return repo;
+    }
+
+    private Lead createLead(String dealerId, String firstName) {
+        return Lead.newLead(
+                dealerId, "tenant-1", "site-1",
+                firstName, "Test",
+                new Email(firstName.toLowerCase() + "@test.com"),
+                new PhoneCoordinate("+1", "4155550123"),
+                LeadSource.WEBSITE,
+                new VehicleInterest("Toyota", "Camry", 2020, 15000)
+        );
+    }
+
+    private void awaitAdapterWrites(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(5).toNanos();
+        while (adapterWrites.get() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, adapterWrites.get());
+    }
+
+    @Test
+    void shouldCoalesceRepeatedSavesIntoOneAdapterWrite() {
+        open(100);
+        Lead lead = createLead("dealer-1", "Alice");
+        repo.save(lead);
+        lead.transitionTo(LeadState.CONTACTED);
+        repo.save(lead);
+        lead.updateScore(80);
+        repo.save(lead);
+
+        assertEquals(3, lead.getVersion());
+        assertTrue(delegate.findByIdAndDealerId(lead.getLeadId(), "dealer-1").isEmpty());
+
+        repo.flush();
+
+        assertEquals(1, adapterWrites.get());
+        Lead stored = delegate.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(3, stored.getVersion());
+        assertEquals(LeadState.CONTACTED, stored.getState());
+        assertEquals(80, stored.getScore());
+
+        WriteBehindStats stats = repo.stats();
+        assertEquals(0, stats.getPendingCount());
+        assertEquals(3, stats.getAcceptedWrites());
+        assertEquals(1, stats.getFlushedRecords());
+        assertEquals(3.0, stats.coalescingRatio());
+        assertEquals(1, stats.getFlushCount());
+        assertTrue(stats.getMaxFlushNanos() > 0);
+    }
+
+    @Test
+    void shouldFlushEveryPendingLeadInOneAdapterCall() {
+        open(100);
+        for (int i = 0; i < 10; i++) {
+            repo.save(createLead("dealer-" + (i % 3), "User" + i));
+        }
+
+        repo.flush();
+
+        assertEquals(1, adapterCalls.get());
+        assertEquals(10, adapterWrites.get());
+        assertEquals(0, repo.stats().getPendingCount());
+        assertEquals(1, repo.stats().getFlushCount());
+    }
+
+    @Test
+    void shouldKeepSavesMadeDuringAFlushBuffered() {
+        // Saves a lead between the flush's adapter write and its cleanup
+        Lead[] racing = new Lead[1];
+        InMemoryLeadRepository adapter = new InMemoryLeadRepository() {
+            @Override
+            public boolean[] saveAllCoalesced(List<CoalescedWrite> writes) {
+                boolean[] saved = super.saveAllCoalesced(writes);
+                Lead next = racing[0];
+                racing[0] = null;
+                if (next != null) repo.save(next);
+                return saved;
+            }
+        };
+        repo = new WriteBehindLeadRepository(adapter, WriteBehindLeadRepositoryConfig.builder()
+                .flushInterval(Duration.ofHours(1))
+                .build());
+        Lead lead = createLead("dealer-1", "Alice");
+        repo.save(lead);
+        Lead next = lead.copy();
+        next.updateScore(60);
+        racing[0] = next;
+
+        repo.flush();
+        assertEquals(2, next.getVersion());
+        assertEquals(1, repo.stats().getPendingCount());
+        assertEquals(1, adapter.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().getVersion());
+
+        repo.flush();
+        Lead stored = adapter.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(2, stored.getVersion());
+        assertEquals(60, stored.getScore());
+        assertEquals(0, repo.stats().getConflictCount());
+    }
+
+    @Test
+    void shouldReadBufferedWritesBeforeTheyAreFlushed() {
+        open(100);
+        Lead lead = createLead("dealer-1", "Alice");
+        repo.save(lead);
+        lead.updateScore(55);
+        repo.save(lead);
+
+        Lead found = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(55, found.getScore());
+        assertEquals(2, found.getVersion());
+        assertEquals(0, adapterWrites.get());
+        assertTrue(repo.findByIdAndDealerId(lead.getLeadId(), "dealer-2").isEmpty());
+    }
+
+    @Test
+    void shouldFlushDealerBeforeQueryingAdapter() {
+        open(100);
+        Lead lead = createLead("dealer-1", "Alice");
+        repo.save(lead);
+        repo.save(createLead("dealer-2", "Bob"));
+        lead.transitionTo(LeadState.CONTACTED);
+        repo.save(lead);
+
+        assertEquals(List.of(lead), repo.findByDealerIdAndState("dealer-1", LeadState.CONTACTED));
+        assertEquals(0, repo.countByDealerIdAndState("dealer-1", LeadState.NEW));
+        assertEquals(1, repo.stats().getPendingCount());
+        assertTrue(delegate.findByDealerIdAndState("dealer-2", LeadState.NEW).isEmpty());
+    }
+
+    @Test
+    void shouldCompareAndSetAgainstBufferedVersion() {
+        open(100);
+        Lead lead = createLead("dealer-1", "Alice");
+        assertTrue(repo.saveIfVersion(lead, 0));
+
+        Lead first = lead.copy();
+        Lead stale = lead.copy();
+        first.updateScore(40);
+        stale.updateScore(10);
+        assertTrue(repo.saveIfVersion(first, 1));
+        assertFalse(repo.saveIfVersion(stale, 1));
+        assertFalse(repo.saveIfVersion(lead.copy(), 0));
+
+        repo.flush();
+        Lead stored = delegate.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(2, stored.getVersion());
+        assertEquals(40, stored.getScore());
+
+        // After the flush the stored version is the one to compare against
+        Lead next = stored.copy();
+        next.updateScore(90);
+        assertTrue(repo.saveIfVersion(next, 2));
+        assertEquals(3, next.getVersion());
+    }
+
+    @Test
+    void shouldFlushInBackgroundOnSizeAndTimeTriggers() throws Exception {
+        open(2);
+        repo.save(createLead("dealer-1", "Alice"));
+        repo.save(createLead("dealer-2", "Bob"));
+        awaitAdapterWrites(2);
+        repo.close();
+
+        repo = new WriteBehindLeadRepository(delegate, WriteBehindLeadRepositoryConfig.builder()
+                .flushInterval(Duration.ofMillis(20))
+                .build());
+        repo.save(createLead("dealer-1", "Carol"));
+        awaitAdapterWrites(3);
+    }
+
+    @Test
+    void shouldKeepFailedWritesBufferedAndRetry() {
+        open(100);
+        Lead lead = createLead("dealer-1", "Alice");
+        repo.save(lead);
+
+        failWrites.set(true);
+        assertThrows(IllegalStateException.class, () -> repo.flush());
+        assertThrows(IllegalStateException.class, () -> repo.findByDealerIdAndState("dealer-1", LeadState.NEW));
+        assertEquals(1, repo.stats().getPendingCount());
+        assertEquals(2, repo.stats().getFailureCount());
+
+        failWrites.set(false);
+        repo.flush();
+        assertEquals(1, delegate.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().getVersion());
+    }
+
+    @Test
+    void shouldDiscardConditionalWriteWhenAdapterWasChangedElsewhere() {
+        open(100);
+        Lead lead = createLead("dealer-1", "Alice");
+        repo.save(lead);
+        repo.flush();
+
+        Lead buffered = lead.copy();
+        buffered.updateScore(10);
+        assertTrue(repo.saveIfVersion(buffered, 1));
+        Lead external = lead.copy();
+        external.updateScore(99);
+        delegate.save(external);
+
+        repo.flush();
+        assertEquals(1, repo.stats().getConflictCount());
+        assertEquals(99, delegate.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow().getScore());
+    }
+
+    @Test
+    void shouldPersistUnconditionalSaveWhenAdapterWasChangedElsewhere() {
+        open(100);
+        Lead lead = createLead("dealer-1", "Alice");
+        repo.save(lead);
+        repo.flush();
+
+        Lead buffered = lead.copy();
+        buffered.updateScore(10);
+        repo.save(buffered);
+        // Checked against the buffered version, so it stands or falls with the save
+        Lead next = buffered.copy();
+        next.updateScore(20);
+        assertTrue(repo.saveIfVersion(next, 2));
+        Lead external = lead.copy();
+        external.updateScore(99);
+        delegate.save(external);
+
+        repo.flush();
+        assertEquals(0, repo.stats().getConflictCount());
+        Lead stored = delegate.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(20, stored.getScore());
+        assertEquals(3, stored.getVersion());
+    }
+
+    @Test
+    void shouldFlushOnCloseAndRejectLaterWrites() {
+        open(100);
+        Lead lead = createLead("dealer-1", "Alice");
+        repo.save(lead);
+        repo.close();
+
+        assertTrue(delegate.findByIdAndDealerId(lead.getLeadId(), "dealer-1").isPresent());
+        assertThrows(IllegalStateException.class, () -> repo.save(createLead("dealer-1", "Bob")));
+        assertTrue(repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").isPresent());
+    }
+
+    @Test
+    void shouldRejectInvalidInput() {
+        open(100);
+        assertThrows(IllegalArgumentException.class, () -> repo.save(null));
+        assertThrows(IllegalArgumentException.class, () -> repo.saveIfVersion(createLead("dealer-1", "Alice"), -1));
+        assertThrows(IllegalArgumentException.class, () -> repo.saveAll(List.of(createLead(" ", "Alice"))));
+        assertThrows(IllegalArgumentException.class, () -> new WriteBehindLeadRepository(delegate,
+                WriteBehindLeadRepositoryConfig.builder().maxBatchSize(10).maxPendingLeads(5).build()));
+    }
+}
@@ -1,5 +1,7 @@
 package com.tekion.leadmanagement.application.lead;
 
+import com.tekion.leadmanagement.adapter.persistence.async.ExecutorAsyncLeadRepository;
+import com.tekion.leadmanagement.adapter.persistence.async.ExecutorAsyncLeadRepositoryConfig;
 import com.tekion.leadmanagement.adapter.persistence.inmemory.InMemoryLeadRepository;
 import com.tekion.leadmanagement.domain.lead.model.*;
 import com.tekion.leadmanagement.domain.lead.port.LeadPersistencePort;
@@ -8,8 +10,16 @@ import com.tekion.leadmanagement.domain.scoring.service.LeadScoringEngine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -152,5 +162,336 @@ class LeadServiceTest {
         Optional<Lead> reverseAccess = leadService.findByIdAndDealerId(dealer1Lead.getLeadId(), "dealer-2");
         assertFalse(reverseAccess.isPresent());
     }
-}
 
+    @Test
+    void shouldComputeAndPersistScoresInBatch() {
+        Lead a = createTestLead("dealer-1", "Alice");
+        Lead b = createTestLead("dealer-2", "Bob");
+        leadService.create(a);
+        leadService.create(b);
+
+        List<Lead> rescored = leadService.computeAndPersistScores(List.of(a, b));
+
+        assertEquals(2, rescored.size());
+        for (Lead lead : rescored) {
+            Lead fetched = leadService.findByIdAndDealerId(lead.getLeadId(), lead.getDealerId()).orElseThrow();
+            assertNotNull(fetched.getScore());
+        }
+        assertThrows(IllegalArgumentException.class, () -> leadService.computeAndPersistScores(null));
+    }
+
+    @Test
+    void shouldNotOverwriteUpdateMadeAfterBatchWasRead() {
+        Lead lead = createTestLead("dealer-1", "Erin");
+        leadService.create(lead);
+        List<Lead> batch = repo.findByDealerIdAndState("dealer-1", LeadState.NEW);
+
+        leadService.transitionState(lead.getLeadId(), "dealer-1", LeadState.CONTACTED);
+        List<Lead> rescored = leadService.computeAndPersistScores(batch);
+
+        Lead stored = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(LeadState.CONTACTED, stored.getState());
+        assertEquals(3, stored.getVersion());
+        assertEquals(scoringEngine.scoreValue(stored), stored.getScore());
+        assertEquals(LeadState.CONTACTED, rescored.get(0).getState());
+    }
+
+    @Test
+    void shouldLeaveStoredSnapshotsUntouchedUntilBatchWriteCommits() {
+        List<Integer> storedScoresAtWrite = new ArrayList<>();
+        InMemoryLeadRepository observed = new InMemoryLeadRepository() {
+            @Override
+            public boolean saveIfVersion(Lead lead, long expectedVersion) {
+                storedScoresAtWrite.add(findByIdAndDealerId(lead.getLeadId(), lead.getDealerId())
+                        .orElseThrow().getScore());
+                return super.saveIfVersion(lead, expectedVersion);
+            }
+        };
+        LeadService service = new LeadService(observed, scoringEngine);
+        service.create(createTestLead("dealer-1", "Fay"));
+        service.create(createTestLead("dealer-1", "Gus"));
+        List<Lead> snapshots = observed.findByDealerIdAndState("dealer-1", LeadState.NEW);
+        List<java.time.Instant> updatedAt = snapshots.stream().map(Lead::getUpdatedAt).toList();
+
+        List<Lead> rescored = service.computeAndPersistScores(snapshots);
+
+        assertEquals(java.util.Arrays.asList(null, null), storedScoresAtWrite);
+        for (int i = 0; i < snapshots.size(); i++) {
+            assertNull(snapshots.get(i).getScore());
+            assertEquals(updatedAt.get(i), snapshots.get(i).getUpdatedAt());
+            assertNotSame(snapshots.get(i), rescored.get(i));
+            assertNotNull(observed.findByIdAndDealerId(rescored.get(i).getLeadId(), "dealer-1")
+                    .orElseThrow().getScore());
+        }
+    }
+
+    @Test
+    void shouldNotLoseConcurrentUpdates() throws Exception {
+        Lead lead = createTestLead("dealer-1", "Dana");
+        leadService.create(lead);
+        int threads = 4;
+        AtomicInteger successes = new AtomicInteger();
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads + 1);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < 50; i++) {
+                        try {
+                            leadService.computeAndPersistScore(lead.getLeadId(), "dealer-1");
+                            successes.incrementAndGet();
+                        } catch (IllegalStateException retriesExhausted) {
+                            // Allowed under heavy contention; it must not count as a write
+                        }
+                    }
+                }));
+            }
+            futures.add(pool.submit(() -> {
+                leadService.transitionState(lead.getLeadId(), "dealer-1", LeadState.CONTACTED);
+                leadService.transitionState(lead.getLeadId(), "dealer-1", LeadState.QUALIFIED);
+            }));
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        Lead stored = leadService.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(LeadState.QUALIFIED, stored.getState());
+        assertEquals(2, stored.getAuditTrail().size());
+        assertNotNull(stored.getScore());
+        // create + every successful score + two transitions, each exactly once
+        assertEquals(1 + successes.get() + 2, stored.getVersion());
+    }
+
+    @Test
+    void shouldGiveUpAfterBoundedRetries() {
+        AtomicInteger attempts = new AtomicInteger();
+        InMemoryLeadRepository alwaysConflicting = new InMemoryLeadRepository() {
+            @Override
+            public boolean saveIfVersion(Lead lead, long expectedVersion) {
+                attempts.incrementAndGet();
+                return false;
+            }
+        };
+        LeadService service = new LeadService(alwaysConflicting, scoringEngine);
+        Lead lead = createTestLead("dealer-1", "Eve");
+        service.create(lead);
+
+        assertThrows(IllegalStateException.class,
+                () -> service.transitionState(lead.getLeadId(), "dealer-1", LeadState.CONTACTED));
+        assertEquals(LeadService.MAX_UPDATE_ATTEMPTS, attempts.get());
+        assertEquals(LeadState.NEW, lead.getState(), "stored lead must not be mutated");
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // ingest / dedup tests
+    // ═══════════════════════════════════════════════════════════════
+
+    private Lead createShopper(String dealerId, String email, String phone, Integer tradeIn) {
+        return Lead.newLead(
+                dealerId,
+                "tenant-1",
+                "site-1",
+                "Shopper",
+                "Test",
+                new Email(email),
+                new PhoneCoordinate("+1", phone),
+                LeadSource.WEBSITE,
+                new VehicleInterest("Toyota", "Camry", 2020, tradeIn)
+        );
+    }
+
+    @Test
+    void shouldCreateLeadOnFirstIngest() {
+        Lead lead = createShopper("dealer-1", "new@test.com", "4155550100", 15000);
+
+        Lead result = leadService.ingest(lead);
+
+        assertEquals(lead.getLeadId(), result.getLeadId());
+        assertTrue(leadService.findByIdAndDealerId(lead.getLeadId(), "dealer-1").isPresent());
+    }
+
+    @Test
+    void shouldMergeIngestWithSameEmailAndRescore() {
+        Lead original = createShopper("dealer-1", "same@test.com", "4155550101", null);
+        leadService.ingest(original);
+        Lead duplicate = createShopper("dealer-1", "SAME@test.com", "4155550199", 30000);
+
+        Lead result = leadService.ingest(duplicate);
+
+        assertEquals(original.getLeadId(), result.getLeadId());
+        assertTrue(leadService.findByIdAndDealerId(duplicate.getLeadId(), "dealer-1").isEmpty());
+        assertEquals(30000, result.getVehicleInterest().getTradeInValue().orElseThrow());
+        assertEquals(1, result.getAuditTrail().size());
+        assertEquals(LeadService.DEDUP_ACTOR, result.getAuditTrail().get(0).getActor());
+        assertEquals(scoringEngine.score(result).getFinalScore(), result.getScore());
+    }
+
+    @Test
+    void shouldMergeIngestWithSamePhone() {
+        Lead original = createShopper("dealer-1", "a@test.com", "4155550102", 15000);
+        leadService.ingest(original);
+
+        Lead result = leadService.ingest(createShopper("dealer-1", "b@test.com", "4155550102", 15000));
+
+        assertEquals(original.getLeadId(), result.getLeadId());
+        assertEquals(1, repo.countByDealerIdAndState("dealer-1", LeadState.NEW));
+    }
+
+    @Test
+    void shouldNotMergeAcrossDealers() {
+        leadService.ingest(createShopper("dealer-1", "x@test.com", "4155550103", 15000));
+        Lead other = createShopper("dealer-2", "x@test.com", "4155550103", 15000);
+
+        assertEquals(other.getLeadId(), leadService.ingest(other).getLeadId());
+    }
+
+    @Test
+    void shouldCreateNewLeadWhenOnlyClosedLeadMatches() {
+        Lead original = createShopper("dealer-1", "closed@test.com", "4155550104", 15000);
+        leadService.ingest(original);
+        leadService.transitionState(original.getLeadId(), "dealer-1", LeadState.LOST);
+        Lead returning = createShopper("dealer-1", "closed@test.com", "4155550104", 15000);
+
+        Lead result = leadService.ingest(returning);
+
+        assertEquals(returning.getLeadId(), result.getLeadId());
+        Lead closed = leadService.findByIdAndDealerId(original.getLeadId(), "dealer-1").orElseThrow();
+        assertEquals(1, closed.getAuditTrail().size(), "closed lead must not be merged into");
+    }
+
+    @Test
+    void shouldCreateExactlyOneLeadForConcurrentIngestOfSameShopper() throws Exception {
+        int threads = 8;
+        int perThread = 25;
+        CountDownLatch start = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < perThread; i++) {
+                        // Same email, a different phone per thread: only the email links them
+                        leadService.ingest(createShopper("dealer-1", "rush@test.com", "41555502" + (10 + thread), 15000));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        List<Lead> stored = repo.findByDealerIdAndState("dealer-1", LeadState.NEW);
+        assertEquals(1, stored.size());
+        assertEquals(threads * perThread - 1, stored.get(0).getAuditTrail().size());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Non-blocking operation tests
+    // ═══════════════════════════════════════════════════════════════
+
+    private ExecutorAsyncLeadRepository openAsync(LeadPersistencePort port) {
+        return new ExecutorAsyncLeadRepository(port, ExecutorAsyncLeadRepositoryConfig.builder()
+                .threads(2)
+                .build());
+    }
+
+    @Test
+    void shouldCreateTransitionAndScoreAsynchronously() {
+        try (ExecutorAsyncLeadRepository async = openAsync(repo)) {
+            LeadService service = new LeadService(repo, scoringEngine, new LeadDeduplicator(repo), async);
+            Lead lead = createTestLead("dealer-1", "Ava");
+
+            Lead stored = service.createAsync(lead)
+                    .thenCompose(saved -> service.transitionStateAsync(saved.getLeadId(), "dealer-1", LeadState.CONTACTED))
+                    .thenCompose(moved -> service.computeAndPersistScoreAsync(moved.getLeadId(), "dealer-1"))
+                    .thenCompose(done -> async.findByIdAndDealerId(lead.getLeadId(), "dealer-1"))
+                    .join()
+                    .orElseThrow();
+
+            assertEquals(LeadState.CONTACTED, stored.getState());
+            assertNotNull(stored.getScore());
+            assertEquals(3, stored.getVersion());
+        }
+    }
+
+    @Test
+    void shouldFailAsyncFuturesWithBlockingExceptions() {
+        try (ExecutorAsyncLeadRepository async = openAsync(repo)) {
+            LeadService service = new LeadService(repo, scoringEngine, new LeadDeduplicator(repo), async);
+            Lead lead = service.createAsync(createTestLead("dealer-1", "Bo")).join();
+
+            CompletionException invalid = assertThrows(CompletionException.class,
+                    () -> service.transitionStateAsync(lead.getLeadId(), "dealer-1", LeadState.CONVERTED).join());
+            assertInstanceOf(IllegalStateException.class, invalid.getCause());
+
+            CompletionException missing = assertThrows(CompletionException.class,
+                    () -> service.computeAndPersistScoreAsync("missing", "dealer-1").join());
+            assertInstanceOf(IllegalArgumentException.class, missing.getCause());
+
+            assertTrue(service.createAsync(null).isCompletedExceptionally());
+        }
+    }
+
+    @Test
+    void shouldRequireAsyncPortForAsyncOperations() {
+        assertThrows(IllegalStateException.class,
+                () -> leadService.createAsync(createTestLead("dealer-1", "Cy")));
+    }
+
+    @Test
+    void shouldNotLoseConcurrentAsyncUpdates() {
+        try (ExecutorAsyncLeadRepository async = openAsync(repo)) {
+            LeadService service = new LeadService(repo, scoringEngine, new LeadDeduplicator(repo), async);
+            Lead lead = service.createAsync(createTestLead("dealer-1", "Dee")).join();
+            AtomicInteger successes = new AtomicInteger();
+
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(service.computeAndPersistScoreAsync(lead.getLeadId(), "dealer-1")
+                        .handle((ignored, failure) -> {
+                            // Retries may run out under contention; such an attempt must not count as a write
+                            if (failure == null) successes.incrementAndGet();
+                            return null;
+                        }));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+
+            Lead stored = repo.findByIdAndDealerId(lead.getLeadId(), "dealer-1").orElseThrow();
+            assertTrue(successes.get() > 0);
+            assertEquals(1 + successes.get(), stored.getVersion());
+        }
+    }
+
+    @Test
+    void shouldGiveUpAsyncAfterBoundedRetries() {
+        AtomicInteger attempts = new AtomicInteger();
+        InMemoryLeadRepository alwaysConflicting = new InMemoryLeadRepository() {
+            @Override
+            public boolean saveIfVersion(Lead lead, long expectedVersion) {
+                attempts.incrementAndGet();
+                return false;
+            }
+        };
+        try (ExecutorAsyncLeadRepository async = openAsync(alwaysConflicting)) {
+            LeadService service = new LeadService(alwaysConflicting, scoringEngine,
+                    new LeadDeduplicator(alwaysConflicting), async);
+            Lead lead = service.create(createTestLead("dealer-1", "Eli"));
+
+            CompletionException failure = assertThrows(CompletionException.class,
+                    () -> service.transitionStateAsync(lead.getLeadId(), "dealer-1", LeadState.CONTACTED).join());
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+            assertEquals(LeadService.MAX_UPDATE_ATTEMPTS, attempts.get());
+        }
+    }
+}
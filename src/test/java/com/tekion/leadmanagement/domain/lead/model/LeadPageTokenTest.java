@@ -0,0 +1,64 @@
+package com.tekion.leadmanagement.domain.lead.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LeadPageTokenTest {
+
+    @Test
+    void shouldRoundTripStateToken() {
+        String encoded = LeadPageToken.afterState("dealer-1", LeadState.NEW, "lead-42").encode();
+
+        LeadPageToken decoded = LeadPageToken.decode(encoded, LeadPageToken.Kind.STATE, "dealer-1", LeadState.NEW);
+
+        assertEquals("lead-42", decoded.getLastLeadId());
+        assertEquals(LeadState.NEW, decoded.getState());
+    }
+
+    @Test
+    void shouldRoundTripScoreTokenWithNullScore() {
+        Instant updatedAt = Instant.parse("2026-01-02T03:04:05.123456789Z");
+        String encoded = LeadPageToken.afterScore("dealer-1", null, updatedAt, "lead-7").encode();
+
+        LeadPageToken decoded = LeadPageToken.decode(encoded, LeadPageToken.Kind.SCORE, "dealer-1", null);
+
+        assertNull(decoded.getLastScore());
+        assertEquals(updatedAt, decoded.getLastUpdatedAt());
+        assertEquals("lead-7", decoded.getLastLeadId());
+    }
+
+    @Test
+    void shouldBeUrlSafe() {
+        String encoded = LeadPageToken.afterState("dealer/with?chars", LeadState.LOST, "ü-lead").encode();
+
+        assertTrue(encoded.matches("[A-Za-z0-9_-]+"));
+    }
+
+    @Test
+    void shouldReturnNullForFirstPage() {
+        assertNull(LeadPageToken.decode(null, LeadPageToken.Kind.STATE, "dealer-1", LeadState.NEW));
+    }
+
+    @Test
+    void shouldRejectTokenFromAnotherQuery() {
+        String token = LeadPageToken.afterState("dealer-1", LeadState.NEW, "lead-1").encode();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> LeadPageToken.decode(token, LeadPageToken.Kind.STATE, "dealer-2", LeadState.NEW));
+        assertThrows(IllegalArgumentException.class,
+                () -> LeadPageToken.decode(token, LeadPageToken.Kind.STATE, "dealer-1", LeadState.LOST));
+        assertThrows(IllegalArgumentException.class,
+                () -> LeadPageToken.decode(token, LeadPageToken.Kind.SCORE, "dealer-1", null));
+    }
+
+    @Test
+    void shouldRejectMalformedToken() {
+        assertThrows(IllegalArgumentException.class,
+                () -> LeadPageToken.decode("not a token!", LeadPageToken.Kind.STATE, "dealer-1", LeadState.NEW));
+        assertThrows(IllegalArgumentException.class,
+                () -> LeadPageToken.decode("AQ", LeadPageToken.Kind.STATE, "dealer-1", LeadState.NEW));
+    }
+}
@@ -149,5 +149,142 @@ class LeadTest {
         Lead lead = createValidLead();
         assertThrows(IllegalArgumentException.class, () -> lead.updateScore(101));
     }
-}
 
+    // ═══════════════════════════════════════════════════════════════
+    // copy tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldCopyAllFieldsIncludingVersion() {
+        Lead lead = createValidLead();
+        lead.updateScore(60);
+        lead.setVersion(7);
+
+        Lead copy = lead.copy();
+
+        assertNotSame(lead, copy);
+        assertEquals(lead, copy);
+        assertEquals(7, copy.getVersion());
+    }
+
+    @Test
+    void shouldNotShareAuditTrailWithCopy() {
+        Lead lead = createValidLead();
+        Lead copy = lead.copy();
+
+        copy.transitionTo(LeadState.CONTACTED, "agent-1", "Called");
+
+        assertEquals(LeadState.NEW, lead.getState());
+        assertTrue(lead.getAuditTrail().isEmpty());
+        assertEquals(1, copy.getAuditTrail().size());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // freeze tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldFreezeAllFieldsAndStampVersion() {
+        Lead lead = createValidLead();
+        lead.transitionTo(LeadState.CONTACTED, "agent-1", "Called");
+        lead.setVersion(3);
+
+        Lead frozen = lead.freeze();
+        Lead stamped = lead.freeze(4);
+
+        assertTrue(frozen.isFrozen());
+        assertFalse(lead.isFrozen());
+        assertEquals(lead, frozen);
+        assertEquals(4, stamped.getVersion());
+        assertSame(frozen, frozen.freeze());
+        assertFalse(frozen.copy().isFrozen());
+    }
+
+    @Test
+    void shouldRejectEveryChangeToFrozenLead() {
+        Lead frozen = createValidLead().freeze();
+
+        assertThrows(UnsupportedOperationException.class, () -> frozen.transitionTo(LeadState.CONTACTED));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.updateScore(50));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.mergeDuplicate(createValidLead(), null));
+        assertThrows(UnsupportedOperationException.class, () -> frozen.setVersion(9));
+        assertThrows(UnsupportedOperationException.class,
+                () -> frozen.getAuditTrail().add(AuditEntry.builder().build()));
+    }
+
+    @Test
+    void shouldOverrideEverySetterInFrozenLead() throws NoSuchMethodException {
+        // A field added to Lead gets a Lombok setter that FrozenLead must also reject
+        for (java.lang.reflect.Method setter : Lead.class.getDeclaredMethods()) {
+            if (setter.getName().startsWith("set") && java.lang.reflect.Modifier.isPublic(setter.getModifiers())) {
+                assertEquals(FrozenLead.class,
+                        FrozenLead.class.getMethod(setter.getName(), setter.getParameterTypes()).getDeclaringClass(),
+                        setter.getName());
+            }
+        }
+    }
+
+    @Test
+    void shouldNotSeeLaterChangesToSourceInFrozenLead() {
+        Lead lead = createValidLead();
+        Lead frozen = lead.freeze();
+
+        lead.transitionTo(LeadState.CONTACTED, "agent-1", "Called");
+
+        assertEquals(LeadState.NEW, frozen.getState());
+        assertTrue(frozen.getAuditTrail().isEmpty());
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // mergeDuplicate tests
+    // ═══════════════════════════════════════════════════════════════
+
+    @Test
+    void shouldKeepVehicleInterestWithHigherTradeIn() {
+        Lead lead = createValidLead();
+        Lead better = createValidLead();
+        better.setVehicleInterest(new VehicleInterest("Honda", "Accord", 2021, 25000));
+        Lead worse = createValidLead();
+        worse.setVehicleInterest(new VehicleInterest("Ford", "Focus", 2015, null));
+
+        lead.mergeDuplicate(better, "agent-1");
+        lead.mergeDuplicate(worse, "agent-1");
+
+        assertEquals("Honda", lead.getVehicleInterest().getMake());
+    }
+
+    @Test
+    void shouldRecordMergeInAuditTrail() {
+        Lead lead = createValidLead();
+        Lead duplicate = createValidLead();
+        duplicate.setSource(LeadSource.REFERRAL);
+
+        lead.mergeDuplicate(duplicate, null);
+
+        assertEquals(LeadState.NEW, lead.getState());
+        assertEquals(1, lead.getAuditTrail().size());
+        AuditEntry entry = lead.getAuditTrail().get(0);
+        assertEquals("SYSTEM", entry.getActor());
+        assertEquals(LeadState.NEW, entry.getFromState());
+        assertEquals(LeadState.NEW, entry.getToState());
+        assertTrue(entry.getReason().contains(duplicate.getLeadId()));
+        assertTrue(entry.getReason().contains("REFERRAL"));
+    }
+
+    @Test
+    void shouldRejectMergeIntoTerminalLead() {
+        Lead lead = createValidLead();
+        lead.transitionTo(LeadState.LOST);
+
+        assertThrows(IllegalStateException.class, () -> lead.mergeDuplicate(createValidLead(), null));
+    }
+
+    @Test
+    void shouldRejectMergeAcrossDealers() {
+        Lead lead = createValidLead();
+        Lead other = createValidLead();
+        other.setDealerId("dealer-2");
+
+        assertThrows(IllegalArgumentException.class, () -> lead.mergeDuplicate(other, null));
+    }
+}
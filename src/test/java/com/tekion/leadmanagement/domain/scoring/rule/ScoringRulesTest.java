@@ -1,12 +1,22 @@
 package com.tekion.leadmanagement.domain.scoring.rule;
 
 import com.tekion.leadmanagement.domain.lead.model.*;
+import com.tekion.leadmanagement.domain.scoring.model.LeadColumns;
+import com.tekion.leadmanagement.domain.scoring.model.ScoringContext;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Duration;
 import java.time.Instant;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
 
 class ScoringRulesTest {
 
@@ -211,5 +221,131 @@ class ScoringRulesTest {
 
         assertEquals(0.1, new RecencyRule().evaluate(lead));
     }
-}
 
+    @Test
+    void recencyRule_shouldMeasureAgeAgainstContextInstant() {
+        Instant now = Instant.parse("2024-03-10T12:00:00.500Z");
+        ScoringContext context = ScoringContext.of(Clock.fixed(now, ZoneOffset.UTC));
+        Lead lead = createBaseLead(LeadSource.WEBSITE, 2020, null);
+        RecencyRule rule = new RecencyRule();
+
+        lead.setCreatedAt(now.minus(24, ChronoUnit.HOURS).plusNanos(1));
+        assertEquals(1.0, rule.evaluate(lead, context));
+        lead.setCreatedAt(now.minus(24, ChronoUnit.HOURS));
+        assertEquals(0.7, rule.evaluate(lead, context));
+        lead.setCreatedAt(now.minus(30, ChronoUnit.DAYS));
+        assertEquals(0.1, rule.evaluate(lead, context));
+        lead.setCreatedAt(now.plus(5, ChronoUnit.DAYS)); // Clock skew
+        assertEquals(1.0, rule.evaluate(lead, context));
+    }
+
+    @Test
+    void vehicleAgeRule_shouldUseContextYearInClockZone() {
+        // 2030-01-01T02:00Z is still 2029 in Chicago
+        Instant newYearUtc = Instant.parse("2030-01-01T02:00:00Z");
+        Lead lead = createBaseLead(LeadSource.WEBSITE, 2025, null);
+        VehicleAgeRule rule = new VehicleAgeRule();
+
+        assertEquals(1.0, rule.evaluate(lead, ScoringContext.of(Clock.fixed(newYearUtc, ZoneOffset.UTC))));
+        assertEquals(0.6, rule.evaluate(lead, ScoringContext.of(Clock.fixed(newYearUtc, java.time.ZoneId.of("America/Chicago")))));
+    }
+
+    // ═══════════════════════════════════════════════════════════════
+    // Columnar tests
+    // ═══════════════════════════════════════════════════════════════
+
+    /**
+     * Leads at every tier boundary of the built-in rules, including
+     * missing features and creation times a nanosecond either side of a tier.
+     */
+    static List<Lead> columnarEdgeLeads(Instant now, int currentYear) {
+        LeadSource[] sources = Arrays.copyOf(LeadSource.values(), LeadSource.values().length + 1);
+        LeadState[] states = Arrays.copyOf(LeadState.values(), LeadState.values().length + 1);
+        List<VehicleInterest> vehicles = new ArrayList<>();
+        vehicles.add(null);
+        for (int year : new int[]{currentYear + 1, currentYear, currentYear - 2, currentYear - 3,
+                currentYear - 4, currentYear - 5, 1900}) {
+            for (Integer tradeIn : new Integer[]{null, 0, 1, 5_000, 5_001, 10_000, 10_001}) {
+                vehicles.add(new VehicleInterest("Toyota", "Camry", year, tradeIn));
+            }
+        }
+        List<Instant> createdAt = new ArrayList<>();
+        createdAt.add(null);
+        createdAt.add(now.plus(1, ChronoUnit.HOURS)); // Clock skew
+        createdAt.add(Instant.parse("1500-01-01T00:00:00Z")); // Before the epoch-nanos range
+        createdAt.add(Instant.parse("2500-01-01T00:00:00Z")); // After it
+        for (Duration tier : new Duration[]{Duration.ZERO, Duration.ofHours(24), Duration.ofDays(7), Duration.ofDays(30)}) {
+            for (long nanos : new long[]{-1, 0, 1, 999_999_999, 1_000_000_000}) {
+                createdAt.add(now.minus(tier).minusNanos(nanos));
+            }
+        }
+
+        List<Lead> leads = new ArrayList<>();
+        int i = 0;
+        for (VehicleInterest vehicle : vehicles) {
+            for (Instant created : createdAt) {
+                leads.add(Lead.builder()
+                        .leadId("lead-" + i)
+                        .source(sources[i % sources.length])
+                        .state(states[i % states.length])
+                        .vehicleInterest(vehicle)
+                        .createdAt(created)
+                        .build());
+                i++;
+            }
+        }
+        return leads;
+    }
+
+    @Test
+    void columnarRules_shouldBucketExactlyAsPerLead() {
+        Instant now = Instant.parse("2026-03-10T12:00:00.500Z");
+        ScoringContext context = ScoringContext.of(Clock.fixed(now, ZoneOffset.UTC));
+        Lead[] leads = columnarEdgeLeads(now, context.getCurrentYear()).toArray(new Lead[0]);
+        LeadColumns columns = LeadColumns.of(leads, leads.length);
+        int[] buckets = new int[leads.length];
+
+        for (ColumnarScoringRule rule : List.of(new SourceQualityRule(), new VehicleAgeRule(),
+                new TradeInValueRule(), new EngagementRule(), new RecencyRule())) {
+            assertTrue(rule.bucketColumn(columns, context, buckets));
+            for (int i = 0; i < leads.length; i++) {
+                assertEquals(rule.bucketOf(leads[i], context), buckets[i], rule.getName() + " of lead " + i);
+            }
+        }
+    }
+
+    @Test
+    void recencyRule_shouldDeclineColumnsOutsideEpochNanosRange() {
+        Instant farFuture = Instant.parse("2300-01-01T00:00:00Z");
+        Lead[] leads = {createBaseLead(LeadSource.WEBSITE, 2020, null)};
+
+        assertFalse(new RecencyRule().bucketColumn(LeadColumns.of(leads, 1),
+                ScoringContext.of(Clock.fixed(farFuture, ZoneOffset.UTC)), new int[1]));
+    }
+
+    @Test
+    void columnBuckets_vectorKernelShouldMatchScalar() {
+        assumeTrue(ColumnBuckets.VECTOR != null, "Vector API not available");
+        Random random = new Random(42);
+        for (int count = 0; count < 70; count++) {
+            int[] ints = new int[count];
+            long[] longs = new long[count];
+            for (int i = 0; i < count; i++) {
+                ints[i] = random.nextInt(6) == 0 ? Integer.MIN_VALUE : random.nextInt(41) - 20;
+                longs[i] = random.nextInt(6) == 0 ? Long.MIN_VALUE : random.nextLong();
+            }
+            int from = Math.min(count, 3);
+            int[] expected = new int[count];
+            int[] actual = new int[count];
+
+            ColumnBuckets.SCALAR.steps(ints, from, count, Integer.MIN_VALUE, 7, 1, 1, new int[]{-5, 0, 9}, expected);
+            ColumnBuckets.VECTOR.steps(ints, from, count, Integer.MIN_VALUE, 7, 1, 1, new int[]{-5, 0, 9}, actual);
+            assertArrayEquals(expected, actual);
+
+            long[] cuts = {Long.MIN_VALUE + 1, -1L << 40, 0, 1L << 40};
+            ColumnBuckets.SCALAR.steps(longs, from, count, Long.MIN_VALUE, 0, 4, -1, cuts, expected);
+            ColumnBuckets.VECTOR.steps(longs, from, count, Long.MIN_VALUE, 0, 4, -1, cuts, actual);
+            assertArrayEquals(expected, actual);
+        }
+    }
+}
@@ -7,9 +7,19 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -122,6 +132,150 @@ class BulkScoringTest {
         }
     }
 
+    @Test
+    @DisplayName("Should hand one task per extra thread to the configured executor")
+    void shouldSplitBatchIntoChunksOnConfiguredExecutor() {
+        AtomicInteger tasks = new AtomicInteger();
+        LeadScoringEngine chunked = engineWith(LeadScoringEngineConfig.builder()
+                .executor(task -> {
+                    tasks.incrementAndGet();
+                    task.run();
+                })
+                .maxParallelism(4)
+                .chunkSize(10)
+                .build());
+        List<Lead> leads = createTestLeads(100);
+
+        Map<String, ScoringResult> results = chunked.scoreBatch(leads);
+
+        assertEquals(3, tasks.get());
+        assertEquals(100, results.size());
+        for (Lead lead : leads) {
+            assertEquals(chunked.scoreValue(lead), results.get(lead.getLeadId()).getFinalScore());
+        }
+    }
+
+    @Test
+    @DisplayName("Should score a single-chunk batch on the calling thread")
+    void shouldScoreSmallBatchOnCallingThread() {
+        AtomicInteger tasks = new AtomicInteger();
+        LeadScoringEngine chunked = engineWith(LeadScoringEngineConfig.builder()
+                .executor(task -> tasks.incrementAndGet())
+                .maxParallelism(8)
+                .chunkSize(10)
+                .build());
+
+        chunked.scoreAndUpdateBatch(createTestLeads(10));
+        chunked.scoreAndUpdateBatch(new LinkedList<>(createTestLeads(1)));
+
+        assertEquals(0, tasks.get());
+    }
+
+    @Test
+    @DisplayName("Should score the whole batch on the caller when the executor rejects work")
+    void shouldFallBackToCallerWhenExecutorRejects() {
+        LeadScoringEngine chunked = engineWith(LeadScoringEngineConfig.builder()
+                .executor(task -> {
+                    throw new RejectedExecutionException("saturated");
+                })
+                .maxParallelism(4)
+                .chunkSize(3)
+                .build());
+        List<Lead> leads = createTestLeads(20);
+
+        chunked.scoreAndUpdateBatch(leads);
+
+        for (Lead lead : leads) {
+            assertEquals(chunked.scoreValue(lead), lead.getScore());
+        }
+    }
+
+    @Test
+    @DisplayName("Should score every range of a large batch on a dedicated pool")
+    void shouldScoreLargeBatchOnDedicatedPool() {
+        ForkJoinPool pool = new ForkJoinPool(3);
+        try {
+            LeadScoringEngine chunked = engineWith(LeadScoringEngineConfig.builder()
+                    .executor(pool)
+                    .maxParallelism(4)
+                    .chunkSize(16)
+                    .build());
+            List<Lead> leads = new LinkedList<>(createTestLeads(1000));
+            leads.add(500, null);
+
+            chunked.scoreAndUpdateBatch(leads);
+
+            for (Lead lead : leads) {
+                if (lead != null) {
+                    assertEquals(chunked.scoreValue(lead), lead.getScore());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should rethrow a rule failure from a helper thread on the caller")
+    void shouldPropagateRuleFailureFromHelperThread() throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            ScoringRule failing = new ScoringRule() {
+                @Override
+                public String getName() { return "failing"; }
+                @Override
+                public int getWeight() { return 10; }
+                @Override
+                public double evaluate(Lead lead) {
+                    if ("lead-57".equals(lead.getLeadId())) {
+                        throw new IllegalStateException("cannot score " + lead.getLeadId());
+                    }
+                    return 0.5;
+                }
+            };
+            LeadScoringEngine chunked = new LeadScoringEngine(List.of(failing), Clock.systemUTC(),
+                    LeadScoringEngineConfig.builder().executor(pool).maxParallelism(3).chunkSize(5).build());
+
+            IllegalStateException e = assertThrows(IllegalStateException.class,
+                    () -> chunked.scoreBatch(createTestLeads(100)));
+            assertEquals("cannot score lead-57", e.getMessage());
+        } finally {
+            pool.shutdown();
+            assertTrue(pool.awaitTermination(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject duplicate lead IDs in a batch")
+    void shouldRejectDuplicateLeadIds() {
+        List<Lead> leads = List.of(createLead("lead-1"), createLead("lead-1"));
+
+        assertThrows(IllegalStateException.class, () -> engine.scoreBatch(leads));
+    }
+
+    @Test
+    @DisplayName("Should reject an invalid batch configuration")
+    void shouldRejectInvalidBatchConfig() {
+        assertThrows(IllegalArgumentException.class,
+                () -> engineWith(LeadScoringEngineConfig.builder().executor(null).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> engineWith(LeadScoringEngineConfig.builder().maxParallelism(0).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> engineWith(LeadScoringEngineConfig.builder().chunkSize(0).build()));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LeadScoringEngine(List.of(new SourceQualityRule()), Clock.systemUTC(), null));
+    }
+
+    private LeadScoringEngine engineWith(LeadScoringEngineConfig config) {
+        return new LeadScoringEngine(List.of(
+                new SourceQualityRule(),
+                new VehicleAgeRule(),
+                new TradeInValueRule(),
+                new EngagementRule(),
+                new RecencyRule()
+        ), Clock.fixed(Instant.parse("2026-06-01T12:00:00Z"), ZoneOffset.UTC), config);
+    }
+
     private List<Lead> createTestLeads(int count) {
         List<Lead> leads = new ArrayList<>();
         for (int i = 0; i < count; i++) {
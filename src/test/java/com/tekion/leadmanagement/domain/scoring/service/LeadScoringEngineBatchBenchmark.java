@@ -0,0 +1,132 @@
+package com.tekion.leadmanagement.domain.scoring.service;
+
+import com.tekion.leadmanagement.domain.lead.model.*;
+import com.tekion.leadmanagement.domain.scoring.model.ScoringContext;
+import com.tekion.leadmanagement.domain.scoring.rule.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of {@link LeadScoringEngine#scoreAndUpdateBatch(List)} across
+ * batch sizes and thread counts.
+ *
+ * <p>Each engine gets a dedicated {@link ForkJoinPool} of
+ * {@code threads - 1} workers and {@code maxParallelism = threads}, since
+ * the calling thread scores chunks too. Leads per second is
+ * {@code batchSize / score}. Small batches show the fixed cost of handing
+ * chunks to the pool; large ones show how scoring scales with cores, which
+ * is only meaningful when the machine has at least {@code threads} of them.
+ *
+ * <p>{@code layout = columnar} is the built-in rules as shipped, scored
+ * column by column; {@code perLead} hides their columnar implementations,
+ * so the same lookup table is indexed lead by lead. The fork adds
+ * {@code jdk.incubator.vector}; without it the columnar rules fall back to
+ * scalar loops.
+ *
+ * <p>The 10M batch needs about 2 GB of heap. Narrow the sweep from the
+ * shell, for example:
+ * <pre>
+ * java -cp ... org.openjdk.jmh.Main LeadScoringEngineBatchBenchmark -p batchSize=1000000 -p threads=1,4
+ * </pre>
+ * See {@code InMemoryLeadRepositoryBenchmark} for the classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx4g", "--add-modules", "jdk.incubator.vector"})
+public class LeadScoringEngineBatchBenchmark {
+
+    @Param({"100", "10000", "1000000", "10000000"})
+    int batchSize;
+
+    @Param({"1", "2", "4", "8"})
+    int threads;
+
+    @Param({"1024"})
+    int chunkSize;
+
+    @Param({"columnar", "perLead"})
+    String layout;
+
+    private ForkJoinPool pool;
+    private LeadScoringEngine engine;
+    private List<Lead> leads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pool = new ForkJoinPool(Math.max(1, threads - 1));
+        List<BucketedScoringRule> rules = List.of(new SourceQualityRule(), new VehicleAgeRule(),
+                new TradeInValueRule(), new EngagementRule(), new RecencyRule());
+        engine = new LeadScoringEngine(
+                rules.stream().map(rule -> layout.equals("perLead") ? perLead(rule) : rule).toList(),
+                Clock.systemDefaultZone(),
+                LeadScoringEngineConfig.builder()
+                        .executor(pool)
+                        .maxParallelism(threads)
+                        .chunkSize(chunkSize)
+                        .build());
+
+        // Leads share their immutable parts so that 10M of them fit in the heap
+        LeadSource[] sources = LeadSource.values();
+        LeadState[] states = LeadState.values();
+        VehicleInterest[] vehicles = new VehicleInterest[64];
+        for (int v = 0; v < vehicles.length; v++) {
+            vehicles[v] = new VehicleInterest("Toyota", "Camry", 2010 + v % 16, (v % 8) * 2500);
+        }
+        Instant[] createdAt = new Instant[64];
+        Instant now = Instant.now();
+        for (int c = 0; c < createdAt.length; c++) {
+            createdAt[c] = now.minus(Duration.ofHours(c * 6L));
+        }
+
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        leads = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            leads.add(Lead.builder()
+                    .dealerId("dealer-1")
+                    .source(sources[random.nextInt(sources.length)])
+                    .state(states[random.nextInt(states.length)])
+                    .vehicleInterest(vehicles[random.nextInt(vehicles.length)])
+                    .createdAt(createdAt[random.nextInt(createdAt.length)])
+                    .build());
+        }
+    }
+
+    /** Hides a rule's columnar implementation but keeps its buckets. */
+    private static ScoringRule perLead(BucketedScoringRule rule) {
+        return new BucketedScoringRule() {
+            @Override
+            public String getName() { return rule.getName(); }
+            @Override
+            public int getWeight() { return rule.getWeight(); }
+            @Override
+            public int bucketCount() { return rule.bucketCount(); }
+            @Override
+            public int bucketOf(Lead lead) { return rule.bucketOf(lead); }
+            @Override
+            public int bucketOf(Lead lead, ScoringContext context) { return rule.bucketOf(lead, context); }
+            @Override
+            public double bucketFactor(int bucket) { return rule.bucketFactor(bucket); }
+        };
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public List<Lead> scoreAndUpdateBatch() {
+        return engine.scoreAndUpdateBatch(leads);
+    }
+}
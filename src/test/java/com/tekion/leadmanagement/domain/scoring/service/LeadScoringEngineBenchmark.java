@@ -0,0 +1,96 @@
+package com.tekion.leadmanagement.domain.scoring.service;
+
+import com.tekion.leadmanagement.domain.lead.model.*;
+import com.tekion.leadmanagement.domain.scoring.model.ScoringContext;
+import com.tekion.leadmanagement.domain.scoring.rule.*;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-lead cost of {@link LeadScoringEngine#score(Lead)} against
+ * {@link LeadScoringEngine#scoreValue(Lead)}.
+ *
+ * <p>Run with the GC profiler to see allocation per call:
+ * <pre>
+ * java -cp ... org.openjdk.jmh.Main LeadScoringEngineBenchmark -prof gc
+ * </pre>
+ * {@code score} pays 500-800 B/op for the breakdown map and its boxed
+ * factors. {@code scoreValue} pays only for capturing a
+ * {@link ScoringContext} per call (about 48 B/op);
+ * {@code scoreValueInContext} reuses one, as batch scoring does, and
+ * {@code gc.alloc.rate.norm} reads 0 B/op for every rule set.
+ * {@code rules = clockFree} drops the recency and vehicle-age rules.
+ * {@code rules = builtInUnbucketed} hides the rules' buckets, so comparing
+ * it with {@code builtIn} isolates the lookup table.
+ * See {@code InMemoryLeadRepositoryBenchmark} for the classpath.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = {"-Xmx1g"})
+public class LeadScoringEngineBenchmark {
+
+    @Param({"clockFree", "builtIn", "builtInUnbucketed"})
+    String rules;
+
+    private LeadScoringEngine engine;
+    private ScoringContext context;
+    private Lead lead;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        List<ScoringRule> builtIn = List.of(new SourceQualityRule(), new VehicleAgeRule(),
+                new TradeInValueRule(), new EngagementRule(), new RecencyRule());
+        switch (rules) {
+            case "clockFree":
+                engine = new LeadScoringEngine(List.of(new SourceQualityRule(), new TradeInValueRule(), new EngagementRule()));
+                break;
+            case "builtInUnbucketed":
+                engine = new LeadScoringEngine(builtIn.stream().map(LeadScoringEngineBenchmark::unbucketed).toList());
+                break;
+            default:
+                engine = new LeadScoringEngine(builtIn);
+        }
+        context = engine.newContext();
+        lead = Lead.newLead(
+                "dealer-1", "tenant-1", "site-1",
+                "Maria", "Gonzalez",
+                new Email("maria.gonzalez@example.com"),
+                new PhoneCoordinate("+1", "4155550123"),
+                LeadSource.WEBSITE,
+                new VehicleInterest("Toyota", "RAV4", 2019, 18500));
+    }
+
+    /** Hides a rule's buckets, so the engine evaluates it instead of reading the lookup table. */
+    private static ScoringRule unbucketed(ScoringRule rule) {
+        return new ScoringRule() {
+            @Override
+            public String getName() { return rule.getName(); }
+            @Override
+            public int getWeight() { return rule.getWeight(); }
+            @Override
+            public double evaluate(Lead lead) { return rule.evaluate(lead); }
+            @Override
+            public double evaluate(Lead lead, ScoringContext context) { return rule.evaluate(lead, context); }
+        };
+    }
+
+    @Benchmark
+    public Object score() {
+        return engine.score(lead);
+    }
+
+    @Benchmark
+    public int scoreValue() {
+        return engine.scoreValue(lead);
+    }
+
+    @Benchmark
+    public int scoreValueInContext() {
+        return engine.scoreValue(lead, context);
+    }
+}
@@ -1,13 +1,19 @@
 package com.tekion.leadmanagement.domain.scoring.service;
 
 import com.tekion.leadmanagement.domain.lead.model.*;
+import com.tekion.leadmanagement.domain.scoring.model.ScoringContext;
 import com.tekion.leadmanagement.domain.scoring.model.ScoringResult;
 import com.tekion.leadmanagement.domain.scoring.rule.*;
 import org.junit.jupiter.api.Test;
 
+import java.time.Clock;
 import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -163,10 +169,194 @@ class LeadScoringEngineTest {
             public double evaluate(Lead lead) { return 1.0; }
         };
 
-        LeadScoringEngine engine = new LeadScoringEngine(List.of(negativeWeightRule));
+        assertThrows(IllegalArgumentException.class, () -> new LeadScoringEngine(List.of(negativeWeightRule)));
+    }
+
+    @Test
+    void shouldReturnSameScoreValueAsFullScore() {
+        LeadScoringEngine engine = new LeadScoringEngine(List.of(
+                new SourceQualityRule(),
+                new VehicleAgeRule(),
+                new TradeInValueRule(),
+                new EngagementRule(),
+                new RecencyRule()
+        ));
         Lead lead = createTestLead();
 
-        assertThrows(IllegalArgumentException.class, () -> engine.score(lead));
+        assertEquals(engine.score(lead).getFinalScore(), engine.scoreValue(lead));
+        lead.transitionTo(LeadState.CONTACTED);
+        assertEquals(engine.score(lead).getFinalScore(), engine.scoreValue(lead));
+        assertThrows(IllegalArgumentException.class, () -> engine.scoreValue(null));
+    }
+
+    /** Hides a rule's buckets, so the engine evaluates it directly. */
+    private static ScoringRule unbucketed(ScoringRule rule) {
+        return new ScoringRule() {
+            @Override
+            public String getName() { return rule.getName(); }
+            @Override
+            public int getWeight() { return rule.getWeight(); }
+            @Override
+            public double evaluate(Lead lead) { return rule.evaluate(lead); }
+            @Override
+            public double evaluate(Lead lead, ScoringContext context) { return rule.evaluate(lead, context); }
+        };
+    }
+
+    @Test
+    void shouldScoreFromLookupTableExactlyAsDirectEvaluation() {
+        List<ScoringRule> builtIn = List.of(
+                new SourceQualityRule(),
+                new VehicleAgeRule(),
+                new TradeInValueRule(),
+                new EngagementRule(),
+                new RecencyRule());
+        LeadScoringEngine table = new LeadScoringEngine(builtIn);
+        LeadScoringEngine direct = new LeadScoringEngine(builtIn.stream().map(LeadScoringEngineTest::unbucketed).toList());
+        // A custom rule after the bucketed ones uses the partial-sum table
+        ScoringRule custom = unbucketed(new SourceQualityRule());
+        LeadScoringEngine mixed = new LeadScoringEngine(List.of(custom, new EngagementRule(), new RecencyRule()));
+        LeadScoringEngine mixedDirect = new LeadScoringEngine(List.of(
+                unbucketed(new EngagementRule()), unbucketed(new RecencyRule()), custom));
+
+        int currentYear = java.time.Year.now().getValue();
+        for (LeadSource source : LeadSource.values()) {
+            for (int age : new int[]{0, 3, 6}) {
+                for (Integer tradeIn : new Integer[]{null, 0, 3000, 8000, 20000}) {
+                    for (LeadState state : LeadState.values()) {
+                        for (long daysOld : new long[]{0, 3, 10, 40}) {
+                            Lead lead = Lead.newLead("dealer-1", "tenant-1", "site-1", "Priya", "Shah",
+                                    new Email("priya@tekion.com"), new PhoneCoordinate("+1", "4155550123"), source,
+                                    new VehicleInterest("Toyota", "Camry", currentYear - age, tradeIn));
+                            lead.setState(state);
+                            lead.setCreatedAt(Instant.now().minus(daysOld, ChronoUnit.DAYS));
+
+                            int expected = direct.score(lead).getFinalScore();
+                            assertEquals(expected, table.scoreValue(lead));
+                            assertEquals(expected, table.score(lead).getFinalScore());
+                            assertEquals(mixedDirect.scoreValue(lead), mixed.scoreValue(lead));
+                            assertEquals(mixed.score(lead).getFinalScore(), mixed.scoreValue(lead));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /** Leads on both sides of every built-in tier boundary, plus missing features. */
+    private static List<Lead> edgeLeads(Instant now, int currentYear) {
+        LeadSource[] sources = java.util.Arrays.copyOf(LeadSource.values(), LeadSource.values().length + 1);
+        LeadState[] states = java.util.Arrays.copyOf(LeadState.values(), LeadState.values().length + 1);
+        List<Lead> leads = new java.util.ArrayList<>();
+        int i = 0;
+        for (int age : new int[]{-1, 2, 3, 4, 5}) {
+            for (Integer tradeIn : new Integer[]{null, 0, 1, 5_000, 5_001, 10_000, 10_001}) {
+                for (long hoursOld : new long[]{-1, 0, 24, 7 * 24, 30 * 24}) {
+                    for (long nanos : new long[]{-1, 0, 1}) {
+                        leads.add(Lead.builder()
+                                .leadId("lead-" + i)
+                                .source(sources[i % sources.length])
+                                .state(states[i % states.length])
+                                .vehicleInterest(i % 11 == 0 ? null
+                                        : new VehicleInterest("Toyota", "Camry", currentYear - age, tradeIn))
+                                .createdAt(i % 13 == 0 ? null : now.minus(hoursOld, ChronoUnit.HOURS).minusNanos(nanos))
+                                .build());
+                        i++;
+                    }
+                }
+            }
+        }
+        return leads;
+    }
+
+    @Test
+    void shouldScoreColumnarBatchExactlyAsScore() {
+        for (Instant now : new Instant[]{Instant.parse("2026-03-10T12:00:00.500Z"),
+                Instant.parse("2300-01-01T00:00:00Z")}) { // Past 2262 the recency rule declines columns
+            Clock clock = Clock.fixed(now, ZoneOffset.UTC);
+            ScoringContext context = ScoringContext.of(clock);
+            LeadScoringEngineConfig config = LeadScoringEngineConfig.builder()
+                    .executor(Runnable::run)
+                    .maxParallelism(3)
+                    .chunkSize(7)
+                    .build();
+            List<ScoringRule> builtIn = List.of(
+                    new SourceQualityRule(),
+                    new VehicleAgeRule(),
+                    new TradeInValueRule(),
+                    new EngagementRule(),
+                    new RecencyRule());
+            List<ScoringRule> mixed = new java.util.ArrayList<>(builtIn);
+            mixed.add(0, unbucketed(new SourceQualityRule()));
+
+            for (List<ScoringRule> rules : List.of(builtIn, mixed)) {
+                LeadScoringEngine engine = new LeadScoringEngine(rules, clock, config);
+                // Vehicle years are validated against the real calendar
+                List<Lead> leads = edgeLeads(now, Math.min(context.getCurrentYear(), java.time.Year.now().getValue()));
+                leads.add(5, null);
+
+                engine.scoreAndUpdateBatch(leads);
+
+                for (Lead lead : leads) {
+                    if (lead != null) {
+                        assertEquals(engine.score(lead, context).getFinalScore(), lead.getScore(), lead.getLeadId());
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void shouldRejectBucketOutsideDeclaredRange() {
+        BucketedScoringRule broken = new BucketedScoringRule() {
+            @Override
+            public String getName() { return "broken"; }
+            @Override
+            public int getWeight() { return 10; }
+            @Override
+            public int bucketCount() { return 2; }
+            @Override
+            public int bucketOf(Lead lead) { return 2; }
+            @Override
+            public double bucketFactor(int bucket) { return 1.0; }
+        };
+        LeadScoringEngine engine = new LeadScoringEngine(List.of(broken));
+
+        assertThrows(IllegalStateException.class, () -> engine.scoreValue(createTestLead()));
+    }
+
+    @Test
+    void shouldScoreWholeBatchAtOneClockReading() {
+        AtomicInteger reads = new AtomicInteger();
+        Instant start = Instant.parse("2024-03-10T12:00:00Z");
+        // Advances an hour per read, so a per-lead read would move leads across the 24h tier
+        Clock ticking = new Clock() {
+            @Override
+            public ZoneId getZone() { return ZoneOffset.UTC; }
+            @Override
+            public Clock withZone(ZoneId zone) { return this; }
+            @Override
+            public Instant instant() { return start.plus(reads.getAndIncrement(), ChronoUnit.HOURS); }
+        };
+        LeadScoringEngine engine = new LeadScoringEngine(List.of(new RecencyRule(), new EngagementRule()), ticking);
+
+        List<Lead> leads = new java.util.ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Lead lead = createTestLead();
+            lead.setCreatedAt(start.minus(23, ChronoUnit.HOURS));
+            leads.add(lead);
+        }
+
+        Map<String, ScoringResult> results = engine.scoreBatch(leads);
+        assertEquals(1, reads.get());
+        assertEquals(1, results.values().stream().mapToInt(ScoringResult::getFinalScore).distinct().count());
+
+        ScoringContext context = engine.newContext();
+        assertEquals(engine.score(leads.get(0), context).getFinalScore(), engine.scoreValue(leads.get(0), context));
+        engine.scoreAndUpdateBatch(leads);
+        assertEquals(3, reads.get());
+        assertThrows(IllegalArgumentException.class, () -> engine.scoreValue(leads.get(0), null));
+        assertThrows(IllegalArgumentException.class, () -> new LeadScoringEngine(List.of(new RecencyRule()), null));
     }
 
     @Test